@@ -0,0 +1,233 @@
+package codegen;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * Generates a reflection-free codec for every message annotated with jME's {@code @Serializable}.
+ * <p>
+ * For a message {@code Foo} the class {@code FooCodec} is generated next to it. It writes
+ * and reads the instance fields declared by {@code Foo} in declaration order, so the fields
+ * and the no-argument constructor must not be private and the fields must not be final.
+ * Supported field types are the primitives, {@code String} and arrays of {@code int},
+ * {@code long} and {@code String}. Anything else fails the build.
+ * </p>
+ * <p>
+ * The codecs are collected in {@code model.general.network.MessageCodecs}, the id of a
+ * message is its index in the order of the qualified class names. The registry also holds
+ * a hash over all messages and their fields, so any change of the schema changes the
+ * protocol fingerprint and old clients are rejected.
+ * </p>
+ */
+@SupportedAnnotationTypes(MessageCodecProcessor.SERIALIZABLE)
+public class MessageCodecProcessor extends AbstractProcessor {
+    static final String SERIALIZABLE = "com.jme3.network.serializing.Serializable";
+    private static final String NETWORK_PACKAGE = "model.general.network";
+    private static final String REGISTRY = "MessageCodecs";
+    private static final String GENERATED = "@javax.annotation.processing.Generated(\"" + MessageCodecProcessor.class.getName() + "\")";
+    private static final int MAX_MESSAGES = 256;
+
+    /**
+     * Read and write expressions of the supported field types, %s is the field access
+     */
+    private static final Map<String, String[]> TYPES = Map.ofEntries(
+            Map.entry("boolean", new String[]{"WireFormat.putBoolean(buffer, %s)", "WireFormat.getBoolean(buffer)"}),
+            Map.entry("byte", new String[]{"buffer.put(%s)", "buffer.get()"}),
+            Map.entry("short", new String[]{"buffer.putShort(%s)", "buffer.getShort()"}),
+            Map.entry("char", new String[]{"buffer.putChar(%s)", "buffer.getChar()"}),
+            Map.entry("int", new String[]{"buffer.putInt(%s)", "buffer.getInt()"}),
+            Map.entry("long", new String[]{"WireFormat.putVarLong(buffer, %s)", "WireFormat.getVarLong(buffer)"}),
+            Map.entry("float", new String[]{"buffer.putFloat(%s)", "buffer.getFloat()"}),
+            Map.entry("double", new String[]{"buffer.putDouble(%s)", "buffer.getDouble()"}),
+            Map.entry("java.lang.String", new String[]{"WireFormat.putString(buffer, %s)", "WireFormat.getString(buffer)"}),
+            Map.entry("int[]", new String[]{"WireFormat.putInts(buffer, %s)", "WireFormat.getInts(buffer)"}),
+            Map.entry("long[]", new String[]{"WireFormat.putLongs(buffer, %s)", "WireFormat.getLongs(buffer)"}),
+            Map.entry("java.lang.String[]", new String[]{"WireFormat.putStrings(buffer, %s)", "WireFormat.getStrings(buffer)"}));
+
+    private boolean generated;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (generated || annotations.isEmpty()) return false;
+        final List<TypeElement> messages = new ArrayList<>();
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() == ElementKind.CLASS)
+                    messages.add((TypeElement) element);
+            }
+        }
+        if (messages.isEmpty()) return false;
+        messages.sort(Comparator.comparing(type -> type.getQualifiedName().toString()));
+        if (messages.size() > MAX_MESSAGES) {
+            error(messages.get(MAX_MESSAGES), "more than " + MAX_MESSAGES + " messages");
+            return false;
+        }
+
+        final StringBuilder schema = new StringBuilder();
+        boolean valid = true;
+        for (TypeElement message : messages) {
+            final List<VariableElement> fields = fields(message);
+            valid &= check(message, fields);
+            schema.append(message.getQualifiedName()).append('{');
+            for (VariableElement field : fields) {
+                schema.append(field.getSimpleName()).append(':').append(field.asType()).append(';');
+            }
+            schema.append("}\n");
+        }
+        if (!valid) return false;
+
+        try {
+            for (int id = 0; id < messages.size(); id++) {
+                writeCodec(messages.get(id), id);
+            }
+            writeRegistry(messages, schema.toString());
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "could not write codecs: " + e);
+        }
+        generated = true;
+        return false;
+    }
+
+    private static List<VariableElement> fields(TypeElement message) {
+        final List<VariableElement> fields = new ArrayList<>();
+        for (VariableElement field : ElementFilter.fieldsIn(message.getEnclosedElements())) {
+            if (!field.getModifiers().contains(Modifier.STATIC) && !field.getModifiers().contains(Modifier.TRANSIENT))
+                fields.add(field);
+        }
+        return fields;
+    }
+
+    /**
+     * Reports every property of the message the generated codec could not handle
+     */
+    private boolean check(TypeElement message, List<VariableElement> fields) {
+        boolean valid = true;
+        if (message.getModifiers().contains(Modifier.ABSTRACT)) {
+            error(message, "serializable messages must not be abstract");
+            valid = false;
+        }
+        boolean constructor = false;
+        for (ExecutableElement element : ElementFilter.constructorsIn(message.getEnclosedElements())) {
+            constructor |= element.getParameters().isEmpty() && !element.getModifiers().contains(Modifier.PRIVATE);
+        }
+        if (!constructor) {
+            error(message, "serializable messages need a no-argument constructor that is not private");
+            valid = false;
+        }
+        for (VariableElement field : fields) {
+            if (field.getModifiers().contains(Modifier.PRIVATE) || field.getModifiers().contains(Modifier.FINAL)) {
+                error(field, "fields of serializable messages must be neither private nor final");
+                valid = false;
+            }
+            if (!TYPES.containsKey(field.asType().toString())) {
+                error(field, "unsupported field type of a serializable message: " + field.asType());
+                valid = false;
+            }
+        }
+        return valid;
+    }
+
+    private void writeCodec(TypeElement message, int id) throws IOException {
+        final String packageName = packageOf(message);
+        final String name = message.getSimpleName().toString();
+        final Filer filer = processingEnv.getFiler();
+        try (PrintWriter out = new PrintWriter(filer.createSourceFile(qualified(packageName, name + "Codec"), message).openWriter())) {
+            if (!packageName.isEmpty())
+                out.printf("package %s;%n%n", packageName);
+            out.printf("import %s.MessageCodec;%n", NETWORK_PACKAGE);
+            out.printf("import %s.WireFormat;%n%n", NETWORK_PACKAGE);
+            out.printf("import java.nio.ByteBuffer;%n%n");
+            out.printf("/**%n * Codec of {@link %s}, generated from its fields.%n */%n", name);
+            out.printf("%s%n", GENERATED);
+            out.printf("public final class %sCodec implements MessageCodec<%s> {%n", name, name);
+            out.printf("    public static final %sCodec INSTANCE = new %sCodec();%n%n", name, name);
+            out.printf("    private %sCodec() {}%n%n", name);
+            out.printf("    @Override%n    public int getId() {%n        return %d;%n    }%n%n", id);
+            out.printf("    @Override%n    public Class<%s> getType() {%n        return %s.class;%n    }%n%n", name, name);
+            out.printf("    @Override%n    public void encode(%s message, ByteBuffer buffer) {%n", name);
+            for (VariableElement field : fields(message)) {
+                out.printf("        %s;%n", String.format(TYPES.get(field.asType().toString())[0], "message." + field.getSimpleName()));
+            }
+            out.printf("    }%n%n");
+            out.printf("    @Override%n    public %s decode(ByteBuffer buffer) {%n", name);
+            out.printf("        final %s message = new %s();%n", name, name);
+            for (VariableElement field : fields(message)) {
+                out.printf("        message.%s = %s;%n", field.getSimpleName(), TYPES.get(field.asType().toString())[1]);
+            }
+            out.printf("        return message;%n    }%n}%n");
+        }
+    }
+
+    private void writeRegistry(List<TypeElement> messages, String schema) throws IOException {
+        final CRC32 crc = new CRC32();
+        crc.update(schema.getBytes(StandardCharsets.UTF_8));
+        final Element[] origins = messages.toArray(new Element[0]);
+        try (PrintWriter out = new PrintWriter(processingEnv.getFiler().createSourceFile(qualified(NETWORK_PACKAGE, REGISTRY), origins).openWriter())) {
+            out.printf("package %s;%n%n", NETWORK_PACKAGE);
+            out.printf("import java.util.List;%n%n");
+            out.printf("/**%n * All generated message codecs, indexed by message id.%n */%n");
+            out.printf("%s%n", GENERATED);
+            out.printf("public final class %s {%n", REGISTRY);
+            out.printf("    /**%n     * Hash over all messages and their fields in wire order%n     */%n");
+            out.printf("    public static final int SCHEMA_HASH = 0x%08X;%n%n", (int) crc.getValue());
+            out.printf("    private static final MessageCodec<?>[] CODECS = {%n");
+            for (TypeElement message : messages) {
+                out.printf("            %sCodec.INSTANCE,%n", message.getQualifiedName());
+            }
+            out.printf("    };%n%n");
+            out.printf("    private static final ClassValue<MessageCodec<?>> BY_TYPE = new ClassValue<>() {%n");
+            out.printf("        @Override%n        protected MessageCodec<?> computeValue(Class<?> type) {%n");
+            out.printf("            for (MessageCodec<?> codec : CODECS) {%n");
+            out.printf("                if (codec.getType() == type) return codec;%n");
+            out.printf("            }%n            return null;%n        }%n    };%n%n");
+            out.printf("    private %s() {}%n%n", REGISTRY);
+            out.printf("    /**%n     * Returns the codec of a message id%n     *%n     * @param id the id%n     * @return the codec or null if the id is unknown%n     */%n");
+            out.printf("    public static MessageCodec<?> forId(int id) {%n        return id >= 0 && id < CODECS.length ? CODECS[id] : null;%n    }%n%n");
+            out.printf("    /**%n     * Returns the codec of a message class%n     *%n     * @param type the class%n     * @return the codec or null if the class is no serializable message%n     */%n");
+            out.printf("    public static MessageCodec<?> forType(Class<?> type) {%n        return BY_TYPE.get(type);%n    }%n%n");
+            out.printf("    /**%n     * Returns all codecs ordered by id%n     *%n     * @return the codecs%n     */%n");
+            out.printf("    public static List<MessageCodec<?>> all() {%n        return List.of(CODECS);%n    }%n}%n");
+        }
+    }
+
+    private void error(Element element, String message) {
+        final Messager messager = processingEnv.getMessager();
+        messager.printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private String packageOf(TypeElement type) {
+        final PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(type);
+        return packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+    }
+
+    private static String qualified(String packageName, String name) {
+        return packageName.isEmpty() ? name : packageName + "." + name;
+    }
+}
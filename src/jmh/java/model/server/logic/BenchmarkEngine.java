@@ -0,0 +1,55 @@
+package model.server.logic;
+
+import model.server.config.ServerGameConfig;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Properties;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Builds the engine the benchmarks run against from the server configuration and word lists in
+ * {@code src/main}. The build passes that folder as {@code wordle.dir}, relative word list paths
+ * of the configuration are resolved against it.
+ */
+final class BenchmarkEngine {
+    private static final String[] PATHS = {"words.answers", "words.guesses", "words.all", "words.book", "words.daily-override"};
+
+    private BenchmarkEngine() {}
+
+    /**
+     * Reads the server configuration and turns off info logging, the engine logs every daily word
+     *
+     * @return the configuration
+     */
+    static ServerGameConfig config() {
+        Logger.getLogger("").setLevel(Level.WARNING);
+        final File dir = new File(System.getProperty("wordle.dir", "src/main"));
+        final Properties properties = new Properties();
+        try (FileReader reader = new FileReader(new File(dir, "server_config.properties"))) {
+            properties.load(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        for (String key : PATHS) {
+            final String path = properties.getProperty(key);
+            if (path != null && !new File(path).isAbsolute())
+                properties.setProperty(key, new File(dir, path).getPath());
+        }
+        final ServerGameConfig config = new ServerGameConfig();
+        config.readFrom(properties);
+        return config;
+    }
+
+    /**
+     * Loads the word lists of the server configuration
+     *
+     * @return the engine
+     */
+    static WordleEngine engine() {
+        return new WordleEngine(config());
+    }
+}
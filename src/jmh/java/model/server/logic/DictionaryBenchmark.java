@@ -0,0 +1,95 @@
+package model.server.logic;
+
+import model.general.config.Alphabet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Looks up words in the default dictionary and picks answers. Lookups cycle through a table of
+ * words so the branch predictor does not learn a single word.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class DictionaryBenchmark {
+    private static final int WORDS = 1024;
+
+    private WordDictionary dictionary;
+    private List<String> answers;
+    private long day;
+    private final String[] hits = new String[WORDS];
+    private final String[] misses = new String[WORDS];
+    private final long[] packedHits = new long[WORDS];
+    private final long[] packedMisses = new long[WORDS];
+    private int next;
+
+    @Setup
+    public void setup() {
+        final WordleEngine engine = BenchmarkEngine.engine();
+        dictionary = engine.getDefaultDictionary();
+        answers = dictionary.getAnswers();
+        day = engine.getCurrentPlayDay();
+        final Alphabet alphabet = dictionary.getAlphabet();
+        for (int i = 0; i < WORDS; i++) {
+            hits[i] = answers.get(i * 7919 % answers.size());
+            packedHits[i] = dictionary.encode(hits[i]);
+            // swap letters of an answer until it is no word, misses pass the alphabet check like typos do
+            final char[] word = hits[i].toCharArray();
+            int step = 0;
+            do {
+                word[step % word.length] = alphabet.letterAt((i + step) % alphabet.size());
+                step++;
+            } while (dictionary.isValidWord(new String(word)));
+            misses[i] = new String(word);
+            packedMisses[i] = dictionary.encode(misses[i]);
+        }
+    }
+
+    private int index() {
+        return next++ & (WORDS - 1);
+    }
+
+    @Benchmark
+    public boolean isValidWordHit() {
+        return dictionary.isValidWord(hits[index()]);
+    }
+
+    @Benchmark
+    public boolean isValidWordMiss() {
+        return dictionary.isValidWord(misses[index()]);
+    }
+
+    @Benchmark
+    public boolean isValidPackedWordHit() {
+        return dictionary.isValidWord(packedHits[index()]);
+    }
+
+    @Benchmark
+    public boolean isValidPackedWordMiss() {
+        return dictionary.isValidWord(packedMisses[index()]);
+    }
+
+    @Benchmark
+    public String getRandomWord() {
+        return dictionary.getRandomWord();
+    }
+
+    @Benchmark
+    public String dailyWord() {
+        return WordleEngine.dailyWord(answers, day++);
+    }
+}
@@ -0,0 +1,73 @@
+package model.server.logic;
+
+import model.general.config.CharacterPosition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rates a single guess the ways the server does: the String API returning positions, the String
+ * API returning packed feedback and the packed API used by the game loop.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class EvaluateBenchmark {
+    /**
+     * TYPICAL mixes all three colors, REPEATED has duplicate letters in guess and answer,
+     * ALL_GREEN is the winning guess
+     */
+    @Param({"TYPICAL", "REPEATED", "ALL_GREEN"})
+    public String shape;
+
+    private WordleEngine engine;
+    private String guess;
+    private String answer;
+    private long packedGuess;
+    private long packedAnswer;
+    private int length;
+
+    @Setup
+    public void setup() {
+        engine = BenchmarkEngine.engine();
+        switch (shape) {
+            case "TYPICAL" -> { guess = "CRANE"; answer = "TRAIN"; }
+            case "REPEATED" -> { guess = "SPEED"; answer = "ERASE"; }
+            case "ALL_GREEN" -> { guess = "CRANE"; answer = "CRANE"; }
+            default -> throw new IllegalArgumentException(shape);
+        }
+        final WordDictionary dictionary = engine.getDictionary(guess.length());
+        packedGuess = dictionary.encode(guess);
+        packedAnswer = dictionary.encode(answer);
+        length = answer.length();
+    }
+
+    @Benchmark
+    public List<CharacterPosition> evaluateGuess() {
+        return engine.evaluateGuess(guess, answer);
+    }
+
+    @Benchmark
+    public int evaluatePattern() {
+        return engine.evaluatePattern(guess, answer);
+    }
+
+    @Benchmark
+    public int evaluatePacked() {
+        return WordleEngine.evaluatePacked(packedGuess, packedAnswer, length);
+    }
+}
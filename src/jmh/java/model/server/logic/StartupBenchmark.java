@@ -0,0 +1,61 @@
+package model.server.logic;
+
+import model.server.config.ServerGameConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads the word lists. The cold start is measured once per fresh JVM, the way the server starts,
+ * the reload runs warmed up, the way the hot reload of the word lists runs.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StartupBenchmark {
+    private ServerGameConfig config;
+
+    @Setup
+    public void setup() {
+        config = BenchmarkEngine.config();
+    }
+
+    /**
+     * An engine that loaded its word lists before the measurement, only used by the reload
+     */
+    @State(Scope.Benchmark)
+    public static class Loaded {
+        WordleEngine engine;
+
+        @Setup
+        public void setup() {
+            engine = BenchmarkEngine.engine();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(10)
+    public WordleEngine loadWordsCold() {
+        return new WordleEngine(config);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    @Fork(1)
+    public boolean reloadWords(Loaded loaded) {
+        return loaded.engine.reloadWords();
+    }
+}
@@ -5,8 +5,15 @@ import com.jme3.app.state.AbstractAppState;
 import com.jme3.app.state.AppStateManager;
 import com.jme3.input.InputManager;
 import com.jme3.input.KeyInput;
+import com.jme3.input.RawInputListener;
 import com.jme3.input.controls.ActionListener;
 import com.jme3.input.controls.KeyTrigger;
+import com.jme3.input.event.JoyAxisEvent;
+import com.jme3.input.event.JoyButtonEvent;
+import com.jme3.input.event.KeyInputEvent;
+import com.jme3.input.event.MouseButtonEvent;
+import com.jme3.input.event.MouseMotionEvent;
+import com.jme3.input.event.TouchEvent;
 import model.client.notification.*;
 
 public class InputState extends AbstractAppState {
@@ -31,51 +38,54 @@ public class InputState extends AbstractAppState {
         super.initialize(stateManager, app);
         this.app = (WordleApp) app;
         createMappings();
-        app.getInputManager().addListener((ActionListener) this::letterPressed, "A", "B", "C", "D", "E", "F", "G", "H", "I", "J", "K", "L", "M", "N", "O", "P", "Q", "R", "S", "T", "U", "V", "W", "X", "Y", "Z");
+        app.getInputManager().addRawInputListener(letterListener);
         app.getInputManager().addListener((ActionListener) this::backspacePressed, "BACKSPACE");
         app.getInputManager().addListener((ActionListener) this::enterPressed, "ENTER");
         app.getInputManager().addListener((ActionListener) this::tabPressed, "TAB");
+        app.getInputManager().addListener((ActionListener) this::hintPressed, "HINT");
     }
 
     private void createMappings() {
         InputManager im = app.getInputManager();
-        im.addMapping("A", new KeyTrigger(KeyInput.KEY_A));
-        im.addMapping("B", new KeyTrigger(KeyInput.KEY_B));
-        im.addMapping("C", new KeyTrigger(KeyInput.KEY_C));
-        im.addMapping("D", new KeyTrigger(KeyInput.KEY_D));
-        im.addMapping("E", new KeyTrigger(KeyInput.KEY_E));
-        im.addMapping("F", new KeyTrigger(KeyInput.KEY_F));
-        im.addMapping("G", new KeyTrigger(KeyInput.KEY_G));
-        im.addMapping("H", new KeyTrigger(KeyInput.KEY_H));
-        im.addMapping("I", new KeyTrigger(KeyInput.KEY_I));
-        im.addMapping("J", new KeyTrigger(KeyInput.KEY_J));
-        im.addMapping("K", new KeyTrigger(KeyInput.KEY_K));
-        im.addMapping("L", new KeyTrigger(KeyInput.KEY_L));
-        im.addMapping("M", new KeyTrigger(KeyInput.KEY_M));
-        im.addMapping("N", new KeyTrigger(KeyInput.KEY_N));
-        im.addMapping("O", new KeyTrigger(KeyInput.KEY_O));
-        im.addMapping("P", new KeyTrigger(KeyInput.KEY_P));
-        im.addMapping("Q", new KeyTrigger(KeyInput.KEY_Q));
-        im.addMapping("R", new KeyTrigger(KeyInput.KEY_R));
-        im.addMapping("S", new KeyTrigger(KeyInput.KEY_S));
-        im.addMapping("T", new KeyTrigger(KeyInput.KEY_T));
-        im.addMapping("U", new KeyTrigger(KeyInput.KEY_U));
-        im.addMapping("V", new KeyTrigger(KeyInput.KEY_V));
-        im.addMapping("W", new KeyTrigger(KeyInput.KEY_W));
-        im.addMapping("X", new KeyTrigger(KeyInput.KEY_X));
-        im.addMapping("Y", new KeyTrigger(KeyInput.KEY_Y));
-        im.addMapping("Z", new KeyTrigger(KeyInput.KEY_Z));
         im.addMapping("ENTER", new KeyTrigger(KeyInput.KEY_RETURN));
         im.addMapping("BACKSPACE", new KeyTrigger(KeyInput.KEY_BACK));
         im.addMapping("TAB", new KeyTrigger(KeyInput.KEY_TAB));
+        im.addMapping("HINT", new KeyTrigger(KeyInput.KEY_F1));
     }
 
-    private void letterPressed(String name, boolean isPressed, float tpf) {
-        GameEventBroker eb = app.getGameLogic().getEventBroker();
-        if (isPressed) {
-            eb.notifyListeners(new LetterPressedEvent(name.charAt(0)));
+    /**
+     * Forwards typed letters instead of key codes, so letters outside of A-Z like umlauts
+     * reach the game as well. The session ignores letters that are not part of its alphabet.
+     */
+    private final RawInputListener letterListener = new RawInputListener() {
+        @Override
+        public void onKeyEvent(KeyInputEvent evt) {
+            if (evt.isPressed() && Character.isLetter(evt.getKeyChar())) {
+                app.getGameLogic().getEventBroker().notifyListeners(new LetterPressedEvent(evt.getKeyChar()));
+            }
         }
-    }
+
+        @Override
+        public void beginInput() {}
+
+        @Override
+        public void endInput() {}
+
+        @Override
+        public void onJoyAxisEvent(JoyAxisEvent evt) {}
+
+        @Override
+        public void onJoyButtonEvent(JoyButtonEvent evt) {}
+
+        @Override
+        public void onMouseMotionEvent(MouseMotionEvent evt) {}
+
+        @Override
+        public void onMouseButtonEvent(MouseButtonEvent evt) {}
+
+        @Override
+        public void onTouchEvent(TouchEvent evt) {}
+    };
 
     private void enterPressed(String name, boolean isPressed, float tpf) {
         GameEventBroker eb = app.getGameLogic().getEventBroker();
@@ -91,6 +101,13 @@ public class InputState extends AbstractAppState {
         }
     }
 
+    private void hintPressed(String name, boolean isPressed, float tpf) {
+        GameEventBroker eb = app.getGameLogic().getEventBroker();
+        if (isPressed) {
+            eb.notifyListeners(new HintPressedEvent());
+        }
+    }
+
     private void backspacePressed(String name, boolean isPressed, float tpf) {
         GameEventBroker eb = app.getGameLogic().getEventBroker();
         if (isPressed) {
@@ -63,12 +63,12 @@ public class StatsAppState extends GameAppState implements GameEventListener {
 
     @Override
     public void receivedEvent(StatsReceivedEvent event) {
-        final int score = event.msg().getScore();
-        final int streak = event.msg().getStreak();
-        final int maxStreak = event.msg().getMaxStreak();
-        final int wordlesSolved = event.msg().getWordlesSolved();
-        final int wordlesLost = event.msg().getWordlesLost();
-        final int[] guessDistribution = event.msg().getGuessDistribution();
+        final int score = event.stats().getScore();
+        final int streak = event.stats().getStreak();
+        final int maxStreak = event.stats().getMaxStreak();
+        final int wordlesSolved = event.stats().getWordlesSolved();
+        final int wordlesLost = event.stats().getWordlesLost();
+        final int[] guessDistribution = event.stats().getGuessDistribution();
 
         createTextElements(score, streak, maxStreak, wordlesSolved, wordlesLost);
         createGuessDistribution(guessDistribution);
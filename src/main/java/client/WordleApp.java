@@ -180,7 +180,7 @@ public class WordleApp extends SimpleApplication implements ServerMessageReceive
         // eventBroker.addListener(soundState);
         connectionProcess = getExecutor().submit(() -> {
             try {
-                getNetwork().connect(config.getHostname(), config.getPort());
+                getNetwork().connect(config.getHostname(), config.getPort(), config.getTransport());
             } catch (IOException e) {
                 throw new RuntimeException(e);
             }
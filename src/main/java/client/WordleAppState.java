@@ -11,6 +11,7 @@ import com.jme3.scene.Node;
 import com.jme3.scene.shape.Quad;
 import model.client.CurrentSession;
 import model.client.notification.*;
+import model.general.config.Alphabet;
 import model.general.config.CharacterPosition;
 
 import java.util.List;
@@ -25,14 +26,20 @@ public class WordleAppState extends GameAppState implements GameEventListener {
     private static final int GUESS_TILE_GAP = 10;
     private static final int KEY_TILE_SIZE = 25;
     private static final int KEY_TILE_GAP = 5;
+    private static final int KEY_COLUMNS = 13;
+    private static final int MAX_BOARDS_PER_LINE = 4;
 
     private static final ColorRGBA GREEN = new ColorRGBA(108 / 255f, 169 / 255f, 101 / 255f, 1f);
     private static final ColorRGBA YELLOW = new ColorRGBA(200 / 255f, 182 / 255f, 83 / 255f, 1f);
     private static final ColorRGBA GREY = new ColorRGBA(120 / 255f, 124 / 255f, 127 / 255f, 1f);
     private static final ColorRGBA BACKGROUND_COLOR = new ColorRGBA(221 / 255f, 200 / 255f, 196 / 255f, 1f);
 
-    private ColoredTextTile[][] guessGrid;
+    /**
+     * The guess tiles indexed by board, row and column
+     */
+    private ColoredTextTile[][][] guessGrid;
     private ColoredTextTile[][] letterGrid;
+    private int keyRows = 2;
 
     /**
      * The root node for all visual elements in this state.
@@ -51,6 +58,16 @@ public class WordleAppState extends GameAppState implements GameEventListener {
 
     private CurrentSession gameSession;
 
+    /**
+     * Text showing the amount of answers still consistent with the feedback
+     */
+    private BitmapText candidateText;
+
+    /**
+     * Text showing the guesses suggested by the server
+     */
+    private BitmapText hintText;
+
     /**
      * This method is called when the state is enabled.
      * It is meant to be overridden by subclasses to perform
@@ -86,21 +103,23 @@ public class WordleAppState extends GameAppState implements GameEventListener {
     public void update(float tpf) {}
 
     private void updateGuesses(CurrentSession session) {
-        List<List<CharacterPosition>> positions = session.getPositions();
-        List<String> guesses = session.getSubmittedGuesses();
-        for (int row = 0; row < guesses.size(); row++) {
-            for (int col = 0; col < session.getAnswerLength(); col++) {
-                ColoredTextTile tile = guessGrid[row][col];
-                CharacterPosition positionRating = positions.get(row).get(col);
-                String text = "" + guesses.get(row).charAt(col);
-                ColorRGBA color = switch (positionRating) {
-                    case RIGHT -> GREEN;
-                    case WRONG -> YELLOW;
-                    case FUCKINGWRONG -> GREY;
-                };
-                tile.setColor(color);
-                tile.setText(text);
-                tile.setTextColor(ColorRGBA.White);
+        for (int board = 0; board < session.getBoardCount(); board++) {
+            List<List<CharacterPosition>> positions = session.getPositions(board);
+            List<String> guesses = session.getSubmittedGuesses();
+            for (int row = 0; row < positions.size(); row++) {
+                for (int col = 0; col < session.getAnswerLength(); col++) {
+                    ColoredTextTile tile = guessGrid[board][row][col];
+                    CharacterPosition positionRating = positions.get(row).get(col);
+                    String text = "" + guesses.get(row).charAt(col);
+                    ColorRGBA color = switch (positionRating) {
+                        case RIGHT -> GREEN;
+                        case WRONG -> YELLOW;
+                        case FUCKINGWRONG -> GREY;
+                    };
+                    tile.setColor(color);
+                    tile.setText(text);
+                    tile.setTextColor(ColorRGBA.White);
+                }
             }
         }
     }
@@ -108,9 +127,9 @@ public class WordleAppState extends GameAppState implements GameEventListener {
     private void updateLetters(CurrentSession session) {
         for (ColoredTextTile[] row : letterGrid) {
             for (ColoredTextTile tile : row) {
-                char c = tile.getChar();
-                if (session.getLetterState().containsKey(c)) {
-                    ColorRGBA color = switch (session.getLetterState().get(c)) {
+                CharacterPosition state = session.getLetterState(tile.getChar());
+                if (state != null) {
+                    ColorRGBA color = switch (state) {
                         case FUCKINGWRONG -> GREY;
                         case WRONG -> YELLOW;
                         case RIGHT -> GREEN;
@@ -128,8 +147,10 @@ public class WordleAppState extends GameAppState implements GameEventListener {
         gameSession = event.session();
         guessNode.detachAllChildren();
         letterNode.detachAllChildren();
-        initializeGuessGrid(gameSession.getMaxGuessAmount(), gameSession.getAnswerLength());
-        initializeLetterGrid();
+        keyRows = (gameSession.getAlphabet().size() + KEY_COLUMNS - 1) / KEY_COLUMNS;
+        initializeGuessGrid(gameSession.getBoardCount(), gameSession.getMaxGuessAmount(), gameSession.getAnswerLength());
+        initializeLetterGrid(gameSession.getAlphabet());
+        initializeCandidateText();
     }
 
     @Override
@@ -137,54 +158,76 @@ public class WordleAppState extends GameAppState implements GameEventListener {
         LOGGER.log(System.Logger.Level.INFO, "GuessSubmittedEvent received by view");
         updateGuesses(event.session());
         updateLetters(event.session());
+        updateCandidateText(event.session());
     }
 
     @Override
     public void receivedEvent(InputUpdateEvent event) {
         LOGGER.log(System.Logger.Level.INFO, "GuessSubmittedEvent received by view");
-        List<String> guesses = event.session().getSubmittedGuesses();
         String currentText = event.session().getUnsubmittedGuess();
-        int row = guesses.size();
-        for (int col = 0; col < event.session().getAnswerLength(); col++) {
-            ColoredTextTile tile = guessGrid[row][col];
-            if (col < currentText.length()) {
-                tile.setText("" + currentText.charAt(col));
-            } else {
-                tile.setText("");
+        for (int board = 0; board < event.session().getBoardCount(); board++) {
+            if (event.session().isSolved(board)) continue;
+            int row = event.session().getPositions(board).size();
+            for (int col = 0; col < event.session().getAnswerLength(); col++) {
+                ColoredTextTile tile = guessGrid[board][row][col];
+                if (col < currentText.length()) {
+                    tile.setText("" + currentText.charAt(col));
+                } else {
+                    tile.setText("");
+                }
             }
         }
     }
 
-    private void initializeGuessGrid(int rows, int cols) {
-        guessGrid = new ColoredTextTile[rows][cols];
-        int startX = getApp().getConfig().getResolutionWidth() / 2 - (cols * (GUESS_TILE_SIZE + GUESS_TILE_GAP) / 2);
-        int startY = getApp().getConfig().getResolutionHeight() - GUESS_TILE_GAP - GUESS_TILE_SIZE;
-
-        for (int row = 0; row < rows; row++) {
-            for (int col = 0; col < cols; col++) {
-                int x = startX + col * (GUESS_TILE_SIZE + GUESS_TILE_GAP);
-                int y = startY - row * (GUESS_TILE_SIZE + GUESS_TILE_GAP);
-                Geometry g = createQuad(GUESS_TILE_SIZE, ColorRGBA.White);
-                BitmapText t = createText(32, "", ColorRGBA.Black);
-                guessGrid[row][col] = new ColoredTextTile(GUESS_TILE_SIZE, g, t, guessNode, x, y);
+    /**
+     * Creates one grid per board. Up to four boards share a line, the tiles shrink
+     * until all boards fit above the keyboard.
+     */
+    private void initializeGuessGrid(int boards, int rows, int cols) {
+        guessGrid = new ColoredTextTile[boards][rows][cols];
+        int boardsPerLine = Math.min(boards, MAX_BOARDS_PER_LINE);
+        int lines = (boards + boardsPerLine - 1) / boardsPerLine;
+        int width = getApp().getConfig().getResolutionWidth();
+        int height = getApp().getConfig().getResolutionHeight() - (keyRows + 2) * (GUESS_TILE_GAP + KEY_TILE_SIZE);
+        int step = Math.min(GUESS_TILE_SIZE + GUESS_TILE_GAP,
+                Math.min(width / (boardsPerLine * (cols + 1)), height / (lines * (rows + 1))));
+        int tileSize = step * GUESS_TILE_SIZE / (GUESS_TILE_SIZE + GUESS_TILE_GAP);
+        int fontSize = Math.max(8, 32 * tileSize / GUESS_TILE_SIZE);
+        int boardWidth = (cols + 1) * step;
+        int boardHeight = (rows + 1) * step;
+
+        for (int board = 0; board < boards; board++) {
+            int line = board / boardsPerLine;
+            int boardsInLine = Math.min(boardsPerLine, boards - line * boardsPerLine);
+            int startX = width / 2 - boardsInLine * boardWidth / 2 + (board % boardsPerLine) * boardWidth + step / 2;
+            int startY = getApp().getConfig().getResolutionHeight() - GUESS_TILE_GAP - tileSize - line * boardHeight;
+            for (int row = 0; row < rows; row++) {
+                for (int col = 0; col < cols; col++) {
+                    int x = startX + col * step;
+                    int y = startY - row * step;
+                    Geometry g = createQuad(tileSize, ColorRGBA.White);
+                    BitmapText t = createText(fontSize, "", ColorRGBA.Black);
+                    guessGrid[board][row][col] = new ColoredTextTile(tileSize, g, t, guessNode, x, y);
+                }
             }
         }
     }
 
-    private void initializeLetterGrid() {
-        int rows = 2;
-        int cols = 13;
-        int letter = 'A';
-        letterGrid = new ColoredTextTile[rows][cols];
+    /**
+     * Lays out the letters of the alphabet in rows of {@link #KEY_COLUMNS}, the last row may be shorter.
+     */
+    private void initializeLetterGrid(Alphabet alphabet) {
+        int cols = KEY_COLUMNS;
+        letterGrid = new ColoredTextTile[keyRows][];
         int startX = getApp().getConfig().getResolutionWidth() / 2 - (cols * (KEY_TILE_SIZE + KEY_TILE_GAP) / 2);
-        int startY = 2 * (GUESS_TILE_GAP + KEY_TILE_SIZE);
+        int startY = keyRows * (GUESS_TILE_GAP + KEY_TILE_SIZE);
 
-        for (int row = 0; row < rows; row++) {
-            for (int col = 0; col < cols; col++) {
+        for (int row = 0; row < keyRows; row++) {
+            letterGrid[row] = new ColoredTextTile[Math.min(cols, alphabet.size() - row * cols)];
+            for (int col = 0; col < letterGrid[row].length; col++) {
                 int x = startX + col * (KEY_TILE_SIZE + KEY_TILE_GAP);
                 int y = startY - row * (KEY_TILE_SIZE + KEY_TILE_GAP);
-                String text = "" + (char) letter;
-                letter += 1;
+                String text = "" + alphabet.letterAt(row * cols + col);
                 Geometry g = createQuad(KEY_TILE_SIZE, ColorRGBA.White);
                 BitmapText t = createText(16, text, ColorRGBA.Black);
                 letterGrid[row][col] = new ColoredTextTile(KEY_TILE_SIZE, g, t, letterNode, x, y);
@@ -192,6 +235,30 @@ public class WordleAppState extends GameAppState implements GameEventListener {
         }
     }
 
+    private void initializeCandidateText() {
+        candidateText = createText(16, "", ColorRGBA.Black);
+        letterNode.attachChild(candidateText);
+        hintText = createText(16, "", ColorRGBA.Black);
+        letterNode.attachChild(hintText);
+    }
+
+    private void updateCandidateText(CurrentSession session) {
+        if (session.getRemainingCandidates() < 0) return;
+        candidateText.setText(session.getRemainingCandidates() + " possible answers left");
+        final float x = getApp().getConfig().getResolutionWidth() / 2f - candidateText.getLineWidth() / 2f;
+        final float y = (keyRows + 1) * (GUESS_TILE_GAP + KEY_TILE_SIZE) + candidateText.getLineHeight();
+        candidateText.setLocalTranslation(x, y, 0);
+    }
+
+    @Override
+    public void receivedEvent(HintReceivedEvent event) {
+        LOGGER.log(System.Logger.Level.INFO, "HintReceivedEvent received by view");
+        hintText.setText("Try: " + String.join(", ", event.hints()));
+        final float x = getApp().getConfig().getResolutionWidth() / 2f - hintText.getLineWidth() / 2f;
+        final float y = (keyRows + 1) * (GUESS_TILE_GAP + KEY_TILE_SIZE) + 2 * hintText.getLineHeight();
+        hintText.setLocalTranslation(x, y, 0);
+    }
+
     private void addBackground() {
         int width = getApp().getConfig().getResolutionWidth();
         int height = getApp().getConfig().getResolutionHeight();
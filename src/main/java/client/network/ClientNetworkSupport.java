@@ -5,6 +5,8 @@ import model.general.message.client.ClientMessage;
 import model.general.message.client.ServerMessageReceiver;
 import model.client.notification.GameEventBroker;
 import model.general.message.server.ServerMessage;
+import model.general.network.Protocol;
+import model.general.network.Transport;
 
 import java.io.IOException;
 
@@ -29,6 +31,11 @@ public class ClientNetworkSupport implements MessageListener<Client>, ClientStat
      */
     private Client client;
 
+    /**
+     * The connection used instead of {@link #client} when the NIO transport is selected.
+     */
+    private NioClient nioClient;
+
     /**
      * The broker for distributing game and model events to registered listeners.
      */
@@ -52,6 +59,7 @@ public class ClientNetworkSupport implements MessageListener<Client>, ClientStat
      * {@code false} otherwise.
      */
     public boolean isConnected() {
+        if (nioClient != null) return nioClient.isConnected();
         return client != null && client.isConnected();
     }
 
@@ -63,6 +71,12 @@ public class ClientNetworkSupport implements MessageListener<Client>, ClientStat
      * </p>
      */
     public void disconnect() {
+        if (nioClient != null) {
+            nioClient.close();
+            nioClient = null;
+            LOGGER.log(System.Logger.Level.INFO, "client closed"); //NON-NLS
+            return;
+        }
         if (client == null) return;
         client.close();
         client = null;
@@ -77,15 +91,23 @@ public class ClientNetworkSupport implements MessageListener<Client>, ClientStat
      * {@link IllegalStateException} is thrown.
      * </p>
      *
-     * @param host the server hostname or IP address.
-     * @param port the port number on which the server is listening.
+     * @param host      the server hostname or IP address.
+     * @param port      the port number on which the server is listening.
+     * @param transport the transport the server uses.
      * @throws IOException           if an I/O error occurs during the connection process.
      * @throws IllegalStateException if a connection already exists.
      */
-    public void connect(String host, int port) throws IOException {
-        if (client != null)
+    public void connect(String host, int port, Transport transport) throws IOException {
+        if (client != null || nioClient != null)
             throw new IllegalStateException("trying to join a game again");
-        client = Network.connectToServer(host, port);
+        if (transport == Transport.NIO) {
+            final NioClient connection = new NioClient(this::messageReceived, this::nioConnectionLost);
+            connection.connect(host, port);
+            nioClient = connection;
+            LOGGER.log(System.Logger.Level.INFO, "Client connected over NIO: {0}:{1}", host, String.valueOf(port)); //NON-NLS
+            return;
+        }
+        client = Network.connectToServer(Protocol.GAME_NAME, Protocol.fingerprint(), host, port, port);
         client.start();
         client.addMessageListener(this);
         client.addClientStateListener(this);
@@ -109,6 +131,25 @@ public class ClientNetworkSupport implements MessageListener<Client>, ClientStat
         }
     }
 
+    /**
+     * Forwards a message received by the NIO transport to the registered {@code ServerMessageReceiver}.
+     *
+     * @param message the {@link ServerMessage} received from the server.
+     */
+    private void messageReceived(ServerMessage message) {
+        LOGGER.log(System.Logger.Level.INFO, "message received from server: {0}", message); //NON-NLS
+        receiver.receive(message);
+    }
+
+    /**
+     * Callback invoked when the NIO transport lost the connection to the server.
+     */
+    private void nioConnectionLost() {
+        LOGGER.log(System.Logger.Level.INFO, "NIO connection closed by server"); //NON-NLS
+        nioClient = null;
+        error("lost.connection.to.server");
+    }
+
     /**
      * Callback invoked when the client successfully connects to the server.
      *
@@ -152,7 +193,14 @@ public class ClientNetworkSupport implements MessageListener<Client>, ClientStat
     @Override
     public void send(ClientMessage message) {
         LOGGER.log(System.Logger.Level.INFO, "sending {0}", message); //NON-NLS
-        if (client == null)
+        if (nioClient != null) {
+            try {
+                nioClient.send(message);
+            } catch (IOException e) {
+                LOGGER.log(System.Logger.Level.ERROR, "could not send " + message, e); //NON-NLS
+                error("lost.connection.to.server");
+            }
+        } else if (client == null)
             error("lost.connection.to.server");
         else
             client.send(message);
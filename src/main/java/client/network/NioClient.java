@@ -0,0 +1,131 @@
+package client.network;
+
+import model.general.message.client.ClientMessage;
+import model.general.message.client.ServerMessageReceiver;
+import model.general.message.server.ServerMessage;
+import model.general.network.MessageFrames;
+import model.general.network.Protocol;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Client side of the NIO transport, see {@link model.general.network.Transport#NIO}.
+ * <p>
+ * The channel is used in blocking mode with one thread reading frames and handing the
+ * decoded messages to the receiver. Messages are sent on the calling thread.
+ * </p>
+ */
+class NioClient {
+    private static final System.Logger LOGGER = System.getLogger(NioClient.class.getName());
+
+    private final ServerMessageReceiver receiver;
+
+    /**
+     * Runs on the reader thread when the server closed the connection
+     */
+    private final Runnable onLost;
+
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(MessageFrames.DEFAULT_BUFFER_SIZE);
+    private final ByteBuffer writeBuffer = ByteBuffer.allocateDirect(MessageFrames.DEFAULT_BUFFER_SIZE);
+    private SocketChannel channel;
+    private volatile boolean closing;
+
+    /**
+     * Creates a new, unconnected client
+     *
+     * @param receiver handles the messages of the server, called on the reader thread
+     * @param onLost called on the reader thread if the connection is lost
+     */
+    NioClient(ServerMessageReceiver receiver, Runnable onLost) {
+        this.receiver = receiver;
+        this.onLost = onLost;
+    }
+
+    /**
+     * Connects to the server, exchanges the hellos of both sides and starts the reader thread
+     *
+     * @param host the server hostname or IP address.
+     * @param port the port number on which the server is listening.
+     * @throws IOException if the connection cannot be established or the server speaks another protocol
+     */
+    void connect(String host, int port) throws IOException {
+        channel = SocketChannel.open(new InetSocketAddress(host, port));
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        writeBuffer.clear();
+        Protocol.writeHello(writeBuffer);
+        writeBuffer.flip();
+        while (writeBuffer.hasRemaining()) {
+            channel.write(writeBuffer);
+        }
+        while (readBuffer.position() < Protocol.HELLO_BYTES) {
+            if (channel.read(readBuffer) < 0) break;
+        }
+        readBuffer.flip();
+        if (readBuffer.remaining() < Protocol.HELLO_BYTES || !Protocol.readHello(readBuffer)) {
+            close();
+            throw new IOException("the server speaks another protocol");
+        }
+        readBuffer.compact();
+        final Thread reader = new Thread(this::read, "nio-client");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    boolean isConnected() {
+        return channel != null && channel.isOpen();
+    }
+
+    /**
+     * Encodes the message as one frame and writes it
+     *
+     * @param message the message
+     * @throws IOException if the message cannot be encoded or written
+     */
+    synchronized void send(ClientMessage message) throws IOException {
+        writeBuffer.clear();
+        MessageFrames.encode(message, writeBuffer);
+        writeBuffer.flip();
+        while (writeBuffer.hasRemaining()) {
+            channel.write(writeBuffer);
+        }
+    }
+
+    /**
+     * Closes the connection without calling the lost connection callback
+     */
+    void close() {
+        closing = true;
+        try {
+            channel.close();
+        } catch (IOException e) {
+            LOGGER.log(System.Logger.Level.WARNING, "could not close the connection", e);
+        }
+    }
+
+    private void read() {
+        try {
+            while (channel.read(readBuffer) >= 0) {
+                readBuffer.flip();
+                Object message;
+                while ((message = MessageFrames.decode(readBuffer)) != null) {
+                    if (message instanceof ServerMessage serverMessage)
+                        receiver.receive(serverMessage);
+                    else
+                        LOGGER.log(System.Logger.Level.WARNING, "ignoring unexpected message {0}", message);
+                }
+                readBuffer.compact();
+            }
+        } catch (IOException e) {
+            if (!closing)
+                LOGGER.log(System.Logger.Level.ERROR, "connection to the server failed", e);
+        }
+        if (!closing) {
+            close();
+            onLost.run();
+        }
+    }
+}
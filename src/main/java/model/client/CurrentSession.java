@@ -1,12 +1,13 @@
 package model.client;
 
 import client.InputState;
+import model.general.config.Alphabet;
 import model.general.config.CharacterPosition;
+import model.general.config.PackedFeedback;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 
 public class CurrentSession {
     /**
@@ -16,21 +17,61 @@ public class CurrentSession {
 
     private final int maxGuessAmount;
     private final int answerLength;
+    private final int boardCount;
 
     private String unsubmittedGuess = "";
 
     private List<String> submittedGuesses = new ArrayList<>();
-    private List<List<CharacterPosition>> positions = new ArrayList<>();
+    private List<List<List<CharacterPosition>>> boardPositions = new ArrayList<>();
 
-    private Map<Character, CharacterPosition> letterState = new HashMap<>();
+    /**
+     * Packed feedback indexed by board and guess, see {@link PackedFeedback}
+     */
+    private final int[][] feedback;
+
+    /**
+     * Reused to hand the feedback of a guess to {@link #submitGuess(int[])}, indexed by board
+     */
+    private final int[] patternBuffer;
+
+    /**
+     * The packed feedback of a solved board
+     */
+    private final int allRight;
+
+    /**
+     * Index of the guess that solved each board, -1 while a board is unsolved
+     */
+    private final int[] solvedAt;
+
+    /**
+     * Best rating of every letter indexed by its index in the alphabet, -1 if it was not guessed yet
+     */
+    private final int[] letterState;
+
+    private final Alphabet alphabet;
+
+    private int remainingCandidates = -1;
 
     /**
      * Creates a new CurrentSession, containing information about the wordle
      * that is currently being solved
      */
-    public CurrentSession(int answerLength, int allowedGuesses) {
+    public CurrentSession(int answerLength, int allowedGuesses, int boardCount, Alphabet alphabet) {
         maxGuessAmount = allowedGuesses;
         this.answerLength = answerLength;
+        this.boardCount = boardCount;
+        this.alphabet = alphabet;
+        letterState = new int[alphabet.size()];
+        Arrays.fill(letterState, -1);
+        solvedAt = new int[boardCount];
+        Arrays.fill(solvedAt, -1);
+        feedback = new int[boardCount][allowedGuesses];
+        patternBuffer = new int[boardCount];
+        allRight = PackedFeedback.allRight(answerLength);
+        for (int board = 0; board < boardCount; board++) {
+            boardPositions.add(new ArrayList<>());
+        }
     }
 
     /**
@@ -66,37 +107,120 @@ public class CurrentSession {
      * @return two-dimensional List of CharacterPosition
      */
     public List<List<CharacterPosition>> getPositions() {
-        return positions;
+        return getPositions(0);
     }
 
     /**
-     * Submits and clears the current guess and adds positions information
+     * Returns two-dimensional List containing information about the positioning of characters on a board
+     *
+     * @param board the index of the board
+     * @return two-dimensional List of CharacterPosition
      */
-    public void submitGuess(List<CharacterPosition> positions) {
+    public List<List<CharacterPosition>> getPositions(int board) {
+        return boardPositions.get(board);
+    }
+
+    /**
+     * Submits and clears the current guess and adds positions information for every board.
+     * Boards that were already solved keep their rows.
+     *
+     * @param positions the positions information indexed by board
+     */
+    public void submitGuess(List<List<CharacterPosition>> positions) {
+        for (int board = 0; board < boardCount; board++) {
+            patternBuffer[board] = PackedFeedback.pack(positions.get(board));
+        }
+        submitGuess(patternBuffer);
+    }
+
+    /**
+     * Submits and clears the current guess of a single board game
+     *
+     * @param pattern the packed feedback of the guess
+     */
+    public void submitGuess(int pattern) {
+        patternBuffer[0] = pattern;
+        submitGuess(patternBuffer);
+    }
+
+    /**
+     * Submits and clears the current guess and adds the packed feedback of every board.
+     * Boards that were already solved keep their rows.
+     *
+     * @param patterns the packed feedback indexed by board
+     */
+    public void submitGuess(int[] patterns) {
         if (canSubmitGuess()) {
-            safeLetterState(unsubmittedGuess, positions);
+            final int guess = submittedGuesses.size();
+            for (int board = 0; board < boardCount; board++) {
+                if (isSolved(board)) continue;
+                final int pattern = patterns[board];
+                feedback[board][guess] = pattern;
+                safeLetterState(unsubmittedGuess, pattern);
+                boardPositions.get(board).add(PackedFeedback.unpack(pattern, answerLength));
+                if (pattern == allRight) {
+                    solvedAt[board] = guess;
+                }
+            }
             submittedGuesses.add(unsubmittedGuess);
             unsubmittedGuess = "";
-            this.positions.add(positions);
         }
     }
 
+    /**
+     * Adds a guess the server restored together with its feedback, e.g. after a reconnect
+     *
+     * @param guess the guessed word
+     * @param patterns the packed feedback indexed by board
+     */
+    public void restoreGuess(String guess, int[] patterns) {
+        unsubmittedGuess = guess;
+        submitGuess(patterns);
+    }
+
+    /**
+     * Returns the packed feedback a guess received on a board
+     *
+     * @param board the index of the board
+     * @param guess the index of the guess
+     * @return the packed feedback, see {@link PackedFeedback}
+     */
+    public int getFeedback(int board, int guess) {
+        return feedback[board][guess];
+    }
+
+    /**
+     * Returns if a board was solved
+     *
+     * @param board the index of the board
+     * @return true if the answer of the board was guessed
+     */
+    public boolean isSolved(int board) {
+        return solvedAt[board] >= 0;
+    }
+
+    /**
+     * Returns if every board was solved
+     *
+     * @return true if the game is won
+     */
+    public boolean isSolved() {
+        for (int board = 0; board < boardCount; board++) {
+            if (!isSolved(board)) return false;
+        }
+        return true;
+    }
+
     /**
      * Updates the letter states based on the guess and its evaluation
      *
      * @param guess the guess
-     * @param states the guesses rating
+     * @param pattern the guesses packed rating
      */
-    private void safeLetterState(String guess, List<CharacterPosition> states) {
+    private void safeLetterState(String guess, int pattern) {
         for (int i = 0; i < guess.length(); i++) {
-            Character c = guess.charAt(i);
-            if (letterState.containsKey(c)) {
-                if (letterState.get(c).ordinal() < states.get(i).ordinal()) {
-                    letterState.put(c, states.get(i));
-                }
-            } else {
-                letterState.put(c, states.get(i));
-            }
+            final int letter = alphabet.indexOf(guess.charAt(i));
+            letterState[letter] = Math.max(letterState[letter], PackedFeedback.tile(pattern, i));
         }
     }
 
@@ -119,14 +243,14 @@ public class CurrentSession {
     }
 
     /**
-     * Adds a letter to the current unsubmitted guess
+     * Adds a letter to the current unsubmitted guess, characters that are no letter of the alphabet are ignored
      *
      * @param character the letter to be added as char
      */
     public void addCharacter(char character) {
-        if (canAddCharacter()) {
-            unsubmittedGuess += character;
-            unsubmittedGuess = unsubmittedGuess.toUpperCase();
+        final String letter = alphabet.normalize(String.valueOf(character));
+        if (canAddCharacter() && letter.length() == 1 && alphabet.contains(letter.charAt(0))) {
+            unsubmittedGuess += letter;
         }
     }
 
@@ -151,11 +275,39 @@ public class CurrentSession {
         return answerLength;
     }
 
+    public int getBoardCount() {
+        return boardCount;
+    }
+
     public int getMaxGuessAmount() {
         return maxGuessAmount;
     }
 
-    public Map<Character, CharacterPosition> getLetterState() {
-        return letterState;
+    /**
+     * Returns the best rating a letter received so far
+     *
+     * @param letter the upper case letter
+     * @return the rating or null if the letter was not guessed yet
+     */
+    public CharacterPosition getLetterState(char letter) {
+        final int index = alphabet.indexOf(letter);
+        return index < 0 || letterState[index] < 0 ? null : CharacterPosition.values()[letterState[index]];
+    }
+
+    public Alphabet getAlphabet() {
+        return alphabet;
+    }
+
+    /**
+     * Returns the amount of answers still consistent with all feedback
+     *
+     * @return the amount or -1 if the server did not send it
+     */
+    public int getRemainingCandidates() {
+        return remainingCandidates;
+    }
+
+    public void setRemainingCandidates(int remainingCandidates) {
+        this.remainingCandidates = remainingCandidates;
     }
 }
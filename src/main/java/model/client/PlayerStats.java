@@ -0,0 +1,119 @@
+package model.client;
+
+import model.general.dto.StatsProvider;
+import model.general.message.server.StatsDeltaUpdate;
+import model.general.message.server.StatsRequestResponse;
+
+/**
+ * The stats of the logged in player as known by the client.
+ * <p>
+ * The full stats are fetched once after the login, afterwards the server pushes a
+ * {@link StatsDeltaUpdate} for every finished game, so opening the stats view needs no round trip.
+ * </p>
+ */
+public class PlayerStats implements StatsProvider {
+    /**
+     * Version of stats that were not fetched yet
+     */
+    private static final int UNKNOWN = -1;
+
+    private int version = UNKNOWN;
+    private String alias;
+    private long lastPlayDate;
+    private int score;
+    private int streak;
+    private int maxStreak;
+    private int wordlesSolved;
+    private int wordlesLost;
+    private int[] guessDistribution = new int[0];
+
+    /**
+     * Replaces the stats with the full stats sent by the server
+     *
+     * @param msg the full stats
+     */
+    public void set(StatsRequestResponse msg) {
+        version = msg.getVersion();
+        alias = msg.getAlias();
+        lastPlayDate = msg.getLastPlayDate();
+        score = msg.getScore();
+        streak = msg.getStreak();
+        maxStreak = msg.getMaxStreak();
+        wordlesSolved = msg.getWordlesSolved();
+        wordlesLost = msg.getWordlesLost();
+        guessDistribution = msg.getGuessDistribution() == null ? new int[0] : msg.getGuessDistribution();
+    }
+
+    /**
+     * Applies a change pushed by the server. Changes already contained in the stats are ignored.
+     *
+     * @param msg the change
+     * @return false if a change is missing or the stats were not fetched yet, the full stats have to be fetched
+     */
+    public boolean apply(StatsDeltaUpdate msg) {
+        if (version == UNKNOWN) return false;
+        if (msg.getVersion() <= version) return true;
+        if (msg.getVersion() != version + 1) {
+            version = UNKNOWN;
+            return false;
+        }
+        version = msg.getVersion();
+        score += msg.getScoreChange();
+        streak = msg.getStreak();
+        maxStreak = msg.getMaxStreak();
+        lastPlayDate = msg.getLastPlayDate();
+        if (msg.isSolved()) wordlesSolved += 1;
+        if (msg.isLost()) wordlesLost += 1;
+        if (msg.getBucket() >= 0 && msg.getBucket() < guessDistribution.length) guessDistribution[msg.getBucket()] += 1;
+        return true;
+    }
+
+    /**
+     * Returns if the stats were fetched from the server
+     *
+     * @return true if the stats are known
+     */
+    public boolean isKnown() {
+        return version != UNKNOWN;
+    }
+
+    @Override
+    public String getAlias() {
+        return alias;
+    }
+
+    @Override
+    public long getLastPlayDate() {
+        return lastPlayDate;
+    }
+
+    @Override
+    public int getScore() {
+        return score;
+    }
+
+    @Override
+    public int getStreak() {
+        return streak;
+    }
+
+    @Override
+    public int getMaxStreak() {
+        return maxStreak;
+    }
+
+    @Override
+    public int getWordlesSolved() {
+        return wordlesSolved;
+    }
+
+    @Override
+    public int getWordlesLost() {
+        return wordlesLost;
+    }
+
+    @Override
+    public int[] getGuessDistribution() {
+        return guessDistribution;
+    }
+}
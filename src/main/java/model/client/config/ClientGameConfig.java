@@ -1,6 +1,8 @@
 package model.client.config;
 
 import model.general.config.Config;
+import model.general.config.GameMode;
+import model.general.network.Transport;
 
 public class ClientGameConfig extends Config {
     /**
@@ -27,6 +29,30 @@ public class ClientGameConfig extends Config {
     @Property("port")
     private int port = 1234;
 
+    /**
+     * The network transport, jme or nio, has to match the server.
+     */
+    @Property("network.transport")
+    private String transport = "jme";
+
+    /**
+     * Whether guesses are sent in the compact packed format if the server supports it.
+     */
+    @Property("network.packed-messages")
+    private boolean packedMessages = true;
+
+    /**
+     * The kind of game to start, see {@link GameMode}.
+     */
+    @Property("game.mode")
+    private String gameMode = "classic";
+
+    /**
+     * The requested length of the answer.
+     */
+    @Property("game.word-length")
+    private int wordLength = 5;
+
     /**
      * The width of the game view resolution in pixels.
      */
@@ -109,6 +135,14 @@ public class ClientGameConfig extends Config {
         return port;
     }
 
+    public Transport getTransport() {
+        return Transport.forName(transport);
+    }
+
+    public boolean isPackedMessages() {
+        return packedMessages;
+    }
+
     public String getName() {
         return name;
     }
@@ -116,4 +150,12 @@ public class ClientGameConfig extends Config {
     public String getPassword() {
         return password;
     }
+
+    public GameMode getGameMode() {
+        return GameMode.valueOf(gameMode.strip().toUpperCase());
+    }
+
+    public int getWordLength() {
+        return wordLength;
+    }
 }
@@ -3,9 +3,15 @@ package model.client.logic;
 import client.network.ClientSender;
 import model.client.CurrentSession;
 import model.client.Feature;
+import model.client.PlayerStats;
 import model.client.config.ClientGameConfig;
+import model.general.config.Alphabet;
 import model.general.message.client.ClientMessage;
 import model.general.message.client.ServerMessageReceiver;
+import model.general.config.WordCodec;
+import model.general.message.client.RaceGuessMessage;
+import model.general.message.client.RaceJoinMessage;
+import model.general.message.client.SpectateMessage;
 import model.client.notification.GameEventBroker;
 import model.general.message.server.ServerMessage;
 
@@ -53,6 +59,16 @@ public class ClientGameLogic implements ServerMessageReceiver {
      */
     private CurrentSession currentSession;
 
+    /**
+     * The stats of the player, kept up to date by the server
+     */
+    private final PlayerStats stats = new PlayerStats();
+
+    /**
+     * Whether guesses are sent in the compact packed format
+     */
+    private boolean packedGuesses;
+
     /**
      * The current game state.
      */
@@ -104,14 +120,31 @@ public class ClientGameLogic implements ServerMessageReceiver {
         return gameConfig;
     }
 
-    public void startNewSession(int answerLength, int guessAmount) {
-        currentSession = new CurrentSession(answerLength, guessAmount);
+    public void startNewSession(int answerLength, int guessAmount, int boardCount, Alphabet alphabet) {
+        currentSession = new CurrentSession(answerLength, guessAmount, boardCount, alphabet);
     }
 
     public CurrentSession getCurrentSession() {
         return currentSession;
     }
 
+    public PlayerStats getStats() {
+        return stats;
+    }
+
+    /**
+     * Returns if guesses are sent as PackedGuessMessage, agreed on when the connection was established
+     *
+     * @return true if the server supports packed guesses and the config allows them
+     */
+    public boolean isPackedGuesses() {
+        return packedGuesses;
+    }
+
+    public void setPackedGuesses(boolean packedGuesses) {
+        this.packedGuesses = packedGuesses;
+    }
+
     /**
      * @return all features supported by the current client state
      */
@@ -140,6 +173,45 @@ public class ClientGameLogic implements ServerMessageReceiver {
         clientSender.send(msg);
     }
 
+    /**
+     * Starts watching the games of another player, their progress arrives as SpectatorUpdateEvent
+     *
+     * @param player the name of the player, null to stop watching
+     */
+    public void spectate(String player) {
+        send(new SpectateMessage(player));
+    }
+
+    /**
+     * Asks for a seat in a race room, the room reports back as RaceUpdateEvents
+     *
+     * @param wordLength the length of the answer
+     */
+    public void joinRace(int wordLength) {
+        send(new RaceJoinMessage(wordLength));
+    }
+
+    /**
+     * Starts a private race against bots, the room reports back as RaceUpdateEvents
+     *
+     * @param wordLength the length of the answer
+     * @param bots the amount of bot opponents
+     * @param botTopK the skill of the bots, 1 always picks the best guess
+     */
+    public void practiceRace(int wordLength, int bots, int botTopK) {
+        send(new RaceJoinMessage(wordLength, bots, botTopK));
+    }
+
+    /**
+     * Sends a guess of the running race
+     *
+     * @param guess the guessed word
+     * @param alphabet the alphabet of the race, from the RaceStartResponse
+     */
+    public void guessRace(String guess, Alphabet alphabet) {
+        send(new RaceGuessMessage(WordCodec.encode(alphabet.normalize(guess), alphabet)));
+    }
+
     /**
      * Handles incoming messages from the server by delegating them
      * to the current client state.
@@ -4,6 +4,12 @@ import java.util.*;
 import model.client.Feature;
 import model.general.message.client.ServerMessageInterpreter;
 import model.client.notification.GameEventListener;
+import model.client.notification.RaceUpdateEvent;
+import model.client.notification.SpectatorUpdateEvent;
+import model.client.notification.StatsReceivedEvent;
+import model.client.notification.TimedResultEvent;
+import model.general.message.client.PongMessage;
+import model.general.message.client.StatsRequestMessage;
 import model.general.message.server.*;
 
 /**
@@ -102,6 +108,16 @@ public abstract class ClientState implements ServerMessageInterpreter, GameEvent
         ClientGameLogic.LOGGER.log(System.Logger.Level.ERROR, "received GuessResponse not allowed in {0}", getName()); //NON-NLS
     }
 
+    /**
+     * Reports the effect of a PackedGuessResponse from the server message.
+     *
+     * @param msg the message received from server
+     */
+    @Override
+    public void received(PackedGuessResponse msg) {
+        ClientGameLogic.LOGGER.log(System.Logger.Level.ERROR, "received PackedGuessResponse not allowed in {0}", getName()); //NON-NLS
+    }
+
     /**
      * Reports the effect of a ConnectionResponse from the server message.
      *
@@ -112,11 +128,126 @@ public abstract class ClientState implements ServerMessageInterpreter, GameEvent
     }
 
     /**
-     * Reports the effect of a StatsRequestResponse from the server message.
+     * Takes over the full stats of the player, which can happen in every state.
      *
      * @param msg the message received from server
      */
     public void received(StatsRequestResponse msg) {
-        ClientGameLogic.LOGGER.log(System.Logger.Level.ERROR, "received StatsRequestResponse not allowed in {0}", getName()); //NON-NLS
+        logic.getStats().set(msg);
+        logic.getEventBroker().notifyListeners(new StatsReceivedEvent(logic.getStats()));
+    }
+
+    /**
+     * Applies a change of the stats pushed by the server, which can happen in every state.
+     * The full stats are fetched again if a change was missed.
+     *
+     * @param msg the message received from server
+     */
+    @Override
+    public void received(StatsDeltaUpdate msg) {
+        if (logic.getStats().apply(msg)) {
+            logic.getEventBroker().notifyListeners(new StatsReceivedEvent(logic.getStats()));
+        } else {
+            ClientGameLogic.LOGGER.log(System.Logger.Level.INFO, "stats version {0} does not match, fetching all stats", msg.getVersion()); //NON-NLS
+            logic.send(new StatsRequestMessage());
+        }
+    }
+
+    /**
+     * Reports the effect of a HintResponse from the server message.
+     *
+     * @param msg the message received from server
+     */
+    public void received(HintResponse msg) {
+        ClientGameLogic.LOGGER.log(System.Logger.Level.ERROR, "received HintResponse not allowed in {0}", getName()); //NON-NLS
+    }
+
+    /**
+     * Reports that the server dropped a message, which can happen in every state.
+     *
+     * @param msg the message received from server
+     */
+    public void received(RejectedResponse msg) {
+        ClientGameLogic.LOGGER.log(System.Logger.Level.WARNING, "server rejected {0}: {1}", msg.getMessageType(), msg.getReason()); //NON-NLS
+    }
+
+    /**
+     * Passes the progress of the watched player on to the views, which can happen in every state.
+     *
+     * @param msg the message received from server
+     */
+    @Override
+    public void received(SpectatorUpdate msg) {
+        logic.getEventBroker().notifyListeners(new SpectatorUpdateEvent(msg));
+    }
+
+    /**
+     * Passes the waiting players of the race room on to the views, which can happen in every state.
+     *
+     * @param msg the message received from server
+     */
+    @Override
+    public void received(RaceLobbyUpdate msg) {
+        logic.getEventBroker().notifyListeners(new RaceUpdateEvent(msg));
+    }
+
+    /**
+     * Passes the start of the race on to the views, which can happen in every state.
+     *
+     * @param msg the message received from server
+     */
+    @Override
+    public void received(RaceStartResponse msg) {
+        logic.getEventBroker().notifyListeners(new RaceUpdateEvent(msg));
+    }
+
+    /**
+     * Passes a guess of a racing player on to the views, which can happen in every state.
+     *
+     * @param msg the message received from server
+     */
+    @Override
+    public void received(RaceProgressUpdate msg) {
+        logic.getEventBroker().notifyListeners(new RaceUpdateEvent(msg));
+    }
+
+    /**
+     * Passes the ranking of the race on to the views, which can happen in every state.
+     *
+     * @param msg the message received from server
+     */
+    @Override
+    public void received(RaceResultResponse msg) {
+        logic.getEventBroker().notifyListeners(new RaceUpdateEvent(msg));
+    }
+
+    /**
+     * Answers a ping of the server right away, which can happen in every state.
+     *
+     * @param msg the message received from server
+     */
+    @Override
+    public void received(PingRequest msg) {
+        logic.send(new PongMessage(msg.getSequence()));
+    }
+
+    /**
+     * Passes the result of a time attack game on to the views, which can happen in every state.
+     *
+     * @param msg the message received from server
+     */
+    @Override
+    public void received(TimedResultResponse msg) {
+        logic.getEventBroker().notifyListeners(new TimedResultEvent(msg));
+    }
+
+    /**
+     * Reports the effect of a GameStateSyncResponse from the server message.
+     *
+     * @param msg the message received from server
+     */
+    @Override
+    public void received(GameStateSyncResponse msg) {
+        ClientGameLogic.LOGGER.log(System.Logger.Level.ERROR, "received GameStateSyncResponse not allowed in {0}", getName()); //NON-NLS
     }
 }
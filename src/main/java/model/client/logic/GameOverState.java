@@ -2,7 +2,6 @@ package model.client.logic;
 
 import model.client.Feature;
 import model.general.message.client.StartGameMessage;
-import model.general.message.client.StatsRequestMessage;
 import model.client.notification.EnterPressedEvent;
 import model.client.notification.TabPressedEvent;
 import model.general.message.server.StartGameResponse;
@@ -34,18 +33,17 @@ public class GameOverState extends ClientState {
 
     @Override
     public void received(StartGameResponse msg) {
-        logic.startNewSession(msg.getWordLength(), msg.getAllowedGuesses());
+        logic.startNewSession(msg.getWordLength(), msg.getAllowedGuesses(), msg.getBoardCount(), msg.getAlphabet());
         logic.setState(new GuessState(logic));
     }
 
     @Override
     public void receivedEvent(EnterPressedEvent event) {
-        logic.send(new StartGameMessage());
+        logic.send(new StartGameMessage(logic.getGameConfig().getGameMode(), logic.getGameConfig().getWordLength()));
     }
 
     @Override
     public void receivedEvent(TabPressedEvent event) {
-        logic.send(new StatsRequestMessage());
         logic.setState(new StatsState(logic));
     }
 
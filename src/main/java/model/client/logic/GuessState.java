@@ -1,10 +1,15 @@
 package model.client.logic;
 
 import model.client.Feature;
+import model.client.CurrentSession;
+import model.general.config.WordCodec;
 import model.general.message.client.GuessMessage;
+import model.general.message.client.HintRequestMessage;
 import model.client.notification.*;
-import model.general.config.CharacterPosition;
+import model.general.message.client.PackedGuessMessage;
 import model.general.message.server.GuessResponse;
+import model.general.message.server.HintResponse;
+import model.general.message.server.PackedGuessResponse;
 
 import java.util.EnumSet;
 import java.util.Set;
@@ -38,19 +43,50 @@ public class GuessState extends ClientState {
     @Override
     public void received(GuessResponse msg) {
         if (msg.isAccepted()) {
-            ClientGameLogic.LOGGER.log(System.Logger.Level.INFO, "guess {0} was accepted with result: {1}", logic.getCurrentSession().getUnsubmittedGuess(), msg.getPositions());
-            logic.getCurrentSession().submitGuess(msg.getPositions());
-            logic.getEventBroker().notifyListeners(new GuessSubmittedEvent(logic.getCurrentSession()));
-            if (msg.getPositions().stream().allMatch(c -> c == CharacterPosition.RIGHT)) {
-                logic.setState(new GameOverState(logic));
-            } else if (logic.getCurrentSession().remainingGuesses() <= 0) {
-                logic.setState(new GameOverState(logic));
-            }
+            final CurrentSession session = logic.getCurrentSession();
+            ClientGameLogic.LOGGER.log(System.Logger.Level.INFO, "guess {0} was accepted with result: {1}", session.getUnsubmittedGuess(), msg.getBoardPositions(session.getAnswerLength()));
+            if (session.getBoardCount() > 1)
+                session.submitGuess(msg.getBoardPatterns());
+            else
+                session.submitGuess(msg.getBoardPositions(session.getAnswerLength()));
+            guessAccepted(msg.hasRemainingCandidates(), msg.getRemainingCandidates());
         } else {
             ClientGameLogic.LOGGER.log(System.Logger.Level.INFO, "guess {0} was rejected", logic.getCurrentSession().getUnsubmittedGuess());
         }
     }
 
+    @Override
+    public void received(PackedGuessResponse msg) {
+        if (msg.isAccepted()) {
+            ClientGameLogic.LOGGER.log(System.Logger.Level.INFO, "guess {0} was accepted with result: {1}", logic.getCurrentSession().getUnsubmittedGuess(), Integer.toBinaryString(msg.getFeedback()));
+            logic.getCurrentSession().submitGuess(msg.getFeedback());
+            guessAccepted(msg.hasRemainingCandidates(), msg.getRemainingCandidates());
+        } else {
+            ClientGameLogic.LOGGER.log(System.Logger.Level.INFO, "guess {0} was rejected", logic.getCurrentSession().getUnsubmittedGuess());
+        }
+    }
+
+    /**
+     * Updates the view after the feedback of a guess was added to the session and ends the game if it is over
+     */
+    private void guessAccepted(boolean hasRemainingCandidates, int remainingCandidates) {
+        if (hasRemainingCandidates) {
+            logic.getCurrentSession().setRemainingCandidates(remainingCandidates);
+        }
+        logic.getEventBroker().notifyListeners(new GuessSubmittedEvent(logic.getCurrentSession()));
+        if (logic.getCurrentSession().isSolved()) {
+            logic.setState(new GameOverState(logic));
+        } else if (logic.getCurrentSession().remainingGuesses() <= 0) {
+            logic.setState(new GameOverState(logic));
+        }
+    }
+
+    @Override
+    public void received(HintResponse msg) {
+        ClientGameLogic.LOGGER.log(System.Logger.Level.INFO, "received hints: {0}", msg.getHints());
+        logic.getEventBroker().notifyListeners(new HintReceivedEvent(msg.getHints()));
+    }
+
     @Override
     public void receivedEvent(LetterPressedEvent event) {
         logic.getCurrentSession().addCharacter(event.letter());
@@ -61,9 +97,12 @@ public class GuessState extends ClientState {
 
     @Override
     public void receivedEvent(EnterPressedEvent event) {
-        if (logic.getCurrentSession().isCurrentGuessValid()) {
-            logic.send(new GuessMessage(logic.getCurrentSession().getUnsubmittedGuess()));
-        }
+        final CurrentSession session = logic.getCurrentSession();
+        if (!session.isCurrentGuessValid()) return;
+        if (logic.isPackedGuesses())
+            logic.send(new PackedGuessMessage(WordCodec.encode(session.getUnsubmittedGuess(), session.getAlphabet())));
+        else
+            logic.send(new GuessMessage(session.getUnsubmittedGuess()));
     }
 
     @Override
@@ -73,6 +112,11 @@ public class GuessState extends ClientState {
         logic.getEventBroker().notifyListeners(new InputUpdateEvent(logic.getCurrentSession()));
     }
 
+    @Override
+    public void receivedEvent(HintPressedEvent event) {
+        logic.send(new HintRequestMessage());
+    }
+
     /**
      * Returns the set of all features of this state.
      *
@@ -1,9 +1,14 @@
 package model.client.logic;
 
+import model.client.CurrentSession;
 import model.client.Feature;
+import model.client.notification.GuessSubmittedEvent;
+import model.general.config.WordCodec;
 import model.general.message.client.LoginMessage;
 import model.general.message.client.StartGameMessage;
+import model.general.message.client.StatsRequestMessage;
 import model.general.message.server.ConnectionResponse;
+import model.general.message.server.GameStateSyncResponse;
 import model.general.message.server.LoginResponse;
 import model.general.message.server.StartGameResponse;
 
@@ -31,31 +36,57 @@ public class InitialState extends ClientState{
     }
 
     /**
-     * Sends authentication request when server responded to the connection.
+     * Agrees on the message format and sends authentication request when server responded to the connection.
      *
      * @param msg the ConnectionResponse message
      */
     @Override
     public void received(ConnectionResponse msg) {
+        logic.setPackedGuesses(msg.supportsPackedGuesses() && logic.getGameConfig().isPackedMessages());
+        ClientGameLogic.LOGGER.log(System.Logger.Level.INFO, "sending packed guesses: {0}", logic.isPackedGuesses()); //NON-NLS
         logic.send(new LoginMessage(logic.getGameConfig().getName(), logic.getGameConfig().getPassword()));
     }
 
     /**
-     * Sets the game details provided by the server.
+     * Fetches the stats and starts a game once the login succeeded.
      *
      * @param msg the game details  including word length
      */
     @Override
     public void received(LoginResponse msg) {
-        logic.send(new StartGameMessage());
+        logic.send(new StatsRequestMessage());
+        logic.send(new StartGameMessage(logic.getGameConfig().getGameMode(), logic.getGameConfig().getWordLength()));
     }
 
     @Override
     public void received(StartGameResponse msg) {
-        logic.startNewSession(msg.getWordLength(), msg.getAllowedGuesses());
+        logic.startNewSession(msg.getWordLength(), msg.getAllowedGuesses(), msg.getBoardCount(), msg.getAlphabet());
         logic.setState(new GuessState(logic));
     }
 
+    /**
+     * Continues the game the player had in progress, the server sends it instead of a LoginResponse.
+     *
+     * @param msg the restored board
+     */
+    @Override
+    public void received(GameStateSyncResponse msg) {
+        logic.send(new StatsRequestMessage());
+        logic.startNewSession(msg.getWordLength(), msg.getAllowedGuesses(), msg.getBoardCount(), msg.getAlphabet());
+        final CurrentSession session = logic.getCurrentSession();
+        final int[] patterns = new int[msg.getBoardCount()];
+        for (int guess = 0; guess < msg.getGuesses().length; guess++) {
+            System.arraycopy(msg.getPatterns(), guess * patterns.length, patterns, 0, patterns.length);
+            session.restoreGuess(WordCodec.decode(msg.getGuesses()[guess], msg.getWordLength(), msg.getAlphabet()), patterns);
+        }
+        if (msg.hasRemainingCandidates()) {
+            session.setRemainingCandidates(msg.getRemainingCandidates());
+        }
+        ClientGameLogic.LOGGER.log(System.Logger.Level.INFO, "continuing game with guesses: {0}", session.getSubmittedGuesses()); //NON-NLS
+        logic.setState(new GuessState(logic));
+        logic.getEventBroker().notifyListeners(new GuessSubmittedEvent(session));
+    }
+
     /**
      * Returns the set of all features of this state.
      *
@@ -3,7 +3,7 @@ package model.client.logic;
 import model.client.Feature;
 import model.client.notification.StatsReceivedEvent;
 import model.client.notification.TabPressedEvent;
-import model.general.message.server.StatsRequestResponse;
+import model.general.message.client.StatsRequestMessage;
 
 import java.util.EnumSet;
 import java.util.Set;
@@ -20,9 +20,16 @@ public class StatsState extends ClientState {
         super(logic);
     }
 
+    /**
+     * Shows the stats kept by the client, they are only fetched if they are not known yet
+     */
     @Override
     public void entry() {
         logic.getEventBroker().addListener(this);
+        if (logic.getStats().isKnown())
+            logic.getEventBroker().notifyListeners(new StatsReceivedEvent(logic.getStats()));
+        else
+            logic.send(new StatsRequestMessage());
     }
 
     @Override
@@ -30,11 +37,6 @@ public class StatsState extends ClientState {
         logic.getEventBroker().removeListener(this);
     }
 
-    @Override
-    public void received(StatsRequestResponse msg) {
-        logic.getEventBroker().notifyListeners(new StatsReceivedEvent(msg));
-    }
-
     @Override
     public void receivedEvent(TabPressedEvent event) {
         logic.setState(new GameOverState(logic));
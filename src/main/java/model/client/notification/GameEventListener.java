@@ -66,4 +66,39 @@ public interface GameEventListener {
      * @param event the received StatsReceivedEvent
      */
     default void receivedEvent(StatsReceivedEvent event) {}
-}
\ No newline at end of file
+
+    /**
+     * Called when a {@link HintPressedEvent} has been received.
+     *
+     * @param event the received HintPressedEvent
+     */
+    default void receivedEvent(HintPressedEvent event) {}
+
+    /**
+     * Called when a {@link HintReceivedEvent} has been received.
+     *
+     * @param event the received HintReceivedEvent containing the suggested guesses
+     */
+    default void receivedEvent(HintReceivedEvent event) {}
+
+    /**
+     * Called when a {@link SpectatorUpdateEvent} has been received.
+     *
+     * @param event the received SpectatorUpdateEvent containing the progress of the watched player
+     */
+    default void receivedEvent(SpectatorUpdateEvent event) {}
+
+    /**
+     * Called when a {@link RaceUpdateEvent} has been received.
+     *
+     * @param event the received RaceUpdateEvent containing a message of the race room
+     */
+    default void receivedEvent(RaceUpdateEvent event) {}
+
+    /**
+     * Called when a {@link TimedResultEvent} has been received.
+     *
+     * @param event the received TimedResultEvent containing the solve time and points of a time attack game
+     */
+    default void receivedEvent(TimedResultEvent event) {}
+}
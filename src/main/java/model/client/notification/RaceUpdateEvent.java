@@ -0,0 +1,21 @@
+package model.client.notification;
+
+import model.general.message.server.ServerMessage;
+
+/**
+ * Event for every message of the race room the client sits in, one of RaceLobbyUpdate,
+ * RaceStartResponse, RaceProgressUpdate and RaceResultResponse.
+ *
+ * @param message the received race message
+ */
+public record RaceUpdateEvent(ServerMessage message) implements GameEvent {
+    /**
+     * Notifies and passes GameEvent to a Listener
+     *
+     * @param listener the specific Listener
+     */
+    @Override
+    public void notifyListener(GameEventListener listener) {
+        listener.receivedEvent(this);
+    }
+}
@@ -1,8 +1,13 @@
 package model.client.notification;
 
-import model.general.message.server.StatsRequestResponse;
+import model.general.dto.StatsProvider;
 
-public record StatsReceivedEvent(StatsRequestResponse msg) implements GameEvent {
+/**
+ * The stats of the player changed or the stats view was opened
+ *
+ * @param stats the stats kept by the client
+ */
+public record StatsReceivedEvent(StatsProvider stats) implements GameEvent {
     /**
      * Notifies and passes GameEvent to a Listener
      *
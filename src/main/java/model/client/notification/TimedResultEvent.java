@@ -0,0 +1,15 @@
+package model.client.notification;
+
+import model.general.message.server.TimedResultResponse;
+
+public record TimedResultEvent(TimedResultResponse result) implements GameEvent {
+    /**
+     * Notifies and passes GameEvent to a Listener
+     *
+     * @param listener the specific Listener
+     */
+    @Override
+    public void notifyListener(GameEventListener listener) {
+        listener.receivedEvent(this);
+    }
+}
@@ -0,0 +1,168 @@
+package model.general.config;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * The letters words of a language are made of.
+ * <p>
+ * Every letter is mapped to a dense index starting at 0, in the order of the definition.
+ * Packed words, feedback evaluation and letter states work on these indices only, so
+ * alphabets with more than 26 letters cost no more than English. Letters are upper case
+ * characters of the basic multilingual plane, an alphabet holds at most
+ * {@link #MAX_SIZE} of them.
+ * </p>
+ */
+public final class Alphabet {
+    /**
+     * Largest amount of letters, every letter index fits into five bits
+     */
+    public static final int MAX_SIZE = 32;
+
+    /**
+     * Latin letters A-Z
+     */
+    public static final Alphabet ENGLISH = new Alphabet("en", Locale.ENGLISH, "ABCDEFGHIJKLMNOPQRSTUVWXYZ");
+
+    /**
+     * Latin letters A-Z followed by the umlauts, ß is written as SS
+     */
+    public static final Alphabet GERMAN = new Alphabet("de", Locale.GERMAN, "ABCDEFGHIJKLMNOPQRSTUVWXYZÄÖÜ");
+
+    /**
+     * Latin letters A-Z followed by Ñ
+     */
+    public static final Alphabet SPANISH = new Alphabet("es", Locale.forLanguageTag("es"), "ABCDEFGHIJKLMNOPQRSTUVWXYZÑ");
+
+    private static final Alphabet[] KNOWN = {ENGLISH, GERMAN, SPANISH};
+
+    /**
+     * Language tag of the alphabet
+     */
+    private final String tag;
+
+    /**
+     * Locale used to upper case words
+     */
+    private final Locale locale;
+
+    /**
+     * The letters, indexed by letter index
+     */
+    private final char[] letters;
+
+    /**
+     * Letter index of every character up to the largest letter, -1 for other characters
+     */
+    private final byte[] indices;
+
+    private Alphabet(String tag, Locale locale, String letters) {
+        if (letters.isEmpty() || letters.length() > MAX_SIZE) {
+            throw new IllegalArgumentException("an alphabet needs 1 to " + MAX_SIZE + " letters: " + letters);
+        }
+        this.tag = tag;
+        this.locale = locale;
+        this.letters = letters.toCharArray();
+        char max = 0;
+        for (char letter : this.letters) {
+            max = (char) Math.max(max, letter);
+        }
+        indices = new byte[max + 1];
+        Arrays.fill(indices, (byte) -1);
+        for (int i = 0; i < this.letters.length; i++) {
+            indices[this.letters[i]] = (byte) i;
+        }
+    }
+
+    /**
+     * Returns the alphabet of a language
+     *
+     * @param tag the language tag, for example "de"
+     * @return the alphabet
+     * @throws IllegalArgumentException if there is no alphabet for the language
+     */
+    public static Alphabet forTag(String tag) {
+        for (Alphabet alphabet : KNOWN) {
+            if (alphabet.tag.equalsIgnoreCase(tag.strip())) {
+                return alphabet;
+            }
+        }
+        throw new IllegalArgumentException("no alphabet for language: " + tag);
+    }
+
+    /**
+     * Returns the index of a letter
+     *
+     * @param letter the upper case letter
+     * @return the index or -1 if the character is no letter of this alphabet
+     */
+    public int indexOf(char letter) {
+        return letter < indices.length ? indices[letter] : -1;
+    }
+
+    /**
+     * Returns the letter of an index
+     *
+     * @param index the letter index
+     * @return the letter
+     */
+    public char letterAt(int index) {
+        return letters[index];
+    }
+
+    /**
+     * Checks if a character is a letter of this alphabet
+     *
+     * @param letter the upper case character
+     * @return true if it is a letter
+     */
+    public boolean contains(char letter) {
+        return indexOf(letter) >= 0;
+    }
+
+    /**
+     * Checks if a word only consists of letters of this alphabet
+     *
+     * @param word the upper case word
+     * @return true if every character is a letter
+     */
+    public boolean isWord(String word) {
+        for (int i = 0; i < word.length(); i++) {
+            if (!contains(word.charAt(i))) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Strips and upper cases a word with the rules of the language
+     *
+     * @param word the word as typed
+     * @return the normalized word
+     */
+    public String normalize(String word) {
+        return word.strip().toUpperCase(locale);
+    }
+
+    /**
+     * Returns the amount of letters
+     *
+     * @return the amount as int
+     */
+    public int size() {
+        return letters.length;
+    }
+
+    /**
+     * Returns the language tag
+     *
+     * @return the tag as String
+     */
+    public String getTag() {
+        return tag;
+    }
+
+    @Override
+    public String toString() {
+        return tag + " " + new String(letters);
+    }
+}
@@ -0,0 +1,76 @@
+package model.general.config;
+
+/**
+ * The different kinds of games a client can start.
+ */
+public enum GameMode {
+    /**
+     * The daily or a random answer is fixed when the game starts.
+     */
+    CLASSIC(1, 6),
+
+    /**
+     * The server commits to no answer and dodges every guess for as long as possible.
+     */
+    ABSURDLE(1, 6),
+
+    /**
+     * Every guess is played on four boards with different random answers at once.
+     */
+    QUORDLE(4, 9),
+
+    /**
+     * Every guess is played on eight boards with different random answers at once.
+     */
+    OCTORDLE(8, 13),
+
+    /**
+     * A random answer is fixed when the game starts, the faster it is solved the more points it gives.
+     */
+    TIME_ATTACK(1, 6);
+
+    private static final GameMode[] MODES = values();
+
+    /**
+     * Amount of answers guessed at the same time
+     */
+    private final int boardCount;
+
+    /**
+     * Maximum amount of guesses of a game
+     */
+    private final int allowedGuesses;
+
+    GameMode(int boardCount, int allowedGuesses) {
+        this.boardCount = boardCount;
+        this.allowedGuesses = allowedGuesses;
+    }
+
+    /**
+     * Returns the mode with the given ordinal, e.g. one sent by a client
+     *
+     * @param ordinal the ordinal
+     * @return the mode or null if there is no mode with this ordinal
+     */
+    public static GameMode fromOrdinal(int ordinal) {
+        return ordinal >= 0 && ordinal < MODES.length ? MODES[ordinal] : null;
+    }
+
+    /**
+     * Returns the amount of answers guessed at the same time
+     *
+     * @return the amount of boards as int
+     */
+    public int getBoardCount() {
+        return boardCount;
+    }
+
+    /**
+     * Returns the maximum amount of guesses of a game in this mode
+     *
+     * @return the number of guesses as int
+     */
+    public int getAllowedGuesses() {
+        return allowedGuesses;
+    }
+}
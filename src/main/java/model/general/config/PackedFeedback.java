@@ -0,0 +1,95 @@
+package model.general.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Utility methods for feedback patterns packed into a single int.
+ * <p>
+ * Every tile uses two bits holding the ordinal of its {@link CharacterPosition},
+ * the tile at position {@code i} is stored at bit {@code 2 * i}.
+ * </p>
+ */
+public final class PackedFeedback {
+    /**
+     * Amount of bits used for a single tile
+     */
+    public static final int BITS_PER_TILE = 2;
+
+    /**
+     * Mask selecting a single tile
+     */
+    public static final int TILE_MASK = (1 << BITS_PER_TILE) - 1;
+
+    /**
+     * Cached enum values to avoid cloning the array on every lookup
+     */
+    private static final CharacterPosition[] POSITIONS = CharacterPosition.values();
+
+    private PackedFeedback() {}
+
+    /**
+     * Returns the tile ordinal at the given position
+     *
+     * @param pattern the packed pattern
+     * @param position the position of the tile
+     * @return ordinal of the tiles CharacterPosition
+     */
+    public static int tile(int pattern, int position) {
+        return (pattern >>> (position * BITS_PER_TILE)) & TILE_MASK;
+    }
+
+    /**
+     * Returns the CharacterPosition at the given position
+     *
+     * @param pattern the packed pattern
+     * @param position the position of the tile
+     * @return the tiles CharacterPosition
+     */
+    public static CharacterPosition positionAt(int pattern, int position) {
+        return POSITIONS[tile(pattern, position)];
+    }
+
+    /**
+     * Returns the pattern where every tile is {@link CharacterPosition#RIGHT}
+     *
+     * @param length the word length
+     * @return the packed pattern of a solved word
+     */
+    public static int allRight(int length) {
+        int pattern = 0;
+        for (int i = 0; i < length; i++) {
+            pattern |= CharacterPosition.RIGHT.ordinal() << (i * BITS_PER_TILE);
+        }
+        return pattern;
+    }
+
+    /**
+     * Packs a list of CharacterPositions
+     *
+     * @param positions the positions to pack
+     * @return the packed pattern
+     */
+    public static int pack(List<CharacterPosition> positions) {
+        int pattern = 0;
+        for (int i = 0; i < positions.size(); i++) {
+            pattern |= positions.get(i).ordinal() << (i * BITS_PER_TILE);
+        }
+        return pattern;
+    }
+
+    /**
+     * Unpacks a pattern into a list of CharacterPositions
+     *
+     * @param pattern the packed pattern
+     * @param length the word length
+     * @return List of CharacterPosition for each char
+     */
+    public static List<CharacterPosition> unpack(int pattern, int length) {
+        final List<CharacterPosition> positions = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            positions.add(positionAt(pattern, i));
+        }
+        return positions;
+    }
+}
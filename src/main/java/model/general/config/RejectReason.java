@@ -0,0 +1,26 @@
+package model.general.config;
+
+/**
+ * The reasons for the server to drop a message without handling it.
+ */
+public enum RejectReason {
+    /**
+     * The client sent messages of this kind faster than its rate limit allows.
+     */
+    RATE_LIMITED,
+
+    /**
+     * The server is overloaded and sheds messages of lower priority first.
+     */
+    OVERLOADED,
+
+    /**
+     * The server failed to handle the message, for example because the user file is corrupt.
+     */
+    FAILED,
+
+    /**
+     * The server can not serve the request, for example a word length it has no words for.
+     */
+    UNSUPPORTED
+}
@@ -0,0 +1,87 @@
+package model.general.config;
+
+/**
+ * Packs words into a single long, using five bits per letter.
+ * <p>
+ * The letter at position {@code i} is stored at bit {@code 5 * i} as its
+ * index in the {@link Alphabet}, so in English {@code 'A'} is 0 and {@code 'Z'} is 25.
+ * </p>
+ */
+public final class WordCodec {
+    /**
+     * Amount of bits used for a single letter
+     */
+    public static final int BITS_PER_LETTER = 5;
+
+    /**
+     * The longest word that fits into a long
+     */
+    public static final int MAX_LENGTH = Long.SIZE / BITS_PER_LETTER;
+
+    /**
+     * Mask selecting a single letter
+     */
+    private static final long LETTER_MASK = (1L << BITS_PER_LETTER) - 1;
+
+    private WordCodec() {}
+
+    /**
+     * Encodes an upper case word
+     *
+     * @param word the word to encode
+     * @param alphabet the alphabet of the word
+     * @return the packed word
+     */
+    public static long encode(String word, Alphabet alphabet) {
+        if (word.length() > MAX_LENGTH) {
+            throw new IllegalArgumentException("word must not be longer than " + MAX_LENGTH + " letters: " + word);
+        }
+        long code = 0;
+        for (int i = 0; i < word.length(); i++) {
+            final int letter = alphabet.indexOf(word.charAt(i));
+            if (letter < 0) {
+                throw new IllegalArgumentException("word must only contain letters of the alphabet " + alphabet + ": " + word);
+            }
+            code |= (long) letter << (i * BITS_PER_LETTER);
+        }
+        return code;
+    }
+
+    /**
+     * Checks if a word can be encoded
+     *
+     * @param word the word to check
+     * @param alphabet the alphabet of the word
+     * @return true if the word only contains letters of the alphabet and is not too long
+     */
+    public static boolean isEncodable(String word, Alphabet alphabet) {
+        return word.length() <= MAX_LENGTH && alphabet.isWord(word);
+    }
+
+    /**
+     * Returns the letter index at the given position
+     *
+     * @param code the packed word
+     * @param position the position of the letter
+     * @return the letters index in the alphabet
+     */
+    public static int letterAt(long code, int position) {
+        return (int) ((code >>> (position * BITS_PER_LETTER)) & LETTER_MASK);
+    }
+
+    /**
+     * Decodes a packed word
+     *
+     * @param code the packed word
+     * @param length the word length
+     * @param alphabet the alphabet of the word
+     * @return the word as upper case String
+     */
+    public static String decode(long code, int length, Alphabet alphabet) {
+        final char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = alphabet.letterAt(letterAt(code, i));
+        }
+        return new String(chars);
+    }
+}
@@ -8,12 +8,12 @@ import model.general.message.server.ClientMessageInterpreter;
  */
 @Serializable
 public class GuessMessage extends ClientMessage {
-    private String guess;
+    String guess;
 
     /**
      * No-argument constructor for serialization purposes
      */
-    private GuessMessage() {}
+    GuessMessage() {}
 
     /**
      * Creates new GuessMessage
@@ -0,0 +1,21 @@
+package model.general.message.client;
+
+import com.jme3.network.serializing.Serializable;
+import model.general.message.server.ClientMessageInterpreter;
+
+/**
+ * Message sent to server when asking for the best next guesses
+ */
+@Serializable
+public class HintRequestMessage extends ClientMessage {
+    /**
+     * Accepts a visitor for processing this message.
+     *
+     * @param interpreter the visitor to be used for processing
+     * @param id          the connection ID of the sender
+     */
+    @Override
+    public void accept(ClientMessageInterpreter interpreter, int id) {
+        interpreter.received(this, id);
+    }
+}
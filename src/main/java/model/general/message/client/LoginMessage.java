@@ -8,13 +8,13 @@ import model.general.message.server.ClientMessageInterpreter;
  */
 @Serializable
 public class LoginMessage extends ClientMessage{
-    private String name;
-    private String password;
+    String name;
+    String password;
 
     /**
      * No-argument constructor for serialization purposes
      */
-    private LoginMessage() {}
+    LoginMessage() {}
 
     /**
      * Creates a new LoginMessage
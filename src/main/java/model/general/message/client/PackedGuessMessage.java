@@ -0,0 +1,46 @@
+package model.general.message.client;
+
+import com.jme3.network.serializing.Serializable;
+import model.general.config.WordCodec;
+import model.general.message.server.ClientMessageInterpreter;
+
+/**
+ * Compact variant of the {@link GuessMessage}, the guess is sent as packed letter indices.
+ * Only sent if the server announced it in its ConnectionResponse.
+ */
+@Serializable
+public class PackedGuessMessage extends ClientMessage {
+    /**
+     * The guessed word packed by {@link WordCodec}
+     */
+    long guess;
+
+    /**
+     * No-argument constructor for serialization purposes
+     */
+    PackedGuessMessage() {}
+
+    /**
+     * Creates new PackedGuessMessage
+     *
+     * @param guess the word that is being guessed, packed by {@link WordCodec}
+     */
+    public PackedGuessMessage(long guess) {
+        this.guess = guess;
+    }
+
+    public long getGuess() {
+        return guess;
+    }
+
+    /**
+     * Accepts a visitor for processing this message.
+     *
+     * @param interpreter the visitor to be used for processing
+     * @param id          the connection ID of the sender
+     */
+    @Override
+    public void accept(ClientMessageInterpreter interpreter, int id) {
+        interpreter.received(this, id);
+    }
+}
@@ -0,0 +1,41 @@
+package model.general.message.client;
+
+import com.jme3.network.serializing.Serializable;
+import model.general.message.server.ClientMessageInterpreter;
+
+/**
+ * Answers a PingRequest, sent as soon as the request arrived.
+ */
+@Serializable
+public class PongMessage extends ClientMessage {
+    int sequence;
+
+    /**
+     * No-argument constructor for serialization purposes
+     */
+    PongMessage() {}
+
+    /**
+     * Creates new PongMessage
+     *
+     * @param sequence the sequence of the answered PingRequest
+     */
+    public PongMessage(int sequence) {
+        this.sequence = sequence;
+    }
+
+    public int getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Accepts a visitor for processing this message.
+     *
+     * @param interpreter the visitor to be used for processing
+     * @param id          the connection ID of the sender
+     */
+    @Override
+    public void accept(ClientMessageInterpreter interpreter, int id) {
+        interpreter.received(this, id);
+    }
+}
@@ -0,0 +1,45 @@
+package model.general.message.client;
+
+import com.jme3.network.serializing.Serializable;
+import model.general.config.WordCodec;
+import model.general.message.server.ClientMessageInterpreter;
+
+/**
+ * A guess in the running race of the client, packed with the alphabet of the RaceStartResponse.
+ */
+@Serializable
+public class RaceGuessMessage extends ClientMessage {
+    /**
+     * The guessed word packed by {@link WordCodec}
+     */
+    long guess;
+
+    /**
+     * No-argument constructor for serialization purposes
+     */
+    RaceGuessMessage() {}
+
+    /**
+     * Creates new RaceGuessMessage
+     *
+     * @param guess the word that is being guessed, packed by {@link WordCodec}
+     */
+    public RaceGuessMessage(long guess) {
+        this.guess = guess;
+    }
+
+    public long getGuess() {
+        return guess;
+    }
+
+    /**
+     * Accepts a visitor for processing this message.
+     *
+     * @param interpreter the visitor to be used for processing
+     * @param id          the connection ID of the sender
+     */
+    @Override
+    public void accept(ClientMessageInterpreter interpreter, int id) {
+        interpreter.received(this, id);
+    }
+}
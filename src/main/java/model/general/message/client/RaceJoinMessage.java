@@ -0,0 +1,82 @@
+package model.general.message.client;
+
+import com.jme3.network.serializing.Serializable;
+import model.general.message.server.ClientMessageInterpreter;
+
+/**
+ * Asks the server for a seat in a race room, where several players race to solve the same answer.
+ * A practice race is a private room of the player and the requested amount of bots.
+ */
+@Serializable
+public class RaceJoinMessage extends ClientMessage {
+    int wordLength;
+
+    /**
+     * Amount of bot opponents of a practice race, 0 to join a race room of other players
+     */
+    int bots;
+
+    /**
+     * Skill of the bots, they pick one of this many best guesses
+     */
+    int botTopK;
+
+    /**
+     * No-argument constructor for serialization purposes
+     */
+    RaceJoinMessage() {}
+
+    /**
+     * Creates new RaceJoinMessage
+     *
+     * @param wordLength the length of the answer to race for
+     */
+    public RaceJoinMessage(int wordLength) {
+        this(wordLength, 0, 1);
+    }
+
+    /**
+     * Creates new RaceJoinMessage for a practice race against bots
+     *
+     * @param wordLength the length of the answer to race for
+     * @param bots the amount of bot opponents
+     * @param botTopK the skill of the bots, 1 always picks the best guess
+     */
+    public RaceJoinMessage(int wordLength, int bots, int botTopK) {
+        this.wordLength = wordLength;
+        this.bots = bots;
+        this.botTopK = botTopK;
+    }
+
+    public int getWordLength() {
+        return wordLength;
+    }
+
+    public int getBots() {
+        return bots;
+    }
+
+    public int getBotTopK() {
+        return botTopK;
+    }
+
+    /**
+     * Returns if the race is a private practice race against bots
+     *
+     * @return true if bots were requested
+     */
+    public boolean isPractice() {
+        return bots > 0;
+    }
+
+    /**
+     * Accepts a visitor for processing this message.
+     *
+     * @param interpreter the visitor to be used for processing
+     * @param id          the connection ID of the sender
+     */
+    @Override
+    public void accept(ClientMessageInterpreter interpreter, int id) {
+        interpreter.received(this, id);
+    }
+}
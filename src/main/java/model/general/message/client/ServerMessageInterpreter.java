@@ -45,6 +45,8 @@ public interface ServerMessageInterpreter extends ServerMessageReceiver {
      */
     void received(GuessResponse msg);
 
+    void received(PackedGuessResponse msg);
+
     /**
      * Handles a ConnectionResponse message received from the server.
      *
@@ -58,4 +60,81 @@ public interface ServerMessageInterpreter extends ServerMessageReceiver {
      * @param msg the ConnectionResponse message received
      */
     void received(StatsRequestResponse msg);
+
+    /**
+     * Handles a StatsDeltaUpdate message received from the server.
+     *
+     * @param msg the StatsDeltaUpdate message received
+     */
+    void received(StatsDeltaUpdate msg);
+
+    /**
+     * Handles a HintResponse message received from the server.
+     *
+     * @param msg the HintResponse message received
+     */
+    void received(HintResponse msg);
+
+    /**
+     * Handles a RejectedResponse message received from the server.
+     *
+     * @param msg the RejectedResponse message received
+     */
+    void received(RejectedResponse msg);
+
+    /**
+     * Handles a SpectatorUpdate message received from the server.
+     *
+     * @param msg the SpectatorUpdate message received
+     */
+    void received(SpectatorUpdate msg);
+
+    /**
+     * Handles a RaceLobbyUpdate message received from the server.
+     *
+     * @param msg the RaceLobbyUpdate message received
+     */
+    void received(RaceLobbyUpdate msg);
+
+    /**
+     * Handles a RaceStartResponse message received from the server.
+     *
+     * @param msg the RaceStartResponse message received
+     */
+    void received(RaceStartResponse msg);
+
+    /**
+     * Handles a RaceProgressUpdate message received from the server.
+     *
+     * @param msg the RaceProgressUpdate message received
+     */
+    void received(RaceProgressUpdate msg);
+
+    /**
+     * Handles a RaceResultResponse message received from the server.
+     *
+     * @param msg the RaceResultResponse message received
+     */
+    void received(RaceResultResponse msg);
+
+    /**
+     * Handles a PingRequest message received from the server.
+     *
+     * @param msg the PingRequest message received
+     */
+    void received(PingRequest msg);
+
+    /**
+     * Handles a TimedResultResponse message received from the server.
+     *
+     * @param msg the TimedResultResponse message received
+     */
+    void received(TimedResultResponse msg);
+
+    /**
+     * Handles a GameStateSyncResponse message received from the server.
+     *
+     * @param msg the GameStateSyncResponse message received
+     */
+    void received(GameStateSyncResponse msg);
 }
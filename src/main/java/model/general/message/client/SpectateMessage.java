@@ -0,0 +1,54 @@
+package model.general.message.client;
+
+import com.jme3.network.serializing.Serializable;
+import model.general.message.server.ClientMessageInterpreter;
+
+/**
+ * Starts watching the games of another player live, the server answers with SpectatorUpdates.
+ * A client watches at most one player, a new SpectateMessage replaces the previous one.
+ */
+@Serializable
+public class SpectateMessage extends ClientMessage {
+    /**
+     * The name of the watched player, null or empty to stop watching
+     */
+    String player;
+
+    /**
+     * No-argument constructor for serialization purposes
+     */
+    SpectateMessage() {}
+
+    /**
+     * Creates new SpectateMessage
+     *
+     * @param player the name of the player to watch, null or empty to stop watching
+     */
+    public SpectateMessage(String player) {
+        this.player = player;
+    }
+
+    public String getPlayer() {
+        return player;
+    }
+
+    /**
+     * Checks if the client wants to stop watching
+     *
+     * @return true if no player is named
+     */
+    public boolean isStop() {
+        return player == null || player.isBlank();
+    }
+
+    /**
+     * Accepts a visitor for processing this message.
+     *
+     * @param interpreter the visitor to be used for processing
+     * @param id          the connection ID of the sender
+     */
+    @Override
+    public void accept(ClientMessageInterpreter interpreter, int id) {
+        interpreter.received(this, id);
+    }
+}
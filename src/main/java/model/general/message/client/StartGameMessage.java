@@ -1,10 +1,55 @@
 package model.general.message.client;
 
 import com.jme3.network.serializing.Serializable;
+import model.general.config.GameMode;
 import model.general.message.server.ClientMessageInterpreter;
 
 @Serializable
 public class StartGameMessage extends ClientMessage {
+    /**
+     * Ordinal of the requested GameMode
+     */
+    int modeOrdinal;
+
+    /**
+     * Requested length of the answer
+     */
+    int wordLength;
+
+    /**
+     * No-argument constructor for serialization purposes
+     */
+    StartGameMessage() {}
+
+    /**
+     * Creates new StartGameMessage
+     *
+     * @param mode the kind of game to start
+     * @param wordLength the requested length of the answer
+     */
+    public StartGameMessage(GameMode mode, int wordLength) {
+        modeOrdinal = mode.ordinal();
+        this.wordLength = wordLength;
+    }
+
+    /**
+     * Returns the requested kind of game
+     *
+     * @return the mode or null if the client sent an unknown mode
+     */
+    public GameMode getMode() {
+        return GameMode.fromOrdinal(modeOrdinal);
+    }
+
+    /**
+     * Returns the requested length of the answer, the server may choose another one
+     *
+     * @return the length as int
+     */
+    public int getWordLength() {
+        return wordLength;
+    }
+
     /**
      * Accepts a visitor for processing this message.
      *
@@ -30,6 +30,8 @@ public interface ClientMessageInterpreter {
      */
     void received(GuessMessage msg, int id);
 
+    void received(PackedGuessMessage msg, int id);
+
     /**
      * Processes a received DisconnectMessage.
      *
@@ -45,4 +47,44 @@ public interface ClientMessageInterpreter {
      * @param id  the connection ID from which the message was received
      */
     void received(StatsRequestMessage msg, int id);
+
+    /**
+     * Processes a received HintRequestMessage.
+     *
+     * @param msg the HintRequestMessage to be processed
+     * @param id  the connection ID from which the message was received
+     */
+    void received(HintRequestMessage msg, int id);
+
+    /**
+     * Processes a received SpectateMessage.
+     *
+     * @param msg the SpectateMessage to be processed
+     * @param id  the connection ID from which the message was received
+     */
+    void received(SpectateMessage msg, int id);
+
+    /**
+     * Processes a received RaceJoinMessage.
+     *
+     * @param msg the RaceJoinMessage to be processed
+     * @param id  the connection ID from which the message was received
+     */
+    void received(RaceJoinMessage msg, int id);
+
+    /**
+     * Processes a received RaceGuessMessage.
+     *
+     * @param msg the RaceGuessMessage to be processed
+     * @param id  the connection ID from which the message was received
+     */
+    void received(RaceGuessMessage msg, int id);
+
+    /**
+     * Processes a received PongMessage.
+     *
+     * @param msg the PongMessage to be processed
+     * @param id  the connection ID from which the message was received
+     */
+    void received(PongMessage msg, int id);
 }
@@ -5,6 +5,39 @@ import model.general.message.client.ServerMessageInterpreter;
 
 @Serializable
 public class ConnectionResponse extends ServerMessage{
+    /**
+     * Flag of {@link #wireFeatures}: the server understands PackedGuessMessages
+     */
+    public static final int PACKED_GUESSES = 1;
+
+    /**
+     * Optional parts of the protocol the server supports as bit flags
+     */
+    int wireFeatures;
+
+    /**
+     * No-argument constructor for serialization purposes
+     */
+    ConnectionResponse() {}
+
+    /**
+     * Construct a new ConnectionResponse
+     *
+     * @param wireFeatures the optional parts of the protocol the server supports, e.g. {@link #PACKED_GUESSES}
+     */
+    public ConnectionResponse(int wireFeatures) {
+        this.wireFeatures = wireFeatures;
+    }
+
+    /**
+     * Returns if the server accepts guesses as PackedGuessMessage
+     *
+     * @return true if the compact guess messages may be sent
+     */
+    public boolean supportsPackedGuesses() {
+        return (wireFeatures & PACKED_GUESSES) != 0;
+    }
+
     /**
      * Accepts a visitor for processing this message.
      *
@@ -0,0 +1,109 @@
+package model.general.message.server;
+
+import com.jme3.network.serializing.Serializable;
+import model.general.config.Alphabet;
+import model.general.message.client.ServerMessageInterpreter;
+
+/**
+ * Answers a login if the player had a game in progress, the client restores the whole board from
+ * this message instead of starting a new game.
+ */
+@Serializable
+public class GameStateSyncResponse extends ServerMessage {
+    int wordLength;
+    int boardCount;
+    int allowedGuesses;
+
+    /**
+     * Language tag of the {@link Alphabet} of the answer
+     */
+    String alphabetTag;
+
+    /**
+     * The guesses made so far, packed by {@link model.general.config.WordCodec}
+     */
+    long[] guesses;
+
+    /**
+     * The packed feedback of the guesses, stored at index guess * boards + board
+     */
+    int[] patterns;
+
+    /**
+     * Answers still consistent with the feedback or {@link GuessResponse#UNKNOWN_CANDIDATES}
+     */
+    int remainingCandidates;
+
+    /**
+     * No-argument constructor for serialization purposes
+     */
+    GameStateSyncResponse() {}
+
+    /**
+     * Construct a new GameStateSyncResponse
+     *
+     * @param wordLength length of the answer
+     * @param boardCount amount of answers guessed at the same time
+     * @param allowedGuesses maximum amount of guesses
+     * @param alphabet the alphabet of the answer
+     * @param guesses the packed guesses made so far
+     * @param patterns the packed feedback indexed by guess * boards + board
+     * @param remainingCandidates the amount of answers left or {@link GuessResponse#UNKNOWN_CANDIDATES}
+     */
+    public GameStateSyncResponse(int wordLength, int boardCount, int allowedGuesses, Alphabet alphabet, long[] guesses, int[] patterns, int remainingCandidates) {
+        this.wordLength = wordLength;
+        this.boardCount = boardCount;
+        this.allowedGuesses = allowedGuesses;
+        this.alphabetTag = alphabet.getTag();
+        this.guesses = guesses;
+        this.patterns = patterns;
+        this.remainingCandidates = remainingCandidates;
+    }
+
+    public int getWordLength() {
+        return wordLength;
+    }
+
+    public int getBoardCount() {
+        return boardCount;
+    }
+
+    public int getAllowedGuesses() {
+        return allowedGuesses;
+    }
+
+    /**
+     * Returns the alphabet of the answer
+     *
+     * @return the {@link Alphabet}
+     */
+    public Alphabet getAlphabet() {
+        return Alphabet.forTag(alphabetTag);
+    }
+
+    public long[] getGuesses() {
+        return guesses;
+    }
+
+    public int[] getPatterns() {
+        return patterns;
+    }
+
+    public boolean hasRemainingCandidates() {
+        return remainingCandidates != GuessResponse.UNKNOWN_CANDIDATES;
+    }
+
+    public int getRemainingCandidates() {
+        return remainingCandidates;
+    }
+
+    /**
+     * Accepts a visitor for processing this message.
+     *
+     * @param interpreter the visitor to be used for processing
+     */
+    @Override
+    public void accept(ServerMessageInterpreter interpreter) {
+        interpreter.received(this);
+    }
+}
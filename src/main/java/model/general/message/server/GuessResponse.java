@@ -3,19 +3,36 @@ package model.general.message.server;
 import com.jme3.network.serializing.Serializable;
 import model.general.message.client.ServerMessageInterpreter;
 import model.general.config.CharacterPosition;
+import model.general.config.PackedFeedback;
 
 import java.util.Arrays;
 import java.util.List;
 
 @Serializable
 public class GuessResponse extends ServerMessage {
-    private boolean accepted;
-    private int[] positionOrdinals;
+    /**
+     * Value of the remaining candidates if the server did not include them
+     */
+    public static final int UNKNOWN_CANDIDATES = -1;
+
+    boolean accepted;
+    int[] positionOrdinals;
+    int remainingCandidates = UNKNOWN_CANDIDATES;
+
+    /**
+     * Packed feedback per board of a multi board game, empty for a single board
+     */
+    int[] boardPatterns = new int[0];
+
+    /**
+     * The decoded positions, built on the first call of {@link #getPositions()}
+     */
+    transient List<CharacterPosition> positions;
 
     /**
      * No-argument constructor for serialization purposes
      */
-    private GuessResponse() {}
+    GuessResponse() {}
 
     /**
      * Construct a new GuessResponse
@@ -28,6 +45,29 @@ public class GuessResponse extends ServerMessage {
         positionOrdinals = positions.stream().mapToInt(Enum::ordinal).toArray();
     }
 
+    /**
+     * Construct a new GuessResponse for an accepted guess
+     *
+     * @param positions List containing information about the letter placement
+     * @param remainingCandidates amount of answers still consistent with all feedback
+     */
+    public GuessResponse(List<CharacterPosition> positions, int remainingCandidates) {
+        this(true, positions);
+        this.remainingCandidates = remainingCandidates;
+    }
+
+    /**
+     * Construct a new GuessResponse for an accepted guess in a multi board game.
+     * Every board is sent as one packed int, see {@link PackedFeedback}.
+     *
+     * @param boardPatterns the packed feedback indexed by board
+     */
+    public GuessResponse(int[] boardPatterns) {
+        this.accepted = true;
+        this.positionOrdinals = new int[0];
+        this.boardPatterns = boardPatterns.clone();
+    }
+
     /**
      * Accepts a visitor for processing this message.
      *
@@ -43,6 +83,49 @@ public class GuessResponse extends ServerMessage {
     }
 
     public List<CharacterPosition> getPositions() {
-        return Arrays.stream(positionOrdinals).mapToObj(i -> CharacterPosition.values()[i]).toList();
+        if (positions == null) {
+            positions = Arrays.stream(positionOrdinals).mapToObj(i -> CharacterPosition.values()[i]).toList();
+        }
+        return positions;
+    }
+
+    /**
+     * Returns the packed feedback of every board
+     *
+     * @return the patterns indexed by board, empty for a single board, see {@link PackedFeedback}
+     */
+    public int[] getBoardPatterns() {
+        return boardPatterns.clone();
+    }
+
+    /**
+     * Returns the letter placement of a guess on every board
+     *
+     * @param wordLength the length of the guess
+     * @return the placement indexed by board
+     */
+    public List<List<CharacterPosition>> getBoardPositions(int wordLength) {
+        if (boardPatterns.length == 0) {
+            return List.of(getPositions());
+        }
+        return Arrays.stream(boardPatterns).mapToObj(pattern -> PackedFeedback.unpack(pattern, wordLength)).toList();
+    }
+
+    /**
+     * Returns if the server included the amount of remaining candidates
+     *
+     * @return true if the amount is known
+     */
+    public boolean hasRemainingCandidates() {
+        return remainingCandidates != UNKNOWN_CANDIDATES;
+    }
+
+    /**
+     * Returns the amount of answers still consistent with all feedback
+     *
+     * @return the amount or {@link #UNKNOWN_CANDIDATES}
+     */
+    public int getRemainingCandidates() {
+        return remainingCandidates;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,47 @@
+package model.general.message.server;
+
+import com.jme3.network.serializing.Serializable;
+import model.general.message.client.ServerMessageInterpreter;
+
+import java.util.List;
+
+@Serializable
+public class HintResponse extends ServerMessage {
+    /**
+     * The suggested guesses, best first
+     */
+    String[] hints;
+
+    /**
+     * No-argument constructor for serialization purposes
+     */
+    HintResponse() {}
+
+    /**
+     * Construct a new HintResponse
+     *
+     * @param hints the suggested guesses, best first
+     */
+    public HintResponse(List<String> hints) {
+        this.hints = hints.toArray(String[]::new);
+    }
+
+    /**
+     * Returns the suggested guesses
+     *
+     * @return the guesses as List of Strings, best first
+     */
+    public List<String> getHints() {
+        return List.of(hints);
+    }
+
+    /**
+     * Accepts a visitor for processing this message.
+     *
+     * @param interpreter the visitor to be used for processing
+     */
+    @Override
+    public void accept(ServerMessageInterpreter interpreter) {
+        interpreter.received(this);
+    }
+}
@@ -0,0 +1,76 @@
+package model.general.message.server;
+
+import com.jme3.network.serializing.Serializable;
+import model.general.config.PackedFeedback;
+import model.general.message.client.ServerMessageInterpreter;
+
+/**
+ * Compact variant of the {@link GuessResponse} of a single board game, answers a PackedGuessMessage.
+ * The feedback is sent as one int, see {@link PackedFeedback}.
+ */
+@Serializable
+public class PackedGuessResponse extends ServerMessage {
+    /**
+     * Value of the feedback if the guess was rejected
+     */
+    public static final int REJECTED = -1;
+
+    /**
+     * The packed feedback or {@link #REJECTED}
+     */
+    int feedback;
+
+    int remainingCandidates;
+
+    /**
+     * No-argument constructor for serialization purposes
+     */
+    PackedGuessResponse() {}
+
+    /**
+     * Construct a new PackedGuessResponse
+     *
+     * @param feedback the packed feedback or {@link #REJECTED}
+     * @param remainingCandidates amount of answers still consistent with all feedback or {@link GuessResponse#UNKNOWN_CANDIDATES}
+     */
+    public PackedGuessResponse(int feedback, int remainingCandidates) {
+        this.feedback = feedback;
+        this.remainingCandidates = remainingCandidates;
+    }
+
+    public boolean isAccepted() {
+        return feedback != REJECTED;
+    }
+
+    /**
+     * Returns the letter placement of the guess
+     *
+     * @return the packed feedback, see {@link PackedFeedback}
+     */
+    public int getFeedback() {
+        return feedback;
+    }
+
+    /**
+     * Returns if the server included the amount of remaining candidates
+     *
+     * @return true if the amount is known
+     */
+    public boolean hasRemainingCandidates() {
+        return remainingCandidates != GuessResponse.UNKNOWN_CANDIDATES;
+    }
+
+    public int getRemainingCandidates() {
+        return remainingCandidates;
+    }
+
+    /**
+     * Accepts a visitor for processing this message.
+     *
+     * @param interpreter the visitor to be used for processing
+     */
+    @Override
+    public void accept(ServerMessageInterpreter interpreter) {
+        interpreter.received(this);
+    }
+}
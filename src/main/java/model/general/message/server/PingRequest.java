@@ -0,0 +1,41 @@
+package model.general.message.server;
+
+import com.jme3.network.serializing.Serializable;
+import model.general.message.client.ServerMessageInterpreter;
+
+/**
+ * Asks the client to answer right away with a PongMessage of the same sequence, the server
+ * measures the round trip time of the connection with it.
+ */
+@Serializable
+public class PingRequest extends ServerMessage {
+    int sequence;
+
+    /**
+     * No-argument constructor for serialization purposes
+     */
+    PingRequest() {}
+
+    /**
+     * Construct a new PingRequest
+     *
+     * @param sequence the number of the ping, echoed by the client
+     */
+    public PingRequest(int sequence) {
+        this.sequence = sequence;
+    }
+
+    public int getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Accepts a visitor for processing this message.
+     *
+     * @param interpreter the visitor to be used for processing
+     */
+    @Override
+    public void accept(ServerMessageInterpreter interpreter) {
+        interpreter.received(this);
+    }
+}
@@ -0,0 +1,59 @@
+package model.general.message.server;
+
+import com.jme3.network.serializing.Serializable;
+import model.general.message.client.ServerMessageInterpreter;
+
+/**
+ * The players waiting in a race room, sent to all of them whenever a player joins or leaves.
+ */
+@Serializable
+public class RaceLobbyUpdate extends ServerMessage {
+    /**
+     * Value of startsInMillis while the room waits for more players
+     */
+    public static final int WAITING_FOR_PLAYERS = -1;
+
+    String[] players;
+    int maxPlayers;
+    int startsInMillis;
+
+    /**
+     * No-argument constructor for serialization purposes
+     */
+    RaceLobbyUpdate() {}
+
+    /**
+     * Construct a new RaceLobbyUpdate
+     *
+     * @param players the names of the waiting players
+     * @param maxPlayers the amount of seats of the room
+     * @param startsInMillis the time until the race starts or {@link #WAITING_FOR_PLAYERS}
+     */
+    public RaceLobbyUpdate(String[] players, int maxPlayers, int startsInMillis) {
+        this.players = players;
+        this.maxPlayers = maxPlayers;
+        this.startsInMillis = startsInMillis;
+    }
+
+    public String[] getPlayers() {
+        return players;
+    }
+
+    public int getMaxPlayers() {
+        return maxPlayers;
+    }
+
+    public int getStartsInMillis() {
+        return startsInMillis;
+    }
+
+    /**
+     * Accepts a visitor for processing this message.
+     *
+     * @param interpreter the visitor to be used for processing
+     */
+    @Override
+    public void accept(ServerMessageInterpreter interpreter) {
+        interpreter.received(this);
+    }
+}
@@ -0,0 +1,97 @@
+package model.general.message.server;
+
+import com.jme3.network.serializing.Serializable;
+import model.general.config.PackedFeedback;
+import model.general.message.client.ServerMessageInterpreter;
+
+/**
+ * A guess of a racing player, sent to every player of the room. Only the feedback is sent,
+ * the letters of the guess stay hidden from the opponents.
+ */
+@Serializable
+public class RaceProgressUpdate extends ServerMessage {
+    /**
+     * Value of the feedback of a rejected guess, only sent to the player who guessed
+     */
+    public static final int REJECTED = -1;
+
+    /**
+     * The player still guesses
+     */
+    public static final int PLAYING = 0;
+
+    /**
+     * The player solved the answer
+     */
+    public static final int SOLVED = 1;
+
+    /**
+     * The player used all guesses without solving the answer
+     */
+    public static final int OUT_OF_GUESSES = 2;
+
+    /**
+     * The player left the room
+     */
+    public static final int LEFT = 3;
+
+    /**
+     * Index of the player in the list of the RaceStartResponse
+     */
+    int player;
+
+    int guesses;
+    int feedback;
+    int status;
+
+    /**
+     * No-argument constructor for serialization purposes
+     */
+    RaceProgressUpdate() {}
+
+    /**
+     * Construct a new RaceProgressUpdate
+     *
+     * @param player the index of the player in the list of the RaceStartResponse
+     * @param guesses the amount of guesses the player made
+     * @param feedback the packed feedback of the latest guess or {@link #REJECTED}
+     * @param status one of {@link #PLAYING}, {@link #SOLVED}, {@link #OUT_OF_GUESSES} and {@link #LEFT}
+     */
+    public RaceProgressUpdate(int player, int guesses, int feedback, int status) {
+        this.player = player;
+        this.guesses = guesses;
+        this.feedback = feedback;
+        this.status = status;
+    }
+
+    public int getPlayer() {
+        return player;
+    }
+
+    public int getGuesses() {
+        return guesses;
+    }
+
+    /**
+     * Returns the letter placement of the latest guess
+     *
+     * @return the packed feedback, see {@link PackedFeedback}, or {@link #REJECTED}
+     */
+    public int getFeedback() {
+        return feedback;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * Accepts a visitor for processing this message.
+     *
+     * @param interpreter the visitor to be used for processing
+     */
+    @Override
+    public void accept(ServerMessageInterpreter interpreter) {
+        interpreter.received(this);
+    }
+}
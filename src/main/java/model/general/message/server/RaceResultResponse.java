@@ -0,0 +1,62 @@
+package model.general.message.server;
+
+import com.jme3.network.serializing.Serializable;
+import model.general.message.client.ServerMessageInterpreter;
+
+/**
+ * Ends a race and reveals the answer.
+ */
+@Serializable
+public class RaceResultResponse extends ServerMessage {
+    String answer;
+
+    /**
+     * Names of the players who solved the answer, fastest first
+     */
+    String[] ranking;
+
+    /**
+     * Guesses the ranked players needed, in the order of the ranking
+     */
+    int[] guesses;
+
+    /**
+     * No-argument constructor for serialization purposes
+     */
+    RaceResultResponse() {}
+
+    /**
+     * Construct a new RaceResultResponse
+     *
+     * @param answer the answer of the race
+     * @param ranking the names of the players who solved the answer, fastest first
+     * @param guesses the guesses the ranked players needed
+     */
+    public RaceResultResponse(String answer, String[] ranking, int[] guesses) {
+        this.answer = answer;
+        this.ranking = ranking;
+        this.guesses = guesses;
+    }
+
+    public String getAnswer() {
+        return answer;
+    }
+
+    public String[] getRanking() {
+        return ranking;
+    }
+
+    public int[] getGuesses() {
+        return guesses;
+    }
+
+    /**
+     * Accepts a visitor for processing this message.
+     *
+     * @param interpreter the visitor to be used for processing
+     */
+    @Override
+    public void accept(ServerMessageInterpreter interpreter) {
+        interpreter.received(this);
+    }
+}
@@ -0,0 +1,80 @@
+package model.general.message.server;
+
+import com.jme3.network.serializing.Serializable;
+import model.general.config.Alphabet;
+import model.general.message.client.ServerMessageInterpreter;
+
+/**
+ * Tells the players of a race room that the race started, the order of the players is the one
+ * used by the RaceProgressUpdates.
+ */
+@Serializable
+public class RaceStartResponse extends ServerMessage {
+    int wordLength;
+    int allowedGuesses;
+
+    /**
+     * Language tag of the {@link Alphabet} of the answer
+     */
+    String alphabetTag;
+
+    String[] players;
+    int timeLimitSeconds;
+
+    /**
+     * No-argument constructor for serialization purposes
+     */
+    RaceStartResponse() {}
+
+    /**
+     * Construct a new RaceStartResponse
+     *
+     * @param wordLength length of the answer
+     * @param allowedGuesses maximum amount of guesses of every player
+     * @param alphabet the alphabet of the answer, guesses are packed with it
+     * @param players the names of the racing players
+     * @param timeLimitSeconds the time after which the race ends
+     */
+    public RaceStartResponse(int wordLength, int allowedGuesses, Alphabet alphabet, String[] players, int timeLimitSeconds) {
+        this.wordLength = wordLength;
+        this.allowedGuesses = allowedGuesses;
+        this.alphabetTag = alphabet.getTag();
+        this.players = players;
+        this.timeLimitSeconds = timeLimitSeconds;
+    }
+
+    public int getWordLength() {
+        return wordLength;
+    }
+
+    public int getAllowedGuesses() {
+        return allowedGuesses;
+    }
+
+    /**
+     * Returns the alphabet of the answer
+     *
+     * @return the {@link Alphabet}
+     */
+    public Alphabet getAlphabet() {
+        return Alphabet.forTag(alphabetTag);
+    }
+
+    public String[] getPlayers() {
+        return players;
+    }
+
+    public int getTimeLimitSeconds() {
+        return timeLimitSeconds;
+    }
+
+    /**
+     * Accepts a visitor for processing this message.
+     *
+     * @param interpreter the visitor to be used for processing
+     */
+    @Override
+    public void accept(ServerMessageInterpreter interpreter) {
+        interpreter.received(this);
+    }
+}
@@ -0,0 +1,55 @@
+package model.general.message.server;
+
+import com.jme3.network.serializing.Serializable;
+import model.general.config.RejectReason;
+import model.general.message.client.ServerMessageInterpreter;
+
+/**
+ * Tells the client that one of its messages was dropped without being handled.
+ */
+@Serializable
+public class RejectedResponse extends ServerMessage {
+    /**
+     * Simple class name of the dropped message
+     */
+    String messageType;
+
+    /**
+     * Ordinal of the RejectReason
+     */
+    int reasonOrdinal;
+
+    /**
+     * No-argument constructor for serialization purposes
+     */
+    RejectedResponse() {}
+
+    /**
+     * Construct a new RejectedResponse
+     *
+     * @param messageType simple class name of the dropped message
+     * @param reason why the message was dropped
+     */
+    public RejectedResponse(String messageType, RejectReason reason) {
+        this.messageType = messageType;
+        this.reasonOrdinal = reason.ordinal();
+    }
+
+    public String getMessageType() {
+        return messageType;
+    }
+
+    public RejectReason getReason() {
+        return RejectReason.values()[reasonOrdinal];
+    }
+
+    /**
+     * Accepts a visitor for processing this message.
+     *
+     * @param interpreter the visitor to be used for processing
+     */
+    @Override
+    public void accept(ServerMessageInterpreter interpreter) {
+        interpreter.received(this);
+    }
+}
@@ -0,0 +1,130 @@
+package model.general.message.server;
+
+import com.jme3.network.serializing.Serializable;
+import model.general.config.PackedFeedback;
+import model.general.message.client.ServerMessageInterpreter;
+
+/**
+ * The progress of a watched player, sent to all clients watching them after every change.
+ * <p>
+ * Only the feedback of the guesses is sent, never their letters, so watching a friend does not
+ * spoil the daily word. Every update holds the complete game so far, an update the server
+ * skipped for a slow client is replaced by the next one.
+ * </p>
+ */
+@Serializable
+public class SpectatorUpdate extends ServerMessage {
+    /**
+     * The watched player has no game yet
+     */
+    public static final int NOT_PLAYING = 0;
+
+    /**
+     * The game of the watched player is running
+     */
+    public static final int PLAYING = 1;
+
+    /**
+     * The watched player solved every board
+     */
+    public static final int WON = 2;
+
+    /**
+     * The watched player ran out of guesses
+     */
+    public static final int LOST = 3;
+
+    String player;
+    int status;
+    int wordLength;
+    int boardCount;
+    int allowedGuesses;
+
+    /**
+     * The packed feedback of every guess on every board, stored at index guess * boardCount + board
+     */
+    int[] patterns;
+
+    /**
+     * No-argument constructor for serialization purposes
+     */
+    SpectatorUpdate() {}
+
+    /**
+     * Construct a new SpectatorUpdate
+     *
+     * @param player the name of the watched player
+     * @param status one of {@link #NOT_PLAYING}, {@link #PLAYING}, {@link #WON} and {@link #LOST}
+     * @param wordLength the length of the answers
+     * @param boardCount the amount of boards, at least 1
+     * @param allowedGuesses the amount of guesses the game allows
+     * @param patterns the packed feedback, see {@link PackedFeedback}, stored at index guess * boardCount + board
+     */
+    public SpectatorUpdate(String player, int status, int wordLength, int boardCount, int allowedGuesses, int[] patterns) {
+        this.player = player;
+        this.status = status;
+        this.wordLength = wordLength;
+        this.boardCount = boardCount;
+        this.allowedGuesses = allowedGuesses;
+        this.patterns = patterns;
+    }
+
+    public String getPlayer() {
+        return player;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * Checks if the game of the watched player ended
+     *
+     * @return true if the player won or lost
+     */
+    public boolean isFinished() {
+        return status == WON || status == LOST;
+    }
+
+    public int getWordLength() {
+        return wordLength;
+    }
+
+    public int getBoardCount() {
+        return boardCount;
+    }
+
+    public int getAllowedGuesses() {
+        return allowedGuesses;
+    }
+
+    /**
+     * Returns the amount of guesses the watched player made
+     *
+     * @return the amount as int
+     */
+    public int getGuessCount() {
+        return patterns.length / boardCount;
+    }
+
+    /**
+     * Returns the feedback of a guess on a board
+     *
+     * @param guess the index of the guess
+     * @param board the index of the board
+     * @return the packed feedback, see {@link PackedFeedback}
+     */
+    public int getPattern(int guess, int board) {
+        return patterns[guess * boardCount + board];
+    }
+
+    /**
+     * Accepts a visitor for processing this message.
+     *
+     * @param interpreter the visitor to be used for processing
+     */
+    @Override
+    public void accept(ServerMessageInterpreter interpreter) {
+        interpreter.received(this);
+    }
+}
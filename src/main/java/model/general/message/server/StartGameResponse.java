@@ -1,6 +1,7 @@
 package model.general.message.server;
 
 import com.jme3.network.serializing.Serializable;
+import model.general.config.Alphabet;
 import model.general.message.client.ServerMessageInterpreter;
 
 @Serializable
@@ -8,21 +9,42 @@ public class StartGameResponse extends ServerMessage {
     /**
      * Length of the games answer
      */
-    private int wordLength;
+    int wordLength;
+
+    /**
+     * Amount of answers guessed at the same time
+     */
+    int boardCount;
+
+    /**
+     * Maximum amount of guesses of the game
+     */
+    int allowedGuesses;
+
+    /**
+     * Language tag of the {@link Alphabet} of the answer
+     */
+    String alphabetTag;
 
     /**
      * No-argument constructor for serialization purposes
      */
-    private StartGameResponse() {}
+    StartGameResponse() {}
 
     /**
      * Construct a new StartGameResponse indicating that a game was started.
      * Contains the length of the answer word.
      *
      * @param wordLength length of the correct answer
+     * @param boardCount amount of answers guessed at the same time
+     * @param allowedGuesses maximum amount of guesses
+     * @param alphabet the alphabet of the answer
      */
-    public StartGameResponse(int wordLength) {
+    public StartGameResponse(int wordLength, int boardCount, int allowedGuesses, Alphabet alphabet) {
         this.wordLength = wordLength;
+        this.boardCount = boardCount;
+        this.allowedGuesses = allowedGuesses;
+        this.alphabetTag = alphabet.getTag();
     }
 
     /**
@@ -40,7 +62,25 @@ public class StartGameResponse extends ServerMessage {
      * @return the number of guesses as int
      */
     public int getAllowedGuesses() {
-        return 6;
+        return allowedGuesses;
+    }
+
+    /**
+     * Returns the amount of answers guessed at the same time
+     *
+     * @return the amount of boards as int
+     */
+    public int getBoardCount() {
+        return boardCount;
+    }
+
+    /**
+     * Returns the alphabet of the answer
+     *
+     * @return the {@link Alphabet}
+     */
+    public Alphabet getAlphabet() {
+        return Alphabet.forTag(alphabetTag);
     }
 
     /**
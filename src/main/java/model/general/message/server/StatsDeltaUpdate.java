@@ -0,0 +1,112 @@
+package model.general.message.server;
+
+import com.jme3.network.serializing.Serializable;
+import model.general.message.client.ServerMessageInterpreter;
+
+/**
+ * Pushed to the client when a game changed the stats of the player, the client applies it to the
+ * stats it fetched with a StatsRequestMessage.
+ * <p>
+ * The score is sent as a change, streaks as values since a lost daily wordle resets the streak.
+ * Every change raises the version of the stats by one, a client missing a change fetches the
+ * full stats again.
+ * </p>
+ */
+@Serializable
+public class StatsDeltaUpdate extends ServerMessage {
+    /**
+     * Marks a game that filled no bucket of the guess distribution
+     */
+    public static final int NO_BUCKET = -1;
+
+    /**
+     * The version of the stats after the change
+     */
+    int version;
+
+    int scoreChange;
+    int streak;
+    int maxStreak;
+    boolean solved;
+    boolean lost;
+
+    /**
+     * The index of the guess distribution bucket raised by one or {@link #NO_BUCKET}
+     */
+    int bucket;
+
+    /**
+     * The players last play day
+     */
+    long lastPlayDate;
+
+    /**
+     * No-argument constructor for serialization purposes
+     */
+    StatsDeltaUpdate() {}
+
+    /**
+     * Construct a new StatsDeltaUpdate
+     *
+     * @param version the version of the stats after the change
+     * @param scoreChange the points gained or lost
+     * @param streak the current daily wordle streak
+     * @param maxStreak the longest daily wordle streak
+     * @param solved true if the amount of solved wordles rose by one
+     * @param lost true if the amount of lost wordles rose by one
+     * @param bucket the raised bucket of the guess distribution or {@link #NO_BUCKET}
+     * @param lastPlayDate the last play day
+     */
+    public StatsDeltaUpdate(int version, int scoreChange, int streak, int maxStreak, boolean solved, boolean lost, int bucket, long lastPlayDate) {
+        this.version = version;
+        this.scoreChange = scoreChange;
+        this.streak = streak;
+        this.maxStreak = maxStreak;
+        this.solved = solved;
+        this.lost = lost;
+        this.bucket = bucket;
+        this.lastPlayDate = lastPlayDate;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public int getScoreChange() {
+        return scoreChange;
+    }
+
+    public int getStreak() {
+        return streak;
+    }
+
+    public int getMaxStreak() {
+        return maxStreak;
+    }
+
+    public boolean isSolved() {
+        return solved;
+    }
+
+    public boolean isLost() {
+        return lost;
+    }
+
+    public int getBucket() {
+        return bucket;
+    }
+
+    public long getLastPlayDate() {
+        return lastPlayDate;
+    }
+
+    /**
+     * Accepts a visitor for processing this message.
+     *
+     * @param interpreter the visitor to be used for processing
+     */
+    @Override
+    public void accept(ServerMessageInterpreter interpreter) {
+        interpreter.received(this);
+    }
+}
@@ -3,61 +3,67 @@ package model.general.message.server;
 import com.jme3.network.serializing.Serializable;
 import model.general.dto.StatsProvider;
 import model.general.message.client.ServerMessageInterpreter;
-import model.server.Player;
 
 @Serializable
 public class StatsRequestResponse extends ServerMessage {
     /**
      * The players public alias
      */
-    private String alias;
+    String alias;
 
     /**
      * The players last login day
      */
-    private long lastPlayDate;
+    long lastPlayDate;
 
     /**
      * The players overall score
      */
-    private int score;
+    int score;
 
     /**
      * The players current daily wordle streak
      */
-    private int streak;
+    int streak;
 
     /**
      * The players longest ever wordle streak
      */
-    private int maxStreak;
+    int maxStreak;
 
     /**
      * The total amount of wordles solved
      */
-    private int wordlesSolved;
+    int wordlesSolved;
 
     /**
      * The total amount of wordles lost
      */
-    private int wordlesLost;
+    int wordlesLost;
 
     /**
      * The distribution of guesses needed to solve wordles
      */
-    private int[] guessDistribution;
+    int[] guessDistribution;
+
+    /**
+     * The version of the stats, raised by every {@link StatsDeltaUpdate}
+     */
+    int version;
 
     /**
      * No-argument constructor for serialization purposes
      */
-    private StatsRequestResponse() {}
+    StatsRequestResponse() {}
 
     /**
      * Constructs a new StatsRequestResponse containing information about the given stats provider
      *
      * @param player the provided stats provider
+     * @param version the version of the stats
      */
-    public StatsRequestResponse(StatsProvider player) {
+    public StatsRequestResponse(StatsProvider player, int version) {
+        this.version = version;
         alias = player.getAlias();
         lastPlayDate = player.getLastPlayDate();
         score = player.getScore();
@@ -109,4 +115,8 @@ public class StatsRequestResponse extends ServerMessage {
     public int[] getGuessDistribution() {
         return guessDistribution;
     }
+
+    public int getVersion() {
+        return version;
+    }
 }
@@ -0,0 +1,62 @@
+package model.general.message.server;
+
+import com.jme3.network.serializing.Serializable;
+import model.general.message.client.ServerMessageInterpreter;
+
+/**
+ * The outcome of a time attack game, sent after the response to the last guess. The solve time is
+ * measured by the server and corrected by the round trip time of the connection.
+ */
+@Serializable
+public class TimedResultResponse extends ServerMessage {
+    boolean won;
+    long solveMillis;
+    int points;
+    int rttMillis;
+
+    /**
+     * No-argument constructor for serialization purposes
+     */
+    TimedResultResponse() {}
+
+    /**
+     * Construct a new TimedResultResponse
+     *
+     * @param won true if the answer was found
+     * @param solveMillis the time from the start of the game to the last guess in milliseconds
+     * @param points the points won, 0 for a lost game
+     * @param rttMillis the round trip time the solve time was corrected by in milliseconds
+     */
+    public TimedResultResponse(boolean won, long solveMillis, int points, int rttMillis) {
+        this.won = won;
+        this.solveMillis = solveMillis;
+        this.points = points;
+        this.rttMillis = rttMillis;
+    }
+
+    public boolean isWon() {
+        return won;
+    }
+
+    public long getSolveMillis() {
+        return solveMillis;
+    }
+
+    public int getPoints() {
+        return points;
+    }
+
+    public int getRttMillis() {
+        return rttMillis;
+    }
+
+    /**
+     * Accepts a visitor for processing this message.
+     *
+     * @param interpreter the visitor to be used for processing
+     */
+    @Override
+    public void accept(ServerMessageInterpreter interpreter) {
+        interpreter.received(this);
+    }
+}
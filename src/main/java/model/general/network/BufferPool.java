@@ -0,0 +1,72 @@
+package model.general.network;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool of direct buffers of one size.
+ * <p>
+ * Direct buffers are written to channels without a copy, but are expensive to allocate
+ * and only freed by the garbage collector, so they are reused. Any thread may acquire and
+ * release buffers. Buffers released while the pool is full are left to the garbage collector.
+ * </p>
+ */
+public class BufferPool {
+    private final int bufferSize;
+    private final BlockingQueue<ByteBuffer> free;
+    private final AtomicLong allocated = new AtomicLong();
+
+    /**
+     * Creates a new, empty pool
+     *
+     * @param bufferSize the capacity of every buffer in bytes
+     * @param maxPooled the most buffers kept for reuse
+     */
+    public BufferPool(int bufferSize, int maxPooled) {
+        this.bufferSize = bufferSize;
+        this.free = new ArrayBlockingQueue<>(Math.max(1, maxPooled));
+    }
+
+    /**
+     * Takes a cleared buffer from the pool, allocates one if the pool is empty
+     *
+     * @return the buffer
+     */
+    public ByteBuffer acquire() {
+        final ByteBuffer buffer = free.poll();
+        if (buffer != null) return buffer;
+        allocated.incrementAndGet();
+        return ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    /**
+     * Returns a buffer to the pool, it must not be used afterwards
+     *
+     * @param buffer a buffer acquired from this pool
+     */
+    public void release(ByteBuffer buffer) {
+        if (buffer == null || buffer.capacity() != bufferSize) return;
+        buffer.clear();
+        free.offer(buffer);
+    }
+
+    /**
+     * Returns the capacity of the buffers
+     *
+     * @return the size in bytes
+     */
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * Returns the amount of buffers allocated because the pool was empty
+     *
+     * @return the amount as long
+     */
+    public long getAllocated() {
+        return allocated.get();
+    }
+}
@@ -0,0 +1,33 @@
+package model.general.network;
+
+import com.jme3.network.serializing.Serializer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Lets the jME networking serialize messages with their generated {@link MessageCodec}
+ * instead of its reflective field serializer.
+ * <p>
+ * The server tells its clients which serializer belongs to which class, the clients create
+ * it by its name, so this class needs a public no-argument constructor.
+ * </p>
+ */
+public class CodecSerializer extends Serializer {
+    @Override
+    public <T> T readObject(ByteBuffer data, Class<T> c) throws IOException {
+        return c.cast(codec(c).decode(data));
+    }
+
+    @Override
+    public void writeObject(ByteBuffer buffer, Object object) throws IOException {
+        codec(object.getClass()).encodeObject(object, buffer);
+    }
+
+    private static MessageCodec<?> codec(Class<?> type) throws IOException {
+        final MessageCodec<?> codec = MessageCodecs.forType(type);
+        if (codec == null)
+            throw new IOException("no codec for " + type.getName());
+        return codec;
+    }
+}
@@ -0,0 +1,54 @@
+package model.general.network;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Encodes the fields of one message class into a buffer and decodes them again.
+ * <p>
+ * The implementations are generated at compile time for every {@code @Serializable}
+ * message and collected in {@link MessageCodecs}, so no reflection is needed at runtime.
+ * </p>
+ *
+ * @param <T> the message class
+ */
+public interface MessageCodec<T> {
+    /**
+     * Returns the id written in front of the message by {@link MessageFrames}
+     *
+     * @return the id, unique among all messages
+     */
+    int getId();
+
+    /**
+     * Returns the message class handled by this codec
+     *
+     * @return the class
+     */
+    Class<T> getType();
+
+    /**
+     * Writes the fields of the message at the position of the buffer
+     *
+     * @param message the message
+     * @param buffer the buffer
+     */
+    void encode(T message, ByteBuffer buffer);
+
+    /**
+     * Creates a message from the fields at the position of the buffer
+     *
+     * @param buffer the buffer
+     * @return the message
+     */
+    T decode(ByteBuffer buffer);
+
+    /**
+     * Writes the fields of a message whose class is only known at runtime
+     *
+     * @param message the message, has to be of the class of this codec
+     * @param buffer the buffer
+     */
+    default void encodeObject(Object message, ByteBuffer buffer) {
+        encode(getType().cast(message), buffer);
+    }
+}
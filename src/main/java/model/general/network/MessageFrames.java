@@ -0,0 +1,114 @@
+package model.general.network;
+
+import com.jme3.network.serializing.Serializer;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Encodes messages into length prefixed frames and decodes them again.
+ * <p>
+ * A frame is an unsigned 16 bit length in network byte order followed by that many bytes
+ * of the message: the id of its {@link MessageCodec} as one byte and the fields written
+ * by the codec. The ids are fixed at compile time, so no registration is needed.
+ * </p>
+ */
+public final class MessageFrames {
+    /**
+     * Bytes of the length in front of every frame
+     */
+    public static final int HEADER_BYTES = 2;
+
+    /**
+     * Largest message a frame can hold
+     */
+    public static final int MAX_FRAME_BYTES = 0xFFFF;
+
+    /**
+     * Default capacity of the buffers used for reading and writing frames
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 4096;
+
+    private static boolean registered;
+
+    private MessageFrames() {}
+
+    /**
+     * Registers all message classes with the jME networking, only the first call has an effect.
+     * Every class is serialized by its generated codec through a {@link CodecSerializer}.
+     */
+    public static synchronized void registerClasses() {
+        if (registered) return;
+        final CodecSerializer serializer = new CodecSerializer();
+        for (MessageCodec<?> codec : MessageCodecs.all()) {
+            Serializer.registerClass(codec.getType(), serializer);
+        }
+        registered = true;
+    }
+
+    /**
+     * Writes a message as one frame at the position of the buffer
+     *
+     * @param message the message
+     * @param buffer the buffer, its position is moved behind the frame
+     * @throws IOException if the message does not fit into the buffer or a frame
+     */
+    public static void encode(Object message, ByteBuffer buffer) throws IOException {
+        final int start = buffer.position();
+        if (buffer.remaining() < HEADER_BYTES)
+            throw new IOException("no space for a frame left");
+        final MessageCodec<?> codec = MessageCodecs.forType(message.getClass());
+        if (codec == null)
+            throw new IOException("no codec for " + message.getClass().getName());
+        buffer.position(start + HEADER_BYTES);
+        try {
+            buffer.put((byte) codec.getId());
+            codec.encodeObject(message, buffer);
+        } catch (BufferOverflowException e) {
+            buffer.position(start);
+            throw new IOException("message does not fit into " + buffer.capacity() + " bytes: " + message, e);
+        } catch (IllegalArgumentException e) {
+            buffer.position(start);
+            throw new IOException("message cannot be encoded: " + message, e);
+        }
+        final int length = buffer.position() - start - HEADER_BYTES;
+        if (length > MAX_FRAME_BYTES) {
+            buffer.position(start);
+            throw new IOException("message exceeds the frame size: " + message);
+        }
+        buffer.putShort(start, (short) length);
+    }
+
+    /**
+     * Reads the frame at the position of the buffer if it was received completely
+     *
+     * @param buffer the buffer in read mode, its position is moved behind the frame
+     * @return the message or null if the frame is incomplete
+     * @throws IOException if the frame can never fit into the buffer or cannot be decoded
+     */
+    public static Object decode(ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < HEADER_BYTES) return null;
+        final int start = buffer.position();
+        final int length = buffer.getShort(start) & 0xFFFF;
+        if (length > buffer.capacity() - HEADER_BYTES)
+            throw new IOException("frame of " + length + " bytes exceeds the buffer");
+        if (buffer.remaining() < HEADER_BYTES + length) return null;
+        final int limit = buffer.limit();
+        final int end = start + HEADER_BYTES + length;
+        buffer.position(start + HEADER_BYTES).limit(end);
+        try {
+            final MessageCodec<?> codec = MessageCodecs.forId(buffer.get() & 0xFF);
+            if (codec == null)
+                throw new IOException("unknown message id in frame of " + length + " bytes");
+            final Object message = codec.decode(buffer);
+            if (buffer.hasRemaining())
+                throw new IOException("frame of " + length + " bytes is longer than its " + codec.getType().getSimpleName());
+            return message;
+        } catch (RuntimeException e) {
+            throw new IOException("malformed frame of " + length + " bytes", e);
+        } finally {
+            buffer.limit(limit).position(end);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package model.general.network;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Version of the protocol spoken between client and server.
+ * <p>
+ * Clients and servers are only compatible if both the {@link #VERSION} and the schema of
+ * the messages, computed at compile time as {@link MessageCodecs#SCHEMA_HASH}, are equal.
+ * Both are combined into the {@link #fingerprint()}. The NIO transport starts every
+ * connection with a hello in each direction carrying it, the server drops clients with
+ * another fingerprint before they become players. The jME networking checks the
+ * fingerprint as its game version.
+ * </p>
+ */
+public final class Protocol {
+    /**
+     * Name of the game, checked by the jME networking
+     */
+    public static final String GAME_NAME = "wordle";
+
+    /**
+     * Increase whenever the meaning of messages changes without a change of their fields
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * First bytes of every hello, "WRDL"
+     */
+    public static final int MAGIC = 0x5752444C;
+
+    /**
+     * Size of the hello in bytes
+     */
+    public static final int HELLO_BYTES = 8;
+
+    private Protocol() {}
+
+    /**
+     * Returns the fingerprint clients and server have to share
+     *
+     * @return the version combined with the schema hash
+     */
+    public static int fingerprint() {
+        return 31 * VERSION + MessageCodecs.SCHEMA_HASH;
+    }
+
+    /**
+     * Writes the hello of this side
+     *
+     * @param buffer the buffer
+     */
+    public static void writeHello(ByteBuffer buffer) {
+        buffer.putInt(MAGIC);
+        buffer.putInt(fingerprint());
+    }
+
+    /**
+     * Reads the hello of the other side, the buffer has to hold at least {@link #HELLO_BYTES}
+     *
+     * @param buffer the buffer in read mode
+     * @return true if the other side speaks this protocol
+     */
+    public static boolean readHello(ByteBuffer buffer) {
+        final int magic = buffer.getInt();
+        final int fingerprint = buffer.getInt();
+        return magic == MAGIC && fingerprint == fingerprint();
+    }
+}
@@ -0,0 +1,37 @@
+package model.general.network;
+
+import java.util.Locale;
+
+/**
+ * The network transport used between client and server.
+ * Both sides have to use the same transport.
+ */
+public enum Transport {
+    /**
+     * The networking of jMonkeyEngine, with its own threads per connection
+     */
+    JME,
+
+    /**
+     * Length prefixed frames over plain NIO channels, a single selector thread on the server
+     */
+    NIO;
+
+    /**
+     * Returns the transport with the given name
+     *
+     * @param name the name as used in the config, e.g. "nio", case is ignored
+     * @return the transport, {@link #JME} if the name is unknown
+     */
+    public static Transport forName(String name) {
+        if (name != null) {
+            final String constant = name.strip().toUpperCase(Locale.ROOT);
+            for (Transport transport : values()) {
+                if (transport.name().equals(constant)) {
+                    return transport;
+                }
+            }
+        }
+        return JME;
+    }
+}
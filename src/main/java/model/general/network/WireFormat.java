@@ -0,0 +1,131 @@
+package model.general.network;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodings of the field types of messages besides primitives, used by the generated codecs.
+ * <p>
+ * Strings are written as UTF-8 and arrays element by element, both behind a signed 16 bit
+ * length, -1 stands for null. Longs are written as unsigned variable length integers with
+ * seven bits per byte, so packed words and dates take only as many bytes as they need.
+ * </p>
+ */
+public final class WireFormat {
+    private static final int NULL_LENGTH = -1;
+
+    private WireFormat() {}
+
+    public static void putBoolean(ByteBuffer buffer, boolean value) {
+        buffer.put((byte) (value ? 1 : 0));
+    }
+
+    public static boolean getBoolean(ByteBuffer buffer) {
+        return buffer.get() != 0;
+    }
+
+    public static void putVarLong(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    public static long getVarLong(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            final byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) return value;
+        }
+        throw new IllegalArgumentException("malformed variable length long");
+    }
+
+    public static void putString(ByteBuffer buffer, String value) {
+        if (value == null) {
+            buffer.putShort((short) NULL_LENGTH);
+            return;
+        }
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putShort(length(bytes.length));
+        buffer.put(bytes);
+    }
+
+    public static String getString(ByteBuffer buffer) {
+        final int length = buffer.getShort();
+        if (length == NULL_LENGTH) return null;
+        final byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public static void putInts(ByteBuffer buffer, int[] values) {
+        if (values == null) {
+            buffer.putShort((short) NULL_LENGTH);
+            return;
+        }
+        buffer.putShort(length(values.length));
+        for (int value : values) {
+            buffer.putInt(value);
+        }
+    }
+
+    public static int[] getInts(ByteBuffer buffer) {
+        final int length = buffer.getShort();
+        if (length == NULL_LENGTH) return null;
+        final int[] values = new int[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = buffer.getInt();
+        }
+        return values;
+    }
+
+    public static void putLongs(ByteBuffer buffer, long[] values) {
+        if (values == null) {
+            buffer.putShort((short) NULL_LENGTH);
+            return;
+        }
+        buffer.putShort(length(values.length));
+        for (long value : values) {
+            putVarLong(buffer, value);
+        }
+    }
+
+    public static long[] getLongs(ByteBuffer buffer) {
+        final int length = buffer.getShort();
+        if (length == NULL_LENGTH) return null;
+        final long[] values = new long[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = getVarLong(buffer);
+        }
+        return values;
+    }
+
+    public static void putStrings(ByteBuffer buffer, String[] values) {
+        if (values == null) {
+            buffer.putShort((short) NULL_LENGTH);
+            return;
+        }
+        buffer.putShort(length(values.length));
+        for (String value : values) {
+            putString(buffer, value);
+        }
+    }
+
+    public static String[] getStrings(ByteBuffer buffer) {
+        final int length = buffer.getShort();
+        if (length == NULL_LENGTH) return null;
+        final String[] values = new String[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = getString(buffer);
+        }
+        return values;
+    }
+
+    private static short length(int length) {
+        if (length > Short.MAX_VALUE)
+            throw new IllegalArgumentException("too many elements for a message: " + length);
+        return (short) length;
+    }
+}
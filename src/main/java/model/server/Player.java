@@ -1,9 +1,17 @@
 package model.server;
 
+import model.general.config.GameMode;
+import model.general.config.PackedFeedback;
 import model.general.dto.StatsProvider;
+import model.server.logic.AnswerStrategy;
+import model.server.logic.CandidateSet;
+import model.server.logic.WordDictionary;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Represents a game participant on the server side, holding a unique connection ID and a display name.
@@ -81,6 +89,11 @@ public class Player implements StatsProvider {
      */
     private boolean dailyWordle = false;
 
+    /**
+     * The mode of the current game
+     */
+    private GameMode mode;
+
     /**
      * The amount of guesses made in the current game
      */
@@ -92,9 +105,60 @@ public class Player implements StatsProvider {
     private int maxGuessAmount;
 
     /**
-     * The answer to the game the player is currently playing
+     * Decides the answer to the game the player is currently playing
+     */
+    private AnswerStrategy currentAnswer;
+
+    /**
+     * The packed guesses of the current game
+     */
+    private long[] guesses = new long[0];
+
+    /**
+     * The packed feedback of each guess of the current game on every board,
+     * stored at index guess * boards + board
+     */
+    private int[] patterns = new int[0];
+
+    /**
+     * The dictionary the current game was started with, kept if the word lists are reloaded
+     */
+    private WordDictionary dictionary;
+
+    /**
+     * The answers still consistent with the feedback of the current game
+     */
+    private CandidateSet candidates;
+
+    /**
+     * Bit b is set once board b of the current game was solved
+     */
+    private int solvedBoards;
+
+    /**
+     * Completes once the latest save of the stats was written
+     */
+    private CompletableFuture<Void> pendingSave = CompletableFuture.completedFuture(null);
+
+    /**
+     * Scratch array receiving the feedback of every board for the latest guess
+     */
+    private int[] boardPatterns = new int[1];
+
+    /**
+     * Server time the current time attack game started at, -1 if the game is not timed
+     */
+    private long timedStartNanos = -1;
+
+    /**
+     * Raised by every change of the stats during this connection, lets the client notice a missed {@code StatsDeltaUpdate}
      */
-    private String currentAnswer;
+    private int statsVersion;
+
+    /**
+     * Smoothed round trip time of the connection in nanoseconds, 0 before the first measurement
+     */
+    private long roundTripNanos;
 
     /**
      * Constructor for the Player class.
@@ -106,19 +170,36 @@ public class Player implements StatsProvider {
         this.id = id;
     }
 
-    public void authenticate(String location, String name, String password) {
+    /**
+     * Loads the player data of a user and checks the password. Blocks on the file system,
+     * touches no player and can run on any thread.
+     *
+     * @param location the folder containing the user files
+     * @param name the user name
+     * @param password the password sent by the client
+     * @return the player data or null if the user does not exist or the password is wrong
+     */
+    public static PlayerAuthDTO loadCredentials(String location, String name, String password) {
         final String path = location + name + ".json";
         try {
             final PlayerAuthDTO dto = PlayerAuthDTO.loadFrom(new File(path));
-            if (dto.checkPassword(password)) {
-                setAuthenticated(true);
-                loadStats(dto);
-            }
+            return dto.checkPassword(password) ? dto : null;
         } catch (IOException e) {
             LOGGER.log(System.Logger.Level.ERROR, "Could not load player data for player name: {0}", name);
+            return null;
         }
     }
 
+    /**
+     * Marks this player as authenticated and takes over the loaded stats
+     *
+     * @param dto the player data returned by {@link #loadCredentials(String, String, String)}
+     */
+    public void authenticate(PlayerAuthDTO dto) {
+        setAuthenticated(true);
+        loadStats(dto);
+    }
+
     private void loadStats(PlayerAuthDTO dto) {
         name = dto.getName();
         alias = dto.getAlias();
@@ -131,29 +212,56 @@ public class Player implements StatsProvider {
         guessDistribution = dto.getGuessDistribution();
     }
 
-    public void saveStats(String location) {
+    /**
+     * Saves the current stats on the given executor. The stats are copied right away,
+     * the file is written after all earlier saves of this player finished.
+     *
+     * @param location the folder containing the user files
+     * @param executor runs the blocking file access
+     */
+    public void saveStats(String location, Executor executor) {
         final String path = location + name + ".json";
-        try {
-            PlayerAuthDTO dto = PlayerAuthDTO.loadFrom(new File(path));
-            dto.setStatsTo(this);
-            dto.saveTo(new File(path));
-        } catch (IOException e) {
-            LOGGER.log(System.Logger.Level.ERROR, "Could not save player data for player name: {0}", name);
-        }
+        final PlayerAuthDTO stats = new PlayerAuthDTO();
+        stats.setStatsTo(this);
+        pendingSave = pendingSave.thenRunAsync(() -> {
+            try {
+                final PlayerAuthDTO dto = PlayerAuthDTO.loadFrom(new File(path));
+                dto.setStatsTo(stats);
+                dto.saveTo(new File(path));
+            } catch (IOException e) {
+                LOGGER.log(System.Logger.Level.ERROR, "Could not save player data for player name: {0}", stats.getName());
+            }
+        }, executor);
     }
 
-    public void startGame(String answer, int maxGuesses) {
+    public void startGame(GameMode mode, AnswerStrategy answer, int maxGuesses, WordDictionary dictionary, CandidateSet candidates) {
         gameActive = true;
+        this.mode = mode;
         guessesMade = 0;
+        timedStartNanos = -1;
         currentAnswer = answer;
         maxGuessAmount = maxGuesses;
+        this.dictionary = dictionary;
+        this.candidates = candidates;
+        solvedBoards = 0;
+        if (guesses.length != maxGuesses) {
+            guesses = new long[maxGuesses];
+        }
+        if (patterns.length != maxGuesses * answer.getBoardCount()) {
+            patterns = new int[maxGuesses * answer.getBoardCount()];
+        }
+        if (boardPatterns.length != answer.getBoardCount()) {
+            boardPatterns = new int[answer.getBoardCount()];
+        }
     }
 
     public void endGame(boolean won) {
         if (won) {
             score += pointsToGain;
             wordlesSolved += 1;
-            guessDistribution[guessesMade - 1] += 1;
+            if (guessesMade <= guessDistribution.length) {
+                guessDistribution[guessesMade - 1] += 1;
+            }
         } else {
             if (!dailyWordle && score > 0) {
                 score -= 1;
@@ -172,6 +280,14 @@ public class Player implements StatsProvider {
             }
         }
 
+        statsVersion += 1;
+        gameActive = false;
+    }
+
+    /**
+     * Ends the current game without touching the stats, e.g. a restored game that turned out to be over
+     */
+    public void discardGame() {
         gameActive = false;
     }
 
@@ -235,6 +351,10 @@ public class Player implements StatsProvider {
         lastPlayDate = day;
     }
 
+    public int getStatsVersion() {
+        return statsVersion;
+    }
+
     public boolean isGameActive() {
         return gameActive;
     }
@@ -251,14 +371,166 @@ public class Player implements StatsProvider {
         return guessesMade < maxGuessAmount;
     }
 
-    public void submitGuess(String guess) {
+    /**
+     * Rates a guess on every board of the current game and records it.
+     * Boards rated all right are marked as solved.
+     *
+     * @param guess the packed guess
+     * @return the packed feedback indexed by board, only valid until the next guess
+     */
+    public int[] submitGuess(long guess) {
+        currentAnswer.evaluate(guess, boardPatterns);
+        final int allRight = PackedFeedback.allRight(currentAnswer.getWordLength());
+        for (int board = 0; board < boardPatterns.length; board++) {
+            if (boardPatterns[board] == allRight) {
+                solvedBoards |= 1 << board;
+            }
+        }
+        guesses[guessesMade] = guess;
+        System.arraycopy(boardPatterns, 0, patterns, guessesMade * boardPatterns.length, boardPatterns.length);
         guessesMade += 1;
+        return boardPatterns;
+    }
+
+    /**
+     * Checks if every board of the current game was solved
+     *
+     * @return true if the game is won
+     */
+    public boolean isSolved() {
+        return solvedBoards == (1 << boardPatterns.length) - 1;
+    }
+
+    /**
+     * Returns a packed guess of the current game
+     *
+     * @param index the index of the guess
+     * @return the packed guess
+     */
+    public long getGuess(int index) {
+        return guesses[index];
+    }
+
+    /**
+     * Returns the packed feedback of a guess of the current game on the first board
+     *
+     * @param index the index of the guess
+     * @return the packed feedback
+     */
+    public int getPattern(int index) {
+        return patterns[index * boardPatterns.length];
+    }
+
+    /**
+     * Copies the packed guesses of the current game
+     *
+     * @return the guesses in the order they were made
+     */
+    public long[] copyGuesses() {
+        return Arrays.copyOf(guesses, guessesMade);
+    }
+
+    /**
+     * Copies the packed feedback of all guesses of the current game, the letters are left out
+     *
+     * @return the feedback stored at index guess * boards + board
+     */
+    public int[] copyPatterns() {
+        return Arrays.copyOf(patterns, guessesMade * boardPatterns.length);
     }
 
+    /**
+     * Returns the amount of guesses the current game allows
+     *
+     * @return the amount as int
+     */
+    public int getMaxGuesses() {
+        return maxGuessAmount;
+    }
+
+    /**
+     * Returns the answer to the current game
+     *
+     * @return the answer or null if the game did not commit to one yet
+     */
     public String getCurrentAnswer() {
+        return currentAnswer.getAnswer();
+    }
+
+    public GameMode getGameMode() {
+        return mode;
+    }
+
+    public AnswerStrategy getAnswerStrategy() {
         return currentAnswer;
     }
 
+    public WordDictionary getDictionary() {
+        return dictionary;
+    }
+
+    public CandidateSet getCandidates() {
+        return candidates;
+    }
+
+    /**
+     * Starts the clock of a time attack game
+     *
+     * @param nowNanos the current time of {@link System#nanoTime()}, when the start was sent to the client
+     */
+    public void startTimer(long nowNanos) {
+        timedStartNanos = nowNanos;
+    }
+
+    /**
+     * Returns if the current game is a time attack game
+     *
+     * @return true if the game is timed
+     */
+    public boolean isTimed() {
+        return timedStartNanos >= 0;
+    }
+
+    /**
+     * Returns the time a client needed for the current time attack game, the server measures the
+     * time between sending the start and receiving the latest guess, which also covers one round
+     * trip of the connection. That round trip is subtracted.
+     *
+     * @param receivedAtNanos the time of {@link System#nanoTime()} the latest guess was received at
+     * @param maxCompensationNanos the largest round trip time subtracted
+     * @return the time in nanoseconds, at least 0
+     */
+    public long getSolveNanos(long receivedAtNanos, long maxCompensationNanos) {
+        return Math.max(0, receivedAtNanos - timedStartNanos - Math.min(roundTripNanos, maxCompensationNanos));
+    }
+
+    /**
+     * Adds a round trip time measured by a ping, smoothed like the round trip time of TCP
+     *
+     * @param sampleNanos the measured time in nanoseconds
+     */
+    public void recordRoundTrip(long sampleNanos) {
+        if (sampleNanos < 0) return;
+        roundTripNanos = roundTripNanos == 0 ? sampleNanos : roundTripNanos + (sampleNanos - roundTripNanos) / 8;
+    }
+
+    /**
+     * Returns the smoothed round trip time of the connection
+     *
+     * @return the time in nanoseconds, 0 if it was not measured yet
+     */
+    public long getRoundTripNanos() {
+        return roundTripNanos;
+    }
+
+    public boolean isDailyWordle() {
+        return dailyWordle;
+    }
+
+    public int getPointsToGain() {
+        return pointsToGain;
+    }
+
     public void setDailyOrRandom(boolean daily, int pointsToGain) {
         dailyWordle = daily;
         this.pointsToGain = pointsToGain;
@@ -3,6 +3,7 @@ package model.server;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonParseException;
+import model.server.logic.GameSnapshot;
 
 import java.io.File;
 import java.io.FileReader;
@@ -23,6 +24,11 @@ public class PlayerAuthDTO {
     private int wordlesLost;
     private int[] guessDistribution;
 
+    /**
+     * The game in progress, see {@link GameSnapshot}, null if there is none
+     */
+    private String game;
+
     public void setStatsTo(Player player) {
         name = player.getName();
         alias = player.getAlias();
@@ -32,7 +38,26 @@ public class PlayerAuthDTO {
         maxStreak = player.getMaxStreak();
         wordlesSolved = player.getWordlesSolved();
         wordlesLost = player.getWordlesLost();
-        guessDistribution = player.getGuessDistribution();
+        guessDistribution = player.getGuessDistribution() == null ? null : player.getGuessDistribution().clone();
+        game = GameSnapshot.capture(player);
+    }
+
+    /**
+     * Copies the stats of another DTO, e.g. a snapshot taken by {@link #setStatsTo(Player)}
+     *
+     * @param stats the DTO to copy the stats from
+     */
+    public void setStatsTo(PlayerAuthDTO stats) {
+        name = stats.name;
+        alias = stats.alias;
+        lastPlayDate = stats.lastPlayDate;
+        score = stats.score;
+        streak = stats.streak;
+        maxStreak = stats.maxStreak;
+        wordlesSolved = stats.wordlesSolved;
+        wordlesLost = stats.wordlesLost;
+        guessDistribution = stats.guessDistribution;
+        game = stats.game;
     }
 
     /**
@@ -107,4 +132,8 @@ public class PlayerAuthDTO {
     public int[] getGuessDistribution() {
         return guessDistribution;
     }
+
+    public String getGame() {
+        return game;
+    }
 }
@@ -1,6 +1,8 @@
 package model.server.config;
 
+import model.general.config.Alphabet;
 import model.general.config.Config;
+import model.general.network.Transport;
 
 public class ServerGameConfig extends Config {
     /**
@@ -9,6 +11,55 @@ public class ServerGameConfig extends Config {
     @Property("port")
     private int port = 1234;
 
+    /**
+     * The network transport, jme or nio, clients have to use the same.
+     */
+    @Property("network.transport")
+    private String transport = "jme";
+
+    /**
+     * Capacity of the pooled buffers of the NIO transport in bytes, limits the size of a message.
+     */
+    @Property("network.buffer-size")
+    private int networkBufferSize = 4096;
+
+    /**
+     * The most buffers the NIO transport keeps for reuse.
+     */
+    @Property("network.pooled-buffers")
+    private int pooledBuffers = 1024;
+
+    /**
+     * Longest time in microseconds a message of the NIO transport waits for the end of the tick,
+     * messages produced in one tick are written together.
+     */
+    @Property("network.flush-latency-us")
+    private int flushLatencyMicros = 2000;
+
+    /**
+     * Bytes queued for a client of the NIO transport above which live spectator updates are skipped for it.
+     */
+    @Property("network.drop-queued-bytes")
+    private int dropQueuedBytes = 65536;
+
+    /**
+     * Bytes queued for a client of the NIO transport above which it is disconnected as too slow.
+     */
+    @Property("network.max-queued-bytes")
+    private int maxQueuedBytes = 1048576;
+
+    /**
+     * Whether clients may send guesses in the compact packed format.
+     */
+    @Property("network.packed-messages")
+    private boolean packedMessages = true;
+
+    /**
+     * Milliseconds between two pings measuring the round trip time of every connection, 0 to disable them.
+     */
+    @Property("network.ping-interval-ms")
+    private int pingIntervalMillis = 5000;
+
     /**
      * Path to the file representing the wordlist for all allowed answers.
      */
@@ -21,6 +72,103 @@ public class ServerGameConfig extends Config {
     @Property("words.guesses")
     private String guessListPath;
 
+    /**
+     * Path to the file representing the full wordlist.
+     */
+    @Property("words.all")
+    private String wordListPath;
+
+    /**
+     * Path to the precomputed opening book.
+     */
+    @Property("words.book")
+    private String openingBookPath;
+
+    /**
+     * Path to a file containing a word replacing the word of the day.
+     */
+    @Property("words.daily-override")
+    private String dailyOverridePath;
+
+    /**
+     * Whether changed word lists are loaded while the server is running.
+     */
+    @Property("words.hot-reload")
+    private boolean hotReload = true;
+
+    /**
+     * Language of the word lists, selects the {@link Alphabet}.
+     */
+    @Property("words.language")
+    private String language = "en";
+
+    /**
+     * The amount of game logic shards, 0 for one per core.
+     */
+    @Property("server.shards")
+    private int shardCount = 0;
+
+    /**
+     * The amount of received messages that can be queued for the game logic of each shard,
+     * split between the priority classes.
+     */
+    @Property("ingress.capacity")
+    private int ingressCapacity = 4096;
+
+    /**
+     * What the threads do while waiting for the message queue: busy-spin, yield or park.
+     */
+    @Property("ingress.wait-strategy")
+    private String ingressWaitStrategy = "park";
+
+    /**
+     * The most messages handled by the game logic per tick.
+     */
+    @Property("ingress.batch-size")
+    private int ingressBatchSize = 256;
+
+    /**
+     * Messages of running games a single connection may send per second.
+     */
+    @Property("ingress.rate.game")
+    private int gameRate = 10;
+
+    /**
+     * Messages of running games a single connection may send at once.
+     */
+    @Property("ingress.burst.game")
+    private int gameBurst = 20;
+
+    /**
+     * Statistics requests a single connection may send per second.
+     */
+    @Property("ingress.rate.stats")
+    private int statsRate = 2;
+
+    /**
+     * Statistics requests a single connection may send at once.
+     */
+    @Property("ingress.burst.stats")
+    private int statsBurst = 5;
+
+    /**
+     * Logins a single connection may send per second.
+     */
+    @Property("ingress.rate.login")
+    private int loginRate = 1;
+
+    /**
+     * Logins a single connection may send at once.
+     */
+    @Property("ingress.burst.login")
+    private int loginBurst = 3;
+
+    /**
+     * Seconds between two logs of the message queue metrics, 0 to disable them.
+     */
+    @Property("ingress.metrics-interval-s")
+    private int ingressMetricsInterval = 60;
+
     /**
      * The amount of points gaines for solving the daily wordle.
      */
@@ -33,12 +181,149 @@ public class ServerGameConfig extends Config {
     @Property("points.random")
     private int pointsRandom = 1;
 
+    /**
+     * The amount of points gained for solving a time attack game right away.
+     */
+    @Property("timed.max-points")
+    private int timedMaxPoints = 10;
+
+    /**
+     * Seconds of solve time that cost one point of a time attack game, at least one point is gained.
+     */
+    @Property("timed.seconds-per-point")
+    private int timedSecondsPerPoint = 15;
+
+    /**
+     * The largest round trip time in milliseconds subtracted from a solve time, limits what a client gains
+     * by answering pings late.
+     */
+    @Property("timed.max-rtt-compensation-ms")
+    private int maxRttCompensationMillis = 500;
+
     /**
      * Path to the folder containing the user files.
      */
     @Property("user.folder")
     private String userFolder;
 
+    /**
+     * Whether guess responses include the amount of answers still consistent with the feedback.
+     */
+    @Property("game.show-remaining-candidates")
+    private boolean showRemainingCandidates = true;
+
+    /**
+     * Whether games in progress are stored with the stats and continued when the player logs in again.
+     */
+    @Property("game.resumable")
+    private boolean resumableGames = true;
+
+    /**
+     * The amount of guesses suggested by a hint.
+     */
+    @Property("hints.count")
+    private int hintCount = 5;
+
+    /**
+     * The latency budget of a hint request in milliseconds.
+     */
+    @Property("hints.budget-ms")
+    private int hintBudgetMillis = 50;
+
+    /**
+     * The amount of players racing in one room.
+     */
+    @Property("race.max-players")
+    private int raceMaxPlayers = 4;
+
+    /**
+     * The amount of players needed to start the countdown of a race room.
+     */
+    @Property("race.min-players")
+    private int raceMinPlayers = 2;
+
+    /**
+     * Seconds a race room waits for more players once enough joined.
+     */
+    @Property("race.lobby-seconds")
+    private int raceLobbySeconds = 10;
+
+    /**
+     * Seconds after which a race ends even if players are still guessing.
+     */
+    @Property("race.time-limit-seconds")
+    private int raceTimeLimitSeconds = 300;
+
+    /**
+     * The amount of guesses of every racing player.
+     */
+    @Property("race.allowed-guesses")
+    private int raceAllowedGuesses = 6;
+
+    /**
+     * The amount of threads computing moves of bots, kept apart from the threads handling players.
+     */
+    @Property("bots.threads")
+    private int botThreads = 1;
+
+    /**
+     * The amount of bot moves waiting for a bot thread, further moves are delayed.
+     */
+    @Property("bots.max-pending")
+    private int botMaxPending = 64;
+
+    /**
+     * The compute budget of a single bot move in milliseconds.
+     */
+    @Property("bots.move-budget-ms")
+    private int botMoveBudgetMillis = 200;
+
+    /**
+     * The time a bot waits before each guess in milliseconds.
+     */
+    @Property("bots.think-ms")
+    private int botThinkMillis = 4000;
+
+    /**
+     * Whether race rooms lacking players start with bots once the countdown ran out.
+     */
+    @Property("bots.fill-races")
+    private boolean fillRacesWithBots = true;
+
+    /**
+     * The skill of bots filling race rooms, they pick one of this many best guesses.
+     */
+    @Property("bots.race-top-k")
+    private int raceBotTopK = 3;
+
+    public Transport getTransport() {
+        return Transport.forName(transport);
+    }
+
+    public int getNetworkBufferSize() {
+        return networkBufferSize;
+    }
+
+    public int getPooledBuffers() {
+        return pooledBuffers;
+    }
+
+    public int getFlushLatencyMicros() {
+        return flushLatencyMicros;
+    }
+
+    public int getDropQueuedBytes() {
+        return dropQueuedBytes;
+    }
+
+    public int getMaxQueuedBytes() {
+        return maxQueuedBytes;
+    }
+
+    public boolean isPackedMessages() {
+        return packedMessages;
+    }
+
     public String getAnswerListPath() {
         return answerListPath;
     }
@@ -47,10 +332,68 @@ public class ServerGameConfig extends Config {
         return guessListPath;
     }
 
+    public String getWordListPath() {
+        return wordListPath;
+    }
+
+    public String getOpeningBookPath() {
+        return openingBookPath;
+    }
+
+    public String getDailyOverridePath() {
+        return dailyOverridePath;
+    }
+
+    public boolean isHotReload() {
+        return hotReload;
+    }
+
+    public Alphabet getAlphabet() {
+        return Alphabet.forTag(language);
+    }
+
     public String getUserFolder() {
         return userFolder;
     }
 
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    public int getIngressCapacity() {
+        return ingressCapacity;
+    }
+
+    public String getIngressWaitStrategy() {
+        return ingressWaitStrategy;
+    }
+
+    public int getIngressBatchSize() {
+        return ingressBatchSize;
+    }
+
+    /**
+     * Returns the messages per second a connection may send, indexed like the server's priority classes
+     *
+     * @return game, stats and login rate
+     */
+    public int[] getIngressRates() {
+        return new int[]{gameRate, statsRate, loginRate};
+    }
+
+    /**
+     * Returns the messages a connection may send at once, indexed like the server's priority classes
+     *
+     * @return game, stats and login burst
+     */
+    public int[] getIngressBursts() {
+        return new int[]{gameBurst, statsBurst, loginBurst};
+    }
+
+    public int getIngressMetricsInterval() {
+        return ingressMetricsInterval;
+    }
+
     public int getPort() {
         return port;
     }
@@ -62,4 +405,80 @@ public class ServerGameConfig extends Config {
     public int getPointsRandom() {
         return pointsRandom;
     }
+
+    public boolean isShowRemainingCandidates() {
+        return showRemainingCandidates;
+    }
+
+    public int getHintCount() {
+        return hintCount;
+    }
+
+    public int getHintBudgetMillis() {
+        return hintBudgetMillis;
+    }
+
+    public int getRaceMaxPlayers() {
+        return raceMaxPlayers;
+    }
+
+    public int getRaceMinPlayers() {
+        return raceMinPlayers;
+    }
+
+    public int getRaceLobbySeconds() {
+        return raceLobbySeconds;
+    }
+
+    public int getRaceTimeLimitSeconds() {
+        return raceTimeLimitSeconds;
+    }
+
+    public int getRaceAllowedGuesses() {
+        return raceAllowedGuesses;
+    }
+
+    public int getBotThreads() {
+        return botThreads;
+    }
+
+    public int getBotMaxPending() {
+        return botMaxPending;
+    }
+
+    public int getBotMoveBudgetMillis() {
+        return botMoveBudgetMillis;
+    }
+
+    public int getBotThinkMillis() {
+        return botThinkMillis;
+    }
+
+    public boolean isFillRacesWithBots() {
+        return fillRacesWithBots;
+    }
+
+    public int getRaceBotTopK() {
+        return raceBotTopK;
+    }
+
+    public int getPingIntervalMillis() {
+        return pingIntervalMillis;
+    }
+
+    public int getTimedMaxPoints() {
+        return timedMaxPoints;
+    }
+
+    public int getTimedSecondsPerPoint() {
+        return timedSecondsPerPoint;
+    }
+
+    public int getMaxRttCompensationMillis() {
+        return maxRttCompensationMillis;
+    }
+
+    public boolean isResumableGames() {
+        return resumableGames;
+    }
 }
@@ -0,0 +1,40 @@
+package model.server.logic;
+
+/**
+ * Rates guesses without committing to an answer.
+ * <p>
+ * Every guess partitions the remaining candidates by the feedback they would produce
+ * and the largest partition survives. The game is only won once a single candidate is
+ * left and the player guesses it. The per game state is the {@link CandidateSet} alone.
+ * </p>
+ */
+public class AdversarialAnswer implements AnswerStrategy {
+    private final WordDictionary dictionary;
+    private final CandidateSet candidates;
+
+    /**
+     * Creates a new AdversarialAnswer
+     *
+     * @param dictionary the dictionary providing the answers
+     * @param candidates the candidates of the game, narrowed by every guess
+     */
+    public AdversarialAnswer(WordDictionary dictionary, CandidateSet candidates) {
+        this.dictionary = dictionary;
+        this.candidates = candidates;
+    }
+
+    @Override
+    public int evaluate(long guess) {
+        return dictionary.keepLargestPartition(candidates, guess);
+    }
+
+    @Override
+    public String getAnswer() {
+        return candidates.count() == 1 ? dictionary.getAnswers().get(candidates.nextCandidate(0)) : null;
+    }
+
+    @Override
+    public int getWordLength() {
+        return dictionary.getWordLength();
+    }
+}
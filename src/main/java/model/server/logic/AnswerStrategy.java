@@ -0,0 +1,57 @@
+package model.server.logic;
+
+/**
+ * Decides how the guesses of a game are rated.
+ */
+public interface AnswerStrategy {
+    /**
+     * Rates a guess. The strategy may commit to an answer while doing so.
+     *
+     * @param guess the packed guess
+     * @return the packed feedback
+     */
+    int evaluate(long guess);
+
+    /**
+     * Rates a guess on every board of the game
+     *
+     * @param guess the packed guess
+     * @param results receives the packed feedback, indexed by board
+     */
+    default void evaluate(long guess, int[] results) {
+        results[0] = evaluate(guess);
+    }
+
+    /**
+     * Returns the amount of answers guessed at the same time
+     *
+     * @return the amount of boards as int
+     */
+    default int getBoardCount() {
+        return 1;
+    }
+
+    /**
+     * Returns the answer of the game
+     *
+     * @return the answer or null if the strategy did not commit to one yet
+     */
+    String getAnswer();
+
+    /**
+     * Returns the answer of one board of the game
+     *
+     * @param board the index of the board
+     * @return the answer or null if the strategy did not commit to one yet
+     */
+    default String getAnswer(int board) {
+        return getAnswer();
+    }
+
+    /**
+     * Returns the length of the answer
+     *
+     * @return the length as int
+     */
+    int getWordLength();
+}
@@ -0,0 +1,181 @@
+package model.server.logic;
+
+import model.server.config.ServerGameConfig;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The threads computing the moves of all bots.
+ * <p>
+ * Bots run on their own {@link ForkJoinPool} with a configured amount of low priority threads,
+ * never on the logic shards or the pool answering hints, so bots can not slow down the messages
+ * of players. The amount of moves waiting for a thread is bounded, a bot that finds the pool
+ * full waits for its next turn. Every move has a compute budget and stops early once its
+ * race ended.
+ * </p>
+ */
+public class BotPool {
+    private static final System.Logger LOGGER = System.getLogger(BotPool.class.getName());
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final ForkJoinPool pool;
+    private final int maxPending;
+    private final long moveBudgetNanos;
+    private final long thinkNanos;
+    private final AtomicInteger pending = new AtomicInteger();
+
+    /**
+     * The living worker threads, their CPU time is read on demand
+     */
+    private final Set<Thread> workers = ConcurrentHashMap.newKeySet();
+
+    /**
+     * CPU time of the worker threads that terminated
+     */
+    private final LongAdder retiredCpuNanos = new LongAdder();
+
+    private final LongAdder moves = new LongAdder();
+    private final LongAdder cancelledMoves = new LongAdder();
+    private final LongAdder delayedMoves = new LongAdder();
+    private final LongAdder overBudgetMoves = new LongAdder();
+
+    /**
+     * Creates the pool, its threads are started on demand
+     *
+     * @param config the server configuration
+     */
+    BotPool(ServerGameConfig config) {
+        this.maxPending = Math.max(1, config.getBotMaxPending());
+        this.moveBudgetNanos = config.getBotMoveBudgetMillis() * 1_000_000L;
+        this.thinkNanos = config.getBotThinkMillis() * 1_000_000L;
+        this.pool = new ForkJoinPool(Math.max(1, config.getBotThreads()), Worker::new, (thread, e) ->
+                LOGGER.log(System.Logger.Level.ERROR, "Bot move failed on " + thread.getName(), e), false);
+        if (THREADS.isThreadCpuTimeSupported() && !THREADS.isThreadCpuTimeEnabled()) {
+            THREADS.setThreadCpuTimeEnabled(true);
+        }
+    }
+
+    /**
+     * A low priority worker that hands in its CPU time when it terminates
+     */
+    private class Worker extends ForkJoinWorkerThread {
+        Worker(ForkJoinPool pool) {
+            super(pool);
+            setName("bot-" + getPoolIndex());
+            setDaemon(true);
+            setPriority(Thread.MIN_PRIORITY);
+        }
+
+        @Override
+        protected void onStart() {
+            super.onStart();
+            workers.add(this);
+        }
+
+        @Override
+        protected void onTermination(Throwable exception) {
+            workers.remove(this);
+            if (THREADS.isThreadCpuTimeSupported())
+                retiredCpuNanos.add(Math.max(0, THREADS.getCurrentThreadCpuTime()));
+            super.onTermination(exception);
+        }
+    }
+
+    /**
+     * Starts computing the next move of a bot, called on the shard of its room
+     *
+     * @param bot the bot
+     * @return false if too many moves are waiting, the bot has to try again later
+     */
+    boolean submit(RaceBot bot) {
+        if (pending.incrementAndGet() > maxPending) {
+            pending.decrementAndGet();
+            delayedMoves.increment();
+            return false;
+        }
+        pool.execute(() -> {
+            try {
+                final long start = System.nanoTime();
+                if (bot.move(this)) {
+                    moves.increment();
+                    if (System.nanoTime() - start > moveBudgetNanos) overBudgetMoves.increment();
+                } else {
+                    cancelledMoves.increment();
+                }
+            } finally {
+                pending.decrementAndGet();
+            }
+        });
+        return true;
+    }
+
+    ForkJoinPool getPool() {
+        return pool;
+    }
+
+    long getMoveBudgetNanos() {
+        return moveBudgetNanos;
+    }
+
+    long getThinkNanos() {
+        return thinkNanos;
+    }
+
+    /**
+     * Returns the CPU time used by the bot threads so far
+     *
+     * @return the time in nanoseconds, 0 if the JVM does not measure the CPU time of threads
+     */
+    public long getCpuNanos() {
+        if (!THREADS.isThreadCpuTimeSupported()) return 0;
+        long total = retiredCpuNanos.sum();
+        for (Thread worker : workers) {
+            total += Math.max(0, THREADS.getThreadCpuTime(worker.getId()));
+        }
+        return total;
+    }
+
+    /**
+     * Returns the amount of finished moves
+     *
+     * @return the amount as long
+     */
+    public long getMoves() {
+        return moves.sum();
+    }
+
+    /**
+     * Returns the amount of moves stopped because their race ended
+     *
+     * @return the amount as long
+     */
+    public long getCancelledMoves() {
+        return cancelledMoves.sum();
+    }
+
+    /**
+     * Returns the amount of moves put off because the pool was full
+     *
+     * @return the amount as long
+     */
+    public long getDelayedMoves() {
+        return delayedMoves.sum();
+    }
+
+    /**
+     * Returns the amount of moves that took longer than their budget, including the wait for the scan
+     *
+     * @return the amount as long
+     */
+    public long getOverBudgetMoves() {
+        return overBudgetMoves.sum();
+    }
+}
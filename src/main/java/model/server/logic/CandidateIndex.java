@@ -0,0 +1,205 @@
+package model.server.logic;
+
+import model.general.config.CharacterPosition;
+import model.general.config.PackedFeedback;
+import model.general.config.WordCodec;
+
+/**
+ * Immutable bitset index over the answer list.
+ * <p>
+ * For every (position, letter) pair the index keeps the answers having that letter
+ * at that position, and for every (letter, count) pair the answers containing the
+ * letter at least count times. A {@link CandidateSet} is narrowed by intersecting it
+ * with these bitsets instead of evaluating every answer again.
+ * The index is shared by all games, only the small {@link CandidateSet} is per game.
+ * </p>
+ */
+public class CandidateIndex {
+    /**
+     * Length of all indexed words
+     */
+    private final int wordLength;
+
+    /**
+     * Amount of indexed words
+     */
+    private final int size;
+
+    /**
+     * Amount of letters in the alphabet of the words
+     */
+    private final int alphabetSize;
+
+    /**
+     * Answers having letter l at position p, stored at index p * alphabetSize + l
+     */
+    private final long[][] positionLetter;
+
+    /**
+     * Answers containing letter l at least c times, stored at index l * (wordLength + 1) + c
+     */
+    private final long[][] letterCount;
+
+    /**
+     * Creates a new index over the given packed words
+     *
+     * @param codes the packed words, all of the same length
+     * @param wordLength the length of the words
+     * @param alphabetSize the amount of letters in the alphabet of the words
+     */
+    public CandidateIndex(long[] codes, int wordLength, int alphabetSize) {
+        this.wordLength = wordLength;
+        this.size = codes.length;
+        this.alphabetSize = alphabetSize;
+        final int blocks = (size + 63) >>> 6;
+        positionLetter = new long[wordLength * alphabetSize][blocks];
+        letterCount = new long[alphabetSize * (wordLength + 1)][blocks];
+
+        final int[] counts = new int[alphabetSize];
+        for (int w = 0; w < size; w++) {
+            final long code = codes[w];
+            final long bit = 1L << w;
+            for (int p = 0; p < wordLength; p++) {
+                final int letter = WordCodec.letterAt(code, p);
+                positionLetter[p * alphabetSize + letter][w >>> 6] |= bit;
+                counts[letter]++;
+                letterCount[letter * (wordLength + 1) + counts[letter]][w >>> 6] |= bit;
+            }
+            for (int p = 0; p < wordLength; p++) {
+                counts[WordCodec.letterAt(code, p)] = 0;
+            }
+        }
+    }
+
+    /**
+     * Creates a new set containing every indexed word
+     *
+     * @return the new CandidateSet
+     */
+    public CandidateSet newCandidateSet() {
+        return new CandidateSet(size);
+    }
+
+    /**
+     * Returns the amount of indexed words
+     *
+     * @return the amount as int
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the words having a letter at a position
+     *
+     * @param position the position
+     * @param letter the letter index
+     * @return the bitset, must not be modified
+     */
+    long[] atPosition(int position, int letter) {
+        return positionLetter[position * alphabetSize + letter];
+    }
+
+    /**
+     * Returns the words containing a letter at least the given amount of times
+     *
+     * @param letter the letter index
+     * @param count the amount, between 1 and the word length
+     * @return the bitset, must not be modified
+     */
+    long[] withAtLeast(int letter, int count) {
+        return letterCount[letter * (wordLength + 1) + count];
+    }
+
+    /**
+     * Returns the length of the indexed words
+     *
+     * @return the length as int
+     */
+    public int getWordLength() {
+        return wordLength;
+    }
+
+    /**
+     * Returns the amount of letters in the alphabet of the indexed words
+     *
+     * @return the amount as int
+     */
+    public int getAlphabetSize() {
+        return alphabetSize;
+    }
+
+    /**
+     * Removes every candidate that is inconsistent with the given feedback
+     *
+     * @param set the set to narrow
+     * @param guess the packed guess
+     * @param pattern the packed feedback the guess received
+     * @return the amount of remaining candidates
+     */
+    public int narrow(CandidateSet set, long guess, int pattern) {
+        final long[] bits = set.bits();
+        for (int p = 0; p < wordLength; p++) {
+            final int letter = WordCodec.letterAt(guess, p);
+            final long[] atPosition = positionLetter[p * alphabetSize + letter];
+            if (PackedFeedback.tile(pattern, p) == CharacterPosition.RIGHT.ordinal()) {
+                and(bits, atPosition);
+            } else {
+                andNot(bits, atPosition);
+            }
+            if (isFirstOccurrence(guess, p, letter)) {
+                narrowLetterCount(bits, guess, pattern, letter);
+            }
+        }
+        set.updateCount();
+        return set.count();
+    }
+
+    /**
+     * Applies the letter count constraint of a guessed letter.
+     * If any occurrence of the letter was rated {@link CharacterPosition#FUCKINGWRONG}
+     * the answer contains exactly as many of them as were rated otherwise,
+     * else it contains at least that many.
+     */
+    private void narrowLetterCount(long[] bits, long guess, int pattern, int letter) {
+        int present = 0;
+        boolean exact = false;
+        for (int p = 0; p < wordLength; p++) {
+            if (WordCodec.letterAt(guess, p) == letter) {
+                if (PackedFeedback.tile(pattern, p) == CharacterPosition.FUCKINGWRONG.ordinal()) {
+                    exact = true;
+                } else {
+                    present++;
+                }
+            }
+        }
+        final int base = letter * (wordLength + 1);
+        if (present > 0) {
+            and(bits, letterCount[base + present]);
+        }
+        if (exact && present < wordLength) {
+            andNot(bits, letterCount[base + present + 1]);
+        }
+    }
+
+    private boolean isFirstOccurrence(long guess, int position, int letter) {
+        for (int p = 0; p < position; p++) {
+            if (WordCodec.letterAt(guess, p) == letter) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static void and(long[] bits, long[] other) {
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] &= other[i];
+        }
+    }
+
+    static void andNot(long[] bits, long[] other) {
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] &= ~other[i];
+        }
+    }
+}
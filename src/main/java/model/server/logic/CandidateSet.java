@@ -0,0 +1,132 @@
+package model.server.logic;
+
+import java.util.Arrays;
+
+/**
+ * The answers that are still consistent with the feedback a player received.
+ * <p>
+ * Bit {@code i} stands for the answer at index {@code i} of the {@link CandidateIndex}
+ * this set was created by. The bits are only allocated when the set is narrowed
+ * for the first time, a fresh game costs no more than the object header.
+ * </p>
+ */
+public class CandidateSet {
+    /**
+     * Amount of answers in the index
+     */
+    private final int size;
+
+    /**
+     * One bit per answer, null while every answer is still a candidate
+     */
+    private long[] words;
+
+    /**
+     * Cached amount of set bits
+     */
+    private int count;
+
+    /**
+     * Creates a new CandidateSet containing every answer
+     *
+     * @param size the amount of answers in the index
+     */
+    CandidateSet(int size) {
+        this.size = size;
+        this.count = size;
+    }
+
+    /**
+     * Returns the amount of remaining candidates
+     *
+     * @return the amount as int
+     */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * Checks if the answer at the given index is still a candidate
+     *
+     * @param index the index of the answer
+     * @return true if the answer is still consistent with all feedback
+     */
+    public boolean contains(int index) {
+        if (words == null) {
+            return index >= 0 && index < size;
+        }
+        return (words[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Returns the index of the next candidate starting at the given index
+     *
+     * @param from the first index to check
+     * @return the index of the next candidate or -1 if there is none
+     */
+    public int nextCandidate(int from) {
+        if (from >= size) {
+            return -1;
+        }
+        if (words == null) {
+            return from;
+        }
+        int block = from >>> 6;
+        long bits = words[block] & (-1L << from);
+        while (bits == 0) {
+            if (++block == words.length) {
+                return -1;
+            }
+            bits = words[block];
+        }
+        return (block << 6) + Long.numberOfTrailingZeros(bits);
+    }
+
+    /**
+     * Creates a copy of this set that is not affected by later narrowing
+     *
+     * @return the copy
+     */
+    public CandidateSet copy() {
+        final CandidateSet copy = new CandidateSet(size);
+        copy.words = words == null ? null : words.clone();
+        copy.count = count;
+        return copy;
+    }
+
+    /**
+     * Returns the bits of this set, allocating them on first use
+     *
+     * @return the bits as long array
+     */
+    long[] bits() {
+        if (words == null) {
+            words = new long[(size + 63) >>> 6];
+            Arrays.fill(words, -1L);
+            if ((size & 63) != 0) {
+                words[words.length - 1] = (1L << size) - 1;
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Removes a candidate, {@link #updateCount()} has to be called afterwards
+     *
+     * @param index the index of the answer
+     */
+    void remove(int index) {
+        bits()[index >>> 6] &= ~(1L << index);
+    }
+
+    /**
+     * Recalculates the cached candidate count after the bits were changed
+     */
+    void updateCount() {
+        int total = 0;
+        for (long block : words) {
+            total += Long.bitCount(block);
+        }
+        count = total;
+    }
+}
@@ -0,0 +1,50 @@
+package model.server.logic;
+
+/**
+ * Scores one packed guess against many packed answers.
+ * <p>
+ * {@link #load()} picks the implementation using the incubating Vector API if the
+ * {@code jdk.incubator.vector} module was added to the runtime, a scalar loop over
+ * {@link WordleEngine#evaluatePacked(long, long, int)} otherwise.
+ * Both implementations produce identical results.
+ * </p>
+ */
+public interface FeedbackKernel {
+    /**
+     * Evaluates the guess against the answers in the given range
+     *
+     * @param guess the packed guess
+     * @param answers the packed answers
+     * @param from the index of the first answer, inclusive
+     * @param to the index of the last answer, exclusive
+     * @param length the word length
+     * @param results receives the packed feedback for answer i at index i
+     */
+    void evaluate(long guess, long[] answers, int from, int to, int length, int[] results);
+
+    /**
+     * Returns a short name of the implementation for logging
+     *
+     * @return the name as String
+     */
+    String getName();
+
+    /**
+     * Creates the fastest kernel available in this runtime
+     *
+     * @return the kernel
+     */
+    static FeedbackKernel load() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                return (FeedbackKernel) Class.forName("model.server.logic.VectorFeedbackKernel")
+                        .getDeclaredConstructor()
+                        .newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                System.getLogger(FeedbackKernel.class.getName())
+                        .log(System.Logger.Level.WARNING, "Vector API is present but unusable, falling back to scalar evaluation", e);
+            }
+        }
+        return new ScalarFeedbackKernel();
+    }
+}
@@ -0,0 +1,35 @@
+package model.server.logic;
+
+/**
+ * Rates guesses against an answer chosen when the game starts.
+ */
+public class FixedAnswer implements AnswerStrategy {
+    private final String answer;
+    private final long code;
+
+    /**
+     * Creates a new FixedAnswer
+     *
+     * @param dictionary the dictionary of the answer
+     * @param answer the answer of the game
+     */
+    public FixedAnswer(WordDictionary dictionary, String answer) {
+        this.answer = answer;
+        this.code = dictionary.encode(answer);
+    }
+
+    @Override
+    public int evaluate(long guess) {
+        return WordleEngine.evaluatePacked(guess, code, answer.length());
+    }
+
+    @Override
+    public String getAnswer() {
+        return answer;
+    }
+
+    @Override
+    public int getWordLength() {
+        return answer.length();
+    }
+}
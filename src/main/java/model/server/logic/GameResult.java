@@ -0,0 +1,12 @@
+package model.server.logic;
+
+/**
+ * Outcome of a finished game, passed from the shard owning the player to the shard owning the global stats.
+ *
+ * @param playerName the name of the player
+ * @param score the total score of the player after the game
+ * @param won true if the game was solved
+ * @param guesses the amount of guesses made
+ * @param solveMillis the solve time of a won time attack game in milliseconds, -1 for every other game
+ */
+public record GameResult(String playerName, int score, boolean won, int guesses, long solveMillis) {}
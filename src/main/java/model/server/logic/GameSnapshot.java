@@ -0,0 +1,136 @@
+package model.server.logic;
+
+import model.general.config.GameMode;
+import model.general.network.WireFormat;
+import model.server.Player;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * A compact copy of a game in progress, stored with the stats of a player so the game can be
+ * continued after a disconnect or a restart of the server.
+ * <p>
+ * The answers are stored as their index in the answer list and the guesses in their packed form,
+ * both as variable length integers, a classic game takes less than 40 bytes. The size and a
+ * checksum of the answer list are stored as well, a changed list drops the snapshot even if it
+ * has the same size, since the answer indices would point to other words. Absurdle games store
+ * no answer, replaying the guesses leads the adversary to the same candidates again. Time attack
+ * games are not stored since their clock can not be paused. A snapshot that no longer fits the
+ * word lists of the server is dropped.
+ * </p>
+ */
+public final class GameSnapshot {
+    private static final System.Logger LOGGER = System.getLogger(GameSnapshot.class.getName());
+
+    private static final int VERSION = 2;
+    private static final int DAILY = 1;
+
+    /**
+     * Upper bound of the encoded size: the header, eight answers and thirteen guesses of nine bytes
+     */
+    private static final int MAX_BYTES = 256;
+
+    private GameSnapshot() {}
+
+    /**
+     * Copies the game a player is currently playing
+     *
+     * @param player the player
+     * @return the snapshot as Base64 or null if the player has no game that can be continued
+     */
+    public static String capture(Player player) {
+        final GameMode mode = player.getGameMode();
+        if (!player.isGameActive() || player.isTimed() || mode == null || mode == GameMode.TIME_ATTACK) return null;
+        final WordDictionary dictionary = player.getDictionary();
+        final AnswerStrategy answer = player.getAnswerStrategy();
+        final int boards = mode == GameMode.ABSURDLE ? 0 : answer.getBoardCount();
+        final ByteBuffer buffer = ByteBuffer.allocate(MAX_BYTES);
+        buffer.put((byte) VERSION);
+        buffer.put((byte) mode.ordinal());
+        buffer.put((byte) (player.isDailyWordle() ? DAILY : 0));
+        WireFormat.putVarLong(buffer, dictionary.getWordLength());
+        WireFormat.putVarLong(buffer, dictionary.getAnswers().size());
+        buffer.putInt(dictionary.getAnswersChecksum());
+        WireFormat.putVarLong(buffer, player.getPointsToGain());
+        buffer.put((byte) boards);
+        for (int board = 0; board < boards; board++) {
+            final int index = dictionary.indexOfAnswer(answer.getAnswer(board));
+            if (index < 0) return null;
+            WireFormat.putVarLong(buffer, index);
+        }
+        buffer.put((byte) player.getGuessesMade());
+        for (int i = 0; i < player.getGuessesMade(); i++) {
+            WireFormat.putVarLong(buffer, player.getGuess(i));
+        }
+        return Base64.getEncoder().withoutPadding().encodeToString(Arrays.copyOf(buffer.array(), buffer.position()));
+    }
+
+    /**
+     * Continues a stored game, the guesses are rated again
+     *
+     * @param snapshot the snapshot returned by {@link #capture(Player)}
+     * @param player the player, the stored game replaces the current one
+     * @param engine the engine providing the dictionaries
+     * @return true if the player continues the stored game, false if the snapshot was dropped
+     */
+    public static boolean restore(String snapshot, Player player, WordleEngine engine) {
+        try {
+            final ByteBuffer buffer = ByteBuffer.wrap(Base64.getDecoder().decode(snapshot));
+            if (buffer.get() != VERSION) return dropped(player, "unknown version");
+            final GameMode mode = GameMode.values()[buffer.get()];
+            final boolean daily = (buffer.get() & DAILY) != 0;
+            final int wordLength = (int) WireFormat.getVarLong(buffer);
+            final int answerCount = (int) WireFormat.getVarLong(buffer);
+            final int answersChecksum = buffer.getInt();
+            final int points = (int) WireFormat.getVarLong(buffer);
+            final WordDictionary dictionary = daily ? engine.getDailyDictionary() : engine.getDictionary(wordLength);
+            if (mode == GameMode.TIME_ATTACK || dictionary == null || dictionary.getWordLength() != wordLength
+                    || dictionary.getAnswers().size() != answerCount || dictionary.getAnswersChecksum() != answersChecksum)
+                return dropped(player, "the word list changed");
+            final String[] answers = new String[buffer.get()];
+            if (answers.length != (mode == GameMode.ABSURDLE ? 0 : mode.getBoardCount()))
+                return dropped(player, "wrong amount of boards");
+            for (int board = 0; board < answers.length; board++) {
+                final long index = WireFormat.getVarLong(buffer);
+                if (index >= answerCount) return dropped(player, "unknown answer");
+                answers[board] = dictionary.getAnswers().get((int) index);
+            }
+            final long[] guesses = new long[buffer.get()];
+            if (guesses.length >= mode.getAllowedGuesses()) return dropped(player, "the game was over");
+            for (int i = 0; i < guesses.length; i++) {
+                guesses[i] = WireFormat.getVarLong(buffer);
+                if (!dictionary.isValidWord(guesses[i])) return dropped(player, "unknown guess");
+            }
+
+            final CandidateSet candidates = dictionary.newCandidateSet();
+            final AnswerStrategy answer;
+            if (mode == GameMode.ABSURDLE)
+                answer = new AdversarialAnswer(dictionary, candidates);
+            else if (answers.length > 1)
+                answer = new MultiBoardAnswer(dictionary, answers);
+            else
+                answer = new FixedAnswer(dictionary, answers[0]);
+            player.startGame(mode, answer, mode.getAllowedGuesses(), dictionary, candidates);
+            player.setDailyOrRandom(daily, points);
+            for (long guess : guesses) {
+                final int[] patterns = player.submitGuess(guess);
+                if (answer.getBoardCount() == 1)
+                    dictionary.narrowCandidates(candidates, guess, patterns[0]);
+            }
+            if (player.isSolved()) {
+                player.discardGame();
+                return dropped(player, "the game was over");
+            }
+            return true;
+        } catch (RuntimeException e) {
+            return dropped(player, e.toString());
+        }
+    }
+
+    private static boolean dropped(Player player, String reason) {
+        LOGGER.log(System.Logger.Level.WARNING, "Dropped the stored game of {0}: {1}", player.getName(), reason);
+        return false;
+    }
+}
@@ -0,0 +1,107 @@
+package model.server.logic;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Statistics over all games of the server and the leaderboard of the best scores.
+ * <p>
+ * Not thread safe. The stats are owned by a single logic shard, the other shards send
+ * their {@link GameResult}s to that shard instead of sharing the stats behind a lock.
+ * </p>
+ */
+public class GlobalStats {
+    /**
+     * Amount of players shown on the leaderboard
+     */
+    private static final int LEADERBOARD_SIZE = 10;
+
+    private long gamesPlayed;
+    private long gamesWon;
+
+    /**
+     * Won games by the amount of guesses needed
+     */
+    private long[] guessDistribution = new long[0];
+
+    /**
+     * Latest score of every player that finished a game
+     */
+    private final Map<String, Integer> scores = new HashMap<>();
+
+    /**
+     * Fastest solved time attack game of every player in milliseconds
+     */
+    private final Map<String, Long> bestTimes = new HashMap<>();
+
+    /**
+     * Adds the result of a finished game
+     *
+     * @param result the result
+     */
+    public void record(GameResult result) {
+        gamesPlayed++;
+        if (result.won()) {
+            gamesWon++;
+            if (result.guesses() >= guessDistribution.length) {
+                guessDistribution = Arrays.copyOf(guessDistribution, result.guesses() + 1);
+            }
+            guessDistribution[result.guesses()]++;
+        }
+        scores.put(result.playerName(), result.score());
+        if (result.solveMillis() >= 0) {
+            bestTimes.merge(result.playerName(), result.solveMillis(), Math::min);
+        }
+    }
+
+    /**
+     * Returns the players with the best scores
+     *
+     * @return the names and scores, best first
+     */
+    public List<Map.Entry<String, Integer>> getLeaderboard() {
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder()))
+                .limit(LEADERBOARD_SIZE)
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    /**
+     * Returns the players with the fastest time attack games
+     *
+     * @return the names and solve times in milliseconds, fastest first
+     */
+    public List<Map.Entry<String, Long>> getTimeLeaderboard() {
+        return bestTimes.entrySet().stream()
+                .sorted(Map.Entry.comparingByValue())
+                .limit(LEADERBOARD_SIZE)
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    public long getGamesPlayed() {
+        return gamesPlayed;
+    }
+
+    public long getGamesWon() {
+        return gamesWon;
+    }
+
+    /**
+     * Returns the won games by the amount of guesses needed
+     *
+     * @return a copy of the distribution, indexed by guesses
+     */
+    public long[] getGuessDistribution() {
+        return guessDistribution.clone();
+    }
+
+    @Override
+    public String toString() {
+        return "played=" + gamesPlayed + " won=" + gamesWon + " distribution=" + Arrays.toString(guessDistribution) + " leaderboard=" + getLeaderboard() + " fastest=" + getTimeLeaderboard();
+    }
+}
@@ -0,0 +1,62 @@
+package model.server.logic;
+
+/**
+ * Rates guesses against several answers chosen when the game starts.
+ * <p>
+ * All boards are rated in one pass of {@link WordleEngine#evaluateBatch(long, long[], int, int[])},
+ * solved boards are rated as well, the caller decides which results it shows.
+ * </p>
+ */
+public class MultiBoardAnswer implements AnswerStrategy {
+    private final String[] answers;
+    private final long[] codes;
+    private final int wordLength;
+
+    /**
+     * Creates a new MultiBoardAnswer
+     *
+     * @param dictionary the dictionary of the answers
+     * @param answers the answers of the game, one per board
+     */
+    public MultiBoardAnswer(WordDictionary dictionary, String[] answers) {
+        this.answers = answers.clone();
+        this.wordLength = answers[0].length();
+        this.codes = new long[answers.length];
+        for (int i = 0; i < answers.length; i++) {
+            codes[i] = dictionary.encode(answers[i]);
+        }
+    }
+
+    /**
+     * Rates a guess on the first board only
+     */
+    @Override
+    public int evaluate(long guess) {
+        return WordleEngine.evaluatePacked(guess, codes[0], wordLength);
+    }
+
+    @Override
+    public void evaluate(long guess, int[] results) {
+        WordleEngine.evaluateBatch(guess, codes, wordLength, results);
+    }
+
+    @Override
+    public int getBoardCount() {
+        return codes.length;
+    }
+
+    @Override
+    public String getAnswer() {
+        return String.join(", ", answers);
+    }
+
+    @Override
+    public String getAnswer(int board) {
+        return answers[board];
+    }
+
+    @Override
+    public int getWordLength() {
+        return wordLength;
+    }
+}
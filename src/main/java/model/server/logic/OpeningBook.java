@@ -0,0 +1,302 @@
+package model.server.logic;
+
+import model.general.config.Alphabet;
+import model.general.config.PackedFeedback;
+import model.general.config.WordCodec;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Precomputed best first and second guesses.
+ * <p>
+ * For every {@link Pool} of allowed guesses the book stores the guess with the highest
+ * entropy over all answers, and for every feedback pattern that guess can produce the
+ * best follow-up over the answers left by that pattern. Lookups are O(1).
+ * </p>
+ * <p>
+ * The book is generated offline and stored in a compact binary file. It records a
+ * checksum of the lists it was built from, a book built from other lists is rejected.
+ * </p>
+ */
+public class OpeningBook {
+    /**
+     * Logger for events and errors
+     */
+    public static System.Logger LOGGER = System.getLogger(OpeningBook.class.getName());
+
+    /**
+     * Marks the start of a book file, "WBK1"
+     */
+    private static final int MAGIC = 0x57424B31;
+
+    /**
+     * Value of a missing second guess
+     */
+    public static final long NO_GUESS = -1L;
+
+    /**
+     * The lists of guesses a book is computed for
+     */
+    public enum Pool {
+        /**
+         * Only the answer list may be guessed
+         */
+        ANSWERS,
+
+        /**
+         * The full word list may be guessed
+         */
+        WORDLIST
+    }
+
+    /**
+     * Length of the words in this book
+     */
+    private final int wordLength;
+
+    /**
+     * Checksum of the answer list this book was computed for
+     */
+    private final int answersChecksum;
+
+    /**
+     * Checksum of the guess lists, indexed by pool ordinal
+     */
+    private final int[] poolChecksums;
+
+    /**
+     * Best first guess, indexed by pool ordinal
+     */
+    private final long[] firstGuesses;
+
+    /**
+     * Best second guess, indexed by pool ordinal and feedback pattern of the first guess
+     */
+    private final long[][] secondGuesses;
+
+    private OpeningBook(int wordLength, int answersChecksum) {
+        final int pools = Pool.values().length;
+        this.wordLength = wordLength;
+        this.answersChecksum = answersChecksum;
+        this.poolChecksums = new int[pools];
+        this.firstGuesses = new long[pools];
+        this.secondGuesses = new long[pools][1 << (wordLength * PackedFeedback.BITS_PER_TILE)];
+        for (long[] guesses : secondGuesses) {
+            Arrays.fill(guesses, NO_GUESS);
+        }
+    }
+
+    /**
+     * Computes a new book
+     *
+     * @param answers the packed answers
+     * @param pools the packed allowed guesses, indexed by pool ordinal
+     * @param wordLength the word length
+     * @param alphabet the alphabet of the words, used for logging
+     * @return the computed book
+     */
+    public static OpeningBook generate(long[] answers, long[][] pools, int wordLength, Alphabet alphabet) {
+        final OpeningBook book = new OpeningBook(wordLength, checksum(answers));
+        final int[] buckets = new int[1 << (wordLength * PackedFeedback.BITS_PER_TILE)];
+        final int[] patterns = new int[answers.length];
+        final int[] touched = new int[answers.length];
+        final double[] weightedLog = Solver.weightedLog(answers.length);
+
+        for (Pool pool : Pool.values()) {
+            final long[] guesses = pools[pool.ordinal()];
+            book.poolChecksums[pool.ordinal()] = checksum(guesses);
+            final long first = best(guesses, answers, wordLength, buckets, patterns, touched, weightedLog);
+            book.firstGuesses[pool.ordinal()] = first;
+            LOGGER.log(System.Logger.Level.INFO, "Best first guess for {0}: {1}", pool, WordCodec.decode(first, wordLength, alphabet));
+
+            final long[][] partitions = partition(first, answers, wordLength);
+            for (int pattern = 0; pattern < partitions.length; pattern++) {
+                final long[] remaining = partitions[pattern];
+                if (remaining == null) continue;
+                book.secondGuesses[pool.ordinal()][pattern] = remaining.length <= 2
+                        ? remaining[0]
+                        : best(guesses, remaining, wordLength, buckets, patterns, touched, weightedLog);
+            }
+        }
+        return book;
+    }
+
+    /**
+     * Finds the guess with the highest entropy, preferring remaining answers on ties
+     */
+    private static long best(long[] guesses, long[] remaining, int length, int[] buckets, int[] patterns, int[] touched, double[] weightedLog) {
+        long best = guesses[0];
+        double bestEntropy = -1;
+        for (long guess : guesses) {
+            final double entropy = Solver.entropy(guess, remaining, length, buckets, patterns, touched, weightedLog);
+            if (entropy > bestEntropy || (entropy == bestEntropy && contains(remaining, guess) && !contains(remaining, best))) {
+                best = guess;
+                bestEntropy = entropy;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Groups the answers by the feedback pattern the guess produces
+     */
+    private static long[][] partition(long guess, long[] answers, int length) {
+        final int[] counts = new int[1 << (length * PackedFeedback.BITS_PER_TILE)];
+        for (long answer : answers) {
+            counts[WordleEngine.evaluatePacked(guess, answer, length)]++;
+        }
+        final long[][] partitions = new long[counts.length][];
+        for (int pattern = 0; pattern < counts.length; pattern++) {
+            if (counts[pattern] > 0) {
+                partitions[pattern] = new long[counts[pattern]];
+                counts[pattern] = 0;
+            }
+        }
+        for (long answer : answers) {
+            final int pattern = WordleEngine.evaluatePacked(guess, answer, length);
+            partitions[pattern][counts[pattern]++] = answer;
+        }
+        return partitions;
+    }
+
+    private static boolean contains(long[] codes, long code) {
+        for (long c : codes) {
+            if (c == code) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Computes the checksum of a packed word list
+     *
+     * @param codes the packed words
+     * @return the checksum
+     */
+    public static int checksum(long[] codes) {
+        return Arrays.hashCode(codes);
+    }
+
+    /**
+     * Checks if this book was computed for the given lists
+     *
+     * @param answers the packed answers
+     * @param pool the pool to check
+     * @param guesses the packed allowed guesses of the pool
+     * @return true if the book matches the lists
+     */
+    public boolean matches(long[] answers, Pool pool, long[] guesses) {
+        return answersChecksum == checksum(answers) && poolChecksums[pool.ordinal()] == checksum(guesses);
+    }
+
+    /**
+     * Checks if this book was computed for the given answers
+     *
+     * @param answers the packed answers
+     * @param wordLength the word length
+     * @return true if the book matches the answers
+     */
+    public boolean matches(long[] answers, int wordLength) {
+        return this.wordLength == wordLength && answersChecksum == checksum(answers);
+    }
+
+    /**
+     * Returns the best first guess
+     *
+     * @param pool the pool of allowed guesses
+     * @return the packed guess
+     */
+    public long firstGuess(Pool pool) {
+        return firstGuesses[pool.ordinal()];
+    }
+
+    /**
+     * Returns the best second guess after the first guess of the book
+     *
+     * @param pool the pool of allowed guesses
+     * @param pattern the feedback the first guess received
+     * @return the packed guess or {@link #NO_GUESS} if no answer produces that feedback
+     */
+    public long secondGuess(Pool pool, int pattern) {
+        final long[] guesses = secondGuesses[pool.ordinal()];
+        return pattern >= 0 && pattern < guesses.length ? guesses[pattern] : NO_GUESS;
+    }
+
+    /**
+     * Returns the length of the words in this book
+     *
+     * @return the length as int
+     */
+    public int getWordLength() {
+        return wordLength;
+    }
+
+    /**
+     * Saves this book to a binary file.
+     *
+     * @param path the file to write to
+     * @throws IOException if an I/O error occurs
+     */
+    public void saveTo(Path path) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            out.writeInt(MAGIC);
+            out.writeByte(wordLength);
+            out.writeInt(answersChecksum);
+            out.writeByte(firstGuesses.length);
+            for (int pool = 0; pool < firstGuesses.length; pool++) {
+                out.writeInt(poolChecksums[pool]);
+                out.writeLong(firstGuesses[pool]);
+                int entries = 0;
+                for (long guess : secondGuesses[pool]) {
+                    if (guess != NO_GUESS) entries++;
+                }
+                out.writeShort(entries);
+                for (int pattern = 0; pattern < secondGuesses[pool].length; pattern++) {
+                    if (secondGuesses[pool][pattern] == NO_GUESS) continue;
+                    out.writeShort(pattern);
+                    out.writeLong(secondGuesses[pool][pattern]);
+                }
+            }
+        }
+        LOGGER.log(System.Logger.Level.INFO, "Opening book written to {0}", path.toAbsolutePath());
+    }
+
+    /**
+     * Loads a book from a binary file.
+     *
+     * @param path the file to read from
+     * @return the loaded book
+     * @throws IOException if reading fails or the file is no valid book
+     */
+    public static OpeningBook loadFrom(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("not an opening book: " + path);
+            }
+            final OpeningBook book = new OpeningBook(in.readUnsignedByte(), in.readInt());
+            final int pools = in.readUnsignedByte();
+            if (pools != Pool.values().length) {
+                throw new IOException("unexpected amount of pools in opening book: " + pools);
+            }
+            for (int pool = 0; pool < pools; pool++) {
+                book.poolChecksums[pool] = in.readInt();
+                book.firstGuesses[pool] = in.readLong();
+                final int entries = in.readUnsignedShort();
+                for (int i = 0; i < entries; i++) {
+                    final int pattern = in.readUnsignedShort();
+                    if (pattern >= book.secondGuesses[pool].length) {
+                        throw new IOException("invalid feedback pattern in opening book: " + pattern);
+                    }
+                    book.secondGuesses[pool][pattern] = in.readLong();
+                }
+            }
+            return book;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package model.server.logic;
+
+/**
+ * Set of packed words using open addressing over a primitive array.
+ * <p>
+ * A lookup hashes a single long and probes a few adjacent slots, its cost does
+ * not depend on the length of the words or the size of the set. The table is at
+ * most half full. Words are packed with {@link model.general.config.WordCodec}, the packed value 0 is
+ * used to mark free slots and stored separately.
+ * </p>
+ */
+public class PackedWordSet {
+    private final long[] table;
+    private final int mask;
+    private boolean containsZero;
+    private int size;
+
+    /**
+     * Creates a new set containing the given packed words
+     *
+     * @param codes the packed words, duplicates are ignored
+     */
+    public PackedWordSet(long[] codes) {
+        final int capacity = Integer.highestOneBit(Math.max(2, codes.length) * 2 - 1) << 1;
+        table = new long[capacity];
+        mask = capacity - 1;
+        for (long code : codes) {
+            add(code);
+        }
+    }
+
+    private void add(long code) {
+        if (code == 0) {
+            if (!containsZero) size++;
+            containsZero = true;
+            return;
+        }
+        int slot = slot(code);
+        while (table[slot] != 0) {
+            if (table[slot] == code) return;
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = code;
+        size++;
+    }
+
+    /**
+     * Checks if the set contains a packed word
+     *
+     * @param code the packed word
+     * @return true if the word is in the set
+     */
+    public boolean contains(long code) {
+        if (code == 0) {
+            return containsZero;
+        }
+        int slot = slot(code);
+        while (table[slot] != 0) {
+            if (table[slot] == code) return true;
+            slot = (slot + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the amount of distinct words in this set
+     *
+     * @return the amount as int
+     */
+    public int size() {
+        return size;
+    }
+
+    private int slot(long code) {
+        final long hash = code * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,119 @@
+package model.server.logic;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A bot opponent taking a seat in a {@link RaceRoom}.
+ * <p>
+ * The bot waits a randomized think time on the timer wheel of its room, then computes its guess
+ * on the {@link BotPool} and hands it back to the shard of the room, which rates it like the guess
+ * of a player. The skill of a bot is the amount of best guesses of the {@link Solver} it picks
+ * one from at random, a bot with a top k of 1 always plays the best guess it found in its budget.
+ * </p>
+ */
+class RaceBot extends TimerWheel.Timer {
+    private final RaceRoom room;
+    private final BotPool pool;
+    private final int seat;
+    private final int topK;
+
+    /**
+     * The answers still consistent with the feedback, only touched by the moves of the bot
+     */
+    private final CandidateSet candidates;
+
+    /**
+     * The latest guess and its feedback, set on the shard before the next move is submitted
+     */
+    private long lastGuess;
+    private int lastPattern;
+
+    private volatile boolean cancelled;
+
+    /**
+     * Creates a new bot
+     *
+     * @param room the room of the bot
+     * @param pool the pool computing the moves
+     * @param seat the seat of the bot in the room
+     * @param topK the amount of best guesses the bot picks from
+     */
+    RaceBot(RaceRoom room, BotPool pool, int seat, int topK) {
+        this.room = room;
+        this.pool = pool;
+        this.seat = seat;
+        this.topK = Math.max(1, topK);
+        this.candidates = room.getDictionary().newCandidateSet();
+    }
+
+    /**
+     * Waits for the next guess, called on the shard of the room
+     */
+    void think() {
+        final long delay = (long) (pool.getThinkNanos() * (0.5 + ThreadLocalRandom.current().nextDouble()));
+        room.getLogic().getTimers().schedule(this, delay, System.nanoTime());
+    }
+
+    @Override
+    protected void expire() {
+        if (cancelled) return;
+        if (!pool.submit(this)) {
+            think();
+        }
+    }
+
+    /**
+     * Computes the next guess, runs on the bot pool
+     *
+     * @param botPool the pool running the move
+     * @return false if the race ended before the move was done
+     */
+    boolean move(BotPool botPool) {
+        if (cancelled) return false;
+        final WordDictionary dictionary = room.getDictionary();
+        if (lastGuess != 0) {
+            dictionary.narrowCandidates(candidates, lastGuess, lastPattern);
+            lastGuess = 0;
+        }
+        final Solver solver = dictionary.getSolver(botPool.getPool());
+        final List<Solver.Hint> ranked = solver.rankGuesses(candidates, topK, botPool.getMoveBudgetNanos(), botPool.getPool(), this::isCancelled);
+        if (cancelled) return false;
+        final long guess;
+        if (!ranked.isEmpty()) {
+            guess = dictionary.encode(ranked.get(ThreadLocalRandom.current().nextInt(ranked.size())).word());
+        } else {
+            final int index = candidates.nextCandidate(0);
+            guess = dictionary.encode(index >= 0 ? dictionary.getAnswers().get(index) : dictionary.getRandomWord());
+        }
+        room.getLogic().execute(() -> room.botGuessed(this, guess));
+        return true;
+    }
+
+    /**
+     * Records the feedback of a guess, called on the shard of the room
+     *
+     * @param guess the packed guess
+     * @param pattern the packed feedback
+     */
+    void feedback(long guess, int pattern) {
+        lastGuess = guess;
+        lastPattern = pattern;
+    }
+
+    /**
+     * Stops the bot, a move already running stops at its next budget check
+     */
+    void cancel() {
+        cancelled = true;
+        room.getLogic().getTimers().cancel(this);
+    }
+
+    boolean isCancelled() {
+        return cancelled;
+    }
+
+    int getSeat() {
+        return seat;
+    }
+}
@@ -0,0 +1,204 @@
+package model.server.logic;
+
+import model.server.config.ServerGameConfig;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Matchmaking and routing of the race rooms of all shards.
+ * <p>
+ * Seats are handed out by shard 0 only, which keeps one open room per word length and fills it
+ * until it is full or starts. Every room lives on the shard its id maps to, rooms are spread
+ * over all shards while the players stay on the shards of their connections. Messages of a
+ * racing player are forwarded to the shard of their room, which sends the results back to the
+ * shards of all players of the room.
+ * </p>
+ */
+public class RaceLobbies {
+    private static final System.Logger LOGGER = System.getLogger(RaceLobbies.class.getName());
+
+    /**
+     * The shard handing out seats
+     */
+    private static final int MATCHMAKER = 0;
+
+    /**
+     * The weakest skill of bots, larger requests are capped to keep the ranking cheap
+     */
+    private static final int MAX_BOT_TOP_K = 20;
+
+    /**
+     * Marks the seat of a player that is still on its way to the room
+     */
+    private static final Object PENDING = new Object();
+
+    private final ShardDirectory shards;
+    private final ServerGameConfig config;
+    private final AtomicInteger nextRoomId = new AtomicInteger();
+    private final AtomicInteger activeRooms = new AtomicInteger();
+
+    /**
+     * The room accepting players per word length, only touched on the thread of the matchmaker
+     */
+    private final Map<Integer, RaceRoom> open = new HashMap<>();
+
+    /**
+     * The room of every player with a seat, {@link #PENDING} from the request until the room seated the player.
+     * The reservation is taken on the shard of the player, so a second request can never race the first one.
+     */
+    private final Map<Integer, Object> seats = new ConcurrentHashMap<>();
+
+    RaceLobbies(ShardDirectory shards, ServerGameConfig config) {
+        this.shards = shards;
+        this.config = config;
+    }
+
+    /**
+     * Finds a seat for a player, called on any shard
+     *
+     * @param id the connection ID of the player
+     * @param name the name shown to the other players
+     * @param dictionary the dictionary of the race
+     */
+    void join(int id, String name, WordDictionary dictionary) {
+        if (seats.putIfAbsent(id, PENDING) != null) {
+            LOGGER.log(System.Logger.Level.WARNING, "Client {0} already has a seat in a race", id);
+            return;
+        }
+        requeue(id, name, dictionary);
+    }
+
+    /**
+     * Sends a player with a reserved seat to the matchmaker, called on any shard.
+     * Rooms that started before the player arrived use this to pass the player on.
+     *
+     * @param id the connection ID of the player
+     * @param name the name shown to the other players
+     * @param dictionary the dictionary of the race
+     */
+    void requeue(int id, String name, WordDictionary dictionary) {
+        shards.get(MATCHMAKER).execute(() -> assign(id, name, dictionary));
+    }
+
+    /**
+     * Opens a private room for a player and bots, the race starts right away. Called on any shard.
+     *
+     * @param id the connection ID of the player
+     * @param name the name shown in the ranking
+     * @param dictionary the dictionary of the race
+     * @param bots the amount of bots
+     * @param topK the skill of the bots
+     */
+    void practice(int id, String name, WordDictionary dictionary, int bots, int topK) {
+        if (seats.putIfAbsent(id, PENDING) != null) {
+            LOGGER.log(System.Logger.Level.WARNING, "Client {0} already has a seat in a race", id);
+            return;
+        }
+        final int roomId = nextRoomId.getAndIncrement();
+        final int seatCount = Math.min(bots, Math.max(1, config.getRaceMaxPlayers() - 1)) + 1;
+        final RaceRoom room = new RaceRoom(roomId, Math.floorMod(roomId, shards.size()), this, dictionary, config, seatCount);
+        activeRooms.incrementAndGet();
+        room.getLogic().execute(() -> {
+            room.addBots(seatCount - 1, Math.min(topK, MAX_BOT_TOP_K));
+            room.join(id, name);
+        });
+    }
+
+    /**
+     * Reserves a seat in the open room of the word length, runs on the matchmaker
+     */
+    private void assign(int id, String name, WordDictionary dictionary) {
+        if (seats.get(id) != PENDING) {
+            // left while waiting for the matchmaker
+            return;
+        }
+        final int wordLength = dictionary.getWordLength();
+        RaceRoom room = open.get(wordLength);
+        if (room == null) {
+            final int roomId = nextRoomId.getAndIncrement();
+            room = new RaceRoom(roomId, Math.floorMod(roomId, shards.size()), this, dictionary, config);
+            open.put(wordLength, room);
+            activeRooms.incrementAndGet();
+        }
+        if (room.reserveSeat())
+            open.remove(wordLength);
+        final RaceRoom target = room;
+        target.getLogic().execute(() -> target.join(id, name));
+    }
+
+    /**
+     * Stops handing out seats of a room that started or was abandoned, called on the shard of the room
+     *
+     * @param room the room
+     */
+    void close(RaceRoom room) {
+        shards.get(MATCHMAKER).execute(() -> open.remove(room.getWordLength(), room));
+    }
+
+    /**
+     * Counts a room as gone, called on the shard of the room once it finished
+     *
+     * @param room the room
+     */
+    void finished(RaceRoom room) {
+        activeRooms.decrementAndGet();
+    }
+
+    /**
+     * Turns the reservation of a player into a seat of the room, called on the shard of the room
+     *
+     * @param id the connection ID of the player
+     * @param room the room
+     * @return false if the player left before reaching the room
+     */
+    boolean seated(int id, RaceRoom room) {
+        return seats.replace(id, PENDING, room);
+    }
+
+    void unseated(int id, RaceRoom room) {
+        seats.remove(id, room);
+    }
+
+    /**
+     * Forwards a guess to the room of the player, called on the shard of the player
+     *
+     * @param id the connection ID of the player
+     * @param guess the packed guess
+     */
+    void guess(int id, long guess) {
+        if (!(seats.get(id) instanceof RaceRoom room)) {
+            LOGGER.log(System.Logger.Level.WARNING, "Client {0} guessed without a seat in a race", id);
+            return;
+        }
+        room.getLogic().execute(() -> room.guess(id, guess));
+    }
+
+    /**
+     * Gives up the seat of a player, called on the shard of the player
+     *
+     * @param id the connection ID of the player
+     */
+    void leave(int id) {
+        // a reservation is dropped right away, the room turns the player away once it arrives
+        if (seats.remove(id, PENDING))
+            return;
+        if (seats.get(id) instanceof RaceRoom room)
+            room.getLogic().execute(() -> room.leave(id));
+    }
+
+    ShardDirectory getShards() {
+        return shards;
+    }
+
+    /**
+     * Returns the amount of rooms waiting for players or racing
+     *
+     * @return the amount as int
+     */
+    public int getActiveRooms() {
+        return activeRooms.get();
+    }
+}
@@ -0,0 +1,443 @@
+package model.server.logic;
+
+import model.general.config.PackedFeedback;
+import model.general.message.server.RaceLobbyUpdate;
+import model.general.message.server.RaceProgressUpdate;
+import model.general.message.server.RaceResultResponse;
+import model.general.message.server.RaceStartResponse;
+import model.general.message.server.ServerMessage;
+import model.server.config.ServerGameConfig;
+import server.network.SharedFrame;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A room where up to a configured amount of players race to solve the same answer.
+ * <p>
+ * A room is only touched on the thread of the shard owning it. It keeps no players, just the
+ * connection IDs, names and progress of its seats in a few small arrays, and is its own timer
+ * in the {@link TimerWheel} of its shard, so a room costs well below a kilobyte. What a room
+ * does is decided by its {@link RaceState}, the states are shared by all rooms.
+ * </p>
+ * <p>
+ * Seats may be taken by {@link RaceBot}s, their connection IDs are negative and nothing is sent to them.
+ * </p>
+ */
+class RaceRoom extends TimerWheel.Timer {
+    private static final System.Logger LOGGER = System.getLogger(RaceRoom.class.getName());
+
+    private final int id;
+    private final int shard;
+    private final ServerGameLogic logic;
+    private final RaceLobbies lobbies;
+    private final WordDictionary dictionary;
+    private final String answer;
+    private final long answerCode;
+    private final int allowedGuesses;
+    private final int minPlayers;
+    private final int lobbyMillis;
+    private final int timeLimitSeconds;
+    private final boolean fillWithBots;
+    private final int botTopK;
+
+    private final int[] ids;
+    private final String[] names;
+    private final int[] guesses;
+    private final int[] status;
+    private int playerCount;
+
+    /**
+     * The bots by seat, null as long as the room has none
+     */
+    private RaceBot[] bots;
+
+    /**
+     * Seat indices in the order the answer was solved
+     */
+    private final int[] ranking;
+    private int rankCount;
+
+    /**
+     * Seats handed out by the matchmaker, only touched on the thread of the matchmaker
+     */
+    private int reserved;
+
+    /**
+     * Time the race starts while the room waits for the countdown
+     */
+    private long startsAt;
+
+    private RaceState state = RaceState.WAITING;
+
+    /**
+     * Creates a new room with a random answer
+     *
+     * @param id the id of the room
+     * @param shard the shard owning the room
+     * @param lobbies the matchmaker of the room
+     * @param dictionary the dictionary of the answer and the allowed guesses
+     * @param config the server configuration
+     */
+    RaceRoom(int id, int shard, RaceLobbies lobbies, WordDictionary dictionary, ServerGameConfig config) {
+        this(id, shard, lobbies, dictionary, config, config.getRaceMaxPlayers());
+    }
+
+    /**
+     * Creates a new room with a random answer and a fixed amount of seats
+     *
+     * @param id the id of the room
+     * @param shard the shard owning the room
+     * @param lobbies the matchmaker of the room
+     * @param dictionary the dictionary of the answer and the allowed guesses
+     * @param config the server configuration
+     * @param seats the amount of seats
+     */
+    RaceRoom(int id, int shard, RaceLobbies lobbies, WordDictionary dictionary, ServerGameConfig config, int seats) {
+        this.id = id;
+        this.shard = shard;
+        this.logic = lobbies.getShards().get(shard);
+        this.lobbies = lobbies;
+        this.dictionary = dictionary;
+        this.answer = dictionary.getRandomWord();
+        this.answerCode = dictionary.encode(answer);
+        this.allowedGuesses = config.getRaceAllowedGuesses();
+        this.minPlayers = Math.max(1, config.getRaceMinPlayers());
+        this.lobbyMillis = config.getRaceLobbySeconds() * 1_000;
+        this.timeLimitSeconds = config.getRaceTimeLimitSeconds();
+        this.fillWithBots = config.isFillRacesWithBots();
+        this.botTopK = config.getRaceBotTopK();
+        final int size = Math.max(minPlayers, seats);
+        this.ids = new int[size];
+        this.names = new String[size];
+        this.guesses = new int[size];
+        this.status = new int[size];
+        this.ranking = new int[size];
+    }
+
+    /**
+     * Hands out a seat, called on the thread of the matchmaker
+     *
+     * @return true if this was the last seat
+     */
+    boolean reserveSeat() {
+        return ++reserved >= ids.length;
+    }
+
+    void join(int id, String name) {
+        state.join(this, id, name);
+    }
+
+    void guess(int id, long guess) {
+        state.guess(this, id, guess);
+    }
+
+    void leave(int id) {
+        state.leave(this, id);
+    }
+
+    /**
+     * Called once a bot computed its guess
+     *
+     * @param bot the bot
+     * @param guess the packed guess
+     */
+    void botGuessed(RaceBot bot, long guess) {
+        state.botGuess(this, bot, guess);
+    }
+
+    @Override
+    protected void expire() {
+        state.timeout(this);
+    }
+
+    /**
+     * Switches the room to a new state and runs its entry
+     *
+     * @param newState the new state
+     */
+    void setState(RaceState newState) {
+        LOGGER.log(System.Logger.Level.DEBUG, "room {0}: {1} --> {2}", id, state.getName(), newState.getName());
+        state = newState;
+        state.entry(this);
+    }
+
+    /**
+     * Takes a seat, the room must have a free one and the player must be seated by the lobbies
+     *
+     * @param id the connection ID of the player
+     * @param name the name of the player
+     */
+    void addPlayer(int id, String name) {
+        ids[playerCount] = id;
+        names[playerCount] = name;
+        guesses[playerCount] = 0;
+        status[playerCount] = RaceProgressUpdate.PLAYING;
+        playerCount++;
+    }
+
+    /**
+     * Seats bots in the free seats
+     *
+     * @param count the amount of bots, at most the amount of free seats
+     * @param topK the skill of the bots, they pick one of this many best guesses
+     */
+    void addBots(int count, int topK) {
+        if (bots == null) bots = new RaceBot[ids.length];
+        final BotPool pool = lobbies.getShards().getBots();
+        for (int i = 0; i < count && playerCount < ids.length; i++) {
+            final int seat = playerCount++;
+            bots[seat] = new RaceBot(this, pool, seat, topK);
+            ids[seat] = -1 - seat;
+            names[seat] = "Bot " + (seat + 1);
+            guesses[seat] = 0;
+            status[seat] = RaceProgressUpdate.PLAYING;
+        }
+    }
+
+    /**
+     * Seats bots until enough players are seated to start, if the room is configured to do so
+     */
+    void fillWithBots() {
+        if (fillWithBots && playerCount < minPlayers)
+            addBots(minPlayers - playerCount, botTopK);
+    }
+
+    /**
+     * Checks if the room may start the countdown
+     *
+     * @return true if enough players are seated or bots will fill the missing seats
+     */
+    boolean canStart() {
+        return playerCount >= minPlayers || (fillWithBots && playerCount > 0);
+    }
+
+    /**
+     * Lets all bots start guessing
+     */
+    void startBots() {
+        if (bots == null) return;
+        for (RaceBot bot : bots) {
+            if (bot != null) bot.think();
+        }
+    }
+
+    /**
+     * Stops all bots, moves still running are cancelled
+     */
+    void stopBots() {
+        if (bots == null) return;
+        for (RaceBot bot : bots) {
+            if (bot != null) bot.cancel();
+        }
+    }
+
+    boolean isBot(int seat) {
+        return ids[seat] < 0;
+    }
+
+    /**
+     * Removes a player waiting for the race, the seats of later players move up
+     *
+     * @param seat the seat of the player
+     */
+    void removePlayer(int seat) {
+        lobbies.unseated(ids[seat], this);
+        System.arraycopy(ids, seat + 1, ids, seat, playerCount - seat - 1);
+        System.arraycopy(names, seat + 1, names, seat, playerCount - seat - 1);
+        playerCount--;
+        names[playerCount] = null;
+    }
+
+    /**
+     * Returns the seat of a player
+     *
+     * @param id the connection ID of the player
+     * @return the seat or -1 if the player has none
+     */
+    int seatOf(int id) {
+        for (int seat = 0; seat < playerCount; seat++) {
+            if (ids[seat] == id) return seat;
+        }
+        return -1;
+    }
+
+    /**
+     * Rates a guess of a racing player and records it
+     *
+     * @param seat the seat of the player
+     * @param guess the packed guess
+     * @return the packed feedback or {@link RaceProgressUpdate#REJECTED} if the guess is no word
+     */
+    int rate(int seat, long guess) {
+        if (!dictionary.isValidWord(guess)) return RaceProgressUpdate.REJECTED;
+        final int feedback = WordleEngine.evaluatePacked(guess, answerCode, dictionary.getWordLength());
+        guesses[seat]++;
+        if (feedback == PackedFeedback.allRight(dictionary.getWordLength())) {
+            status[seat] = RaceProgressUpdate.SOLVED;
+            ranking[rankCount++] = seat;
+        } else if (guesses[seat] >= allowedGuesses) {
+            status[seat] = RaceProgressUpdate.OUT_OF_GUESSES;
+        }
+        return feedback;
+    }
+
+    /**
+     * Checks if any player is still guessing
+     *
+     * @return true if a player neither solved the answer, ran out of guesses nor left
+     */
+    boolean isAnyonePlaying() {
+        for (int seat = 0; seat < playerCount; seat++) {
+            if (status[seat] == RaceProgressUpdate.PLAYING) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Checks if a player who is no bot is still in the room
+     *
+     * @return true if a player did not leave
+     */
+    boolean isAnyoneWatching() {
+        for (int seat = 0; seat < playerCount; seat++) {
+            if (!isBot(seat) && status[seat] != RaceProgressUpdate.LEFT) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Sends a message to every player still in the room, encoded once
+     *
+     * @param message the message
+     * @param droppable whether a later message replaces it
+     */
+    void broadcast(ServerMessage message, boolean droppable) {
+        final int[] present = new int[playerCount];
+        int count = 0;
+        for (int seat = 0; seat < playerCount; seat++) {
+            if (!isBot(seat) && status[seat] != RaceProgressUpdate.LEFT) present[count++] = ids[seat];
+        }
+        if (count > 0)
+            send(present, count, message, droppable);
+    }
+
+    /**
+     * Sends a message to one player of the room
+     *
+     * @param seat the seat of the player
+     * @param message the message
+     */
+    void send(int seat, ServerMessage message) {
+        send(new int[]{ids[seat]}, 1, message, false);
+    }
+
+    private void send(int[] receivers, int count, ServerMessage message, boolean droppable) {
+        try {
+            lobbies.getShards().broadcast(receivers, count, SharedFrame.of(message, droppable), shard);
+        } catch (IOException e) {
+            LOGGER.log(System.Logger.Level.ERROR, "could not encode " + message, e);
+        }
+    }
+
+    RaceLobbyUpdate lobbyUpdate() {
+        final int startsIn = isScheduled() ? (int) Math.max(0, (startsAt - System.nanoTime()) / 1_000_000) : RaceLobbyUpdate.WAITING_FOR_PLAYERS;
+        return new RaceLobbyUpdate(Arrays.copyOf(names, playerCount), ids.length, startsIn);
+    }
+
+    RaceStartResponse startResponse() {
+        return new RaceStartResponse(dictionary.getWordLength(), allowedGuesses, dictionary.getAlphabet(),
+                Arrays.copyOf(names, playerCount), timeLimitSeconds);
+    }
+
+    RaceResultResponse result() {
+        final String[] ranked = new String[rankCount];
+        final int[] rankedGuesses = new int[rankCount];
+        for (int i = 0; i < rankCount; i++) {
+            ranked[i] = names[ranking[i]];
+            rankedGuesses[i] = guesses[ranking[i]];
+        }
+        return new RaceResultResponse(answer, ranked, rankedGuesses);
+    }
+
+    /**
+     * Starts the countdown of the lobby
+     */
+    void startCountdown() {
+        final long now = System.nanoTime();
+        startsAt = now + lobbyMillis * 1_000_000L;
+        logic.getTimers().schedule(this, lobbyMillis * 1_000_000L, now);
+    }
+
+    /**
+     * Starts the time limit of the race
+     */
+    void startTimeLimit() {
+        logic.getTimers().schedule(this, timeLimitSeconds * 1_000_000_000L, System.nanoTime());
+    }
+
+    void cancelTimer() {
+        logic.getTimers().cancel(this);
+    }
+
+    /**
+     * Gives up the seats of all players once the race is over
+     */
+    void unseatAll() {
+        for (int seat = 0; seat < playerCount; seat++) {
+            if (!isBot(seat) && status[seat] != RaceProgressUpdate.LEFT) lobbies.unseated(ids[seat], this);
+        }
+    }
+
+    int getId() {
+        return id;
+    }
+
+    ServerGameLogic getLogic() {
+        return logic;
+    }
+
+    RaceLobbies getLobbies() {
+        return lobbies;
+    }
+
+    int getWordLength() {
+        return dictionary.getWordLength();
+    }
+
+    WordDictionary getDictionary() {
+        return dictionary;
+    }
+
+    int getPlayerCount() {
+        return playerCount;
+    }
+
+    int getSeatCount() {
+        return ids.length;
+    }
+
+    int getMinPlayers() {
+        return minPlayers;
+    }
+
+    RaceBot getBot(int seat) {
+        return bots == null ? null : bots[seat];
+    }
+
+    int getGuesses(int seat) {
+        return guesses[seat];
+    }
+
+    int getStatus(int seat) {
+        return status[seat];
+    }
+
+    void setStatus(int seat, int newStatus) {
+        status[seat] = newStatus;
+    }
+
+    String getName(int seat) {
+        return names[seat];
+    }
+}
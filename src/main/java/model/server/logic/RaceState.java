@@ -0,0 +1,225 @@
+package model.server.logic;
+
+import model.general.message.server.RaceProgressUpdate;
+
+/**
+ * Abstract base for the states of a {@link RaceRoom}.
+ * <p>
+ * States hold no data, every room keeps its own, so the three states are shared by all rooms
+ * of the server. The default implementations log calls that are not allowed in a state.
+ * </p>
+ */
+abstract class RaceState {
+    /**
+     * The logger instance for race state transitions and actions.
+     */
+    static final System.Logger LOGGER = System.getLogger(RaceState.class.getName());
+
+    /**
+     * Players take their seats, the race starts once the room is full or the countdown ran out
+     */
+    static final RaceState WAITING = new Waiting();
+
+    /**
+     * Players guess the answer until all are done or the time limit is reached
+     */
+    static final RaceState RUNNING = new Running();
+
+    /**
+     * The ranking was sent, the room is gone
+     */
+    static final RaceState FINISHED = new Finished();
+
+    /**
+     * Called when a room switches to this state
+     *
+     * @param room the room
+     */
+    void entry(RaceRoom room) {
+        // Default implementation does nothing
+    }
+
+    /**
+     * Returns the simple name of this state class, used in log messages.
+     *
+     * @return the state name
+     */
+    String getName() {
+        return getClass().getSimpleName();
+    }
+
+    /**
+     * Called when a player got a seat in the room from the matchmaker. A room that started in the
+     * meantime sends the player back to the matchmaker.
+     *
+     * @param room the room
+     * @param id the connection ID of the player
+     * @param name the name of the player
+     */
+    void join(RaceRoom room, int id, String name) {
+        room.getLobbies().requeue(id, name, room.getDictionary());
+    }
+
+    /**
+     * Called when a player of the room guessed
+     *
+     * @param room the room
+     * @param id the connection ID of the player
+     * @param guess the packed guess
+     */
+    void guess(RaceRoom room, int id, long guess) {
+        LOGGER.log(System.Logger.Level.ERROR, "guessing not allowed in {0}", getName());
+    }
+
+    /**
+     * Called when a bot of the room computed its guess, a race that ended ignores it
+     *
+     * @param room the room
+     * @param bot the bot
+     * @param guess the packed guess
+     */
+    void botGuess(RaceRoom room, RaceBot bot, long guess) {
+        // the bot was cancelled
+    }
+
+    /**
+     * Called when a player of the room left or disconnected
+     *
+     * @param room the room
+     * @param id the connection ID of the player
+     */
+    void leave(RaceRoom room, int id) {
+        // nothing to give up
+    }
+
+    /**
+     * Called when the timer of the room fired
+     *
+     * @param room the room
+     */
+    void timeout(RaceRoom room) {
+        LOGGER.log(System.Logger.Level.ERROR, "timeout not allowed in {0}", getName());
+    }
+
+    private static class Waiting extends RaceState {
+        @Override
+        void join(RaceRoom room, int id, String name) {
+            if (room.getPlayerCount() == room.getSeatCount()) {
+                super.join(room, id, name);
+                return;
+            }
+            if (!room.getLobbies().seated(id, room)) {
+                LOGGER.log(System.Logger.Level.INFO, "Client {0} left before taking its seat in room {1}", id, room.getId());
+                if (!room.isAnyoneWatching()) {
+                    room.getLobbies().close(room);
+                    room.setState(FINISHED);
+                }
+                return;
+            }
+            room.addPlayer(id, name);
+            if (room.getPlayerCount() == room.getSeatCount()) {
+                room.setState(RUNNING);
+                return;
+            }
+            if (room.canStart() && !room.isScheduled())
+                room.startCountdown();
+            room.broadcast(room.lobbyUpdate(), true);
+        }
+
+        @Override
+        void leave(RaceRoom room, int id) {
+            final int seat = room.seatOf(id);
+            if (seat < 0) return;
+            room.removePlayer(seat);
+            if (room.getPlayerCount() == 0) {
+                // seats handed out in the meantime are sent back to the matchmaker
+                room.getLobbies().close(room);
+                room.setState(FINISHED);
+                return;
+            }
+            if (!room.canStart())
+                room.cancelTimer();
+            room.broadcast(room.lobbyUpdate(), true);
+        }
+
+        @Override
+        void timeout(RaceRoom room) {
+            room.fillWithBots();
+            if (room.getPlayerCount() >= room.getMinPlayers())
+                room.setState(RUNNING);
+        }
+    }
+
+    private static class Running extends RaceState {
+        @Override
+        void entry(RaceRoom room) {
+            room.getLobbies().close(room);
+            room.startTimeLimit();
+            room.broadcast(room.startResponse(), false);
+            room.startBots();
+        }
+
+        @Override
+        void guess(RaceRoom room, int id, long guess) {
+            final int seat = room.seatOf(id);
+            if (seat < 0 || room.getStatus(seat) != RaceProgressUpdate.PLAYING) {
+                LOGGER.log(System.Logger.Level.WARNING, "Client {0} is not racing in room {1}", id, room.getId());
+                return;
+            }
+            final int feedback = room.rate(seat, guess);
+            if (feedback == RaceProgressUpdate.REJECTED) {
+                room.send(seat, new RaceProgressUpdate(seat, room.getGuesses(seat), feedback, room.getStatus(seat)));
+                return;
+            }
+            progress(room, seat, feedback);
+        }
+
+        @Override
+        void botGuess(RaceRoom room, RaceBot bot, long guess) {
+            final int seat = bot.getSeat();
+            final int feedback = room.rate(seat, guess);
+            if (feedback == RaceProgressUpdate.REJECTED) {
+                LOGGER.log(System.Logger.Level.ERROR, "Bot {0} in room {1} guessed no word", seat, room.getId());
+                bot.think();
+                return;
+            }
+            bot.feedback(guess, feedback);
+            if (room.getStatus(seat) == RaceProgressUpdate.PLAYING)
+                bot.think();
+            progress(room, seat, feedback);
+        }
+
+        private void progress(RaceRoom room, int seat, int feedback) {
+            room.broadcast(new RaceProgressUpdate(seat, room.getGuesses(seat), feedback, room.getStatus(seat)), false);
+            if (!room.isAnyonePlaying() || !room.isAnyoneWatching())
+                room.setState(FINISHED);
+        }
+
+        @Override
+        void leave(RaceRoom room, int id) {
+            final int seat = room.seatOf(id);
+            if (seat < 0 || room.getStatus(seat) == RaceProgressUpdate.LEFT) return;
+            room.getLobbies().unseated(id, room);
+            room.setStatus(seat, RaceProgressUpdate.LEFT);
+            room.broadcast(new RaceProgressUpdate(seat, room.getGuesses(seat), 0, RaceProgressUpdate.LEFT), false);
+            if (!room.isAnyonePlaying() || !room.isAnyoneWatching())
+                room.setState(FINISHED);
+        }
+
+        @Override
+        void timeout(RaceRoom room) {
+            room.setState(FINISHED);
+        }
+    }
+
+    private static class Finished extends RaceState {
+        @Override
+        void entry(RaceRoom room) {
+            room.cancelTimer();
+            room.stopBots();
+            room.broadcast(room.result(), false);
+            room.unseatAll();
+            room.getLobbies().finished(room);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package model.server.logic;
+
+/**
+ * Evaluates one answer after the other with {@link WordleEngine#evaluatePacked(long, long, int)}.
+ */
+class ScalarFeedbackKernel implements FeedbackKernel {
+    @Override
+    public void evaluate(long guess, long[] answers, int from, int to, int length, int[] results) {
+        for (int a = from; a < to; a++) {
+            results[a] = WordleEngine.evaluatePacked(guess, answers[a], length);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "scalar";
+    }
+}
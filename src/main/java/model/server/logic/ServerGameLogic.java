@@ -1,12 +1,23 @@
 package model.server.logic;
 
 import model.general.message.client.ClientMessage;
+import model.general.message.server.PingRequest;
 import model.server.Player;
 import model.server.config.ServerGameConfig;
 import server.network.ServerSender;
+import server.network.SharedFrame;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 public class ServerGameLogic {
     /**
@@ -14,6 +25,26 @@ public class ServerGameLogic {
      */
     public static System.Logger LOGGER = System.getLogger(ServerGameLogic.class.getName());
 
+    /**
+     * Threads used for blocking file access if the runtime has no virtual threads.
+     */
+    private static final int BLOCKING_THREADS = 4;
+
+    /**
+     * Slots of the timer wheel, one turn covers a bit more than 50 seconds.
+     */
+    private static final int TIMER_SLOTS = 512;
+
+    /**
+     * Resolution of the timers, the shards tick at least this often while idle.
+     */
+    private static final long TIMER_TICK_NANOS = 100_000_000L;
+
+    /**
+     * Amount of recent pings a pong is accepted for, a power of two.
+     */
+    private static final int PING_HISTORY = 8;
+
     /**
      * The fixed game configuration.
      */
@@ -34,32 +65,311 @@ public class ServerGameLogic {
      */
     private final ServerSender serversender;
 
+    /**
+     * Runs blocking file access off the logic threads, shared by all shards.
+     */
+    private static final ExecutorService BLOCKING_EXECUTOR = newBlockingExecutor();
+
+    /**
+     * Runs tasks on the thread of this logic, used for the continuations of blocking tasks.
+     */
+    private final Executor logicThread;
+
+    /**
+     * Receives the results of finished games, they are passed on to the owner of the global stats.
+     */
+    private final Consumer<GameResult> results;
+
+    /**
+     * The logics of all shards and the services they share.
+     */
+    private final ShardDirectory shards;
+
+    /**
+     * Runs the timers of this logic, e.g. of race rooms, advanced every tick.
+     */
+    private final TimerWheel timers;
+
+    /**
+     * Sends a ping to all players of this logic once per configured interval.
+     */
+    private final TimerWheel.Timer pinger = new TimerWheel.Timer() {
+        @Override
+        protected void expire() {
+            ping();
+        }
+    };
+
+    /**
+     * Sequence of the latest ping and the times the recent pings were sent at, indexed by sequence.
+     */
+    private int pingSequence;
+    private final long[] pingSentAt = new long[PING_HISTORY];
+
+    /**
+     * Time the message handled right now was received at.
+     */
+    private long receivedAt;
+
     /**
      * The two players participating in this game.
      */
     private List<Player> players = new ArrayList<>(2);;
 
     /**
-     * Constructs the game logic controller.
+     * Constructs the game logic controller. Every logic shard has its own controller,
+     * they only share the read-only {@link WordleEngine}.
      *
      * @param serversender the mechanism to send messages to connected clients
      * @param config       the game configuration specifying map size and fleet
+     * @param wordleEngine the engine providing the dictionaries, shared by all shards
+     * @param logicThread  runs tasks on the thread of this logic
+     * @param results      receives the results of finished games
+     * @param shards       the logics of all shards and the services they share
      */
-    public ServerGameLogic(ServerSender serversender, ServerGameConfig config) {
+    public ServerGameLogic(ServerSender serversender, ServerGameConfig config, WordleEngine wordleEngine,
+                           Executor logicThread, Consumer<GameResult> results, ShardDirectory shards) {
         this.serversender = serversender;
         this.config = config;
-        wordleEngine  = new WordleEngine(config);
+        this.wordleEngine = wordleEngine;
+        this.logicThread = logicThread;
+        this.results = results;
+        this.shards = shards;
+        this.timers = new TimerWheel(TIMER_SLOTS, TIMER_TICK_NANOS, System.nanoTime());
         this.state.entry();
+        if (config.getPingIntervalMillis() > 0) {
+            timers.schedule(pinger, config.getPingIntervalMillis() * 1_000_000L, System.nanoTime());
+        }
     }
 
+    /**
+     * Called once per tick of the shard owning this logic.
+     *
+     * @param tpf the time since the last tick in seconds
+     */
     public void update(float tpf) {
-        wordleEngine.update(tpf);
+        timers.advance(System.nanoTime());
+    }
+
+    /**
+     * Sends a ping to every authenticated player, encoded once. A newer ping replaces one a slow client did not receive yet.
+     */
+    private void ping() {
+        timers.schedule(pinger, config.getPingIntervalMillis() * 1_000_000L, System.nanoTime());
+        final int[] ids = new int[players.size()];
+        int count = 0;
+        for (Player player : players) {
+            if (player.isAuthenticated()) ids[count++] = player.getId();
+        }
+        if (count == 0) return;
+        final int sequence = ++pingSequence;
+        try {
+            final SharedFrame frame = SharedFrame.of(new PingRequest(sequence), true);
+            pingSentAt[sequence & (PING_HISTORY - 1)] = System.nanoTime();
+            serversender.broadcast(ids, count, frame);
+            serversender.flush();
+        } catch (IOException e) {
+            LOGGER.log(System.Logger.Level.ERROR, "could not encode a ping", e);
+        }
+    }
+
+    /**
+     * Measures the round trip time of a player from the answer to a ping
+     *
+     * @param player the player
+     * @param sequence the sequence of the answered ping
+     */
+    void receivedPong(Player player, int sequence) {
+        if (sequence <= 0 || sequence > pingSequence || pingSequence - sequence >= PING_HISTORY) {
+            LOGGER.log(System.Logger.Level.DEBUG, "Ignoring pong {0} of {1}, latest ping is {2}", sequence, player, pingSequence);
+            return;
+        }
+        player.recordRoundTrip(receivedAt - pingSentAt[sequence & (PING_HISTORY - 1)]);
+    }
+
+    /**
+     * Returns the time the message handled right now was received at
+     *
+     * @return the time of {@link System#nanoTime()}
+     */
+    long getReceivedAt() {
+        return receivedAt;
+    }
+
+    /**
+     * Returns the average round trip time of the players of this logic
+     *
+     * @return the time in nanoseconds, 0 if no round trip was measured
+     */
+    public long getAverageRoundTripNanos() {
+        long sum = 0;
+        int count = 0;
+        for (Player player : players) {
+            if (player.getRoundTripNanos() > 0) {
+                sum += player.getRoundTripNanos();
+                count++;
+            }
+        }
+        return count == 0 ? 0 : sum / count;
+    }
+
+    /**
+     * Returns the largest round trip time of the players of this logic
+     *
+     * @return the time in nanoseconds, 0 if no round trip was measured
+     */
+    public long getMaxRoundTripNanos() {
+        long max = 0;
+        for (Player player : players) {
+            max = Math.max(max, player.getRoundTripNanos());
+        }
+        return max;
+    }
+
+    /**
+     * Passes the result of a finished game on to the global stats
+     *
+     * @param result the result
+     */
+    void publishResult(GameResult result) {
+        results.accept(result);
+    }
+
+    /**
+     * Runs a blocking task off the logic thread and continues on the logic thread once it finished.
+     * The game loop never waits for the task, state handlers use this for all file access.
+     * The continuation also runs if the task failed, so the handler can still answer the client.
+     *
+     * @param task the blocking task
+     * @param then receives the result, or null and the failure, on the logic thread
+     * @param <T> the type of the result
+     */
+    public <T> void runBlocking(Callable<T> task, BiConsumer<T, Exception> then) {
+        BLOCKING_EXECUTOR.execute(() -> {
+            T result = null;
+            Exception failure = null;
+            try {
+                result = task.call();
+            } catch (Exception e) {
+                LOGGER.log(System.Logger.Level.ERROR, "Blocking task failed", e);
+                failure = e;
+            }
+            final T finalResult = result;
+            final Exception finalFailure = failure;
+            logicThread.execute(() -> then.accept(finalResult, finalFailure));
+        });
+    }
+
+    /**
+     * Runs a CPU bound task on the pool of the solvers and continues on the logic thread once it finished.
+     * Hint scans use this, so a scan over its budget never stalls the other players of the shard.
+     *
+     * @param task the task
+     * @param then receives the result on the logic thread
+     * @param <T> the type of the result
+     */
+    public <T> void runOnSolverPool(Callable<T> task, Consumer<T> then) {
+        ForkJoinPool.commonPool().execute(() -> {
+            try {
+                final T result = task.call();
+                logicThread.execute(() -> then.accept(result));
+            } catch (Exception e) {
+                LOGGER.log(System.Logger.Level.ERROR, "Solver task failed", e);
+            }
+        });
+    }
+
+    /**
+     * Runs a task on the thread of this logic, may be called by any thread
+     *
+     * @param task the task
+     */
+    void execute(Runnable task) {
+        logicThread.execute(task);
+    }
+
+    /**
+     * Returns the watchers of all players
+     *
+     * @return the {@link SpectatorHub}
+     */
+    SpectatorHub getSpectators() {
+        return shards.getSpectators();
+    }
+
+    /**
+     * Returns the race rooms of all shards
+     *
+     * @return the {@link RaceLobbies}
+     */
+    RaceLobbies getRaces() {
+        return shards.getRaces();
+    }
+
+    /**
+     * Returns the logics of all shards
+     *
+     * @return the {@link ShardDirectory}
+     */
+    ShardDirectory getShards() {
+        return shards;
+    }
+
+    /**
+     * Returns the timers of this logic, must only be used on the thread of this logic
+     *
+     * @return the {@link TimerWheel}
+     */
+    TimerWheel getTimers() {
+        return timers;
+    }
+
+    /**
+     * Returns the executor for blocking tasks that need no continuation
+     *
+     * @return the {@link Executor}
+     */
+    public Executor getBlockingExecutor() {
+        return BLOCKING_EXECUTOR;
+    }
+
+    /**
+     * Creates an executor starting a virtual thread per task if the runtime supports them,
+     * a small pool of daemon threads otherwise.
+     */
+    private static ExecutorService newBlockingExecutor() {
+        try {
+            final ExecutorService executor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            LOGGER.log(System.Logger.Level.INFO, "Blocking tasks run on virtual threads");
+            return executor;
+        } catch (ReflectiveOperationException e) {
+            LOGGER.log(System.Logger.Level.INFO, "No virtual threads available, blocking tasks run on {0} platform threads", BLOCKING_THREADS);
+            final AtomicInteger count = new AtomicInteger();
+            return Executors.newFixedThreadPool(BLOCKING_THREADS, runnable -> {
+                final Thread thread = new Thread(runnable, "blocking-io-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
     }
 
     public void addPlayer (int id){
         state.addPlayer(id);
     }
 
+    /**
+     * Removes the player of a closed connection
+     *
+     * @param id the connection ID of the player
+     */
+    public void removePlayer(int id) {
+        final Player player = getPlayerById(id);
+        if (player == null) return;
+        players.remove(player);
+        shards.getSpectators().playerLeft(player);
+        shards.getRaces().leave(id);
+    }
+
     /**
      * Retrieves the game configuration.
      *
@@ -112,6 +422,16 @@ public class ServerGameLogic {
         return wordleEngine;
     }
 
+    /**
+     * Returns the solver used for hints in games played with the given dictionary
+     *
+     * @param dictionary the dictionary of the game
+     * @return the {@link Solver}
+     */
+    public Solver getSolver(WordDictionary dictionary) {
+        return dictionary.getSolver(ForkJoinPool.commonPool());
+    }
+
     /**
      * Receives a generic client message and forwards it to the active state.
      * <p>
@@ -121,9 +441,11 @@ public class ServerGameLogic {
      *
      * @param msg  the incoming {@link ClientMessage}
      * @param id the connection ID of the sending client
+     * @param receivedAt the time of {@link System#nanoTime()} the message was received at, used to time games
      */
 
-    public void receive(ClientMessage msg, int id) {
+    public void receive(ClientMessage msg, int id, long receivedAt) {
+        this.receivedAt = receivedAt;
         state.receive(msg,id);
     }
 }
@@ -1,13 +1,24 @@
 package model.server.logic;
 
+import model.general.config.GameMode;
+import model.general.config.PackedFeedback;
+import model.general.config.RejectReason;
 import model.general.message.client.GuessMessage;
+import model.general.message.client.HintRequestMessage;
 import model.general.message.client.LoginMessage;
+import model.general.message.client.PackedGuessMessage;
+import model.general.message.client.PongMessage;
+import model.general.message.client.RaceGuessMessage;
+import model.general.message.client.RaceJoinMessage;
+import model.general.message.client.SpectateMessage;
 import model.general.message.client.StartGameMessage;
 import model.general.message.client.StatsRequestMessage;
 import model.general.message.server.*;
 import model.server.Player;
+import model.server.config.ServerGameConfig;
 
 import java.util.ArrayList;
+import java.util.List;
 
 public class ServerMainState extends ServerState {
     /**
@@ -35,7 +46,7 @@ public class ServerMainState extends ServerState {
         final Player player = new Player("player " + playerNumber, id);
         LOGGER.log(System.Logger.Level.INFO, "adding {0}");
         logic.getPlayers().add(player);
-        send(player, new ConnectionResponse());
+        send(player, new ConnectionResponse(logic.getConfig().isPackedMessages() ? ConnectionResponse.PACKED_GUESSES : 0));
     }
 
     /**
@@ -48,17 +59,52 @@ public class ServerMainState extends ServerState {
         LOGGER.log(System.Logger.Level.INFO, "Client {0} is trying to authenticate", id);
         final Player sender = logic.getPlayerById(id);
         if (sender != null) {
-            sender.authenticate(logic.getConfig().getUserFolder(), msg.getName(), msg.getPassword());
-            if (sender.isAuthenticated()) {
-                LOGGER.log(System.Logger.Level.INFO, "Client {0} is authenticated successfully with name {1}", id, sender.getName());
-                send(sender, new LoginResponse());
-            } else {
-                LOGGER.log(System.Logger.Level.WARNING, "Client {0} failed authentication", id);
-                //TODO: client raus werfen
-            }
+            final String folder = logic.getConfig().getUserFolder();
+            logic.runBlocking(() -> Player.loadCredentials(folder, msg.getName(), msg.getPassword()), (dto, failure) -> {
+                if (logic.getPlayerById(id) != sender) {
+                    LOGGER.log(System.Logger.Level.INFO, "Client {0} left before its login was checked", id);
+                } else if (failure != null) {
+                    LOGGER.log(System.Logger.Level.ERROR, "Could not check the login of client {0} with name {1}", id, msg.getName());
+                    send(sender, new RejectedResponse(msg.getClass().getSimpleName(), RejectReason.FAILED));
+                } else if (dto != null) {
+                    sender.authenticate(dto);
+                    LOGGER.log(System.Logger.Level.INFO, "Client {0} is authenticated successfully with name {1}", id, sender.getName());
+                    if (dto.getGame() != null && logic.getConfig().isResumableGames()
+                            && GameSnapshot.restore(dto.getGame(), sender, logic.getWordleEngine())) {
+                        LOGGER.log(System.Logger.Level.INFO, "Client {0} with name {1} continues a {2} game after {3} guesses (answer is {4})",
+                                id, sender.getName(), sender.getGameMode(), sender.getGuessesMade(), sender.getCurrentAnswer());
+                        send(sender, syncResponse(sender));
+                    } else {
+                        send(sender, new LoginResponse());
+                    }
+                    logic.getSpectators().playerOnline(sender);
+                } else {
+                    LOGGER.log(System.Logger.Level.WARNING, "Client {0} failed authentication", id);
+                    //TODO: client raus werfen
+                }
+            });
         }
     }
 
+    /**
+     * Builds the message restoring the board of a continued game on the client
+     */
+    private GameStateSyncResponse syncResponse(Player player) {
+        final AnswerStrategy answer = player.getAnswerStrategy();
+        final int remaining = answer.getBoardCount() == 1 && logic.getConfig().isShowRemainingCandidates()
+                ? player.getCandidates().count() : GuessResponse.UNKNOWN_CANDIDATES;
+        return new GameStateSyncResponse(answer.getWordLength(), answer.getBoardCount(), player.getMaxGuesses(),
+                player.getDictionary().getAlphabet(), player.copyGuesses(), player.copyPatterns(), remaining);
+    }
+
+    /**
+     * Stores the game in progress with the stats, so it can be continued after a disconnect or a restart
+     */
+    private void saveProgress(Player player) {
+        if (player.isGameActive() && !player.isTimed() && logic.getConfig().isResumableGames())
+            player.saveStats(logic.getConfig().getUserFolder(), logic.getBlockingExecutor());
+    }
+
     /**
      * Called when a StartGameMessage is received in this state.
      * @param msg  the StartGameMessage to be processed
@@ -72,21 +118,63 @@ public class ServerMainState extends ServerState {
             LOGGER.log(System.Logger.Level.WARNING, "Client {0} with name {1} is already in an active game", id, sender.getName());
             return;
         }
-        if (!(sender.getLastPlayDate() == logic.getWordleEngine().getCurrentPlayDay())) {
-            sender.setLastPlayDate(logic.getWordleEngine().getCurrentPlayDay());
-            sender.startGame(logic.getWordleEngine().getCurrentWord(), 6);
+        final WordleEngine engine = logic.getWordleEngine();
+        WordDictionary dictionary = engine.getDictionary(msg.getWordLength());
+        if (dictionary == null) {
+            LOGGER.log(System.Logger.Level.WARNING, "Client {0} with name {1} requested {2} letters, there are no such words", id, sender.getName(), msg.getWordLength());
+            send(sender, new RejectedResponse(msg.getClass().getSimpleName(), RejectReason.UNSUPPORTED));
+            return;
+        }
+        GameMode mode = msg.getMode();
+        if (mode == null) {
+            LOGGER.log(System.Logger.Level.WARNING, "Client {0} with name {1} requested an unknown game mode, starting a classic game", id, sender.getName());
+            mode = GameMode.CLASSIC;
+        }
+        if (mode.getBoardCount() > dictionary.getAnswers().size()) {
+            LOGGER.log(System.Logger.Level.WARNING, "Client {0} with name {1} requested {2} boards of {3} letters, there are not enough answers",
+                    id, sender.getName(), mode.getBoardCount(), dictionary.getWordLength());
+            dictionary = engine.getDefaultDictionary();
+        }
+        final boolean daily = mode == GameMode.CLASSIC
+                && dictionary.getWordLength() == engine.getDailyDictionary().getWordLength()
+                && sender.getLastPlayDate() != engine.getCurrentPlayDay();
+        if (daily) {
+            dictionary = engine.getDailyDictionary();
+        }
+        final CandidateSet candidates = dictionary.newCandidateSet();
+        if (mode == GameMode.ABSURDLE) {
+            sender.startGame(mode, new AdversarialAnswer(dictionary, candidates), mode.getAllowedGuesses(), dictionary, candidates);
+            sender.setDailyOrRandom(false, logic.getConfig().getPointsRandom());
+            LOGGER.log(System.Logger.Level.INFO, "Client {0} with name {1} started an absurdle game", id, sender.getName());
+        } else if (mode.getBoardCount() > 1) {
+            sender.startGame(mode, new MultiBoardAnswer(dictionary, dictionary.getRandomWords(mode.getBoardCount())), mode.getAllowedGuesses(), dictionary, candidates);
+            sender.setDailyOrRandom(false, logic.getConfig().getPointsRandom());
+            LOGGER.log(System.Logger.Level.INFO, "Client {0} with name {1} started a {2} game with words: {3}", id, sender.getName(), mode, sender.getCurrentAnswer());
+        } else if (mode == GameMode.TIME_ATTACK) {
+            sender.startGame(mode, new FixedAnswer(dictionary, dictionary.getRandomWord()), mode.getAllowedGuesses(), dictionary, candidates);
+            sender.setDailyOrRandom(false, logic.getConfig().getPointsRandom());
+            LOGGER.log(System.Logger.Level.INFO, "Client {0} with name {1} started a time attack game with word: {2}", id, sender.getName(), sender.getCurrentAnswer());
+        } else if (daily) {
+            sender.setLastPlayDate(engine.getCurrentPlayDay());
+            sender.startGame(mode, new FixedAnswer(dictionary, engine.getCurrentWord()), mode.getAllowedGuesses(), dictionary, candidates);
             sender.setDailyOrRandom(true, logic.getConfig().getPointsDaily());
             LOGGER.log(System.Logger.Level.WARNING, "Client {0} with name {1} started first game of the day: {2}", id, sender.getName(), sender.getCurrentAnswer());
         } else {
-            sender.startGame(logic.getWordleEngine().getRandomWord(), 6);
+            sender.startGame(mode, new FixedAnswer(dictionary, dictionary.getRandomWord()), mode.getAllowedGuesses(), dictionary, candidates);
             sender.setDailyOrRandom(false, logic.getConfig().getPointsRandom());
             LOGGER.log(System.Logger.Level.WARNING, "Client {0} with name {1} started game with random word: {2}", id, sender.getName(), sender.getCurrentAnswer());
         }
-        send(sender, new StartGameResponse(sender.getCurrentAnswer().length()));
+        final AnswerStrategy answer = sender.getAnswerStrategy();
+        send(sender, new StartGameResponse(answer.getWordLength(), answer.getBoardCount(), mode.getAllowedGuesses(), dictionary.getAlphabet()));
+        if (mode == GameMode.TIME_ATTACK) {
+            sender.startTimer(System.nanoTime());
+        }
+        saveProgress(sender);
+        logic.getSpectators().publish(sender);
     }
 
     /**
-     *
+     * Called when a GuessMessage is received in this state.
      *
      * @param msg  the GuessMessage to be processed
      * @param id the connection ID from which the message was sent
@@ -94,30 +182,117 @@ public class ServerMainState extends ServerState {
     @Override
     public void received(GuessMessage msg, int id) {
         final Player sender = logic.getPlayerById(id);
-        if (!sender.isGameActive()) {
-            LOGGER.log(System.Logger.Level.WARNING, "Client {0} with name {1} has not started a game yet", id, sender.getName());
-            return;
-        }
-        if (sender.canSubmitGuess() && logic.getWordleEngine().isValidWord(msg.getGuess())) {
-            LOGGER.log(System.Logger.Level.INFO, "Client {0} with name {1}: accepted guess {2} (answer is {3})", id, sender.getName(), msg.getGuess(), sender.getCurrentAnswer());
-            sender.submitGuess(msg.getGuess());
-            send(sender, new GuessResponse(true, logic.getWordleEngine().evaluateGuess(msg.getGuess(), sender.getCurrentAnswer())));
-            if (msg.getGuess().equals(sender.getCurrentAnswer())) {
+        if (!hasActiveGame(sender, id)) return;
+        final WordDictionary dictionary = sender.getDictionary();
+        final String word = dictionary.getAlphabet().normalize(msg.getGuess());
+        final boolean valid = dictionary.isValidWord(word);
+        handleGuess(sender, id, valid ? dictionary.encode(word) : 0, valid, false, msg.getGuess());
+    }
+
+    /**
+     * Called when a PackedGuessMessage is received in this state, answered with a PackedGuessResponse
+     * in single board games.
+     *
+     * @param msg  the PackedGuessMessage to be processed
+     * @param id the connection ID from which the message was sent
+     */
+    @Override
+    public void received(PackedGuessMessage msg, int id) {
+        final Player sender = logic.getPlayerById(id);
+        if (!hasActiveGame(sender, id)) return;
+        final WordDictionary dictionary = sender.getDictionary();
+        final boolean valid = dictionary.isValidWord(msg.getGuess());
+        handleGuess(sender, id, msg.getGuess(), valid, true, valid ? dictionary.decode(msg.getGuess()) : "0x" + Long.toHexString(msg.getGuess()));
+    }
+
+    private boolean hasActiveGame(Player sender, int id) {
+        if (sender.isGameActive()) return true;
+        LOGGER.log(System.Logger.Level.WARNING, "Client {0} with name {1} has not started a game yet", id, sender.getName());
+        return false;
+    }
+
+    /**
+     * Evaluates a guess and answers in the format the guess was sent in
+     *
+     * @param sender the player
+     * @param id the connection ID from which the guess was sent
+     * @param guess the guess packed by {@link model.general.config.WordCodec}
+     * @param valid whether the guess is a word of the players dictionary
+     * @param packed whether the guess came as PackedGuessMessage
+     * @param text the guess as shown in the log
+     */
+    private void handleGuess(Player sender, int id, long guess, boolean valid, boolean packed, String text) {
+        final AnswerStrategy answer = sender.getAnswerStrategy();
+        final WordDictionary dictionary = sender.getDictionary();
+        if (sender.canSubmitGuess() && valid) {
+            final int[] patterns = sender.submitGuess(guess);
+            LOGGER.log(System.Logger.Level.INFO, "Client {0} with name {1}: accepted guess {2} (answer is {3})", id, sender.getName(), text, sender.getCurrentAnswer());
+            if (answer.getBoardCount() > 1) {
+                send(sender, new GuessResponse(patterns));
+            } else {
+                final int candidates = dictionary.narrowCandidates(sender.getCandidates(), guess, patterns[0]);
+                final int remaining = logic.getConfig().isShowRemainingCandidates() ? candidates : GuessResponse.UNKNOWN_CANDIDATES;
+                if (packed)
+                    send(sender, new PackedGuessResponse(patterns[0], remaining));
+                else
+                    send(sender, new GuessResponse(PackedFeedback.unpack(patterns[0], answer.getWordLength()), remaining));
+            }
+            if (sender.isSolved()) {
                 LOGGER.log(System.Logger.Level.INFO, "Client {0} with name {1}: guessed the correct answer", id, sender.getName());
-                sender.endGame(true);
-                sender.saveStats(logic.getConfig().getUserFolder());
+                finishGame(sender, true);
             } else if (!sender.canSubmitGuess()) {
-                sender.endGame(false);
-                sender.saveStats(logic.getConfig().getUserFolder());
+                finishGame(sender, false);
+            } else {
+                saveProgress(sender);
             }
+            logic.getSpectators().publish(sender);
         } else {
-            LOGGER.log(System.Logger.Level.WARNING, "Client {0} with name {1}: rejected guess {2} (answer is {3})", id, sender.getName(), msg.getGuess(), sender.getCurrentAnswer());
-            send(sender, new GuessResponse(false, new ArrayList<>()));
+            LOGGER.log(System.Logger.Level.WARNING, "Client {0} with name {1}: rejected guess {2} (answer is {3})", id, sender.getName(), text, sender.getCurrentAnswer());
+            if (packed)
+                send(sender, new PackedGuessResponse(PackedGuessResponse.REJECTED, GuessResponse.UNKNOWN_CANDIDATES));
+            else
+                send(sender, new GuessResponse(false, new ArrayList<>()));
         }
         LOGGER.log(System.Logger.Level.INFO, "Client {0} with name {1} has {2} guesses remaining", id, sender.getName(), sender.getRemainingGuesses());
     }
 
     /**
+     * Ends the game of a player, pushes the change of the stats to the client, saves them and reports
+     * the result to the global stats.
+     * The points of a won time attack game depend on the solve time, corrected by the round trip time.
+     */
+    private void finishGame(Player player, boolean won) {
+        long solveMillis = -1;
+        if (player.isTimed()) {
+            final ServerGameConfig config = logic.getConfig();
+            final long compensation = config.getMaxRttCompensationMillis() * 1_000_000L;
+            final long solveNanos = player.getSolveNanos(logic.getReceivedAt(), compensation);
+            final int lost = (int) (solveNanos / (Math.max(1, config.getTimedSecondsPerPoint()) * 1_000_000_000L));
+            final int points = won ? Math.max(1, config.getTimedMaxPoints() - lost) : 0;
+            if (won) {
+                player.setDailyOrRandom(false, points);
+                solveMillis = solveNanos / 1_000_000;
+            }
+            LOGGER.log(System.Logger.Level.INFO, "Client {0} with name {1} finished a time attack game in {2} ms (rtt {3} us)",
+                    player.getId(), player.getName(), solveNanos / 1_000_000, player.getRoundTripNanos() / 1_000);
+            send(player, new TimedResultResponse(won, solveNanos / 1_000_000, points,
+                    (int) (Math.min(player.getRoundTripNanos(), compensation) / 1_000_000)));
+        }
+        final int score = player.getScore();
+        final int solved = player.getWordlesSolved();
+        final int lost = player.getWordlesLost();
+        player.endGame(won);
+        final boolean bucketRaised = won && player.getGuessesMade() <= player.getGuessDistribution().length;
+        send(player, new StatsDeltaUpdate(player.getStatsVersion(), player.getScore() - score, player.getStreak(), player.getMaxStreak(),
+                player.getWordlesSolved() > solved, player.getWordlesLost() > lost,
+                bucketRaised ? player.getGuessesMade() - 1 : StatsDeltaUpdate.NO_BUCKET, player.getLastPlayDate()));
+        player.saveStats(logic.getConfig().getUserFolder(), logic.getBlockingExecutor());
+        logic.publishResult(new GameResult(player.getName(), player.getScore(), won, player.getGuessesMade(), solveMillis));
+    }
+
+    /**
+     * Sends the full stats, clients fetch them once after the login and keep them up to date with the
+     * StatsDeltaUpdates pushed at the end of every game.
      *
      * @param mag  the StatsRequestMessage to be processed
      * @param id the connection ID from which the message was sent
@@ -125,6 +300,116 @@ public class ServerMainState extends ServerState {
     @Override
     public void received(StatsRequestMessage mag, int id) {
         final Player sender = logic.getPlayerById(id);
-        send(sender, new StatsRequestResponse(sender));
+        send(sender, new StatsRequestResponse(sender, sender.getStatsVersion()));
+    }
+
+    /**
+     * Starts or stops watching another player, their progress is sent as SpectatorUpdates.
+     *
+     * @param msg  the SpectateMessage to be processed
+     * @param id the connection ID from which the message was sent
+     */
+    @Override
+    public void received(SpectateMessage msg, int id) {
+        final Player sender = logic.getPlayerById(id);
+        if (msg.isStop()) {
+            LOGGER.log(System.Logger.Level.INFO, "Client {0} with name {1} stopped watching", id, sender.getName());
+            logic.getSpectators().unwatch(id);
+        } else if (msg.getPlayer().equals(sender.getName())) {
+            LOGGER.log(System.Logger.Level.WARNING, "Client {0} with name {1} tried to watch themselves", id, sender.getName());
+        } else {
+            LOGGER.log(System.Logger.Level.INFO, "Client {0} with name {1} watches {2}", id, sender.getName(), msg.getPlayer());
+            logic.getSpectators().watch(id, msg.getPlayer());
+        }
+    }
+
+    /**
+     * Measures the round trip time of the connection from the answer to a ping.
+     *
+     * @param msg  the PongMessage to be processed
+     * @param id the connection ID from which the message was sent
+     */
+    @Override
+    public void received(PongMessage msg, int id) {
+        logic.receivedPong(logic.getPlayerById(id), msg.getSequence());
+    }
+
+    /**
+     * Finds a seat in a race room for the requested word length, the room answers with RaceLobbyUpdates.
+     *
+     * @param msg  the RaceJoinMessage to be processed
+     * @param id the connection ID from which the message was sent
+     */
+    @Override
+    public void received(RaceJoinMessage msg, int id) {
+        final Player sender = logic.getPlayerById(id);
+        final WordleEngine engine = logic.getWordleEngine();
+        final WordDictionary dictionary = engine.getDictionary(msg.getWordLength());
+        if (dictionary == null) {
+            LOGGER.log(System.Logger.Level.WARNING, "Client {0} with name {1} requested {2} letters, there are no such words", id, sender.getName(), msg.getWordLength());
+            send(sender, new RejectedResponse(msg.getClass().getSimpleName(), RejectReason.UNSUPPORTED));
+            return;
+        }
+        if (msg.isPractice()) {
+            LOGGER.log(System.Logger.Level.INFO, "Client {0} with name {1} races against {2} bots", id, sender.getName(), msg.getBots());
+            logic.getRaces().practice(id, sender.getName(), dictionary, msg.getBots(), msg.getBotTopK());
+        } else {
+            LOGGER.log(System.Logger.Level.INFO, "Client {0} with name {1} joins a race", id, sender.getName());
+            logic.getRaces().join(id, sender.getName(), dictionary);
+        }
+    }
+
+    /**
+     * Forwards a guess to the race room of the player, the room rates it on its own shard.
+     *
+     * @param msg  the RaceGuessMessage to be processed
+     * @param id the connection ID from which the message was sent
+     */
+    @Override
+    public void received(RaceGuessMessage msg, int id) {
+        logic.getRaces().guess(id, msg.getGuess());
+    }
+
+    /**
+     * Sends the best next guesses for the players current game.
+     *
+     * @param msg  the HintRequestMessage to be processed
+     * @param id the connection ID from which the message was sent
+     */
+    @Override
+    public void received(HintRequestMessage msg, int id) {
+        final Player sender = logic.getPlayerById(id);
+        if (!sender.isGameActive()) {
+            LOGGER.log(System.Logger.Level.WARNING, "Client {0} with name {1} requested a hint without an active game", id, sender.getName());
+            return;
+        }
+        if (sender.getAnswerStrategy().getBoardCount() > 1) {
+            LOGGER.log(System.Logger.Level.WARNING, "Client {0} with name {1} requested a hint for a multi board game", id, sender.getName());
+            send(sender, new HintResponse(List.of()));
+            return;
+        }
+        final long budget = logic.getConfig().getHintBudgetMillis() * 1_000_000L;
+        final int count = logic.getConfig().getHintCount();
+        final Solver solver = logic.getSolver(sender.getDictionary());
+        // the scan runs on the solver pool and must not see the candidates of later guesses
+        final CandidateSet candidates = sender.getCandidates().copy();
+        final AnswerStrategy game = sender.getAnswerStrategy();
+        final int guessesMade = sender.getGuessesMade();
+        final long firstGuess = guessesMade == 1 ? sender.getGuess(0) : 0L;
+        final int firstPattern = guessesMade == 1 ? sender.getPattern(0) : 0;
+        logic.runOnSolverPool(() -> guessesMade == 1
+                ? solver.rankGuesses(candidates, firstGuess, firstPattern, count, budget)
+                : solver.rankGuesses(candidates, count, budget), ranked -> {
+            if (logic.getPlayerById(id) != sender || !sender.isGameActive()
+                    || sender.getAnswerStrategy() != game || sender.getGuessesMade() != guessesMade) {
+                LOGGER.log(System.Logger.Level.INFO, "Client {0} moved on before its hints were ranked", id);
+                return;
+            }
+            final List<String> hints = ranked.stream()
+                    .map(Solver.Hint::word)
+                    .toList();
+            LOGGER.log(System.Logger.Level.INFO, "Client {0} with name {1} receives hints {2}", id, sender.getName(), hints);
+            send(sender, new HintResponse(hints));
+        });
     }
 }
@@ -5,6 +5,10 @@ import model.server.Player;
 import model.general.message.server.ClientMessageInterpreter;
 import model.general.message.server.ServerMessage;
 import server.network.ServerSender;
+import server.network.SharedFrame;
+
+import java.io.IOException;
+import java.util.List;
 
 /**
  * Abstract base for the various states in the server's game lifecycle.
@@ -77,7 +81,9 @@ abstract class ServerState implements ClientMessageInterpreter {
      */
     public void receive(ClientMessage msg, int id) {
         final Player sender = logic.getPlayerById(id);
-        if (!(msg instanceof LoginMessage) && !sender.isAuthenticated()) {
+        if (sender == null) {
+            LOGGER.log(System.Logger.Level.INFO, "Dropped message from client {0} that already left", id);
+        } else if (!(msg instanceof LoginMessage) && !sender.isAuthenticated()) {
             LOGGER.log(System.Logger.Level.WARNING, "Blocked message from unauthenticated user {0}", id);
         } else {
             msg.accept(this, id);
@@ -111,6 +117,16 @@ abstract class ServerState implements ClientMessageInterpreter {
         LOGGER.log(System.Logger.Level.ERROR, "receiving a GuessMessage not allowed in {0}", getName());
     }
 
+    /**
+     * Called when a PackedGuessMessage is received in this state.
+     * @param msg  the PackedGuessMessage to be processed
+     * @param id the connection ID from which the message was sent
+     */
+    @Override
+    public void received(PackedGuessMessage msg, int id) {
+        LOGGER.log(System.Logger.Level.ERROR, "receiving a PackedGuessMessage not allowed in {0}", getName());
+    }
+
     /**
      * Called when a DisconnectMessage is received in this state.
      * @param msg  the DisconnectMessage to be processed
@@ -129,6 +145,55 @@ abstract class ServerState implements ClientMessageInterpreter {
         LOGGER.log(System.Logger.Level.ERROR, "receiving a StatsRequestMessage not allowed in {0}", getName());
     }
 
+    /**
+     * Called when a HintRequestMessage is received in this state.
+     * @param msg  the HintRequestMessage to be processed
+     * @param id the connection ID from which the message was sent
+     */
+    public void received(HintRequestMessage msg, int id) {
+        LOGGER.log(System.Logger.Level.ERROR, "receiving a HintRequestMessage not allowed in {0}", getName());
+    }
+
+    /**
+     * Called when a SpectateMessage is received in this state.
+     * @param msg  the SpectateMessage to be processed
+     * @param id the connection ID from which the message was sent
+     */
+    @Override
+    public void received(SpectateMessage msg, int id) {
+        LOGGER.log(System.Logger.Level.ERROR, "receiving a SpectateMessage not allowed in {0}", getName());
+    }
+
+    /**
+     * Called when a PongMessage is received in this state.
+     * @param msg  the PongMessage to be processed
+     * @param id the connection ID from which the message was sent
+     */
+    @Override
+    public void received(PongMessage msg, int id) {
+        LOGGER.log(System.Logger.Level.ERROR, "receiving a PongMessage not allowed in {0}", getName());
+    }
+
+    /**
+     * Called when a RaceJoinMessage is received in this state.
+     * @param msg  the RaceJoinMessage to be processed
+     * @param id the connection ID from which the message was sent
+     */
+    @Override
+    public void received(RaceJoinMessage msg, int id) {
+        LOGGER.log(System.Logger.Level.ERROR, "receiving a RaceJoinMessage not allowed in {0}", getName());
+    }
+
+    /**
+     * Called when a RaceGuessMessage is received in this state.
+     * @param msg  the RaceGuessMessage to be processed
+     * @param id the connection ID from which the message was sent
+     */
+    @Override
+    public void received(RaceGuessMessage msg, int id) {
+        LOGGER.log(System.Logger.Level.ERROR, "receiving a RaceGuessMessage not allowed in {0}", getName());
+    }
+
     /**
      * Attempts to add a new player to the current game state.
      *
@@ -139,11 +204,21 @@ abstract class ServerState implements ClientMessageInterpreter {
     }
 
     /**
-     * Notifies all players of the game setup.
+     * Sends a message to all players of this logic, the message is encoded only once.
+     *
+     * @param msg the message to send
      */
-    private void broadcast(ServerMessage msg) {
-        for (Player p : logic.getPlayers()) {
-            send(p, msg);
+    void broadcast(ServerMessage msg) {
+        final List<Player> players = logic.getPlayers();
+        final int[] ids = new int[players.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = players.get(i).getId();
+        }
+        LOGGER.log(System.Logger.Level.INFO, "broadcasting to {0} players: {1}", ids.length, msg);
+        try {
+            logic.getServerSender().broadcast(ids, ids.length, SharedFrame.of(msg, false));
+        } catch (IOException e) {
+            LOGGER.log(System.Logger.Level.ERROR, "could not encode " + msg, e);
         }
     }
 }
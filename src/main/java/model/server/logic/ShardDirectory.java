@@ -0,0 +1,144 @@
+package model.server.logic;
+
+import model.server.config.ServerGameConfig;
+import server.network.SharedFrame;
+
+import java.util.Arrays;
+
+/**
+ * The game logics of all shards and the services they share.
+ * <p>
+ * A client is owned by the shard its connection ID maps to, only that shard touches its
+ * player and sends to its connection. Features spanning clients of several shards, like
+ * spectators and race rooms, hand their work to the owning shards through this directory.
+ * </p>
+ */
+public class ShardDirectory {
+    private final ServerGameLogic[] shards;
+    private final SpectatorHub spectators;
+    private final RaceLobbies races;
+    private final BotPool bots;
+
+    /**
+     * Creates a new directory, every shard has to {@link #attach(int, ServerGameLogic)} itself
+     *
+     * @param shardCount the amount of logic shards
+     * @param config the server configuration
+     */
+    public ShardDirectory(int shardCount, ServerGameConfig config) {
+        this.shards = new ServerGameLogic[shardCount];
+        this.spectators = new SpectatorHub(this);
+        this.races = new RaceLobbies(this, config);
+        this.bots = new BotPool(config);
+    }
+
+    /**
+     * Registers the game logic of a shard, called once per shard before messages are handled
+     *
+     * @param shard the index of the shard
+     * @param logic the game logic of the shard
+     */
+    public void attach(int shard, ServerGameLogic logic) {
+        shards[shard] = logic;
+    }
+
+    /**
+     * Returns the shard owning a connection
+     *
+     * @param id the connection ID
+     * @return the index of the shard
+     */
+    public int shardOf(int id) {
+        return Math.floorMod(id, shards.length);
+    }
+
+    /**
+     * Returns the amount of shards
+     *
+     * @return the amount as int
+     */
+    public int size() {
+        return shards.length;
+    }
+
+    /**
+     * Returns the amount of race rooms waiting for players or racing
+     *
+     * @return the amount as int
+     */
+    public int getActiveRaceRooms() {
+        return races.getActiveRooms();
+    }
+
+    /**
+     * Returns the pool computing the moves of all bots
+     *
+     * @return the {@link BotPool}
+     */
+    public BotPool getBots() {
+        return bots;
+    }
+
+    ServerGameLogic get(int shard) {
+        return shards[shard];
+    }
+
+    SpectatorHub getSpectators() {
+        return spectators;
+    }
+
+    RaceLobbies getRaces() {
+        return races;
+    }
+
+    /**
+     * Sends a frame to clients of any shard, the shards of the clients copy it on their own threads
+     *
+     * @param ids the connection IDs, only the first count are used
+     * @param count the amount of clients
+     * @param frame the encoded message
+     * @param from the shard of the calling thread
+     */
+    void broadcast(int[] ids, int count, SharedFrame frame, int from) {
+        for (int shard = 0; shard < shards.length; shard++) {
+            int owned = 0;
+            for (int i = 0; i < count; i++) {
+                if (shardOf(ids[i]) == shard) owned++;
+            }
+            if (owned == 0) continue;
+            final int[] group = new int[owned];
+            owned = 0;
+            for (int i = 0; i < count; i++) {
+                if (shardOf(ids[i]) == shard) group[owned++] = ids[i];
+            }
+            deliver(shard, group, frame, from);
+        }
+    }
+
+    /**
+     * Sends a frame to clients of one shard
+     *
+     * @param shard the shard owning all the clients
+     * @param ids the connection IDs, must not change afterwards
+     * @param frame the encoded message
+     * @param from the shard of the calling thread
+     */
+    void deliver(int shard, int[] ids, SharedFrame frame, int from) {
+        final ServerGameLogic target = shards[shard];
+        if (shard == from)
+            target.getServerSender().broadcast(ids, ids.length, frame);
+        else
+            target.execute(() -> target.getServerSender().broadcast(ids, ids.length, frame));
+    }
+
+    /**
+     * Creates an empty id set per shard
+     *
+     * @return the arrays indexed by shard
+     */
+    int[][] newIdsByShard() {
+        final int[][] byShard = new int[shards.length][];
+        Arrays.fill(byShard, new int[0]);
+        return byShard;
+    }
+}
@@ -0,0 +1,408 @@
+package model.server.logic;
+
+import model.general.config.CharacterPosition;
+import model.general.config.PackedFeedback;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Ranks guesses by the expected information they reveal about the remaining answers.
+ * <p>
+ * For every allowed guess the remaining candidates are bucketed by the feedback
+ * pattern they would produce, the entropy of that distribution is the expected
+ * information gain in bits. The scan over all guesses is split into
+ * {@link RecursiveAction}s running on the given {@link ForkJoinPool}.
+ * </p>
+ * <p>
+ * Every request has a latency budget. The ranking for the opening position is the same
+ * for every game, it is computed once in the background and answered from that cache.
+ * Until then, and for the second guess after the books first guess, the precomputed
+ * {@link OpeningBook} of the dictionary answers in O(1).
+ * If a request runs over its budget the guesses scanned so far are not used, they are the ones
+ * at the start of the list. Instead the last complete ranking of the same candidates is returned,
+ * at the opening position the opening ranking or book, else no hints.
+ * </p>
+ * <p>
+ * Callers that must not share the pool of the hints, like bots, pass their own pool and a
+ * cancellation check that is polled as often as the budget.
+ * </p>
+ */
+public class Solver {
+    /**
+     * Logger for events and errors
+     */
+    public static System.Logger LOGGER = System.getLogger(Solver.class.getName());
+
+    /**
+     * Amount of guesses scanned by a single task
+     */
+    private static final int CHUNK_SIZE = 256;
+
+    /**
+     * Cancellation check of requests that can not be cancelled
+     */
+    private static final BooleanSupplier NEVER = () -> false;
+
+    /**
+     * Amount of hints cached for the opening position
+     */
+    private static final int OPENING_HINTS = 10;
+
+    /**
+     * Amount of complete rankings kept for requests over budget, a power of two
+     */
+    private static final int RANKING_SLOTS = 64;
+
+    /**
+     * A ranked guess
+     *
+     * @param word the guessed word
+     * @param entropy the expected information gain in bits, NaN if the hint was taken from the opening book
+     * @param candidate true if the word itself could still be the answer
+     */
+    public record Hint(String word, double entropy, boolean candidate) {}
+
+    /**
+     * A complete ranking of the given remaining answers
+     */
+    private record Ranking(long[] remaining, List<Hint> hints) {}
+
+    /**
+     * The dictionary providing the word lists
+     */
+    private final WordDictionary dictionary;
+
+    /**
+     * The pool used for the candidate scan
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * Packed allowed guesses, the answers come first
+     */
+    private final long[] guessCodes;
+
+    /**
+     * c * log2(c) for every possible bucket size c
+     */
+    private final double[] weightedLog;
+
+    /**
+     * Ranking of the opening position, computed in the background
+     */
+    private final CompletableFuture<List<Hint>> opening;
+
+    /**
+     * The last complete rankings, indexed by the hash of their remaining answers
+     */
+    private final AtomicReferenceArray<Ranking> rankings = new AtomicReferenceArray<>(RANKING_SLOTS);
+
+    /**
+     * Scratch arrays of {@link #entropy}, the buckets, patterns and touched buckets of a scan thread
+     */
+    private final ThreadLocal<int[][]> scanScratch;
+
+    /**
+     * Creates a new solver and starts computing the opening ranking
+     *
+     * @param dictionary the dictionary providing the word lists
+     * @param pool the pool used for the candidate scan
+     */
+    public Solver(WordDictionary dictionary, ForkJoinPool pool) {
+        this.dictionary = dictionary;
+        this.pool = pool;
+        this.guessCodes = dictionary.getGuessCodes();
+        final int answers = dictionary.getAnswerCodes().length;
+        weightedLog = weightedLog(answers);
+        final int buckets = 1 << (dictionary.getWordLength() * PackedFeedback.BITS_PER_TILE);
+        scanScratch = ThreadLocal.withInitial(() -> new int[][]{new int[buckets], new int[answers], new int[answers]});
+        opening = CompletableFuture.supplyAsync(() -> {
+            final long start = System.nanoTime();
+            final List<Hint> hints = scan(dictionary.newCandidateSet(), OPENING_HINTS, Long.MAX_VALUE, pool, NEVER);
+            LOGGER.log(System.Logger.Level.INFO, "Computed opening hints in {0} ms: {1}", (System.nanoTime() - start) / 1_000_000, hints);
+            return hints;
+        }, pool);
+    }
+
+    /**
+     * Ranks the next guesses for a game given its guesses and their feedback
+     *
+     * @param guesses the guesses made so far
+     * @param feedback the feedback for each guess
+     * @param limit the maximum amount of hints
+     * @param budgetNanos the latency budget in nanoseconds
+     * @return the best guesses, best first
+     */
+    public List<Hint> rankGuesses(List<String> guesses, List<List<CharacterPosition>> feedback, int limit, long budgetNanos) {
+        final CandidateSet candidates = dictionary.newCandidateSet();
+        for (int i = 0; i < guesses.size(); i++) {
+            dictionary.narrowCandidates(candidates, guesses.get(i), PackedFeedback.pack(feedback.get(i)));
+        }
+        if (guesses.size() == 1) {
+            return rankGuesses(candidates, dictionary.encode(guesses.get(0)), PackedFeedback.pack(feedback.get(0)), limit, budgetNanos);
+        }
+        return rankGuesses(candidates, limit, budgetNanos);
+    }
+
+    /**
+     * Ranks the next guesses for the given remaining candidates
+     *
+     * @param candidates the answers still consistent with all feedback
+     * @param limit the maximum amount of hints
+     * @param budgetNanos the latency budget in nanoseconds
+     * @return the best guesses, best first
+     */
+    public List<Hint> rankGuesses(CandidateSet candidates, int limit, long budgetNanos) {
+        return rankGuesses(candidates, limit, budgetNanos, pool, NEVER);
+    }
+
+    /**
+     * Ranks the next guesses for the given remaining candidates on a pool of the caller.
+     * A cancelled request returns the same fallback as one over its budget.
+     *
+     * @param candidates the answers still consistent with all feedback
+     * @param limit the maximum amount of hints
+     * @param budgetNanos the latency budget in nanoseconds
+     * @param scanPool the pool used for the candidate scan
+     * @param cancelled polled during the scan, the scan stops once it returns true
+     * @return the best guesses, best first
+     */
+    public List<Hint> rankGuesses(CandidateSet candidates, int limit, long budgetNanos, ForkJoinPool scanPool, BooleanSupplier cancelled) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        if (candidates.count() == dictionary.getAnswerCodes().length) {
+            if (opening.isDone() || budgetNanos == Long.MAX_VALUE) {
+                final List<Hint> hints = opening.join();
+                return hints.subList(0, Math.min(limit, hints.size()));
+            }
+            final OpeningBook book = dictionary.getOpeningBook();
+            if (book != null) {
+                final Hint hint = bookHint(candidates, book.firstGuess(OpeningBook.Pool.WORDLIST), book.firstGuess(OpeningBook.Pool.ANSWERS));
+                if (hint != null) return List.of(hint);
+            }
+        }
+        return scan(candidates, limit, budgetNanos, scanPool, cancelled);
+    }
+
+    /**
+     * Ranks the second guess of a game, answering from the opening book if the first
+     * guess was the one suggested by the book
+     *
+     * @param candidates the answers still consistent with the feedback of the first guess
+     * @param firstGuess the packed first guess
+     * @param firstPattern the packed feedback of the first guess
+     * @param limit the maximum amount of hints
+     * @param budgetNanos the latency budget in nanoseconds
+     * @return the best guesses, best first
+     */
+    public List<Hint> rankGuesses(CandidateSet candidates, long firstGuess, int firstPattern, int limit, long budgetNanos) {
+        final OpeningBook book = dictionary.getOpeningBook();
+        if (limit > 0 && book != null) {
+            final long wordlistGuess = firstGuess == book.firstGuess(OpeningBook.Pool.WORDLIST)
+                    ? book.secondGuess(OpeningBook.Pool.WORDLIST, firstPattern)
+                    : OpeningBook.NO_GUESS;
+            final long answersGuess = firstGuess == book.firstGuess(OpeningBook.Pool.ANSWERS)
+                    ? book.secondGuess(OpeningBook.Pool.ANSWERS, firstPattern)
+                    : OpeningBook.NO_GUESS;
+            final Hint hint = bookHint(candidates, wordlistGuess, answersGuess);
+            if (hint != null) return List.of(hint);
+        }
+        return rankGuesses(candidates, limit, budgetNanos);
+    }
+
+    /**
+     * Creates a hint from the opening book, preferring the first guess if it is allowed
+     *
+     * @return the hint or null if neither guess is allowed
+     */
+    private Hint bookHint(CandidateSet candidates, long preferred, long fallback) {
+        for (long guess : new long[]{preferred, fallback}) {
+            if (guess == OpeningBook.NO_GUESS) continue;
+            final String word = dictionary.decode(guess);
+            if (dictionary.isValidWord(word)) {
+                final int index = dictionary.indexOfAnswer(word);
+                return new Hint(word, Double.NaN, index >= 0 && candidates.contains(index));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Scans all allowed guesses until the budget is used up or the request is cancelled
+     */
+    private List<Hint> scan(CandidateSet candidates, int limit, long budgetNanos, ForkJoinPool scanPool, BooleanSupplier cancelled) {
+        final long[] answers = dictionary.getAnswerCodes();
+        final int count = candidates.count();
+        if (count <= 2) {
+            final List<Hint> hints = new ArrayList<>(count);
+            for (int i = candidates.nextCandidate(0); i >= 0 && hints.size() < limit; i = candidates.nextCandidate(i + 1)) {
+                hints.add(new Hint(dictionary.getAnswers().get(i), count == 2 ? 1.0 : 0.0, true));
+            }
+            return hints;
+        }
+
+        final long[] remaining = new long[count];
+        int n = 0;
+        for (int i = candidates.nextCandidate(0); i >= 0; i = candidates.nextCandidate(i + 1)) {
+            remaining[n++] = answers[i];
+        }
+
+        final double[] entropies = new double[guessCodes.length];
+        Arrays.fill(entropies, Double.NaN);
+        final long deadline = budgetNanos == Long.MAX_VALUE ? Long.MAX_VALUE : System.nanoTime() + budgetNanos;
+        scanPool.invoke(new ScanTask(remaining, entropies, deadline, cancelled, 0, guessCodes.length));
+
+        int skipped = 0;
+        for (double entropy : entropies) {
+            if (Double.isNaN(entropy)) skipped++;
+        }
+        final int hash = Arrays.hashCode(remaining);
+        if (skipped > 0) {
+            if (!cancelled.getAsBoolean())
+                LOGGER.log(System.Logger.Level.WARNING, "Hint scan over {0} candidates ran out of budget, skipped {1} guesses", count, skipped);
+            return fallback(candidates, remaining, hash, limit);
+        }
+        final List<Hint> hints = best(entropies, candidates, limit);
+        rankings.set(hash & (RANKING_SLOTS - 1), new Ranking(remaining, hints));
+        return hints;
+    }
+
+    /**
+     * Answers a request whose scan did not finish: the last complete ranking of the same
+     * candidates, at the opening position the opening ranking or book, else no hints
+     */
+    private List<Hint> fallback(CandidateSet candidates, long[] remaining, int hash, int limit) {
+        final Ranking ranking = rankings.get(hash & (RANKING_SLOTS - 1));
+        if (ranking != null && Arrays.equals(ranking.remaining(), remaining)) {
+            return ranking.hints().subList(0, Math.min(limit, ranking.hints().size()));
+        }
+        if (remaining.length == dictionary.getAnswerCodes().length) {
+            final List<Hint> hints = opening.getNow(null);
+            if (hints != null) return hints.subList(0, Math.min(limit, hints.size()));
+            final OpeningBook book = dictionary.getOpeningBook();
+            if (book != null) {
+                final Hint hint = bookHint(candidates, book.firstGuess(OpeningBook.Pool.WORDLIST), book.firstGuess(OpeningBook.Pool.ANSWERS));
+                if (hint != null) return List.of(hint);
+            }
+        }
+        return List.of();
+    }
+
+    /**
+     * Selects the best scanned guesses, preferring words that could still be the answer on ties
+     */
+    private List<Hint> best(double[] entropies, CandidateSet candidates, int limit) {
+        final int answerCount = dictionary.getAnswerCodes().length;
+        final List<Hint> hints = new ArrayList<>(limit + 1);
+        for (int g = 0; g < entropies.length; g++) {
+            final double entropy = entropies[g];
+            if (Double.isNaN(entropy)) continue;
+            final boolean candidate = g < answerCount && candidates.contains(g);
+            if (hints.size() == limit && !isBetter(entropy, candidate, hints.get(limit - 1))) continue;
+            int at = hints.size();
+            while (at > 0 && isBetter(entropy, candidate, hints.get(at - 1))) at--;
+            hints.add(at, new Hint(dictionary.decode(guessCodes[g]), entropy, candidate));
+            if (hints.size() > limit) hints.remove(limit);
+        }
+        return hints;
+    }
+
+    private static boolean isBetter(double entropy, boolean candidate, Hint other) {
+        if (entropy != other.entropy()) return entropy > other.entropy();
+        return candidate && !other.candidate();
+    }
+
+    /**
+     * Computes c * log2(c) for every bucket size c up to the given maximum
+     *
+     * @param max the largest possible bucket size
+     * @return the values indexed by c
+     */
+    static double[] weightedLog(int max) {
+        final double[] values = new double[max + 1];
+        for (int c = 2; c <= max; c++) {
+            values[c] = c * Math.log(c) / Math.log(2);
+        }
+        return values;
+    }
+
+    /**
+     * Computes the expected information gain of a guess over the remaining answers
+     *
+     * @param guess the packed guess
+     * @param remaining the packed remaining answers
+     * @param length the word length
+     * @param buckets zeroed scratch array with one entry per feedback pattern, zeroed again on return
+     * @param patterns scratch array at least as long as remaining
+     * @param touched scratch array at least as long as remaining
+     * @param weightedLog the values of {@link #weightedLog(int)}
+     * @return the entropy in bits
+     */
+    static double entropy(long guess, long[] remaining, int length, int[] buckets, int[] patterns, int[] touched, double[] weightedLog) {
+        WordleEngine.evaluateBulk(guess, remaining, length, patterns);
+        int distinct = 0;
+        for (int a = 0; a < remaining.length; a++) {
+            final int pattern = patterns[a];
+            if (buckets[pattern]++ == 0) {
+                touched[distinct++] = pattern;
+            }
+        }
+        double sum = 0;
+        for (int b = 0; b < distinct; b++) {
+            sum += weightedLog[buckets[touched[b]]];
+            buckets[touched[b]] = 0;
+        }
+        return Math.log(remaining.length) / Math.log(2) - sum / remaining.length;
+    }
+
+    /**
+     * Computes the entropy of a range of guesses, splitting it until it is small enough
+     */
+    private class ScanTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final long[] remaining;
+        private final double[] entropies;
+        private final long deadline;
+        private final BooleanSupplier cancelled;
+        private final int from;
+        private final int to;
+
+        ScanTask(long[] remaining, double[] entropies, long deadline, BooleanSupplier cancelled, int from, int to) {
+            this.remaining = remaining;
+            this.entropies = entropies;
+            this.deadline = deadline;
+            this.cancelled = cancelled;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > CHUNK_SIZE) {
+                final int mid = (from + to) >>> 1;
+                invokeAll(new ScanTask(remaining, entropies, deadline, cancelled, from, mid),
+                          new ScanTask(remaining, entropies, deadline, cancelled, mid, to));
+                return;
+            }
+            final int length = dictionary.getWordLength();
+            final int[][] scratch = scanScratch.get();
+            final int[] buckets = scratch[0];
+            final int[] patterns = scratch[1];
+            final int[] touched = scratch[2];
+            for (int g = from; g < to; g++) {
+                if (deadline != Long.MAX_VALUE && System.nanoTime() - deadline > 0) return;
+                if (cancelled.getAsBoolean()) return;
+                entropies[g] = entropy(guessCodes[g], remaining, length, buckets, patterns, touched, weightedLog);
+            }
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package model.server.logic;
+
+import model.general.message.server.SpectatorUpdate;
+import model.server.Player;
+import server.network.SharedFrame;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index of the clients watching other players, shared by all logic shards.
+ * <p>
+ * Watchers are indexed by the name of the watched player, so publishing the progress of a
+ * player without watchers costs one map lookup. Every entry is an immutable set of watcher
+ * ids grouped by shard that is replaced on change, readers never lock. The shard of the
+ * watched player encodes every {@link SpectatorUpdate} once and hands the encoded frame to
+ * the shards of the watchers, each of them copies it to its own watchers.
+ * </p>
+ * <p>
+ * Watchers and watched players live on any shard. Players are only touched on the thread of
+ * their shard, so everything needing the watched player runs as a task on its shard.
+ * </p>
+ */
+public class SpectatorHub {
+    private static final System.Logger LOGGER = System.getLogger(SpectatorHub.class.getName());
+
+    private static final int[] EMPTY = new int[0];
+
+    /**
+     * Watcher ids of a watched player, indexed by the shard of the watcher
+     */
+    private record Watchers(int[][] byShard) {
+        boolean isEmpty() {
+            for (int[] ids : byShard) {
+                if (ids.length > 0) return false;
+            }
+            return true;
+        }
+
+        Watchers with(int shard, int id) {
+            final int[][] copy = byShard.clone();
+            copy[shard] = Arrays.copyOf(byShard[shard], byShard[shard].length + 1);
+            copy[shard][byShard[shard].length] = id;
+            return new Watchers(copy);
+        }
+
+        Watchers without(int shard, int id) {
+            final int[] ids = byShard[shard];
+            int index = 0;
+            while (index < ids.length && ids[index] != id) index++;
+            if (index == ids.length) return this;
+            final int[][] copy = byShard.clone();
+            copy[shard] = new int[ids.length - 1];
+            System.arraycopy(ids, 0, copy[shard], 0, index);
+            System.arraycopy(ids, index + 1, copy[shard], index, ids.length - index - 1);
+            return new Watchers(copy);
+        }
+    }
+
+    private final ShardDirectory shards;
+
+    /**
+     * Watchers by the name of the watched player
+     */
+    private final Map<String, Watchers> watchers = new ConcurrentHashMap<>();
+
+    /**
+     * Name of the watched player by watcher id
+     */
+    private final Map<Integer, String> watching = new ConcurrentHashMap<>();
+
+    /**
+     * Authenticated players by name
+     */
+    private final Map<String, Player> online = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new hub
+     *
+     * @param shards the shards of the watchers and watched players
+     */
+    SpectatorHub(ShardDirectory shards) {
+        this.shards = shards;
+    }
+
+    /**
+     * Makes an authenticated player watchable, called on the shard of the player
+     *
+     * @param player the player
+     */
+    void playerOnline(Player player) {
+        online.put(player.getName(), player);
+        publish(player);
+    }
+
+    /**
+     * Removes a leaving player, their watchers keep watching for their next login
+     *
+     * @param player the player
+     */
+    void playerLeft(Player player) {
+        online.remove(player.getName(), player);
+        unwatch(player.getId());
+    }
+
+    /**
+     * Starts watching a player, the watcher receives the current game right away if the player is online.
+     * Called on the shard of the watcher.
+     *
+     * @param id the connection ID of the watcher
+     * @param name the name of the watched player
+     */
+    void watch(int id, String name) {
+        unwatch(id);
+        watching.put(id, name);
+        final int shard = shards.shardOf(id);
+        watchers.compute(name, (key, current) -> current == null
+                ? new Watchers(shards.newIdsByShard()).with(shard, id)
+                : current.with(shard, id));
+        final Player player = online.get(name);
+        if (player != null) {
+            final int owner = shards.shardOf(player.getId());
+            shards.get(owner).execute(() -> {
+                final SharedFrame frame = online.get(name) == player ? encode(player) : null;
+                if (frame != null)
+                    shards.deliver(shard, new int[]{id}, frame, owner);
+            });
+        }
+    }
+
+    /**
+     * Stops watching, called on the shard of the watcher
+     *
+     * @param id the connection ID of the watcher
+     */
+    void unwatch(int id) {
+        final String name = watching.remove(id);
+        if (name == null) return;
+        final int shard = shards.shardOf(id);
+        watchers.computeIfPresent(name, (key, current) -> {
+            final Watchers remaining = current.without(shard, id);
+            return remaining.isEmpty() ? null : remaining;
+        });
+    }
+
+    /**
+     * Sends the current game of a player to all their watchers, called on the shard of the player
+     *
+     * @param player the watched player
+     */
+    void publish(Player player) {
+        final Watchers current = watchers.get(player.getName());
+        if (current == null) return;
+        final SharedFrame frame = encode(player);
+        if (frame == null) return;
+        final int own = shards.shardOf(player.getId());
+        for (int shard = 0; shard < current.byShard().length; shard++) {
+            if (current.byShard()[shard].length > 0)
+                shards.deliver(shard, current.byShard()[shard], frame, own);
+        }
+    }
+
+    /**
+     * Encodes the current game of a player, every update but the last of a game may be dropped for
+     * slow watchers, the next update replaces it
+     */
+    private static SharedFrame encode(Player player) {
+        final SpectatorUpdate update = snapshot(player);
+        try {
+            return SharedFrame.of(update, !update.isFinished());
+        } catch (IOException e) {
+            LOGGER.log(System.Logger.Level.ERROR, "could not encode the game of " + player, e);
+            return null;
+        }
+    }
+
+    private static SpectatorUpdate snapshot(Player player) {
+        final AnswerStrategy answer = player.getAnswerStrategy();
+        if (answer == null)
+            return new SpectatorUpdate(player.getName(), SpectatorUpdate.NOT_PLAYING, 0, 1, 0, EMPTY);
+        final int status;
+        if (player.isGameActive())
+            status = SpectatorUpdate.PLAYING;
+        else
+            status = player.isSolved() ? SpectatorUpdate.WON : SpectatorUpdate.LOST;
+        return new SpectatorUpdate(player.getName(), status, answer.getWordLength(), answer.getBoardCount(),
+                player.getMaxGuesses(), player.copyPatterns());
+    }
+}
@@ -0,0 +1,176 @@
+package model.server.logic;
+
+import java.util.Arrays;
+
+/**
+ * Hashed timer wheel running timers on the thread of one logic shard.
+ * <p>
+ * Timers are kept in a ring of slots, one slot per tick. Scheduling and cancelling a timer
+ * take constant time and allocate nothing, because every {@link Timer} is its own list node,
+ * so tens of thousands of game rooms can each keep a timer without a thread of their own.
+ * Timers further away than one turn of the wheel count down the turns left. The wheel is
+ * advanced by the tick of its shard, timers fire on that thread with the resolution of one
+ * wheel tick.
+ * </p>
+ */
+public class TimerWheel {
+    private static final System.Logger LOGGER = System.getLogger(TimerWheel.class.getName());
+
+    /**
+     * A timer, subclasses decide what happens when it fires
+     */
+    public abstract static class Timer {
+        private Timer previous;
+        private Timer next;
+        private int slot = -1;
+        private long turns;
+
+        /**
+         * Set while the timer waits to fire in the current advance, cleared if it is cancelled
+         */
+        private boolean due;
+
+        /**
+         * Called on the thread of the wheel once the timer fired
+         */
+        protected abstract void expire();
+
+        /**
+         * Checks if the timer waits in a wheel
+         *
+         * @return true if the timer is scheduled
+         */
+        public boolean isScheduled() {
+            return slot >= 0;
+        }
+    }
+
+    private final Timer[] slots;
+    private final int mask;
+    private final long tickNanos;
+    private final long startNanos;
+
+    /**
+     * Timers taken from their slot that fire once the slot was walked, reused by every advance
+     */
+    private Timer[] expiring = new Timer[16];
+
+    /**
+     * The wheel tick all timers up to it fired
+     */
+    private long tick;
+    private int scheduled;
+
+    /**
+     * Creates a new wheel
+     *
+     * @param slotCount the amount of slots, rounded up to a power of two
+     * @param tickNanos the time covered by one slot in nanoseconds
+     * @param nowNanos the current time of {@link System#nanoTime()}
+     */
+    public TimerWheel(int slotCount, long tickNanos, long nowNanos) {
+        final int size = Integer.highestOneBit(Math.max(2, slotCount - 1)) << 1;
+        this.slots = new Timer[size];
+        this.mask = size - 1;
+        this.tickNanos = tickNanos;
+        this.startNanos = nowNanos;
+    }
+
+    /**
+     * Schedules a timer, a scheduled timer is moved to the new time
+     *
+     * @param timer the timer
+     * @param delayNanos the time until the timer fires
+     * @param nowNanos the current time of {@link System#nanoTime()}
+     */
+    public void schedule(Timer timer, long delayNanos, long nowNanos) {
+        cancel(timer);
+        final long due = Math.max(tick + 1, (nowNanos - startNanos + delayNanos + tickNanos - 1) / tickNanos);
+        timer.turns = (due - tick - 1) / slots.length;
+        timer.slot = (int) (due & mask);
+        timer.previous = null;
+        timer.next = slots[timer.slot];
+        if (timer.next != null) {
+            timer.next.previous = timer;
+        }
+        slots[timer.slot] = timer;
+        scheduled++;
+    }
+
+    /**
+     * Removes a timer from the wheel, does nothing if it is not scheduled
+     *
+     * @param timer the timer
+     */
+    public void cancel(Timer timer) {
+        timer.due = false;
+        if (timer.slot < 0) return;
+        if (timer.previous != null)
+            timer.previous.next = timer.next;
+        else
+            slots[timer.slot] = timer.next;
+        if (timer.next != null) {
+            timer.next.previous = timer.previous;
+        }
+        timer.previous = null;
+        timer.next = null;
+        timer.slot = -1;
+        scheduled--;
+    }
+
+    /**
+     * Fires all timers due up to now
+     *
+     * @param nowNanos the current time of {@link System#nanoTime()}
+     */
+    public void advance(long nowNanos) {
+        final long target = (nowNanos - startNanos) / tickNanos;
+        while (tick < target) {
+            tick++;
+            if (scheduled == 0) {
+                tick = target;
+                break;
+            }
+            final int slot = (int) (tick & mask);
+            int count = 0;
+            Timer timer = slots[slot];
+            while (timer != null) {
+                final Timer next = timer.next;
+                if (timer.turns > 0) {
+                    timer.turns--;
+                } else {
+                    cancel(timer);
+                    timer.due = true;
+                    if (count == expiring.length) {
+                        expiring = Arrays.copyOf(expiring, count * 2);
+                    }
+                    expiring[count++] = timer;
+                }
+                timer = next;
+            }
+            // timers may schedule or cancel other timers when they fire, so the slot is walked first
+            for (int i = 0; i < count; i++) {
+                final Timer expired = expiring[i];
+                expiring[i] = null;
+                if (expired.due) {
+                    expired.due = false;
+                    try {
+                        expired.expire();
+                    } catch (RuntimeException e) {
+                        // the other timers of the slot still fire
+                        LOGGER.log(System.Logger.Level.ERROR, "Timer " + expired.getClass().getSimpleName() + " failed", e);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the amount of scheduled timers
+     *
+     * @return the amount as int
+     */
+    public int size() {
+        return scheduled;
+    }
+}
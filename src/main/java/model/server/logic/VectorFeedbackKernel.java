@@ -0,0 +1,111 @@
+package model.server.logic;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+import model.general.config.CharacterPosition;
+import model.general.config.PackedFeedback;
+import model.general.config.WordCodec;
+
+/**
+ * Evaluates one lane of answers per vector with the incubating Vector API.
+ * <p>
+ * Every lane produces the same feedback as {@link WordleEngine#evaluatePacked(long, long, int)},
+ * the branches become lane masks. The tail that does not fill a vector is evaluated
+ * by the scalar loop. Only loaded by {@link FeedbackKernel#load()} if the module
+ * {@code jdk.incubator.vector} is present.
+ * </p>
+ */
+class VectorFeedbackKernel implements FeedbackKernel {
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+
+    /**
+     * Int species with as many lanes as {@link #LONGS}, the packed feedback fits into an int
+     */
+    private static final VectorSpecies<Integer> INTS =
+            VectorSpecies.of(int.class, VectorShape.forBitSize(LONGS.vectorBitSize() / 2));
+
+    @Override
+    public void evaluate(long guess, long[] answers, int from, int to, int length, int[] results) {
+        final int bound = from + LONGS.loopBound(to - from);
+        int a = from;
+        for (; a < bound; a += LONGS.length()) {
+            evaluateLanes(guess, LongVector.fromArray(LONGS, answers, a), length)
+                    .convertShape(VectorOperators.L2I, INTS, 0)
+                    .reinterpretAsInts()
+                    .intoArray(results, a);
+        }
+        for (; a < to; a++) {
+            results[a] = WordleEngine.evaluatePacked(guess, answers[a], length);
+        }
+    }
+
+    /**
+     * Evaluates the guess against every lane of the answers.
+     * <p>
+     * Instead of searching the answer letter by letter, all letters of a lane are compared
+     * at once: a word xor a letter repeated in every field has a zero field wherever the
+     * word contains that letter, {@link #zeroFields} turns those into one bit per field.
+     * For every letter of the guess the fields of the answer holding it and not rated right
+     * are the occurrences left to rate wrong, every guessed occurrence from left to right
+     * consumes one of them.
+     * </p>
+     */
+    private static LongVector evaluateLanes(long guess, LongVector answers, int length) {
+        long ones = 0;
+        for (int i = 0; i < length; i++) {
+            ones |= 1L << (i * WordCodec.BITS_PER_LETTER);
+        }
+        final long high = ones << (WordCodec.BITS_PER_LETTER - 1);
+        final long low = high - ones;
+
+        final LongVector right = zeroFields(answers.lanewise(VectorOperators.XOR, guess), low, high);
+        LongVector pattern = LongVector.zero(LONGS);
+        for (int i = 0; i < length; i++) {
+            final VectorMask<Long> isRight = right.and(fieldBit(i)).compare(VectorOperators.NE, 0);
+            pattern = pattern.blend(pattern.or((long) CharacterPosition.RIGHT.ordinal() << (i * PackedFeedback.BITS_PER_TILE)), isRight);
+        }
+
+        int handled = 0;
+        for (int i = 0; i < length; i++) {
+            final int letter = WordCodec.letterAt(guess, i);
+            if ((handled & (1 << letter)) != 0) continue;
+            handled |= 1 << letter;
+            LongVector open = zeroFields(answers.lanewise(VectorOperators.XOR, letter * ones), low, high)
+                    .lanewise(VectorOperators.AND_NOT, right);
+            for (int k = i; k < length; k++) {
+                if (WordCodec.letterAt(guess, k) != letter) continue;
+                final VectorMask<Long> hit = right.and(fieldBit(k)).eq(0)
+                        .and(open.compare(VectorOperators.NE, 0));
+                pattern = pattern.blend(pattern.or((long) CharacterPosition.WRONG.ordinal() << (k * PackedFeedback.BITS_PER_TILE)), hit);
+                open = open.blend(open.and(open.sub(1)), hit);
+            }
+        }
+        return pattern;
+    }
+
+    /**
+     * Sets the highest bit of every field that is zero and clears all other bits.
+     * Adding the low bits of a field to all ones carries into its highest bit unless
+     * they were zero, the carry never leaves the field.
+     */
+    private static LongVector zeroFields(LongVector codes, long low, long high) {
+        final LongVector nonZero = codes.and(low).add(low).or(codes).and(high);
+        return nonZero.lanewise(VectorOperators.XOR, high);
+    }
+
+    /**
+     * Returns the highest bit of the field of the given position
+     */
+    private static long fieldBit(int position) {
+        return 1L << (position * WordCodec.BITS_PER_LETTER + WordCodec.BITS_PER_LETTER - 1);
+    }
+
+    @Override
+    public String getName() {
+        return "vector " + LONGS;
+    }
+}
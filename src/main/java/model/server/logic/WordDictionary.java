@@ -0,0 +1,396 @@
+package model.server.logic;
+
+import model.general.config.Alphabet;
+import model.general.config.PackedFeedback;
+import model.general.config.WordCodec;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+/**
+ * The answers and allowed guesses of a single word length.
+ * <p>
+ * Every dictionary has its own packed encoding of the words, a {@link PackedWordSet}
+ * to validate guesses and a {@link CandidateIndex} over its answers. The
+ * {@link WordleEngine} keeps one dictionary per supported length.
+ * </p>
+ */
+public class WordDictionary {
+    /**
+     * Length of all words in this dictionary
+     */
+    private final int wordLength;
+
+    /**
+     * Alphabet of all words in this dictionary
+     */
+    private final Alphabet alphabet;
+
+    /**
+     * List containing all possible answers
+     */
+    private final List<String> answers;
+
+    /**
+     * Index of every answer in the answer list
+     */
+    private final Map<String, Integer> answerIndex = new HashMap<>();
+
+    /**
+     * Packed answers, in the same order as the answer list
+     */
+    private final long[] answerCodes;
+
+    /**
+     * Checksum of the packed answers, see {@link OpeningBook#checksum(long[])}
+     */
+    private final int answersChecksum;
+
+    /**
+     * Packed allowed guesses without duplicates, starting with the answers
+     */
+    private final long[] guessCodes;
+
+    /**
+     * Packed allowed guesses used to validate guesses
+     */
+    private final PackedWordSet validGuesses;
+
+    /**
+     * Bitset index over the answers used to track the remaining candidates of a game
+     */
+    private final CandidateIndex candidateIndex;
+
+    /**
+     * Scratch arrays for {@link #keepLargestPartition}, the partition sizes and the pattern of every answer
+     */
+    private final ThreadLocal<int[][]> partitionScratch;
+
+    /**
+     * Precomputed best opening guesses, null if no matching book was found
+     */
+    private OpeningBook openingBook;
+
+    /**
+     * Query engine over all allowed guesses, created on first use
+     */
+    private WordQueryEngine queryEngine;
+
+    /**
+     * Solver ranking hints over this dictionary, created on first use
+     */
+    private Solver solver;
+
+    /**
+     * Creates a new dictionary
+     *
+     * @param wordLength the length of all words
+     * @param alphabet the alphabet of all words
+     * @param answers the possible answers
+     * @param guesses the allowed guesses besides the answers
+     */
+    public WordDictionary(int wordLength, Alphabet alphabet, List<String> answers, List<String> guesses) {
+        this.wordLength = wordLength;
+        this.alphabet = alphabet;
+        this.answers = List.copyOf(answers);
+        for (int i = 0; i < this.answers.size(); i++) {
+            answerIndex.put(this.answers.get(i), i);
+        }
+        answerCodes = this.answers.stream().mapToLong(this::encode).toArray();
+        answersChecksum = OpeningBook.checksum(answerCodes);
+
+        final Set<String> allowed = new LinkedHashSet<>(this.answers);
+        allowed.addAll(guesses);
+        guessCodes = allowed.stream().mapToLong(this::encode).toArray();
+        validGuesses = new PackedWordSet(guessCodes);
+
+        candidateIndex = new CandidateIndex(answerCodes, wordLength, alphabet.size());
+        partitionScratch = ThreadLocal.withInitial(() -> new int[][]{
+                new int[1 << (wordLength * PackedFeedback.BITS_PER_TILE)], new int[answerCodes.length]});
+    }
+
+    /**
+     * Returns a random answer from the list
+     */
+    public String getRandomWord() {
+        final int index = new Random().nextInt(answers.size());
+        return answers.get(index);
+    }
+
+    /**
+     * Returns distinct random answers from the list
+     *
+     * @param count the amount of answers, at most the size of the list
+     * @return the answers as String array
+     * @throws IllegalArgumentException if the list has less than count answers
+     */
+    public String[] getRandomWords(int count) {
+        if (count > answers.size())
+            throw new IllegalArgumentException(count + " distinct answers requested, the list has " + answers.size());
+        final Random random = new Random();
+        final String[] words = new String[count];
+        final Set<Integer> picked = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            int index;
+            do {
+                index = random.nextInt(answers.size());
+            } while (!picked.add(index));
+            words[i] = answers.get(index);
+        }
+        return words;
+    }
+
+    /**
+     * Partitions the candidates by the feedback the guess produces and keeps the largest partition.
+     * On ties a partition that does not solve the game is kept, otherwise the one with less
+     * highlighted letters. Uses counting arrays instead of maps and allocates nothing.
+     *
+     * @param candidates the candidates to narrow
+     * @param guess the packed guess
+     * @return the packed feedback of the kept partition
+     */
+    public int keepLargestPartition(CandidateSet candidates, long guess) {
+        final int[][] scratch = partitionScratch.get();
+        final int[] sizes = scratch[0];
+        final int[] patterns = scratch[1];
+        final int solved = PackedFeedback.allRight(wordLength);
+
+        int best = -1;
+        for (int i = candidates.nextCandidate(0); i >= 0; i = candidates.nextCandidate(i + 1)) {
+            final int pattern = WordleEngine.evaluatePacked(guess, answerCodes[i], wordLength);
+            patterns[i] = pattern;
+            sizes[pattern]++;
+            if (best < 0 || isLargerPartition(sizes, pattern, best, solved)) {
+                best = pattern;
+            }
+        }
+
+        for (int i = candidates.nextCandidate(0); i >= 0; i = candidates.nextCandidate(i + 1)) {
+            sizes[patterns[i]] = 0;
+            if (patterns[i] != best) {
+                candidates.remove(i);
+            }
+        }
+        candidates.updateCount();
+        return best;
+    }
+
+    private static boolean isLargerPartition(int[] sizes, int pattern, int other, int solved) {
+        if (sizes[pattern] != sizes[other]) return sizes[pattern] > sizes[other];
+        if (pattern == solved || other == solved) return other == solved;
+        return pattern < other;
+    }
+
+    /**
+     * Creates a new candidate set containing every answer
+     *
+     * @return the new CandidateSet
+     */
+    public CandidateSet newCandidateSet() {
+        return candidateIndex.newCandidateSet();
+    }
+
+    /**
+     * Removes every answer that is inconsistent with the feedback of a guess
+     *
+     * @param candidates the candidates of the game
+     * @param guess the guessed word
+     * @param pattern the packed feedback of the guess
+     * @return the amount of remaining candidates
+     */
+    public int narrowCandidates(CandidateSet candidates, String guess, int pattern) {
+        return narrowCandidates(candidates, encode(guess), pattern);
+    }
+
+    /**
+     * Removes every answer that is inconsistent with the feedback of a guess
+     *
+     * @param candidates the candidates of the game
+     * @param guess the guessed word packed by {@link WordCodec}
+     * @param pattern the packed feedback of the guess
+     * @return the amount of remaining candidates
+     */
+    public int narrowCandidates(CandidateSet candidates, long guess, int pattern) {
+        return candidateIndex.narrow(candidates, guess, pattern);
+    }
+
+    /**
+     * Checks if a given word is a valid guess
+     *
+     * @param guess the word that was entered
+     * @return true if the word is valid, false otherwise
+     */
+    public boolean isValidWord(String guess) {
+        if (guess.length() != wordLength || !alphabet.isWord(guess)) {
+            return false;
+        }
+        return validGuesses.contains(encode(guess));
+    }
+
+    /**
+     * Checks if a packed word is a valid guess, bits beyond the word length make it invalid
+     *
+     * @param guess the word packed by {@link WordCodec}
+     * @return true if the word is valid, false otherwise
+     */
+    public boolean isValidWord(long guess) {
+        if (wordLength < WordCodec.MAX_LENGTH && guess >>> (wordLength * WordCodec.BITS_PER_LETTER) != 0) {
+            return false;
+        }
+        return validGuesses.contains(guess);
+    }
+
+    /**
+     * Packs a word of this dictionary
+     *
+     * @param word the upper case word
+     * @return the packed word
+     */
+    public long encode(String word) {
+        return WordCodec.encode(word, alphabet);
+    }
+
+    /**
+     * Unpacks a word of this dictionary
+     *
+     * @param code the packed word
+     * @return the upper case word
+     */
+    public String decode(long code) {
+        return WordCodec.decode(code, wordLength, alphabet);
+    }
+
+    /**
+     * Returns the list of all possible answers
+     *
+     * @return the answers as unmodifiable List
+     */
+    public List<String> getAnswers() {
+        return answers;
+    }
+
+    /**
+     * Returns the index of a word in the answer list
+     *
+     * @param word the word to look up
+     * @return the index or -1 if the word is no answer
+     */
+    public int indexOfAnswer(String word) {
+        return answerIndex.getOrDefault(word, -1);
+    }
+
+    /**
+     * Returns the precomputed opening book
+     *
+     * @return the book or null if there is no book matching the answer list
+     */
+    public OpeningBook getOpeningBook() {
+        return openingBook;
+    }
+
+    /**
+     * Uses the given opening book if it was computed for this dictionary
+     *
+     * @param book the book to use
+     * @return true if the book matches the answers
+     */
+    boolean useOpeningBook(OpeningBook book) {
+        if (!book.matches(answerCodes, wordLength)) {
+            return false;
+        }
+        openingBook = book;
+        return true;
+    }
+
+    /**
+     * Returns the query engine over all allowed guesses, building its index on first use
+     *
+     * @return the {@link WordQueryEngine}
+     */
+    public synchronized WordQueryEngine getQueryEngine() {
+        if (queryEngine == null) {
+            queryEngine = new WordQueryEngine(guessCodes, wordLength, alphabet);
+        }
+        return queryEngine;
+    }
+
+    /**
+     * Returns the solver ranking hints over this dictionary, creating it on first use.
+     * The solver lives as long as the dictionary, so games pinned to a replaced
+     * dictionary keep getting hints for the words they were started with.
+     *
+     * @param pool the pool used for the candidate scan if the solver has to be created
+     * @return the {@link Solver}
+     */
+    public synchronized Solver getSolver(ForkJoinPool pool) {
+        if (solver == null) {
+            solver = new Solver(this, pool);
+        }
+        return solver;
+    }
+
+    /**
+     * Finds all allowed guesses matching the query
+     *
+     * @param query the query
+     * @return the matching words, decoded on demand
+     */
+    public Stream<String> query(WordQuery query) {
+        return getQueryEngine().find(query);
+    }
+
+    /**
+     * Returns the length of the words
+     *
+     * @return the length as int
+     */
+    public int getWordLength() {
+        return wordLength;
+    }
+
+    /**
+     * Returns the alphabet of the words
+     *
+     * @return the {@link Alphabet}
+     */
+    public Alphabet getAlphabet() {
+        return alphabet;
+    }
+
+    /**
+     * Returns the amount of allowed guesses
+     *
+     * @return the amount as int
+     */
+    public int getGuessCount() {
+        return validGuesses.size();
+    }
+
+    /**
+     * Returns the packed answers in the order of {@link #getAnswers()}
+     */
+    long[] getAnswerCodes() {
+        return answerCodes;
+    }
+
+    /**
+     * Returns the checksum of the packed answers, it changes with every word and the order of the list
+     */
+    int getAnswersChecksum() {
+        return answersChecksum;
+    }
+
+    /**
+     * Returns the packed allowed guesses, starting with the answers
+     */
+    long[] getGuessCodes() {
+        return guessCodes;
+    }
+}
@@ -0,0 +1,126 @@
+package model.server.logic;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Watches files with a {@link WatchService} and reports which of them changed.
+ * <p>
+ * The directories of the files are registered, editors often replace a file instead
+ * of writing to it. Events arriving within {@link #QUIET_MILLIS} of each other are
+ * collected and reported together, so a reload does not start on a half written file.
+ * The listener runs on the daemon thread of the watcher.
+ * </p>
+ */
+public class WordListWatcher implements Closeable {
+    /**
+     * Logger for events and errors
+     */
+    public static System.Logger LOGGER = System.getLogger(WordListWatcher.class.getName());
+
+    /**
+     * Time without further events before the changes are reported
+     */
+    private static final long QUIET_MILLIS = 500;
+
+    /**
+     * The watched files as absolute paths
+     */
+    private final Set<Path> files = new HashSet<>();
+
+    /**
+     * Receives the changed files
+     */
+    private final Consumer<Set<Path>> listener;
+
+    private final WatchService watchService;
+
+    private final Thread thread;
+
+    /**
+     * Creates a new watcher and starts watching
+     *
+     * @param files the files to watch, null entries are ignored
+     * @param listener receives the changed files as absolute paths
+     * @throws IOException if the directories cannot be watched
+     */
+    public WordListWatcher(List<Path> files, Consumer<Set<Path>> listener) throws IOException {
+        this.listener = listener;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        final Set<Path> directories = new HashSet<>();
+        for (Path file : files) {
+            if (file == null) continue;
+            final Path absolute = file.toAbsolutePath().normalize();
+            this.files.add(absolute);
+            if (directories.add(absolute.getParent())) {
+                absolute.getParent().register(watchService,
+                        StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+                LOGGER.log(System.Logger.Level.INFO, "Watching word lists in: {0}", absolute.getParent());
+            }
+        }
+        thread = new Thread(this::run, "word-list-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                final Set<Path> changed = new HashSet<>();
+                collect(watchService.take(), changed);
+                WatchKey key;
+                while ((key = watchService.poll(QUIET_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    collect(key, changed);
+                }
+                if (!changed.isEmpty()) {
+                    try {
+                        listener.accept(changed);
+                    } catch (RuntimeException e) {
+                        LOGGER.log(System.Logger.Level.ERROR, "Handling changed word lists failed", e);
+                    }
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            LOGGER.log(System.Logger.Level.INFO, "Stopped watching word lists");
+        }
+    }
+
+    /**
+     * Adds the watched files a key reports to the given set and resets the key
+     */
+    private void collect(WatchKey key, Set<Path> changed) {
+        final Path directory = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                changed.addAll(files);
+            } else {
+                final Path file = directory.resolve((Path) event.context());
+                if (files.contains(file)) {
+                    changed.add(file);
+                }
+            }
+        }
+        key.reset();
+    }
+
+    /**
+     * Stops watching
+     */
+    @Override
+    public void close() throws IOException {
+        thread.interrupt();
+        watchService.close();
+    }
+}
@@ -0,0 +1,244 @@
+package model.server.logic;
+
+import model.general.config.Alphabet;
+import model.general.config.WordCodec;
+
+import java.util.Arrays;
+
+/**
+ * Constraints on the letters of a word, answered by a {@link WordQueryEngine}.
+ * <p>
+ * A query can fix the letter of a position, forbid a letter at a position and
+ * bound how often a letter occurs. {@link #parse(String)} reads the short text form
+ * {@code "?R?A? +E -ST !E1"}: the pattern with {@code ?} for unknown letters, letters
+ * after {@code +} must occur, letters after {@code -} must not occur and {@code !E1}
+ * forbids E at the first position.
+ * </p>
+ */
+public class WordQuery {
+    /**
+     * Value of a position without a fixed letter
+     */
+    private static final int ANY = -1;
+
+    /**
+     * Length of the matching words
+     */
+    private final int length;
+
+    /**
+     * Alphabet of the matching words
+     */
+    private final Alphabet alphabet;
+
+    /**
+     * Fixed letter of every position or {@link #ANY}
+     */
+    private final int[] fixed;
+
+    /**
+     * Bit l is set if letter l must not be at the position
+     */
+    private final int[] forbidden;
+
+    /**
+     * Minimum amount of every letter
+     */
+    private final int[] minCount;
+
+    /**
+     * Maximum amount of every letter
+     */
+    private final int[] maxCount;
+
+    /**
+     * Creates a new query matching every word of the given length
+     *
+     * @param length the length of the matching words
+     * @param alphabet the alphabet of the matching words
+     */
+    public WordQuery(int length, Alphabet alphabet) {
+        if (length <= 0 || length > WordCodec.MAX_LENGTH) {
+            throw new IllegalArgumentException("invalid word length: " + length);
+        }
+        this.length = length;
+        this.alphabet = alphabet;
+        fixed = new int[length];
+        forbidden = new int[length];
+        minCount = new int[alphabet.size()];
+        maxCount = new int[alphabet.size()];
+        Arrays.fill(fixed, ANY);
+        Arrays.fill(maxCount, length);
+    }
+
+    /**
+     * Parses the short text form of a query, see {@link WordQuery}
+     *
+     * @param text the query text, tokens are separated by whitespace or commas
+     * @param alphabet the alphabet of the matching words
+     * @return the parsed query
+     * @throws IllegalArgumentException if the text is no valid query
+     */
+    public static WordQuery parse(String text, Alphabet alphabet) {
+        final String[] tokens = alphabet.normalize(text).split("[\\s,]+");
+        if (tokens.length == 0 || tokens[0].isEmpty()) {
+            throw new IllegalArgumentException("query must start with a pattern");
+        }
+        final String pattern = tokens[0];
+        final WordQuery query = new WordQuery(pattern.length(), alphabet);
+        for (int p = 0; p < pattern.length(); p++) {
+            if (pattern.charAt(p) != '?') {
+                query.at(p, pattern.charAt(p));
+            }
+        }
+        for (int t = 1; t < tokens.length; t++) {
+            final String token = tokens[t];
+            final String letters = token.substring(1);
+            switch (token.charAt(0)) {
+                case '+' -> {
+                    final int[] counts = new int[alphabet.size()];
+                    for (char letter : letters.toCharArray()) {
+                        counts[query.checkLetter(letter)]++;
+                    }
+                    for (int l = 0; l < counts.length; l++) {
+                        if (counts[l] > 0) query.contains(alphabet.letterAt(l), counts[l]);
+                    }
+                }
+                case '-' -> {
+                    for (char letter : letters.toCharArray()) {
+                        query.excludes(letter);
+                    }
+                }
+                case '!' -> {
+                    if (letters.length() < 2) {
+                        throw new IllegalArgumentException("expected letter and position: " + token);
+                    }
+                    query.notAt(Integer.parseInt(letters.substring(1)) - 1, letters.charAt(0));
+                }
+                default -> throw new IllegalArgumentException("unknown query token: " + token);
+            }
+        }
+        return query;
+    }
+
+    /**
+     * Fixes the letter of a position
+     *
+     * @param position the position, starting at 0
+     * @param letter the upper case letter of the alphabet
+     * @return this query
+     */
+    public WordQuery at(int position, char letter) {
+        fixed[checkPosition(position)] = checkLetter(letter);
+        return this;
+    }
+
+    /**
+     * Forbids a letter at a position
+     *
+     * @param position the position, starting at 0
+     * @param letter the upper case letter of the alphabet
+     * @return this query
+     */
+    public WordQuery notAt(int position, char letter) {
+        forbidden[checkPosition(position)] |= 1 << checkLetter(letter);
+        return this;
+    }
+
+    /**
+     * Requires a letter to occur at least the given amount of times
+     *
+     * @param letter the upper case letter of the alphabet
+     * @param count the minimum amount
+     * @return this query
+     */
+    public WordQuery contains(char letter, int count) {
+        final int l = checkLetter(letter);
+        minCount[l] = Math.max(minCount[l], Math.min(count, length + 1));
+        return this;
+    }
+
+    /**
+     * Requires a letter to occur
+     *
+     * @param letter the upper case letter of the alphabet
+     * @return this query
+     */
+    public WordQuery contains(char letter) {
+        return contains(letter, 1);
+    }
+
+    /**
+     * Requires a letter to occur at most the given amount of times
+     *
+     * @param letter the upper case letter of the alphabet
+     * @param count the maximum amount
+     * @return this query
+     */
+    public WordQuery atMost(char letter, int count) {
+        final int l = checkLetter(letter);
+        maxCount[l] = Math.max(0, Math.min(maxCount[l], count));
+        return this;
+    }
+
+    /**
+     * Forbids a letter
+     *
+     * @param letter the upper case letter of the alphabet
+     * @return this query
+     */
+    public WordQuery excludes(char letter) {
+        return atMost(letter, 0);
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public Alphabet getAlphabet() {
+        return alphabet;
+    }
+
+    /**
+     * Returns the fixed letter of a position
+     *
+     * @param position the position
+     * @return the letter index or -1 if any letter is allowed
+     */
+    int fixedAt(int position) {
+        return fixed[position];
+    }
+
+    /**
+     * Returns the letters forbidden at a position
+     *
+     * @param position the position
+     * @return bit l is set if letter l is forbidden
+     */
+    int forbiddenAt(int position) {
+        return forbidden[position];
+    }
+
+    int minCount(int letter) {
+        return minCount[letter];
+    }
+
+    int maxCount(int letter) {
+        return maxCount[letter];
+    }
+
+    private int checkPosition(int position) {
+        if (position < 0 || position >= length) {
+            throw new IllegalArgumentException("position out of range: " + (position + 1));
+        }
+        return position;
+    }
+
+    private int checkLetter(char letter) {
+        final int l = alphabet.indexOf(letter);
+        if (l < 0) {
+            throw new IllegalArgumentException("not a letter of the alphabet " + alphabet + ": " + letter);
+        }
+        return l;
+    }
+}
@@ -0,0 +1,139 @@
+package model.server.logic;
+
+import model.general.config.Alphabet;
+import model.general.config.WordCodec;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Answers {@link WordQuery}s over a word list with bitset intersections.
+ * <p>
+ * The words are indexed by a {@link CandidateIndex}, a query starts with a bitset of
+ * all words and intersects it with one bitset per constraint, 64 words per operation.
+ * Matches are decoded lazily while the returned stream is consumed.
+ * </p>
+ */
+public class WordQueryEngine {
+    /**
+     * The packed words
+     */
+    private final long[] codes;
+
+    /**
+     * Index over the packed words
+     */
+    private final CandidateIndex index;
+
+    /**
+     * Alphabet of the words
+     */
+    private final Alphabet alphabet;
+
+    /**
+     * Creates a new engine over the given packed words
+     *
+     * @param codes the packed words, all of the same length
+     * @param wordLength the length of the words
+     * @param alphabet the alphabet of the words
+     */
+    public WordQueryEngine(long[] codes, int wordLength, Alphabet alphabet) {
+        this.codes = codes;
+        this.alphabet = alphabet;
+        this.index = new CandidateIndex(codes, wordLength, alphabet.size());
+    }
+
+    /**
+     * Finds all words matching the query
+     *
+     * @param query the query
+     * @return the matching words in list order, decoded on demand
+     */
+    public Stream<String> find(WordQuery query) {
+        return matches(query).mapToObj(i -> WordCodec.decode(codes[i], index.getWordLength(), alphabet));
+    }
+
+    /**
+     * Finds the indices of all words matching the query
+     *
+     * @param query the query
+     * @return the indices in ascending order
+     */
+    public IntStream matches(WordQuery query) {
+        final long[] bits = match(query);
+        return IntStream.iterate(next(bits, 0), i -> i >= 0, i -> next(bits, i + 1));
+    }
+
+    /**
+     * Counts the words matching the query
+     *
+     * @param query the query
+     * @return the amount of matching words
+     */
+    public int count(WordQuery query) {
+        int count = 0;
+        for (long block : match(query)) {
+            count += Long.bitCount(block);
+        }
+        return count;
+    }
+
+    /**
+     * Intersects the bitsets of all constraints of the query
+     */
+    private long[] match(WordQuery query) {
+        final long[] bits = index.newCandidateSet().bits();
+        if (query.getLength() != index.getWordLength() || query.getAlphabet() != alphabet) {
+            Arrays.fill(bits, 0L);
+            return bits;
+        }
+        for (int p = 0; p < query.getLength(); p++) {
+            if (query.fixedAt(p) >= 0) {
+                CandidateIndex.and(bits, index.atPosition(p, query.fixedAt(p)));
+            }
+            for (int forbidden = query.forbiddenAt(p); forbidden != 0; forbidden &= forbidden - 1) {
+                CandidateIndex.andNot(bits, index.atPosition(p, Integer.numberOfTrailingZeros(forbidden)));
+            }
+        }
+        for (int letter = 0; letter < alphabet.size(); letter++) {
+            final int min = query.minCount(letter);
+            final int max = query.maxCount(letter);
+            if (min > max || min > query.getLength()) {
+                Arrays.fill(bits, 0L);
+                return bits;
+            }
+            if (min > 0) {
+                CandidateIndex.and(bits, index.withAtLeast(letter, min));
+            }
+            if (max < query.getLength()) {
+                CandidateIndex.andNot(bits, index.withAtLeast(letter, max + 1));
+            }
+        }
+        return bits;
+    }
+
+    private static int next(long[] bits, int from) {
+        int block = from >>> 6;
+        if (block >= bits.length) {
+            return -1;
+        }
+        long word = bits[block] & (-1L << from);
+        while (word == 0) {
+            if (++block == bits.length) {
+                return -1;
+            }
+            word = bits[block];
+        }
+        return (block << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    /**
+     * Returns the amount of indexed words
+     *
+     * @return the amount as int
+     */
+    public int size() {
+        return codes.length;
+    }
+}
@@ -1,11 +1,15 @@
 package model.server.logic;
 
+import model.general.config.Alphabet;
 import model.general.config.CharacterPosition;
+import model.general.config.PackedFeedback;
+import model.general.config.WordCodec;
 import model.server.config.ServerGameConfig;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
@@ -17,45 +21,61 @@ public class WordleEngine {
      */
     public static System.Logger LOGGER = System.getLogger(WordleEngine.class.getName());
 
+    /**
+     * Kernel used for bulk evaluation
+     */
+    private static final FeedbackKernel KERNEL = FeedbackKernel.load();
+
     /**
      * Today´s date in UTC time zone
      */
-    private LocalDate lastDate = LocalDate.now(ZoneOffset.UTC);
+    private volatile LocalDate lastDate = LocalDate.now(ZoneOffset.UTC);
+
+    /**
+     * Shortest word length a dictionary is built for
+     */
+    public static final int MIN_WORD_LENGTH = 4;
 
     /**
-     * List containing all possible words
+     * Longest word length a dictionary is built for
      */
-    private List<String> words = new ArrayList<>();
+    public static final int MAX_WORD_LENGTH = 8;
 
     /**
-     * Set containing all possible words
+     * Alphabet of all word lists
      */
-    private final Set<String> wordsSet = new HashSet<>();
+    private final Alphabet alphabet;
 
     /**
-     * List containing all possible answers
+     * The dictionaries built from one version of the word lists, never modified after they were built
+     *
+     * @param byLength dictionaries indexed by word length, null for lengths without words
+     * @param defaultDictionary the dictionary of the answer list, used for daily wordles and as fallback
      */
-    private List<String> answers;
+    private record Dictionaries(WordDictionary[] byLength, WordDictionary defaultDictionary) {}
 
     /**
-     * Set containing all possible answers
+     * The word of the day together with the dictionary it was chosen from
+     *
+     * @param word the answer
+     * @param dictionary the dictionary daily games are played with
      */
-    private final Set<String> answersSet = new HashSet<>();
+    private record Daily(String word, WordDictionary dictionary) {}
 
     /**
-     * List containing all possible guesses
+     * The current dictionaries, replaced as a whole when the word lists are reloaded
      */
-    private List<String> guesses;
+    private volatile Dictionaries dictionaries;
 
     /**
-     * Set containing all possible guesses
+     * The current word of the day, kept across reloads until the day changes or it is overridden
      */
-    private final Set<String> guessesSet = new HashSet<>();
+    private volatile Daily daily;
 
     /**
-     * The word of the day
+     * Watches the word lists for changes, null if hot reload is not running
      */
-    private String currentWord;
+    private WordListWatcher watcher;
 
     /**
      *
@@ -69,8 +89,11 @@ public class WordleEngine {
      */
     public WordleEngine(ServerGameConfig config) {
         this.config = config;
-        loadWords();
+        this.alphabet = config.getAlphabet();
+        dictionaries = loadDictionaries();
+        LOGGER.log(System.Logger.Level.INFO, "Bulk evaluation uses the {0} kernel", KERNEL.getName());
         determineDailyWord();
+        readDailyOverride(true);
     }
 
     public void update(float tpf) {
@@ -86,24 +109,144 @@ public class WordleEngine {
      * Determines daily word based on the date
      */
     private void determineDailyWord() {
-        final int index = new Random(lastDate.toEpochDay()).nextInt(answers.size());
-        currentWord = answers.get(index);
-        LOGGER.log(System.Logger.Level.INFO, "Today´s word is: {0}", currentWord);
+        final WordDictionary dictionary = dictionaries.defaultDictionary();
+        daily = new Daily(dailyWord(dictionary.getAnswers(), lastDate.toEpochDay()), dictionary);
+        LOGGER.log(System.Logger.Level.INFO, "Today´s word is: {0}", daily.word());
+    }
+
+    /**
+     * Picks the word of a day from the answers. The pick only depends on the day and the list,
+     * so every server with the same word list picks the same word.
+     *
+     * @param answers the answers of the default dictionary
+     * @param epochDay the day as epoch day in UTC
+     * @return the word of the day
+     */
+    public static String dailyWord(List<String> answers, long epochDay) {
+        return answers.get(new Random(epochDay).nextInt(answers.size()));
     }
 
     /**
      * Returns the wordle of the day
      */
     public String getCurrentWord() {
-        return currentWord;
+        return daily.word();
+    }
+
+    /**
+     * Returns the dictionary daily games are played with. It is the dictionary the word
+     * of the day was chosen from, so everyone plays the same daily game even if the word
+     * lists are reloaded during the day.
+     *
+     * @return the dictionary of the daily word
+     */
+    public WordDictionary getDailyDictionary() {
+        return daily.dictionary();
+    }
+
+    /**
+     * Replaces the word of the day until the day changes
+     *
+     * @param word the new daily word, it must be an answer of the current default dictionary
+     * @return true if the word was accepted
+     */
+    public boolean overrideDailyWord(String word) {
+        final WordDictionary dictionary = dictionaries.defaultDictionary();
+        final String normalized = alphabet.normalize(word);
+        if (dictionary.indexOfAnswer(normalized) < 0) {
+            LOGGER.log(System.Logger.Level.WARNING, "Daily word override {0} is no answer, ignoring it", normalized);
+            return false;
+        }
+        daily = new Daily(normalized, dictionary);
+        LOGGER.log(System.Logger.Level.INFO, "Today´s word was overridden: {0}", normalized);
+        return true;
+    }
+
+    /**
+     * Starts watching the word lists, the opening book and the daily override file.
+     * Changed word lists are loaded on the thread of the watcher and replace the current
+     * dictionaries only if they are valid. Games that already started keep the dictionary
+     * and answer they were started with.
+     *
+     * @throws IOException if the files cannot be watched
+     */
+    public synchronized void startWatching() throws IOException {
+        if (watcher != null) return;
+        final Path override = toPath(config.getDailyOverridePath());
+        watcher = new WordListWatcher(
+                Arrays.asList(toPath(config.getAnswerListPath()), toPath(config.getGuessListPath()),
+                        toPath(config.getWordListPath()), toPath(config.getOpeningBookPath()), override),
+                changed -> {
+                    if (override != null && changed.remove(override.toAbsolutePath().normalize())) {
+                        readDailyOverride(false);
+                    }
+                    if (!changed.isEmpty()) {
+                        reloadWords();
+                    }
+                });
+    }
+
+    /**
+     * Stops watching the word lists
+     */
+    public synchronized void stopWatching() {
+        if (watcher == null) return;
+        try {
+            watcher.close();
+        } catch (IOException e) {
+            LOGGER.log(System.Logger.Level.WARNING, "Could not stop watching the word lists", e);
+        }
+        watcher = null;
     }
 
     /**
-     * Returns a random answer from the list
+     * Loads the word lists again and swaps in the new dictionaries if they are valid.
+     * The current dictionaries stay in use if loading fails.
+     *
+     * @return true if the dictionaries were replaced
      */
-    public String getRandomWord() {
-        final int index = new Random().nextInt(answers.size());
-        return answers.get(index);
+    public boolean reloadWords() {
+        final long start = System.nanoTime();
+        final Dictionaries reloaded;
+        try {
+            reloaded = loadDictionaries();
+        } catch (RuntimeException e) {
+            LOGGER.log(System.Logger.Level.ERROR, "Reloading the word lists failed, keeping the current ones", e);
+            return false;
+        }
+        dictionaries = reloaded;
+        LOGGER.log(System.Logger.Level.INFO, "Reloaded word lists in {0} ms, today´s word stays {1}",
+                (System.nanoTime() - start) / 1_000_000, daily.word());
+        return true;
+    }
+
+    /**
+     * Applies the word in the daily override file
+     *
+     * @param startup true if called on startup, the file is only applied if it was written today
+     */
+    private void readDailyOverride(boolean startup) {
+        final Path path = toPath(config.getDailyOverridePath());
+        if (path == null || !Files.isRegularFile(path)) return;
+        try {
+            if (startup && !LocalDate.ofInstant(Files.getLastModifiedTime(path).toInstant(), ZoneOffset.UTC).equals(lastDate)) {
+                return;
+            }
+            final String word = Files.readAllLines(path, StandardCharsets.UTF_8).stream()
+                    .map(String::strip)
+                    .filter(line -> !line.isEmpty())
+                    .findFirst()
+                    .orElse(null);
+            if (word != null) {
+                overrideDailyWord(word);
+            }
+        } catch (IOException e) {
+            LOGGER.log(System.Logger.Level.WARNING, "Could not read daily word override from: " + path, e);
+        }
+    }
+
+    private static Path toPath(String path) {
+        return path == null ? null : Paths.get(path);
     }
 
     /**
@@ -114,41 +257,123 @@ public class WordleEngine {
      * @return List of CharacterPosition for each char
      */
     public List<CharacterPosition> evaluateGuess(String guess, String answer) {
+        return PackedFeedback.unpack(evaluatePattern(guess, answer), answer.length());
+    }
+
+    /**
+     * Evaluates a packed guess against every packed answer, using the Vector API if the
+     * runtime was started with {@code --add-modules jdk.incubator.vector}.
+     *
+     * @param guess the packed guess
+     * @param answers the packed answers
+     * @param length the word length
+     * @param results receives the packed feedback for answer i at index i, must be at least as long as answers
+     */
+    public static void evaluateBulk(long guess, long[] answers, int length, int[] results) {
+        KERNEL.evaluate(guess, answers, 0, answers.length, length, results);
+    }
+
+    /**
+     * Returns the name of the kernel used by {@link #evaluateBulk(long, long[], int, int[])}
+     *
+     * @return the name as String
+     */
+    public static String getBulkKernelName() {
+        return KERNEL.getName();
+    }
+
+    /**
+     * Evaluates a guess based on a given answer
+     *
+     * @param guess guessed word
+     * @param answer answer word
+     * @return the packed feedback, see {@link PackedFeedback}
+     */
+    public int evaluatePattern(String guess, String answer) {
         if (!(guess.length() == answer.length())) {
             throw new IllegalArgumentException("guess length must be the same as answer length");
         }
+        return evaluatePacked(WordCodec.encode(guess, alphabet), WordCodec.encode(answer, alphabet), answer.length());
+    }
 
-        CharacterPosition[] result = new CharacterPosition[answer.length()];
-        Map<Character, Integer> unmatched = new HashMap<>();
-        for (int i = 0; i < answer.length(); i++) {
-            if (guess.charAt(i) == answer.charAt(i)) {
-                result[i] = CharacterPosition.RIGHT;
-            } else {
-                unmatched.put(answer.charAt(i), unmatched.getOrDefault(answer.charAt(i), 0) + 1);
+    /**
+     * Evaluates a packed guess based on a packed answer without allocating.
+     * Letters that are not at the right position are matched left to right
+     * against the answer letters that were not matched yet.
+     *
+     * @param guess the packed guess
+     * @param answer the packed answer
+     * @param length the word length
+     * @return the packed feedback, see {@link PackedFeedback}
+     */
+    public static int evaluatePacked(long guess, long answer, int length) {
+        int pattern = 0;
+        int matched = 0;
+        for (int i = 0; i < length; i++) {
+            if (WordCodec.letterAt(guess, i) == WordCodec.letterAt(answer, i)) {
+                pattern |= CharacterPosition.RIGHT.ordinal() << (i * PackedFeedback.BITS_PER_TILE);
+                matched |= 1 << i;
             }
         }
 
-        for (int i = 0; i < answer.length(); i++) {
-            if (result[i] == CharacterPosition.RIGHT) continue;
-            if (unmatched.containsKey(guess.charAt(i))  && unmatched.get(guess.charAt(i)) > 0) {
-                result[i] = CharacterPosition.WRONG;
-                unmatched.put(guess.charAt(i), unmatched.get(guess.charAt(i)) - 1);
-            } else {
-                result[i] = CharacterPosition.FUCKINGWRONG;
+        for (int i = 0; i < length; i++) {
+            final int letter = WordCodec.letterAt(guess, i);
+            if (letter == WordCodec.letterAt(answer, i)) continue;
+            for (int j = 0; j < length; j++) {
+                if ((matched & (1 << j)) == 0 && WordCodec.letterAt(answer, j) == letter) {
+                    pattern |= CharacterPosition.WRONG.ordinal() << (i * PackedFeedback.BITS_PER_TILE);
+                    matched |= 1 << j;
+                    break;
+                }
             }
         }
 
-        return Arrays.stream(result).toList();
+        return pattern;
     }
 
     /**
-     * Checks if a given word is a valid guess
+     * Evaluates one packed guess against the packed answers of several boards without allocating.
+     * Every board is rated by {@link #evaluatePacked(long, long, int)}, multi board games have
+     * too few boards for the batch kernels of the candidate scan to pay off.
      *
-     * @param guess the word that was entered
-     * @return true if the word is valid, false otherwise
+     * @param guess the packed guess
+     * @param answers the packed answers
+     * @param length the word length
+     * @param results receives the packed feedback for answer i at index i, must be at least as long as answers
      */
-    public boolean isValidWord(String guess) {
-        return wordsSet.contains(guess);
+    public static void evaluateBatch(long guess, long[] answers, int length, int[] results) {
+        for (int a = 0; a < answers.length; a++) {
+            results[a] = evaluatePacked(guess, answers[a], length);
+        }
+    }
+
+    /**
+     * Returns the dictionary of the given word length
+     *
+     * @param length the word length
+     * @return the dictionary or null if there are no words of that length
+     */
+    public WordDictionary getDictionary(int length) {
+        final WordDictionary[] byLength = dictionaries.byLength();
+        return length >= 0 && length < byLength.length ? byLength[length] : null;
+    }
+
+    /**
+     * Returns the alphabet of all word lists
+     *
+     * @return the {@link Alphabet}
+     */
+    public Alphabet getAlphabet() {
+        return alphabet;
+    }
+
+    /**
+     * Returns the dictionary of the answer list
+     *
+     * @return the default dictionary
+     */
+    public WordDictionary getDefaultDictionary() {
+        return dictionaries.defaultDictionary();
     }
 
     /**
@@ -161,38 +386,109 @@ public class WordleEngine {
     }
 
     /**
-     * Loads all possible word from the configured path
+     * Loads all word lists from the configured paths and builds one dictionary per word length found in them.
+     * The answers of a length are taken from the answer list, lengths missing there use
+     * every known word of that length as answers.
+     *
+     * @return the new dictionaries, with the opening book applied
      */
-    private void loadWords() {
-        final String answerPath = config.getAnswerListPath();
-        final String guessPath = config.getGuessListPath();
+    private Dictionaries loadDictionaries() {
+        final WordDictionary[] dictionaries = new WordDictionary[MAX_WORD_LENGTH + 1];
+        LOGGER.log(System.Logger.Level.INFO, "Using alphabet: {0}", alphabet);
+        final List<String> answers = readWords("answer", config.getAnswerListPath(), alphabet);
+        final List<String> guesses = readWords("guess", config.getGuessListPath(), alphabet);
+        final List<String> all = readWords("complete word", config.getWordListPath(), alphabet);
 
-        try {
-            LOGGER.log(System.Logger.Level.INFO, "Trying to load wordle answer list from: {0}", answerPath);
-            answers = Files.readAllLines(Paths.get(answerPath), StandardCharsets.UTF_8)
-                    .stream()
-                    .map(String::strip)
-                    .map(String::toUpperCase)
-                    .toList();
-            answersSet.addAll(answers);
-            LOGGER.log(System.Logger.Level.INFO, "Successfully loaded {0} answers", answers.size());
+        final Map<Integer, List<String>> answersByLength = groupByLength(answers, alphabet);
+        final Map<Integer, List<String>> wordsByLength = groupByLength(guesses, alphabet);
+        groupByLength(all, alphabet).forEach((length, words) -> wordsByLength.computeIfAbsent(length, l -> new ArrayList<>()).addAll(words));
 
-            LOGGER.log(System.Logger.Level.INFO, "Trying to load wordle guess list from: {0}", guessPath);
-            guesses = Files.readAllLines(Paths.get(guessPath), StandardCharsets.UTF_8)
+        final SortedSet<Integer> lengths = new TreeSet<>(answersByLength.keySet());
+        lengths.addAll(wordsByLength.keySet());
+        for (int length : lengths) {
+            if (length < MIN_WORD_LENGTH || length > MAX_WORD_LENGTH) {
+                LOGGER.log(System.Logger.Level.WARNING, "Skipped the words with {0} letters, dictionaries are built for {1} to {2} letters",
+                        length, MIN_WORD_LENGTH, MAX_WORD_LENGTH);
+                continue;
+            }
+            final List<String> words = wordsByLength.getOrDefault(length, List.of());
+            final List<String> lengthAnswers = answersByLength.containsKey(length)
+                    ? answersByLength.get(length)
+                    : List.copyOf(new LinkedHashSet<>(words));
+            if (lengthAnswers.isEmpty()) continue;
+            dictionaries[length] = new WordDictionary(length, alphabet, lengthAnswers, words);
+            LOGGER.log(System.Logger.Level.INFO, "Built dictionary for {0} letters with {1} answers and {2} guesses",
+                    length, lengthAnswers.size(), dictionaries[length].getGuessCount());
+        }
+
+        final int defaultLength = answers.isEmpty() ? 0 : answers.get(0).length();
+        if (defaultLength < MIN_WORD_LENGTH || defaultLength > MAX_WORD_LENGTH || dictionaries[defaultLength] == null) {
+            throw new RuntimeException("Answer list must contain words with " + MIN_WORD_LENGTH + " to " + MAX_WORD_LENGTH + " letters");
+        }
+        loadOpeningBook(dictionaries);
+        return new Dictionaries(dictionaries, dictionaries[defaultLength]);
+    }
+
+    /**
+     * Reads a word list, one word per line, upper cased with the rules of the language
+     */
+    private static List<String> readWords(String kind, String path, Alphabet alphabet) {
+        if (path == null) {
+            return List.of();
+        }
+        try {
+            LOGGER.log(System.Logger.Level.INFO, "Trying to load wordle {0} list from: {1}", kind, path);
+            final List<String> words = Files.readAllLines(Paths.get(path), StandardCharsets.UTF_8)
                     .stream()
-                    .map(String::strip)
-                    .map(String::toUpperCase)
+                    .map(alphabet::normalize)
+                    .filter(word -> !word.isEmpty())
                     .toList();
-            guessesSet.addAll(guesses);
-            LOGGER.log(System.Logger.Level.INFO, "Successfully loaded {0} guesses", guesses.size());
+            LOGGER.log(System.Logger.Level.INFO, "Successfully loaded {0} words", words.size());
+            return words;
         } catch (IOException e) {
             throw new RuntimeException("Failed to load wordlist", e);
         }
+    }
 
-        words.addAll(answers);
-        words.addAll(guesses);
-        wordsSet.addAll(words);
+    /**
+     * Groups the words by their length, skipping words that cannot be encoded
+     */
+    private static Map<Integer, List<String>> groupByLength(List<String> words, Alphabet alphabet) {
+        final Map<Integer, List<String>> byLength = new HashMap<>();
+        int skipped = 0;
+        for (String word : words) {
+            if (!WordCodec.isEncodable(word, alphabet)) {
+                skipped++;
+                continue;
+            }
+            byLength.computeIfAbsent(word.length(), l -> new ArrayList<>()).add(word);
+        }
+        if (skipped > 0) {
+            LOGGER.log(System.Logger.Level.WARNING, "Skipped {0} words with letters outside the alphabet", skipped);
+        }
+        return byLength;
+    }
 
-        LOGGER.log(System.Logger.Level.INFO, "Successfully loaded {0}/{1} words", wordsSet.size(), words.size());
+    /**
+     * Loads the opening book from the configured path if it matches the answer list
+     */
+    private void loadOpeningBook(WordDictionary[] dictionaries) {
+        final String bookPath = config.getOpeningBookPath();
+        if (bookPath == null || !Files.exists(Paths.get(bookPath))) {
+            LOGGER.log(System.Logger.Level.INFO, "No opening book found at: {0}", bookPath);
+            return;
+        }
+        try {
+            final OpeningBook book = OpeningBook.loadFrom(Paths.get(bookPath));
+            final int length = book.getWordLength();
+            final WordDictionary dictionary = length < dictionaries.length ? dictionaries[length] : null;
+            if (dictionary != null && dictionary.useOpeningBook(book)) {
+                LOGGER.log(System.Logger.Level.INFO, "Successfully loaded opening book for {0} letters from: {1}", book.getWordLength(), bookPath);
+            } else {
+                LOGGER.log(System.Logger.Level.WARNING, "Opening book {0} was built for other word lists, regenerate it", bookPath);
+            }
+        } catch (IOException e) {
+            LOGGER.log(System.Logger.Level.WARNING, "Could not load opening book from: " + bookPath, e);
+        }
     }
 }
@@ -0,0 +1,252 @@
+package server;
+
+import model.general.config.RejectReason;
+import model.general.message.client.ClientMessage;
+import model.server.Player;
+import model.server.config.ServerGameConfig;
+import model.server.logic.GameResult;
+import model.server.logic.ServerGameLogic;
+import model.server.logic.ShardDirectory;
+import model.server.logic.WordleEngine;
+import server.network.MessagePriority;
+import server.network.MessageRing;
+import server.network.PriorityIngress;
+import server.network.ServerSender;
+import server.network.TokenBucket;
+import server.network.WaitStrategy;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+import static java.lang.System.Logger.Level.INFO;
+
+/**
+ * An event loop owning a disjoint set of players.
+ * <p>
+ * Every shard has its own {@link ServerGameLogic}, message ingress and mailbox of tasks,
+ * and all of them are only touched by the thread of the shard. Other threads talk to a
+ * shard by queuing messages or tasks, never by sharing its data. Shard 0 runs on the
+ * main loop of the server, every other shard runs on its own thread.
+ * </p>
+ */
+public class LogicShard implements Executor {
+    private static final System.Logger LOGGER = System.getLogger(LogicShard.class.getName());
+
+    /**
+     * Longest time a shard waits for messages before it runs a tick without them.
+     */
+    private static final long MAX_IDLE_NANOS = 100_000_000L;
+
+    private final int index;
+    private final ServerGameConfig config;
+
+    /**
+     * A thread-safe, bounded ingress for storing incoming messages that are pending processing.
+     */
+    private final PriorityIngress pendingMessages;
+
+    /**
+     * Tasks other threads want to run on this shard.
+     */
+    private final Queue<Runnable> mailbox = new ConcurrentLinkedQueue<>();
+
+    private final ServerGameLogic logic;
+
+    /**
+     * Sends the messages of the game logic, flushed at the end of every tick.
+     */
+    private final ServerSender sender;
+
+    /**
+     * Hands drained messages to the game logic, created once so draining allocates nothing.
+     */
+    private final MessageRing.Handler messageHandler;
+
+    /**
+     * Time the message queue metrics were logged last.
+     */
+    private long lastMetricsLog = System.nanoTime();
+
+    /**
+     * Time of the last tick.
+     */
+    private long lastTick = System.nanoTime();
+
+    private volatile boolean running = true;
+
+    /**
+     * Creates a new shard
+     *
+     * @param index the index of the shard
+     * @param sender used to send messages to the clients
+     * @param config the server configuration
+     * @param engine the engine providing the dictionaries, shared by all shards
+     * @param results receives the results of finished games
+     * @param directory the logics of all shards and the services they share
+     */
+    public LogicShard(int index, ServerSender sender, ServerGameConfig config, WordleEngine engine, Consumer<GameResult> results,
+                      ShardDirectory directory) {
+        this.index = index;
+        this.config = config;
+        this.pendingMessages = new PriorityIngress(config.getIngressCapacity(), WaitStrategy.forName(config.getIngressWaitStrategy()),
+                config.getIngressRates(), config.getIngressBursts());
+        this.sender = sender;
+        this.logic = new ServerGameLogic(sender, config, engine, this, results, directory);
+        directory.attach(index, logic);
+        this.messageHandler = (message, from, receivedAt) -> {
+            try {
+                logic.receive(message, from, receivedAt);
+            } catch (RuntimeException e) {
+                LOGGER.log(System.Logger.Level.ERROR, "Shard " + index + " failed to handle " + message.getClass().getSimpleName() + " of client " + from, e);
+            }
+            sender.flushIfDue();
+        };
+    }
+
+    /**
+     * Starts a thread running the loop of this shard
+     */
+    public void start() {
+        final Thread thread = new Thread(() -> {
+            while (running) {
+                try {
+                    tick();
+                } catch (RuntimeException e) {
+                    LOGGER.log(System.Logger.Level.ERROR, "Shard " + index + " failed to update", e);
+                }
+            }
+        }, "logic-shard-" + index);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops the thread of this shard after its current tick
+     */
+    public void stop() {
+        running = false;
+        pendingMessages.wakeUp();
+    }
+
+    /**
+     * Waits for pending messages or tasks, handles up to one batch of messages and all tasks,
+     * then updates the game logic and flushes the messages it sent. A message or task that
+     * throws is logged and skipped, it never ends the loop of the shard.
+     */
+    public void tick() {
+        if (pendingMessages.await(MAX_IDLE_NANOS)) {
+            pendingMessages.drain(messageHandler, config.getIngressBatchSize());
+        } else if (Thread.currentThread().isInterrupted()) {
+            LOGGER.log(System.Logger.Level.INFO, "Shard {0} interrupted while waiting for messages", index);
+        }
+        Runnable task;
+        while ((task = mailbox.poll()) != null) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                LOGGER.log(System.Logger.Level.ERROR, "Shard " + index + " failed to run a task", e);
+            }
+        }
+        final long now = System.nanoTime();
+        logic.update((now - lastTick) / 1e9f);
+        lastTick = now;
+        sender.flush();
+        logMetrics(now);
+    }
+
+    /**
+     * Runs a task on the thread of this shard
+     *
+     * @param task the task
+     */
+    @Override
+    public void execute(Runnable task) {
+        mailbox.add(task);
+        pendingMessages.wakeUp();
+    }
+
+    /**
+     * Queues a message for the game logic of this shard, may be called by any thread
+     *
+     * @param message the client message
+     * @param from the connection ID of the sender
+     * @param limits the rate limits of the connection
+     * @return null if the message was queued, else the reason it was dropped
+     */
+    public RejectReason offer(ClientMessage message, int from, TokenBucket[] limits) {
+        return pendingMessages.offer(message, from, limits);
+    }
+
+    /**
+     * Creates the rate limits of a new connection of this shard
+     *
+     * @return one token bucket per priority class
+     */
+    public TokenBucket[] newConnectionLimits() {
+        return pendingMessages.newConnectionLimits();
+    }
+
+    /**
+     * Adds the player of a new connection, may be called by any thread
+     *
+     * @param id the connection ID
+     * @return the rate limits of the connection
+     */
+    public TokenBucket[] addConnection(int id) {
+        execute(() -> logic.addPlayer(id));
+        return newConnectionLimits();
+    }
+
+    /**
+     * Removes the player of a closed connection, may be called by any thread.
+     * Only that player leaves, the shard and all other players keep running.
+     *
+     * @param id the connection ID
+     */
+    public void removeConnection(int id) {
+        execute(() -> {
+            final Player player = logic.getPlayerById(id);
+            if (player == null)
+                LOGGER.log(System.Logger.Level.INFO, "closed connection does not belong to an active player");
+            else {
+                LOGGER.log(System.Logger.Level.INFO, "closed connection belongs to {0}", player);
+                logic.removePlayer(id);
+            }
+        });
+    }
+
+    /**
+     * Returns the game logic, must only be used on the thread of this shard
+     *
+     * @return the {@link ServerGameLogic}
+     */
+    public ServerGameLogic getLogic() {
+        return logic;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Logs the depth, wait times and drops of the message queue once per configured interval.
+     */
+    private void logMetrics(long now) {
+        final int interval = config.getIngressMetricsInterval();
+        if (interval <= 0 || now - lastMetricsLog < interval * 1_000_000_000L) return;
+        LOGGER.log(INFO, "Shard {0} ingress: depth={1}/{2} consumerIdle={3}ms",
+                index, pendingMessages.size(), pendingMessages.capacity(), pendingMessages.getConsumerWaitNanos() / 1_000_000);
+        LOGGER.log(INFO, "Shard {0} latency: avgRtt={1}us maxRtt={2}us",
+                index, logic.getAverageRoundTripNanos() / 1_000, logic.getMaxRoundTripNanos() / 1_000);
+        for (MessagePriority priority : MessagePriority.values()) {
+            final MessageRing ring = pendingMessages.getRing(priority);
+            LOGGER.log(INFO, "Shard {0} ingress {1}: maxDepth={2} handled={3} avgWait={4}us maxWait={5}us rateLimited={6} overloaded={7}",
+                    index, priority, ring.getMaxDepth(), ring.getConsumed(), ring.getAverageQueueNanos() / 1_000, ring.getMaxQueueNanos() / 1_000,
+                    pendingMessages.getDropped(RejectReason.RATE_LIMITED, priority), pendingMessages.getDropped(RejectReason.OVERLOADED, priority));
+            ring.resetMaxima();
+        }
+        lastMetricsLog = now;
+    }
+}
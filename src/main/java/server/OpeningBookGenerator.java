@@ -0,0 +1,73 @@
+package server;
+
+import model.general.config.Alphabet;
+import model.general.config.WordCodec;
+import model.server.config.ServerGameConfig;
+import model.server.logic.OpeningBook;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static java.lang.System.Logger.Level.INFO;
+
+/**
+ * Offline tool computing the {@link OpeningBook} for the configured word lists.
+ * <p>
+ * Has to be run again whenever the answer list or the word list changes,
+ * the server ignores books that were built for other lists.
+ * </p>
+ */
+public class OpeningBookGenerator {
+    private static final System.Logger LOGGER = System.getLogger(OpeningBookGenerator.class.getName());
+
+    /**
+     * The configuration file for the game.
+     */
+    private static final File CONFIG_FILE = new File("server_config.properties");
+
+    public static void main(String[] args) throws IOException {
+        final ServerGameConfig config = new ServerGameConfig();
+        config.readFromIfExists(CONFIG_FILE);
+
+        final Alphabet alphabet = config.getAlphabet();
+        final List<String> answerWords = readWords(config.getAnswerListPath(), alphabet);
+        final int wordLength = answerWords.get(0).length();
+        final long[] answers = encode(answerWords, wordLength, alphabet);
+        final long[] wordlist = encode(readWords(config.getWordListPath(), alphabet), wordLength, alphabet);
+
+        final long start = System.nanoTime();
+        final long[][] pools = new long[OpeningBook.Pool.values().length][];
+        pools[OpeningBook.Pool.ANSWERS.ordinal()] = answers;
+        pools[OpeningBook.Pool.WORDLIST.ordinal()] = wordlist;
+        final OpeningBook book = OpeningBook.generate(answers, pools, wordLength, alphabet);
+        LOGGER.log(INFO, "Generated opening book in {0} ms", (System.nanoTime() - start) / 1_000_000);
+
+        book.saveTo(Paths.get(config.getOpeningBookPath()));
+    }
+
+    /**
+     * Reads a word list the same way the server does
+     */
+    private static List<String> readWords(String path, Alphabet alphabet) throws IOException {
+        LOGGER.log(INFO, "Reading word list from: {0}", path);
+        return Files.readAllLines(Paths.get(path), StandardCharsets.UTF_8)
+                .stream()
+                .map(alphabet::normalize)
+                .filter(word -> !word.isEmpty())
+                .toList();
+    }
+
+    /**
+     * Packs the words of the given length, skipping words the server skips as well
+     */
+    private static long[] encode(List<String> words, int wordLength, Alphabet alphabet) {
+        return words.stream()
+                .filter(word -> word.length() == wordLength && WordCodec.isEncodable(word, alphabet))
+                .mapToLong(word -> WordCodec.encode(word, alphabet))
+                .toArray();
+    }
+}
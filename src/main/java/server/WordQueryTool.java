@@ -0,0 +1,74 @@
+package server;
+
+import model.server.config.ServerGameConfig;
+import model.server.logic.WordDictionary;
+import model.server.logic.WordQuery;
+import model.server.logic.WordQueryEngine;
+import model.server.logic.WordleEngine;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Offline tool answering {@link WordQuery}s over the configured word lists.
+ * <p>
+ * Every argument, or every line read from standard input if there are none, is one
+ * query in the short text form, for example {@code "?R?A? +E -ST"}. Prints the amount
+ * of matches and the first matches of every query.
+ * </p>
+ */
+public class WordQueryTool {
+    /**
+     * The configuration file for the game.
+     */
+    private static final File CONFIG_FILE = new File("server_config.properties");
+
+    /**
+     * Amount of matches printed per query
+     */
+    private static final int PRINTED_MATCHES = 50;
+
+    public static void main(String[] args) throws IOException {
+        final ServerGameConfig config = new ServerGameConfig();
+        config.readFromIfExists(CONFIG_FILE);
+        final WordleEngine engine = new WordleEngine(config);
+
+        if (args.length > 0) {
+            for (String arg : args) {
+                run(engine, arg);
+            }
+            return;
+        }
+        final BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        String line;
+        while ((line = in.readLine()) != null) {
+            if (!line.isBlank()) {
+                run(engine, line);
+            }
+        }
+    }
+
+    private static void run(WordleEngine engine, String text) {
+        final WordQuery query;
+        try {
+            query = WordQuery.parse(text, engine.getAlphabet());
+        } catch (IllegalArgumentException e) {
+            System.out.println("invalid query: " + e.getMessage());
+            return;
+        }
+        final WordDictionary dictionary = engine.getDictionary(query.getLength());
+        if (dictionary == null) {
+            System.out.println("no words with " + query.getLength() + " letters");
+            return;
+        }
+        final WordQueryEngine queryEngine = dictionary.getQueryEngine();
+        final long start = System.nanoTime();
+        final int count = queryEngine.count(query);
+        final long micros = (System.nanoTime() - start) / 1_000;
+        System.out.println(count + " matches in " + micros + " us");
+        dictionary.query(query).limit(PRINTED_MATCHES).forEach(System.out::println);
+    }
+}
@@ -2,24 +2,36 @@ package server;
 
 import com.jme3.app.SimpleApplication;
 import com.jme3.network.*;
-import com.jme3.network.serializing.Serializer;
 import com.jme3.system.JmeContext;
+import model.general.config.RejectReason;
 import model.general.message.client.*;
 import model.general.message.server.*;
-import model.server.Player;
 import model.server.config.ServerGameConfig;
-import model.server.logic.ServerGameLogic;
-import server.network.ReceivedMessage;
+import model.server.logic.BotPool;
+import model.server.logic.GameResult;
+import model.server.logic.GlobalStats;
+import model.server.logic.ShardDirectory;
+import model.server.logic.WordleEngine;
+import model.general.network.BufferPool;
+import model.general.network.MessageFrames;
+import model.general.network.Protocol;
+import model.general.network.Transport;
+import server.network.MessagePriority;
+import server.network.NioConnection;
+import server.network.NioServer;
 import server.network.ServerSender;
+import server.network.SharedFrame;
+import server.network.TokenBucket;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import static java.lang.System.Logger.Level.INFO;
 
-public class WordleServer extends SimpleApplication implements MessageListener<HostedConnection>, ConnectionListener, ServerSender {
+public class WordleServer extends SimpleApplication implements MessageListener<HostedConnection>, ConnectionListener, NioServer.Listener, ServerSender {
     private static final System.Logger LOGGER = System.getLogger(WordleServer.class.getName());
 
     /**
@@ -39,14 +51,40 @@ public class WordleServer extends SimpleApplication implements MessageListener<H
     private Server server;
 
     /**
-     * The game logic instance that processes game events and client messages.
+     * The network server used instead of {@link #server} when the NIO transport is selected.
      */
-    private final ServerGameLogic logic;
+    private NioServer nioServer;
 
     /**
-     * A thread-safe queue for storing incoming messages that are pending processing.
+     * Connection attribute holding the rate limits of the connection.
      */
-    private final BlockingQueue<ReceivedMessage> pendingMessages = new LinkedBlockingQueue<>();
+    private static final String LIMITS_ATTRIBUTE = "ingress.limits";
+
+    /**
+     * The engine providing the dictionaries, shared read-only by all shards.
+     */
+    private final WordleEngine wordleEngine;
+
+    /**
+     * The event loops processing game events and client messages, each owning a disjoint set of players.
+     * Shard 0 runs on the main loop of this application.
+     */
+    private final LogicShard[] shards;
+
+    /**
+     * The services shared by all shards, like spectating and race rooms.
+     */
+    private final ShardDirectory directory;
+
+    /**
+     * Statistics over all shards, only touched by shard 0.
+     */
+    private final GlobalStats globalStats = new GlobalStats();
+
+    /**
+     * Time the global stats were logged last.
+     */
+    private long lastStatsLog = System.nanoTime();
 
     public static void main(String[] args) {
         try {
@@ -67,8 +105,30 @@ public class WordleServer extends SimpleApplication implements MessageListener<H
         LOGGER.log(INFO, "Starting application");
         loadConfig();
         makeSettings();
+        wordleEngine = new WordleEngine(config);
+        wordleEngine.getDefaultDictionary().getSolver(ForkJoinPool.commonPool());
+        if (config.isHotReload()) {
+            try {
+                wordleEngine.startWatching();
+            } catch (IOException e) {
+                LOGGER.log(System.Logger.Level.WARNING, "Could not watch the word lists, hot reload is disabled", e);
+            }
+        }
+        shards = new LogicShard[config.getShardCount() > 0 ? config.getShardCount() : Runtime.getRuntime().availableProcessors()];
+        if (config.getTransport() == Transport.NIO) {
+            nioServer = new NioServer(port, this, new BufferPool(config.getNetworkBufferSize(), config.getPooledBuffers()),
+                    config.getDropQueuedBytes(), config.getMaxQueuedBytes());
+        }
+        directory = new ShardDirectory(shards.length, config);
+        for (int i = 0; i < shards.length; i++) {
+            final ServerSender sender = nioServer == null ? this : nioServer.newBatch(config.getFlushLatencyMicros() * 1_000L);
+            shards[i] = new LogicShard(i, sender, config, wordleEngine, this::recordResult, directory);
+        }
+        LOGGER.log(INFO, "Running {0} logic shards", shards.length);
         startServer();
-        logic = new ServerGameLogic(this, config);
+        for (int i = 1; i < shards.length; i++) {
+            shards[i].start();
+        }
     }
 
     @Override
@@ -78,33 +138,79 @@ public class WordleServer extends SimpleApplication implements MessageListener<H
     }
 
     /**
-     * The main server loop that continuously processes pending messages until a stop request is received.
+     * The main server loop, runs shard 0 and the parts of the server that exist only once.
      */
     @Override
     public void simpleUpdate(float tpf) {
-        processNextMessage();
-        logic.update(tpf);
+        shards[0].tick();
+        wordleEngine.update(tpf);
+        logGlobalStats();
+    }
+
+    @Override
+    public void destroy() {
+        for (int i = 1; i < shards.length; i++) {
+            shards[i].stop();
+        }
+        wordleEngine.stopWatching();
+        if (nioServer != null)
+            nioServer.close();
+        super.destroy();
     }
 
     /**
-     * Processes the next pending message from the queue and delegates it to the game logic for handling.
-     * If interrupted while waiting, logs the interruption and re-interrupts the thread.
+     * Sends the result of a finished game from any shard to shard 0, the owner of the global stats.
+     *
+     * @param result the result
      */
-    private void processNextMessage() {
-        try {
-            pendingMessages.take().process(logic);
-        }
-        catch (InterruptedException ex) {
-            LOGGER.log(System.Logger.Level.INFO, "Interrupted while waiting for messages");
-            // Restore the interrupt flag and continue
-            Thread.currentThread().interrupt();
+    private void recordResult(GameResult result) {
+        shards[0].execute(() -> globalStats.record(result));
+    }
+
+    /**
+     * Logs the global stats once per configured metrics interval, runs on shard 0.
+     */
+    private void logGlobalStats() {
+        final int interval = config.getIngressMetricsInterval();
+        final long now = System.nanoTime();
+        if (interval <= 0 || now - lastStatsLog < interval * 1_000_000_000L) return;
+        LOGGER.log(INFO, "Global stats: {0}", globalStats);
+        LOGGER.log(INFO, "Active race rooms: {0}", directory.getActiveRaceRooms());
+        final BotPool bots = directory.getBots();
+        final long moves = bots.getMoves();
+        LOGGER.log(INFO, "Bots: moves={0} cpuPerMoveMs={1} cancelled={2} delayed={3} overBudget={4}",
+                moves, moves == 0 ? 0 : bots.getCpuNanos() / 1e6 / moves, bots.getCancelledMoves(),
+                bots.getDelayedMoves(), bots.getOverBudgetMoves());
+        if (nioServer != null) {
+            final long frames = nioServer.getFramesQueued();
+            final long buffers = nioServer.getBuffersQueued();
+            final long writes = nioServer.getWrites();
+            LOGGER.log(INFO, "Outbound: frames={0} buffers={1} writes={2} framesPerWrite={3} latencyFlushes={4} droppedFrames={5} slowConsumers={6}",
+                    frames, buffers, writes, writes == 0 ? 0 : (double) frames / writes, nioServer.getLatencyFlushes(),
+                    nioServer.getDroppedFrames(), nioServer.getSlowConsumers());
         }
+        lastStatsLog = now;
+    }
+
+    /**
+     * Returns the shard owning the player of a connection
+     *
+     * @param id the connection ID
+     * @return the {@link LogicShard}
+     */
+    private LogicShard shardFor(int id) {
+        return shards[Math.floorMod(id, shards.length)];
     }
 
     private void startServer() throws IOException{
         LOGGER.log(System.Logger.Level.INFO, "Starting server...");
-        server = Network.createServer(port);
-        initializeSerializables();
+        if (nioServer != null) {
+            nioServer.start();
+            LOGGER.log(System.Logger.Level.INFO, "NIO server started: {0}", nioServer.isRunning());
+            return;
+        }
+        MessageFrames.registerClasses();
+        server = Network.createServer(Protocol.GAME_NAME, Protocol.fingerprint(), port, port);
         server.start();
         registerListeners();
         LOGGER.log(System.Logger.Level.INFO, "Server started: {0}", server.isRunning());
@@ -120,25 +226,6 @@ public class WordleServer extends SimpleApplication implements MessageListener<H
         port = config.getPort();
     }
 
-    /**
-     * Registers classes for network serialization. These classes include all the message types
-     * and model objects required for client-server communication in the game.
-     */
-    private void initializeSerializables() {
-        Serializer.registerClass(LoginMessage.class);
-        Serializer.registerClass(StartGameMessage.class);
-        Serializer.registerClass(GuessMessage.class);
-        Serializer.registerClass(DisconnectMessage.class);
-        Serializer.registerClass(StatsRequestMessage.class);
-
-        Serializer.registerClass(LoginResponse.class);
-        Serializer.registerClass(StartGameResponse.class);
-        Serializer.registerClass(DisconnectResponse.class);
-        Serializer.registerClass(GuessResponse.class);
-        Serializer.registerClass(ConnectionResponse.class);
-        Serializer.registerClass(StatsRequestResponse.class);
-    }
-
     /**
      * Registers the message and connection listeners with the network server.
      * Sets up the server to receive  and {@link } types
@@ -148,8 +235,14 @@ public class WordleServer extends SimpleApplication implements MessageListener<H
         server.addMessageListener(this, LoginMessage.class);
         server.addMessageListener(this, StartGameMessage.class);
         server.addMessageListener(this, GuessMessage.class);
+        server.addMessageListener(this, PackedGuessMessage.class);
         server.addMessageListener(this, DisconnectMessage.class);
         server.addMessageListener(this, StatsRequestMessage.class);
+        server.addMessageListener(this, HintRequestMessage.class);
+        server.addMessageListener(this, SpectateMessage.class);
+        server.addMessageListener(this, RaceJoinMessage.class);
+        server.addMessageListener(this, RaceGuessMessage.class);
+        server.addMessageListener(this, PongMessage.class);
         server.addConnectionListener(this);
     }
 
@@ -160,7 +253,26 @@ public class WordleServer extends SimpleApplication implements MessageListener<H
     @Override
     public void connectionAdded(Server server, HostedConnection hostedConnection) {
         LOGGER.log(System.Logger.Level.INFO, "new connection {0}", hostedConnection);
-        logic.addPlayer(hostedConnection.getId());
+        hostedConnection.setAttribute(LIMITS_ATTRIBUTE, addConnection(hostedConnection.getId()));
+    }
+
+    /**
+     * @param connection the new connection of the NIO transport
+     */
+    @Override
+    public void connectionAdded(NioConnection connection) {
+        LOGGER.log(System.Logger.Level.INFO, "new connection {0}", connection);
+        connection.setAttachment(addConnection(connection.getId()));
+    }
+
+    /**
+     * Adds the player of a new connection to the shard owning it.
+     *
+     * @param id the connection ID
+     * @return the rate limits of the connection
+     */
+    private TokenBucket[] addConnection(int id) {
+        return shardFor(id).addConnection(id);
     }
 
     /**
@@ -170,28 +282,71 @@ public class WordleServer extends SimpleApplication implements MessageListener<H
     @Override
     public void connectionRemoved(Server server, HostedConnection hostedConnection) {
         LOGGER.log(System.Logger.Level.INFO, "connection closed: {0}", hostedConnection);
-        final Player player = logic.getPlayerById(hostedConnection.getId());
-        if (player == null)
-            LOGGER.log(System.Logger.Level.INFO, "closed connection does not belong to an active player");
-        else {
-            LOGGER.log(System.Logger.Level.INFO, "closed connection belongs to {0}", player);
-            stop();
-        }
+        removeConnection(hostedConnection.getId());
+    }
+
+    /**
+     * @param connection the closed connection of the NIO transport
+     */
+    @Override
+    public void connectionRemoved(NioConnection connection) {
+        LOGGER.log(System.Logger.Level.INFO, "connection closed: {0}", connection);
+        removeConnection(connection.getId());
+    }
+
+    private void removeConnection(int id) {
+        shardFor(id).removeConnection(id);
     }
 
     /**
      * Callback method invoked when a message is received from a client connection.
-     * If the message is an instance of {@link ClientMessage}, it is wrapped in a
-     * {@link } along with the sender's ID and added to the pending messages queue.
+     * If the message is an instance of {@link ClientMessage}, it is added to the pending
+     * messages queue of the shard owning the player, see {@link #offer(int, ClientMessage, TokenBucket[])}.
      *
      * @param hostedConnection  the client connection from which the message was received.
      * @param message the message received from the client.
      */
     @Override
     public void messageReceived(HostedConnection hostedConnection, Message message) {
-        LOGGER.log(System.Logger.Level.INFO, "message received from {0}: {1}", hostedConnection.getId(), message);
-        if (message instanceof ClientMessage clientMessage)
-            pendingMessages.add(new ReceivedMessage(clientMessage, hostedConnection.getId()));
+        if (LOGGER.isLoggable(System.Logger.Level.DEBUG))
+            LOGGER.log(System.Logger.Level.DEBUG, "message received from {0}: {1}", hostedConnection.getId(), message);
+        if (!(message instanceof ClientMessage clientMessage)) return;
+        final RejectedResponse rejected = offer(hostedConnection.getId(), clientMessage, hostedConnection.getAttribute(LIMITS_ATTRIBUTE));
+        if (rejected != null)
+            hostedConnection.send(rejected);
+    }
+
+    /**
+     * Callback method invoked on the selector thread when a message is received by the NIO transport.
+     *
+     * @param connection the client connection from which the message was received.
+     * @param message    the message received from the client.
+     */
+    @Override
+    public void messageReceived(NioConnection connection, ClientMessage message) {
+        if (LOGGER.isLoggable(System.Logger.Level.DEBUG))
+            LOGGER.log(System.Logger.Level.DEBUG, "message received from {0}: {1}", connection.getId(), message);
+        final RejectedResponse rejected = offer(connection.getId(), message, connection.getAttachment());
+        if (rejected != null)
+            nioServer.send(connection.getId(), rejected);
+    }
+
+    /**
+     * Adds a received message to the pending messages queue of the shard owning the player.
+     * Queuing allocates nothing, so the message is only logged on debug level. Messages over the
+     * rate limit of the connection or beyond the capacity of their priority class are dropped,
+     * the client is told once per empty token bucket with a {@link RejectedResponse}.
+     *
+     * @param id      the connection ID of the sender
+     * @param message the message
+     * @param limits  the rate limits of the connection
+     * @return the response to send to the client or null
+     */
+    private RejectedResponse offer(int id, ClientMessage message, TokenBucket[] limits) {
+        final RejectReason rejected = shardFor(id).offer(message, id, limits);
+        if (rejected == null || !limits[MessagePriority.of(message).ordinal()].reportReject()) return null;
+        LOGGER.log(System.Logger.Level.WARNING, "dropped {0} from {1}: {2}", message, id, rejected);
+        return new RejectedResponse(message.getClass().getSimpleName(), rejected);
     }
 
     /**
@@ -202,6 +357,10 @@ public class WordleServer extends SimpleApplication implements MessageListener<H
      */
     @Override
     public void send(int id, ServerMessage message) {
+        if (nioServer != null) {
+            nioServer.send(id, message);
+            return;
+        }
         if (server == null || !server.isRunning()) {
             LOGGER.log(System.Logger.Level.ERROR, "no server running when trying to send {0}", message);
             return;
@@ -213,6 +372,29 @@ public class WordleServer extends SimpleApplication implements MessageListener<H
             LOGGER.log(System.Logger.Level.ERROR, "there is no connection with id={0}", id);
     }
 
+    /**
+     * Sends a message to many clients, jME encodes a broadcast message only once.
+     *
+     * @param ids the ids of the clients, only the first count are used
+     * @param count the amount of clients
+     * @param frame the encoded message, jME only uses the message itself
+     */
+    @Override
+    public void broadcast(int[] ids, int count, SharedFrame frame) {
+        if (server == null || !server.isRunning()) {
+            LOGGER.log(System.Logger.Level.ERROR, "no server running when trying to send {0}", frame.getMessage());
+            return;
+        }
+        final List<HostedConnection> receivers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final HostedConnection connection = server.getConnection(ids[i]);
+            if (connection != null)
+                receivers.add(connection);
+        }
+        if (!receivers.isEmpty())
+            server.broadcast(Filters.in(receivers), frame.getMessage());
+    }
+
     /**
      * Stops the server by closing all active client connections and setting a flag
      * to exit the processing loop.
@@ -223,6 +405,8 @@ public class WordleServer extends SimpleApplication implements MessageListener<H
             for (HostedConnection client : server.getConnections())
                 if (client != null)
                     client.close("Game over");
+        if (nioServer != null)
+            nioServer.close();
         stop();
     }
 }
@@ -0,0 +1,58 @@
+package server.network;
+
+import model.general.message.client.ClientMessage;
+import model.general.message.client.LoginMessage;
+import model.general.message.client.SpectateMessage;
+import model.general.message.client.StatsRequestMessage;
+
+/**
+ * Priority classes of client messages. Every class queues in its own slice of the
+ * ingress and is drained after the classes above it, so a flood of logins is shed
+ * while players in a game keep playing.
+ */
+public enum MessagePriority {
+    /**
+     * Messages of running games: starting games, guesses, hints, races and disconnects
+     */
+    GAME(0.5),
+
+    /**
+     * Statistics requests and spectating
+     */
+    STATS(0.25),
+
+    /**
+     * Logins
+     */
+    LOGIN(0.25);
+
+    /**
+     * Share of the global ingress capacity reserved for messages of this class, the shares add up to 1
+     */
+    private final double capacityShare;
+
+    MessagePriority(double capacityShare) {
+        this.capacityShare = capacityShare;
+    }
+
+    /**
+     * Returns the share of the global ingress capacity reserved for messages of this class
+     *
+     * @return the share between 0 and 1
+     */
+    public double getCapacityShare() {
+        return capacityShare;
+    }
+
+    /**
+     * Returns the class of a message
+     *
+     * @param message the client message
+     * @return the priority class
+     */
+    public static MessagePriority of(ClientMessage message) {
+        if (message instanceof LoginMessage) return LOGIN;
+        if (message instanceof StatsRequestMessage || message instanceof SpectateMessage) return STATS;
+        return GAME;
+    }
+}
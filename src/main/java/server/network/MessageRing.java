@@ -0,0 +1,310 @@
+package server.network;
+
+import model.general.message.client.ClientMessage;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded queue of received client messages for many network threads and one logic thread.
+ * <p>
+ * The slots are allocated once, a message is stored as its reference and the id of its
+ * sender, so queuing a message allocates nothing. Every slot carries a sequence number
+ * telling whether it is free for the producer claiming that position or filled for the
+ * consumer. Producers claim positions with a CAS on the tail, the single consumer drains
+ * the filled slots in batches without any CAS.
+ * </p>
+ * <p>
+ * The ring records its depth, how long messages waited until they were handled and how
+ * long producers waited for a free slot.
+ * </p>
+ */
+public class MessageRing {
+    /**
+     * Receives the drained messages
+     */
+    @FunctionalInterface
+    public interface Handler {
+        /**
+         * Handles a message
+         *
+         * @param message the client message
+         * @param from the connection ID of the client that sent the message
+         * @param receivedAt the time of {@link System#nanoTime()} the message was queued at
+         */
+        void handle(ClientMessage message, int from, long receivedAt);
+    }
+
+    /**
+     * Longest time a waiting producer parks before it checks the ring again
+     */
+    private static final long PRODUCER_PARK_NANOS = 50_000;
+
+    private final int mask;
+    private final ClientMessage[] messages;
+    private final int[] senders;
+    private final long[] enqueuedAt;
+
+    /**
+     * Sequence of every slot, equal to the position when the slot is free for that
+     * position and one higher when it holds the message of that position
+     */
+    private final AtomicLongArray sequences;
+
+    /**
+     * Next position claimed by a producer
+     */
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * Next position read by the consumer, only written by the consumer
+     */
+    private volatile long head;
+
+    private final WaitStrategy waitStrategy;
+
+    /**
+     * The consumer thread while it is parked, null otherwise
+     */
+    private volatile Thread parkedConsumer;
+
+    private long maxDepth;
+    private long consumed;
+    private long totalQueueNanos;
+    private long maxQueueNanos;
+    private long consumerWaitNanos;
+    private final AtomicLong producerWaitNanos = new AtomicLong();
+
+    /**
+     * Creates a new ring
+     *
+     * @param capacity the amount of slots, rounded up to a power of two
+     * @param waitStrategy what threads do while they wait for the ring
+     */
+    public MessageRing(int capacity, WaitStrategy waitStrategy) {
+        final int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.mask = size - 1;
+        this.messages = new ClientMessage[size];
+        this.senders = new int[size];
+        this.enqueuedAt = new long[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        this.waitStrategy = waitStrategy;
+    }
+
+    /**
+     * Adds a message if there is a free slot
+     *
+     * @param message the client message
+     * @param from the connection ID of the sender
+     * @return false if the ring is full
+     */
+    public boolean offer(ClientMessage message, int from) {
+        long position = tail.get();
+        while (true) {
+            final int index = (int) position & mask;
+            final long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    messages[index] = message;
+                    senders[index] = from;
+                    enqueuedAt[index] = System.nanoTime();
+                    // a full fence, so either the consumer sees the message or its parked thread is seen here
+                    sequences.set(index, position + 1);
+                    final Thread consumer = parkedConsumer;
+                    if (consumer != null) {
+                        LockSupport.unpark(consumer);
+                    }
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Adds a message, waiting with the wait strategy while the ring is full
+     *
+     * @param message the client message
+     * @param from the connection ID of the sender
+     */
+    public void put(ClientMessage message, int from) {
+        if (offer(message, from)) return;
+        final long start = System.nanoTime();
+        do {
+            waitStrategy.idle(PRODUCER_PARK_NANOS);
+        } while (!offer(message, from));
+        producerWaitNanos.addAndGet(System.nanoTime() - start);
+    }
+
+    /**
+     * Waits with the wait strategy until a message is available, only called by the consumer
+     *
+     * @param timeoutNanos the longest time to wait
+     * @return true if a message is available
+     */
+    public boolean await(long timeoutNanos) {
+        if (isReadable()) return true;
+        final long start = System.nanoTime();
+        final long deadline = start + timeoutNanos;
+        long remaining = timeoutNanos;
+        try {
+            while (remaining > 0) {
+                if (waitStrategy == WaitStrategy.PARK) {
+                    parkedConsumer = Thread.currentThread();
+                    if (isReadable()) return true;
+                }
+                waitStrategy.idle(remaining);
+                if (isReadable()) return true;
+                if (Thread.currentThread().isInterrupted()) return false;
+                remaining = deadline - System.nanoTime();
+            }
+            return false;
+        } finally {
+            parkedConsumer = null;
+            consumerWaitNanos += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Handles the queued messages in order, only called by the consumer
+     *
+     * @param handler receives the messages
+     * @param maxMessages the most messages handled by this call
+     * @return the amount of handled messages
+     */
+    public int drain(Handler handler, int maxMessages) {
+        final long depth = size();
+        if (depth > maxDepth) {
+            maxDepth = depth;
+        }
+        final long now = System.nanoTime();
+        long position = head;
+        int drained = 0;
+        while (drained < maxMessages) {
+            final int index = (int) position & mask;
+            if (sequences.get(index) != position + 1) break;
+            final ClientMessage message = messages[index];
+            final int from = senders[index];
+            final long receivedAt = enqueuedAt[index];
+            final long waited = Math.max(0, now - receivedAt);
+            messages[index] = null;
+            sequences.lazySet(index, position + mask + 1);
+            head = ++position;
+            totalQueueNanos += waited;
+            if (waited > maxQueueNanos) {
+                maxQueueNanos = waited;
+            }
+            drained++;
+            handler.handle(message, from, receivedAt);
+        }
+        consumed += drained;
+        return drained;
+    }
+
+    /**
+     * Checks if the consumer can take a message without waiting
+     *
+     * @return true if the next slot is filled
+     */
+    boolean isReadable() {
+        final long position = head;
+        return sequences.get((int) position & mask) == position + 1;
+    }
+
+    /**
+     * Registers the thread producers have to wake up, used by queues waiting on several rings
+     *
+     * @param consumer the parked consumer or null once it runs again
+     */
+    void setParkedConsumer(Thread consumer) {
+        parkedConsumer = consumer;
+    }
+
+    /**
+     * Returns the amount of queued messages
+     *
+     * @return the depth, may be slightly off while producers are adding messages
+     */
+    public long size() {
+        return Math.max(0, tail.get() - head);
+    }
+
+    /**
+     * Returns the amount of slots
+     *
+     * @return the capacity as int
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Returns the highest depth seen by the consumer, only accurate on the consumer thread
+     *
+     * @return the depth as long
+     */
+    public long getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Returns the amount of handled messages, only accurate on the consumer thread
+     *
+     * @return the amount as long
+     */
+    public long getConsumed() {
+        return consumed;
+    }
+
+    /**
+     * Returns the average time a message waited in the ring, only accurate on the consumer thread
+     *
+     * @return the time in nanoseconds
+     */
+    public long getAverageQueueNanos() {
+        return consumed == 0 ? 0 : totalQueueNanos / consumed;
+    }
+
+    /**
+     * Returns the longest time a message waited in the ring, only accurate on the consumer thread
+     *
+     * @return the time in nanoseconds
+     */
+    public long getMaxQueueNanos() {
+        return maxQueueNanos;
+    }
+
+    /**
+     * Returns the total time the consumer waited for messages, only accurate on the consumer thread
+     *
+     * @return the time in nanoseconds
+     */
+    public long getConsumerWaitNanos() {
+        return consumerWaitNanos;
+    }
+
+    /**
+     * Returns the total time producers waited for a free slot
+     *
+     * @return the time in nanoseconds
+     */
+    public long getProducerWaitNanos() {
+        return producerWaitNanos.get();
+    }
+
+    /**
+     * Resets the maximum values, only called by the consumer
+     */
+    public void resetMaxima() {
+        maxDepth = 0;
+        maxQueueNanos = 0;
+    }
+}
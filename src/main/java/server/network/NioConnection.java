@@ -0,0 +1,226 @@
+package server.network;
+
+import model.general.network.BufferPool;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A client connection of the {@link NioServer}.
+ * <p>
+ * Encoded frames may be queued by any thread. Reading, writing and the batch of frames
+ * in flight are only touched by the selector thread.
+ * </p>
+ */
+public class NioConnection {
+    /**
+     * Most buffers handed to the channel in one gathering write
+     */
+    static final int MAX_BUFFERS_PER_WRITE = 32;
+
+    private final int id;
+    private final SocketChannel channel;
+    private final SelectionKey key;
+    private final String address;
+
+    /**
+     * Received bytes not yet decoded, in write mode between reads
+     */
+    private final ByteBuffer readBuffer;
+
+    /**
+     * Buffers of encoded frames waiting for the selector thread
+     */
+    private final Queue<ByteBuffer> outbound = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Whether the connection is queued for a flush by the selector thread
+     */
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    /**
+     * Bytes queued or in flight that the channel did not take yet
+     */
+    private final AtomicLong queuedBytes = new AtomicLong();
+
+    /**
+     * Buffers taken from the outbound queue that were not written completely
+     */
+    private final ByteBuffer[] inFlight = new ByteBuffer[MAX_BUFFERS_PER_WRITE];
+    private int inFlightCount;
+
+    /**
+     * Gathering writes to the channel, only touched by the selector thread
+     */
+    private int writes;
+
+    /**
+     * Frames coalesced by the {@link OutboundBatch} of the shard owning this connection, only
+     * touched by the thread of that shard
+     */
+    ByteBuffer batch;
+    int batchFrames;
+
+    private volatile Object attachment;
+    private volatile boolean closed;
+
+    /**
+     * Whether the client sent a compatible hello, only touched by the selector thread
+     */
+    private boolean accepted;
+
+    NioConnection(int id, SocketChannel channel, SelectionKey key, String address, ByteBuffer readBuffer) {
+        this.id = id;
+        this.channel = channel;
+        this.key = key;
+        this.address = address;
+        this.readBuffer = readBuffer;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    /**
+     * Returns the object attached to this connection
+     *
+     * @param <T> the type of the attachment
+     * @return the attachment or null
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getAttachment() {
+        return (T) attachment;
+    }
+
+    /**
+     * Attaches an object to this connection, e.g. state the listener keeps per client
+     *
+     * @param attachment the object
+     */
+    public void setAttachment(Object attachment) {
+        this.attachment = attachment;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    boolean isAccepted() {
+        return accepted;
+    }
+
+    void accept() {
+        accepted = true;
+    }
+
+    /**
+     * Queues a buffer of encoded frames, may be called by any thread
+     *
+     * @param frame the frames in read mode
+     * @return true if the connection has to be scheduled for a flush
+     */
+    boolean enqueue(ByteBuffer frame) {
+        queuedBytes.addAndGet(frame.remaining());
+        outbound.add(frame);
+        return flushScheduled.compareAndSet(false, true);
+    }
+
+    /**
+     * Writes queued buffers with gathering writes until everything is written or the
+     * socket buffer is full, only called by the selector thread
+     *
+     * @param pool the pool receiving the written frames
+     * @return false if frames are left because the socket buffer is full
+     * @throws IOException if writing fails
+     */
+    boolean flush(BufferPool pool) throws IOException {
+        flushScheduled.set(false);
+        while (true) {
+            ByteBuffer frame;
+            while (inFlightCount < inFlight.length && (frame = outbound.poll()) != null) {
+                inFlight[inFlightCount++] = frame;
+            }
+            if (inFlightCount == 0) return true;
+            channel.write(inFlight, 0, inFlightCount);
+            writes++;
+            int written = 0;
+            while (written < inFlightCount && !inFlight[written].hasRemaining()) {
+                queuedBytes.addAndGet(-inFlight[written].limit());
+                pool.release(inFlight[written]);
+                written++;
+            }
+            System.arraycopy(inFlight, written, inFlight, 0, inFlightCount - written);
+            for (int i = inFlightCount - written; i < inFlightCount; i++) {
+                inFlight[i] = null;
+            }
+            inFlightCount -= written;
+            if (inFlightCount > 0) return false;
+        }
+    }
+
+    /**
+     * Closes the channel and returns all buffers to the pool, only called by the selector thread
+     *
+     * @param pool the pool the buffers came from
+     */
+    void close(BufferPool pool) {
+        if (closed) return;
+        closed = true;
+        key.cancel();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // the connection is gone either way
+        }
+        pool.release(readBuffer);
+        for (int i = 0; i < inFlightCount; i++) {
+            pool.release(inFlight[i]);
+            inFlight[i] = null;
+        }
+        inFlightCount = 0;
+        ByteBuffer frame;
+        while ((frame = outbound.poll()) != null) {
+            pool.release(frame);
+        }
+    }
+
+    /**
+     * Returns how far the client is behind in reading
+     *
+     * @return the bytes queued for the client that the channel did not take yet
+     */
+    public long getQueuedBytes() {
+        return queuedBytes.get();
+    }
+
+    int getWrites() {
+        return writes;
+    }
+
+    SocketChannel getChannel() {
+        return channel;
+    }
+
+    SelectionKey getKey() {
+        return key;
+    }
+
+    ByteBuffer getReadBuffer() {
+        return readBuffer;
+    }
+
+    @Override
+    public String toString() {
+        return "NioConnection[id=" + id + ", " + address + "]";
+    }
+}
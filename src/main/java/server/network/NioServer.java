@@ -0,0 +1,433 @@
+package server.network;
+
+import model.general.message.client.ClientMessage;
+import model.general.message.server.ServerMessage;
+import model.general.network.BufferPool;
+import model.general.network.MessageFrames;
+import model.general.network.Protocol;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Server transport running all connections on a single selector thread.
+ * <p>
+ * Every connection starts with a hello of both sides, see {@link Protocol}, clients with
+ * another protocol are closed before the listener learns of them. Afterwards messages are
+ * exchanged as length prefixed frames, see {@link MessageFrames}. Received
+ * bytes are read into one pooled direct buffer per connection and decoded on the selector
+ * thread. Messages to send are encoded by the sending thread into pooled direct buffers
+ * and queued at their connection, the selector thread writes all queued buffers of a
+ * connection with one gathering write. The game logic sends through an {@link OutboundBatch},
+ * which coalesces all frames of a connection produced in one tick into a single buffer.
+ * </p>
+ * <p>
+ * The bytes queued per connection are bounded. Above a first limit frames marked droppable,
+ * see {@link SharedFrame}, are skipped for the connection, above a second limit the client
+ * is considered too slow and its connection is closed.
+ * </p>
+ */
+public class NioServer implements ServerSender {
+    private static final System.Logger LOGGER = System.getLogger(NioServer.class.getName());
+
+    /**
+     * Receives the events of the connections, all methods run on the selector thread
+     */
+    public interface Listener {
+        /**
+         * Called when a client connected
+         *
+         * @param connection the new connection
+         */
+        void connectionAdded(NioConnection connection);
+
+        /**
+         * Called for every message received from a client
+         *
+         * @param connection the connection the message came from
+         * @param message the message
+         */
+        void messageReceived(NioConnection connection, ClientMessage message);
+
+        /**
+         * Called when a connection was closed by either side
+         *
+         * @param connection the closed connection
+         */
+        void connectionRemoved(NioConnection connection);
+    }
+
+    private final int port;
+    private final Listener listener;
+    private final BufferPool pool;
+
+    /**
+     * Queued bytes above which droppable frames are skipped for a connection
+     */
+    private final long dropQueuedBytes;
+
+    /**
+     * Queued bytes above which a connection is closed as too slow
+     */
+    private final long maxQueuedBytes;
+
+    private final Map<Integer, NioConnection> connections = new ConcurrentHashMap<>();
+
+    /**
+     * Connections with frames queued since their last flush
+     */
+    private final Queue<NioConnection> pendingFlushes = new ConcurrentLinkedQueue<>();
+
+    private final AtomicLong framesQueued = new AtomicLong();
+    private final AtomicLong buffersQueued = new AtomicLong();
+    private final AtomicLong latencyFlushes = new AtomicLong();
+    private final AtomicLong droppedFrames = new AtomicLong();
+    private final AtomicLong slowConsumers = new AtomicLong();
+
+    /**
+     * Gathering writes, only written by the selector thread
+     */
+    private volatile long writes;
+
+    private Selector selector;
+    private ServerSocketChannel serverChannel;
+    private int nextId;
+    private volatile boolean running;
+
+    /**
+     * Creates a new server, it does not listen before {@link #start()}
+     *
+     * @param port the port to listen on
+     * @param listener receives the events of the connections
+     * @param pool provides the read buffers of the connections and the buffers of sent frames
+     * @param dropQueuedBytes queued bytes of a connection above which droppable frames are skipped
+     * @param maxQueuedBytes queued bytes of a connection above which it is closed
+     */
+    public NioServer(int port, Listener listener, BufferPool pool, long dropQueuedBytes, long maxQueuedBytes) {
+        this.port = port;
+        this.listener = listener;
+        this.pool = pool;
+        this.dropQueuedBytes = dropQueuedBytes;
+        this.maxQueuedBytes = maxQueuedBytes;
+    }
+
+    /**
+     * Binds the port and starts the selector thread
+     *
+     * @throws IOException if the port cannot be bound
+     */
+    public void start() throws IOException {
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(port));
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        running = true;
+        final Thread thread = new Thread(this::run, "nio-server");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Closes all connections and stops the selector thread
+     */
+    public void close() {
+        running = false;
+        if (selector != null)
+            selector.wakeup();
+    }
+
+    /**
+     * Encodes the message and queues it at the connection of the client, may be called by any thread.
+     *
+     * @param id      the id of the client that shall receive the message
+     * @param message the message
+     */
+    @Override
+    public void send(int id, ServerMessage message) {
+        final NioConnection connection = connections.get(id);
+        if (connection == null) {
+            LOGGER.log(System.Logger.Level.ERROR, "there is no connection with id={0}", id);
+            return;
+        }
+        final ByteBuffer frame = pool.acquire();
+        try {
+            MessageFrames.encode(message, frame);
+        } catch (IOException e) {
+            pool.release(frame);
+            LOGGER.log(System.Logger.Level.ERROR, "could not encode " + message, e);
+            return;
+        }
+        frame.flip();
+        submit(connection, frame, 1, true);
+    }
+
+    /**
+     * Creates a sender coalescing the messages of one thread, see {@link OutboundBatch}
+     *
+     * @param latencyCapNanos the longest time a message waits for the end of the tick
+     * @return the batch
+     */
+    public OutboundBatch newBatch(long latencyCapNanos) {
+        return new OutboundBatch(this, latencyCapNanos);
+    }
+
+    NioConnection getConnection(int id) {
+        return connections.get(id);
+    }
+
+    BufferPool getPool() {
+        return pool;
+    }
+
+    /**
+     * Queues a buffer of encoded frames at its connection, may be called by any thread
+     *
+     * @param connection the connection
+     * @param frames the frames in read mode
+     * @param count the amount of frames in the buffer
+     * @param wakeUp whether to wake up the selector, else {@link #wakeUp()} has to be called
+     */
+    void submit(NioConnection connection, ByteBuffer frames, int count, boolean wakeUp) {
+        if (connection.isClosed()) {
+            pool.release(frames);
+            return;
+        }
+        framesQueued.addAndGet(count);
+        buffersQueued.incrementAndGet();
+        if (connection.enqueue(frames)) {
+            pendingFlushes.add(connection);
+            if (wakeUp)
+                selector.wakeup();
+        }
+    }
+
+    /**
+     * Makes the selector thread write the connections submitted without waking it up
+     */
+    void wakeUp() {
+        selector.wakeup();
+    }
+
+    void countLatencyFlush() {
+        latencyFlushes.incrementAndGet();
+    }
+
+    /**
+     * Decides if a droppable frame is skipped for a connection, counting the skipped frames
+     *
+     * @param connection the connection
+     * @return true if the client is too far behind for the frame
+     */
+    boolean dropFor(NioConnection connection) {
+        if (connection.getQueuedBytes() <= dropQueuedBytes) return false;
+        droppedFrames.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Returns the amount of frames queued for writing
+     *
+     * @return the amount as long
+     */
+    public long getFramesQueued() {
+        return framesQueued.get();
+    }
+
+    /**
+     * Returns the amount of buffers queued for writing, every buffer holds one or more frames
+     *
+     * @return the amount as long
+     */
+    public long getBuffersQueued() {
+        return buffersQueued.get();
+    }
+
+    /**
+     * Returns the amount of gathering writes to the channels
+     *
+     * @return the amount as long
+     */
+    public long getWrites() {
+        return writes;
+    }
+
+    /**
+     * Returns the amount of droppable frames skipped for clients falling behind
+     *
+     * @return the amount as long
+     */
+    public long getDroppedFrames() {
+        return droppedFrames.get();
+    }
+
+    /**
+     * Returns the amount of connections closed because their client did not read fast enough
+     *
+     * @return the amount as long
+     */
+    public long getSlowConsumers() {
+        return slowConsumers.get();
+    }
+
+    /**
+     * Returns how often a batch was flushed before the end of its tick because of the latency cap
+     *
+     * @return the amount as long
+     */
+    public long getLatencyFlushes() {
+        return latencyFlushes.get();
+    }
+
+    private void run() {
+        LOGGER.log(System.Logger.Level.INFO, "NIO server listening on port {0}", String.valueOf(port));
+        while (running) {
+            try {
+                selector.select(this::handle);
+                NioConnection connection;
+                while ((connection = pendingFlushes.poll()) != null) {
+                    flush(connection);
+                }
+            } catch (IOException e) {
+                LOGGER.log(System.Logger.Level.ERROR, "selector failed", e);
+            }
+        }
+        for (NioConnection connection : connections.values()) {
+            closeConnection(connection, "server stopped");
+        }
+        try {
+            serverChannel.close();
+            selector.close();
+        } catch (IOException e) {
+            LOGGER.log(System.Logger.Level.WARNING, "could not close the server channel", e);
+        }
+        LOGGER.log(System.Logger.Level.INFO, "NIO server stopped");
+    }
+
+    private void handle(SelectionKey key) {
+        if (!key.isValid()) return;
+        if (key.isAcceptable()) {
+            accept();
+            return;
+        }
+        final NioConnection connection = (NioConnection) key.attachment();
+        if (key.isReadable()) {
+            read(connection);
+        }
+        if (key.isValid() && key.isWritable()) {
+            flush(connection);
+        }
+    }
+
+    private void accept() {
+        try {
+            final SocketChannel channel = serverChannel.accept();
+            if (channel == null) return;
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            final SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+            final NioConnection connection = new NioConnection(nextId++, channel, key,
+                    String.valueOf(channel.getRemoteAddress()), pool.acquire());
+            key.attach(connection);
+        } catch (IOException e) {
+            LOGGER.log(System.Logger.Level.WARNING, "could not accept a connection", e);
+        }
+    }
+
+    /**
+     * Reads the available bytes of a connection and hands every complete frame to the listener
+     */
+    private void read(NioConnection connection) {
+        final ByteBuffer buffer = connection.getReadBuffer();
+        try {
+            if (connection.getChannel().read(buffer) < 0) {
+                closeConnection(connection, "closed by client");
+                return;
+            }
+            buffer.flip();
+            if (!connection.isAccepted() && !handshake(connection, buffer)) {
+                if (!connection.isClosed())
+                    buffer.compact();
+                return;
+            }
+            Object message;
+            while (!connection.isClosed() && (message = MessageFrames.decode(buffer)) != null) {
+                if (message instanceof ClientMessage clientMessage)
+                    listener.messageReceived(connection, clientMessage);
+                else
+                    throw new IOException("unexpected message " + message);
+            }
+            buffer.compact();
+        } catch (IOException e) {
+            closeConnection(connection, e.getMessage());
+        }
+    }
+
+    /**
+     * Checks the hello of a new connection, answers with the hello of the server and hands
+     * the connection to the listener if the client speaks the same protocol
+     *
+     * @return true if the connection was accepted
+     */
+    private boolean handshake(NioConnection connection, ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < Protocol.HELLO_BYTES) return false;
+        final boolean compatible = Protocol.readHello(buffer);
+        final ByteBuffer hello = pool.acquire();
+        Protocol.writeHello(hello);
+        hello.flip();
+        if (!compatible) {
+            connection.getChannel().write(hello);
+            pool.release(hello);
+            LOGGER.log(System.Logger.Level.WARNING, "rejecting {0}: incompatible protocol", connection);
+            connection.close(pool);
+            return false;
+        }
+        connection.accept();
+        connections.put(connection.getId(), connection);
+        connection.enqueue(hello);
+        flush(connection);
+        listener.connectionAdded(connection);
+        return true;
+    }
+
+    private void flush(NioConnection connection) {
+        if (connection.isClosed()) return;
+        try {
+            final int before = connection.getWrites();
+            final boolean done = connection.flush(pool);
+            writes += connection.getWrites() - before;
+            if (!done && connection.getQueuedBytes() > maxQueuedBytes) {
+                slowConsumers.incrementAndGet();
+                closeConnection(connection, "too slow, " + connection.getQueuedBytes() + " bytes queued");
+                return;
+            }
+            connection.getKey().interestOps(done ? SelectionKey.OP_READ : SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+        } catch (IOException e) {
+            closeConnection(connection, e.getMessage());
+        }
+    }
+
+    private void closeConnection(NioConnection connection, String reason) {
+        if (connection.isClosed()) return;
+        LOGGER.log(System.Logger.Level.INFO, "closing {0}: {1}", connection, reason);
+        connections.remove(connection.getId());
+        connection.close(pool);
+        if (connection.isAccepted())
+            listener.connectionRemoved(connection);
+    }
+}
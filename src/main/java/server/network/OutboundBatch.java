@@ -0,0 +1,199 @@
+package server.network;
+
+import model.general.message.server.ServerMessage;
+import model.general.network.BufferPool;
+import model.general.network.MessageFrames;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Coalesces the messages one thread sends through a {@link NioServer}.
+ * <p>
+ * Every message is encoded into an open buffer of its connection instead of a buffer of
+ * its own, so all frames a connection receives during one tick of a shard leave with a
+ * single write. The open buffers are handed to the selector thread on {@link #flush()},
+ * which wakes the selector once for all of them. A buffer is handed over early when it is
+ * full or when its oldest frame waited longer than the latency cap, so a long tick does
+ * not hold back interactive responses.
+ * </p>
+ * <p>
+ * A batch must only be used by one thread, and a connection must only be sent to by one
+ * batch, the shard owning its player.
+ * </p>
+ */
+public class OutboundBatch implements ServerSender {
+    private static final System.Logger LOGGER = System.getLogger(OutboundBatch.class.getName());
+
+    private final NioServer server;
+    private final BufferPool pool;
+    private final long latencyCapNanos;
+
+    /**
+     * Connections with an open buffer, in the order of their first frame
+     */
+    private NioConnection[] dirty = new NioConnection[16];
+    private int dirtyCount;
+
+    /**
+     * Time the oldest frame of the open buffers was encoded
+     */
+    private long oldestFrame;
+
+    /**
+     * Creates a new batch, see {@link NioServer#newBatch(long)}
+     *
+     * @param server the server writing the frames
+     * @param latencyCapNanos the longest time a frame waits in an open buffer
+     */
+    OutboundBatch(NioServer server, long latencyCapNanos) {
+        this.server = server;
+        this.pool = server.getPool();
+        this.latencyCapNanos = latencyCapNanos;
+    }
+
+    /**
+     * Encodes a message into the open buffer of its connection
+     *
+     * @param id the connection ID of the receiver
+     * @param message the message
+     */
+    @Override
+    public void send(int id, ServerMessage message) {
+        final NioConnection connection = server.getConnection(id);
+        if (connection == null) {
+            LOGGER.log(System.Logger.Level.ERROR, "there is no connection with id={0}", id);
+            return;
+        }
+        if (connection.batch != null && !encode(connection, message)) {
+            // the open buffer is full, hand it over and start a new one
+            submit(connection, true);
+            compact();
+        }
+        if (connection.batch == null) {
+            open(connection);
+            if (!encode(connection, message)) {
+                LOGGER.log(System.Logger.Level.ERROR, "could not encode {0}", message);
+                pool.release(connection.batch);
+                connection.batch = null;
+                compact();
+                return;
+            }
+        }
+        flushIfDue();
+    }
+
+    /**
+     * Copies a frame encoded once into the open buffers of all receivers, droppable frames are
+     * skipped for clients falling behind
+     *
+     * @param ids the ids of the clients, only the first count are used
+     * @param count the amount of clients
+     * @param frame the encoded message
+     */
+    @Override
+    public void broadcast(int[] ids, int count, SharedFrame frame) {
+        for (int i = 0; i < count; i++) {
+            final NioConnection connection = server.getConnection(ids[i]);
+            if (connection == null || frame.isDroppable() && server.dropFor(connection)) continue;
+            if (connection.batch != null && connection.batch.remaining() < frame.size()) {
+                submit(connection, true);
+                compact();
+            }
+            if (connection.batch == null) {
+                open(connection);
+                if (connection.batch.remaining() < frame.size()) {
+                    LOGGER.log(System.Logger.Level.ERROR, "{0} exceeds the buffer size", frame.getMessage());
+                    pool.release(connection.batch);
+                    connection.batch = null;
+                    compact();
+                    return;
+                }
+            }
+            frame.writeTo(connection.batch);
+            connection.batchFrames++;
+        }
+        flushIfDue();
+    }
+
+    /**
+     * Hands all open buffers to the selector thread
+     */
+    @Override
+    public void flush() {
+        if (dirtyCount == 0) return;
+        for (int i = 0; i < dirtyCount; i++) {
+            submit(dirty[i], false);
+            dirty[i] = null;
+        }
+        dirtyCount = 0;
+        server.wakeUp();
+    }
+
+    /**
+     * Flushes if the oldest frame of the open buffers waited longer than the latency cap
+     */
+    @Override
+    public void flushIfDue() {
+        if (dirtyCount > 0 && System.nanoTime() - oldestFrame >= latencyCapNanos) {
+            server.countLatencyFlush();
+            flush();
+        }
+    }
+
+    private void open(NioConnection connection) {
+        connection.batch = pool.acquire();
+        connection.batchFrames = 0;
+        if (dirtyCount == 0) {
+            oldestFrame = System.nanoTime();
+        }
+        if (dirtyCount == dirty.length) {
+            dirty = Arrays.copyOf(dirty, dirty.length * 2);
+        }
+        dirty[dirtyCount++] = connection;
+    }
+
+    /**
+     * Appends a frame to the open buffer of a connection
+     *
+     * @return false if the buffer has no room left for the frame, the buffer is unchanged then
+     */
+    private boolean encode(NioConnection connection, ServerMessage message) {
+        final ByteBuffer buffer = connection.batch;
+        final int position = buffer.position();
+        try {
+            MessageFrames.encode(message, buffer);
+        } catch (IOException e) {
+            buffer.position(position);
+            return false;
+        }
+        connection.batchFrames++;
+        return true;
+    }
+
+    /**
+     * Hands the open buffer of a connection to the selector thread
+     */
+    private void submit(NioConnection connection, boolean wakeUp) {
+        final ByteBuffer buffer = connection.batch;
+        connection.batch = null;
+        if (buffer == null) return;
+        buffer.flip();
+        server.submit(connection, buffer, connection.batchFrames, wakeUp);
+    }
+
+    /**
+     * Removes connections without an open buffer from the dirty list
+     */
+    private void compact() {
+        int kept = 0;
+        for (int i = 0; i < dirtyCount; i++) {
+            if (dirty[i].batch != null) {
+                dirty[kept++] = dirty[i];
+            }
+        }
+        Arrays.fill(dirty, kept, dirtyCount, null);
+        dirtyCount = kept;
+    }
+}
@@ -0,0 +1,239 @@
+package server.network;
+
+import model.general.config.RejectReason;
+import model.general.message.client.ClientMessage;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded ingress of received client messages with rate limits and priority classes.
+ * <p>
+ * Every {@link MessagePriority} has its own {@link MessageRing} holding its share of the
+ * capacity, rounded up to a power of two. A message is dropped as overloaded when the ring
+ * of its class is full, so a flood of logins or statistics requests never takes the room
+ * of messages of running games. The consumer drains the classes in priority order.
+ * </p>
+ * <p>
+ * The messages of a connection are handled in the order they were sent within a class,
+ * but not across classes: a later guess can be handled before an earlier statistics request
+ * or login. The handlers do not depend on that order, a client waits for the answer to its
+ * login before it plays, and messages of a player that already left are ignored.
+ * </p>
+ * <p>
+ * Before a message is queued it has to take a token from its connections
+ * {@link TokenBucket} for its class. Every dropped message is counted by reason and class.
+ * </p>
+ */
+public class PriorityIngress {
+    private static final MessagePriority[] PRIORITIES = MessagePriority.values();
+
+    private final MessageRing[] rings = new MessageRing[PRIORITIES.length];
+
+    private final int capacity;
+    private final int[] rates;
+    private final int[] bursts;
+    private final WaitStrategy waitStrategy;
+    private long consumerWaitNanos;
+
+    /**
+     * Set by {@link #wakeUp()}, makes the waiting consumer return without a message
+     */
+    private volatile boolean wakeUpRequested;
+
+    /**
+     * The consumer thread while it waits, null otherwise
+     */
+    private volatile Thread waitingConsumer;
+
+    /**
+     * Dropped messages, stored at index reason * classes + class
+     */
+    private final AtomicLongArray drops = new AtomicLongArray(RejectReason.values().length * PRIORITIES.length);
+
+    /**
+     * Creates a new ingress
+     *
+     * @param capacity the amount of messages all classes together may queue, split by their share
+     * @param waitStrategy what threads do while they wait for the ingress
+     * @param rates the tokens per second of a connection, indexed by class
+     * @param bursts the size of the token buckets of a connection, indexed by class
+     */
+    public PriorityIngress(int capacity, WaitStrategy waitStrategy, int[] rates, int[] bursts) {
+        this.rates = rates.clone();
+        this.bursts = bursts.clone();
+        this.waitStrategy = waitStrategy;
+        int total = 0;
+        for (MessagePriority priority : PRIORITIES) {
+            final MessageRing ring = new MessageRing((int) Math.ceil(capacity * priority.getCapacityShare()), waitStrategy);
+            rings[priority.ordinal()] = ring;
+            total += ring.capacity();
+        }
+        this.capacity = total;
+    }
+
+    /**
+     * Creates the rate limits of a new connection
+     *
+     * @return one token bucket per class, indexed by class
+     */
+    public TokenBucket[] newConnectionLimits() {
+        final TokenBucket[] buckets = new TokenBucket[PRIORITIES.length];
+        for (MessagePriority priority : PRIORITIES) {
+            buckets[priority.ordinal()] = new TokenBucket(rates[priority.ordinal()], bursts[priority.ordinal()]);
+        }
+        return buckets;
+    }
+
+    /**
+     * Queues a message if its connection is within its rate limit and the server is not overloaded
+     *
+     * @param message the client message
+     * @param from the connection ID of the sender
+     * @param limits the rate limits of the connection, see {@link #newConnectionLimits()}
+     * @return null if the message was queued, else the reason it was dropped
+     */
+    public RejectReason offer(ClientMessage message, int from, TokenBucket[] limits) {
+        final MessagePriority priority = MessagePriority.of(message);
+        final int p = priority.ordinal();
+        if (!limits[p].tryAcquire(System.nanoTime())) {
+            return drop(RejectReason.RATE_LIMITED, priority);
+        }
+        if (!rings[p].offer(message, from)) {
+            return drop(RejectReason.OVERLOADED, priority);
+        }
+        return null;
+    }
+
+    private RejectReason drop(RejectReason reason, MessagePriority priority) {
+        drops.incrementAndGet(reason.ordinal() * PRIORITIES.length + priority.ordinal());
+        return reason;
+    }
+
+    /**
+     * Waits with the wait strategy until a message of any class is available, only called by the consumer
+     *
+     * @param timeoutNanos the longest time to wait
+     * @return true if a message is available
+     */
+    public boolean await(long timeoutNanos) {
+        if (isReadable() || consumeWakeUp()) return true;
+        final long start = System.nanoTime();
+        waitingConsumer = Thread.currentThread();
+        final long deadline = start + timeoutNanos;
+        long remaining = timeoutNanos;
+        try {
+            while (remaining > 0) {
+                if (waitStrategy == WaitStrategy.PARK) {
+                    for (MessageRing ring : rings) {
+                        ring.setParkedConsumer(Thread.currentThread());
+                    }
+                    if (isReadable() || consumeWakeUp()) return true;
+                }
+                waitStrategy.idle(remaining);
+                if (isReadable() || consumeWakeUp()) return true;
+                if (Thread.currentThread().isInterrupted()) return false;
+                remaining = deadline - System.nanoTime();
+            }
+            return false;
+        } finally {
+            for (MessageRing ring : rings) {
+                ring.setParkedConsumer(null);
+            }
+            waitingConsumer = null;
+            consumerWaitNanos += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Makes the consumer return from {@link #await(long)} even without a message,
+     * used when work other than messages is waiting for the consumer thread
+     */
+    public void wakeUp() {
+        wakeUpRequested = true;
+        final Thread consumer = waitingConsumer;
+        if (consumer != null) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    private boolean consumeWakeUp() {
+        if (!wakeUpRequested) return false;
+        wakeUpRequested = false;
+        return true;
+    }
+
+    private boolean isReadable() {
+        for (MessageRing ring : rings) {
+            if (ring.isReadable()) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Handles queued messages, higher classes first, only called by the consumer
+     *
+     * @param handler receives the messages
+     * @param maxMessages the most messages handled by this call
+     * @return the amount of handled messages
+     */
+    public int drain(MessageRing.Handler handler, int maxMessages) {
+        int drained = 0;
+        for (MessageRing ring : rings) {
+            drained += ring.drain(handler, maxMessages - drained);
+        }
+        return drained;
+    }
+
+    /**
+     * Returns the amount of queued messages of all classes
+     *
+     * @return the depth as long
+     */
+    public long size() {
+        long size = 0;
+        for (MessageRing ring : rings) {
+            size += ring.size();
+        }
+        return size;
+    }
+
+    /**
+     * Returns the amount of messages all classes together may queue, the sum of the rounded ring capacities
+     *
+     * @return the capacity as int
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the total time the consumer waited for messages, only accurate on the consumer thread
+     *
+     * @return the time in nanoseconds
+     */
+    public long getConsumerWaitNanos() {
+        return consumerWaitNanos;
+    }
+
+    /**
+     * Returns the ring of a class, e.g. to read its metrics
+     *
+     * @param priority the class
+     * @return the {@link MessageRing}
+     */
+    public MessageRing getRing(MessagePriority priority) {
+        return rings[priority.ordinal()];
+    }
+
+    /**
+     * Returns the amount of dropped messages
+     *
+     * @param reason why the messages were dropped
+     * @param priority the class of the messages
+     * @return the amount as long
+     */
+    public long getDropped(RejectReason reason, MessagePriority priority) {
+        return drops.get(reason.ordinal() * PRIORITIES.length + priority.ordinal());
+    }
+}
@@ -13,4 +13,30 @@ public interface ServerSender {
      * @param message the message
      */
     void send(int id, ServerMessage message);
+
+    /**
+     * Sends a message encoded once to many clients. Droppable frames may be skipped for clients
+     * that fall behind in reading. The default sends the message to every client on its own.
+     *
+     * @param ids the ids of the clients, only the first count are used
+     * @param count the amount of clients
+     * @param frame the encoded message
+     */
+    default void broadcast(int[] ids, int count, SharedFrame frame) {
+        for (int i = 0; i < count; i++) {
+            send(ids[i], frame.getMessage());
+        }
+    }
+
+    /**
+     * Hands all messages sent since the last flush to the network, called by the game logic
+     * at the end of every tick. Senders writing every message at once do nothing.
+     */
+    default void flush() {}
+
+    /**
+     * Flushes only if the oldest message not yet handed to the network waited longer than
+     * the latency cap of the sender, called by the game logic between two handled messages.
+     */
+    default void flushIfDue() {}
 }
@@ -0,0 +1,81 @@
+package server.network;
+
+import model.general.message.server.ServerMessage;
+import model.general.network.MessageFrames;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * A message encoded once as a frame, see {@link MessageFrames}, to be sent to many clients.
+ * <p>
+ * The bytes never change after encoding, so any thread may copy them into the outbound
+ * buffers of any amount of connections without encoding the message again.
+ * </p>
+ */
+public final class SharedFrame {
+    /**
+     * Buffers the frames are encoded into before they are copied to their exact size
+     */
+    private static final ThreadLocal<ByteBuffer> SCRATCH =
+            ThreadLocal.withInitial(() -> ByteBuffer.allocate(MessageFrames.MAX_FRAME_BYTES + MessageFrames.HEADER_BYTES));
+
+    private final ServerMessage message;
+    private final byte[] bytes;
+    private final boolean droppable;
+
+    private SharedFrame(ServerMessage message, byte[] bytes, boolean droppable) {
+        this.message = message;
+        this.bytes = bytes;
+        this.droppable = droppable;
+    }
+
+    /**
+     * Encodes a message
+     *
+     * @param message the message
+     * @param droppable whether the message may be skipped for clients falling behind, because a later
+     *                  message replaces it
+     * @return the frame
+     * @throws IOException if the message does not fit into a frame
+     */
+    public static SharedFrame of(ServerMessage message, boolean droppable) throws IOException {
+        final ByteBuffer scratch = SCRATCH.get();
+        scratch.clear();
+        MessageFrames.encode(message, scratch);
+        final byte[] bytes = new byte[scratch.position()];
+        scratch.flip().get(bytes);
+        return new SharedFrame(message, bytes, droppable);
+    }
+
+    /**
+     * Returns the encoded message, used by transports encoding messages on their own
+     *
+     * @return the message
+     */
+    public ServerMessage getMessage() {
+        return message;
+    }
+
+    public boolean isDroppable() {
+        return droppable;
+    }
+
+    /**
+     * Returns the size of the frame
+     *
+     * @return the size in bytes including the header
+     */
+    public int size() {
+        return bytes.length;
+    }
+
+    /**
+     * Copies the frame to the position of a buffer
+     *
+     * @param buffer the buffer, its position is moved behind the frame
+     */
+    void writeTo(ByteBuffer buffer) {
+        buffer.put(bytes);
+    }
+}
@@ -0,0 +1,78 @@
+package server.network;
+
+/**
+ * Rate limiter allowing a burst of messages and refilling at a fixed rate.
+ * <p>
+ * Tokens are counted in nanoseconds of refill time, so refilling needs no division
+ * per message. The bucket also remembers whether the client was already told about
+ * the current limit, so a flooding client receives one reject per empty period
+ * instead of one per message.
+ * </p>
+ */
+public class TokenBucket {
+    /**
+     * Refill time of one token
+     */
+    private final long nanosPerToken;
+
+    /**
+     * Refill time of a full bucket
+     */
+    private final long capacityNanos;
+
+    /**
+     * Refill time currently stored in the bucket
+     */
+    private long stored;
+
+    /**
+     * Time of the last refill
+     */
+    private long lastRefill;
+
+    /**
+     * True once a reject was reported for the current empty period
+     */
+    private boolean rejectReported;
+
+    /**
+     * Creates a new full bucket
+     *
+     * @param ratePerSecond the amount of tokens refilled per second, at least 1
+     * @param burst the amount of tokens a full bucket holds, at least 1
+     */
+    public TokenBucket(int ratePerSecond, int burst) {
+        this.nanosPerToken = 1_000_000_000L / Math.max(1, ratePerSecond);
+        this.capacityNanos = nanosPerToken * Math.max(1, burst);
+        this.stored = capacityNanos;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * Takes a token if there is one
+     *
+     * @param now the current {@link System#nanoTime()}
+     * @return true if a token was taken
+     */
+    public synchronized boolean tryAcquire(long now) {
+        stored = Math.min(capacityNanos, stored + (now - lastRefill));
+        lastRefill = now;
+        if (stored >= nanosPerToken) {
+            stored -= nanosPerToken;
+            rejectReported = false;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Checks if a reject should be reported to the client, true only once per empty period
+     *
+     * @return true if the client was not told about the current limit yet
+     */
+    public synchronized boolean reportReject() {
+        if (rejectReported) return false;
+        rejectReported = true;
+        return true;
+    }
+}
@@ -0,0 +1,66 @@
+package server.network;
+
+import java.util.Locale;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Decides what a thread does while it waits for a {@link MessageRing}.
+ * Spinning reacts fastest but keeps a core busy, parking frees the core but
+ * pays for a wake up.
+ */
+public enum WaitStrategy {
+    /**
+     * Spins on the CPU, lowest latency, burns a whole core while idle
+     */
+    BUSY_SPIN {
+        @Override
+        void idle(long maxNanos) {
+            Thread.onSpinWait();
+        }
+    },
+
+    /**
+     * Gives up the time slice to other threads between checks
+     */
+    YIELD {
+        @Override
+        void idle(long maxNanos) {
+            Thread.yield();
+        }
+    },
+
+    /**
+     * Parks the thread until a producer wakes it up or the timeout elapses
+     */
+    PARK {
+        @Override
+        void idle(long maxNanos) {
+            LockSupport.parkNanos(maxNanos);
+        }
+    };
+
+    /**
+     * Waits once before the condition is checked again
+     *
+     * @param maxNanos the longest time to wait in nanoseconds
+     */
+    abstract void idle(long maxNanos);
+
+    /**
+     * Returns the strategy with the given name
+     *
+     * @param name the name as used in the config, e.g. "busy-spin", case is ignored
+     * @return the strategy, {@link #PARK} if the name is unknown
+     */
+    public static WaitStrategy forName(String name) {
+        if (name != null) {
+            final String constant = name.strip().replace('-', '_').toUpperCase(Locale.ROOT);
+            for (WaitStrategy strategy : values()) {
+                if (strategy.name().equals(constant)) {
+                    return strategy;
+                }
+            }
+        }
+        return PARK;
+    }
+}
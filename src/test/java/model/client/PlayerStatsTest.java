@@ -0,0 +1,139 @@
+package model.client;
+
+import model.general.dto.StatsProvider;
+import model.general.message.server.StatsDeltaUpdate;
+import model.general.message.server.StatsRequestResponse;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PlayerStatsTest {
+    private static final long DAY = 20_000;
+
+    private final PlayerStats stats = new PlayerStats();
+
+    /**
+     * Stats at version 7: 3 wins, 1 loss, a streak of 2
+     */
+    private void fetch() {
+        stats.set(new StatsRequestResponse(new StatsProvider() {
+            @Override
+            public String getAlias() {
+                return "alias";
+            }
+
+            @Override
+            public long getLastPlayDate() {
+                return DAY;
+            }
+
+            @Override
+            public int getScore() {
+                return 12;
+            }
+
+            @Override
+            public int getStreak() {
+                return 2;
+            }
+
+            @Override
+            public int getMaxStreak() {
+                return 3;
+            }
+
+            @Override
+            public int getWordlesSolved() {
+                return 3;
+            }
+
+            @Override
+            public int getWordlesLost() {
+                return 1;
+            }
+
+            @Override
+            public int[] getGuessDistribution() {
+                return new int[]{0, 1, 2, 0, 0, 0};
+            }
+        }, 7));
+    }
+
+    @Test
+    void deltasNeedTheFullStatsFirst() {
+        assertFalse(stats.isKnown());
+        assertFalse(stats.apply(new StatsDeltaUpdate(1, 1, 1, 1, true, false, 0, DAY)));
+        assertFalse(stats.isKnown());
+        assertEquals(0, stats.getScore());
+    }
+
+    @Test
+    void fullStats() {
+        fetch();
+        assertTrue(stats.isKnown());
+        assertEquals("alias", stats.getAlias());
+        assertEquals(DAY, stats.getLastPlayDate());
+        assertEquals(12, stats.getScore());
+        assertEquals(2, stats.getStreak());
+        assertEquals(3, stats.getMaxStreak());
+        assertEquals(3, stats.getWordlesSolved());
+        assertEquals(1, stats.getWordlesLost());
+        assertArrayEquals(new int[]{0, 1, 2, 0, 0, 0}, stats.getGuessDistribution());
+    }
+
+    @Test
+    void nextVersionIsApplied() {
+        fetch();
+        assertTrue(stats.apply(new StatsDeltaUpdate(8, 10, 3, 3, true, false, 3, DAY + 1)));
+        assertEquals(22, stats.getScore());
+        assertEquals(3, stats.getStreak());
+        assertEquals(3, stats.getMaxStreak());
+        assertEquals(4, stats.getWordlesSolved());
+        assertEquals(1, stats.getWordlesLost());
+        assertEquals(DAY + 1, stats.getLastPlayDate());
+        assertArrayEquals(new int[]{0, 1, 2, 1, 0, 0}, stats.getGuessDistribution());
+
+        assertTrue(stats.apply(new StatsDeltaUpdate(9, 0, 0, 3, false, true, StatsDeltaUpdate.NO_BUCKET, DAY + 2)));
+        assertEquals(22, stats.getScore());
+        assertEquals(0, stats.getStreak());
+        assertEquals(2, stats.getWordlesLost());
+        assertArrayEquals(new int[]{0, 1, 2, 1, 0, 0}, stats.getGuessDistribution());
+        assertTrue(stats.isKnown());
+    }
+
+    @Test
+    void duplicateVersionsAreIgnored() {
+        fetch();
+        assertTrue(stats.apply(new StatsDeltaUpdate(7, 10, 3, 3, true, false, 3, DAY + 1)));
+        assertTrue(stats.apply(new StatsDeltaUpdate(5, 10, 3, 3, true, false, 3, DAY + 1)));
+        assertTrue(stats.apply(new StatsDeltaUpdate(8, 1, 3, 3, true, false, 0, DAY + 1)));
+        assertTrue(stats.apply(new StatsDeltaUpdate(8, 1, 3, 3, true, false, 0, DAY + 1)));
+        assertEquals(13, stats.getScore());
+        assertEquals(4, stats.getWordlesSolved());
+        assertArrayEquals(new int[]{1, 1, 2, 0, 0, 0}, stats.getGuessDistribution());
+    }
+
+    @Test
+    void aGapAsksForTheFullStats() {
+        fetch();
+        assertFalse(stats.apply(new StatsDeltaUpdate(9, 10, 3, 3, true, false, 3, DAY + 1)));
+        assertFalse(stats.isKnown());
+        assertEquals(12, stats.getScore());
+        assertFalse(stats.apply(new StatsDeltaUpdate(10, 10, 3, 3, true, false, 3, DAY + 2)));
+
+        fetch();
+        assertTrue(stats.isKnown());
+        assertTrue(stats.apply(new StatsDeltaUpdate(8, 1, 3, 3, true, false, 0, DAY + 1)));
+    }
+
+    @Test
+    void bucketsOutsideTheDistributionAreSkipped() {
+        fetch();
+        assertTrue(stats.apply(new StatsDeltaUpdate(8, 1, 3, 3, true, false, 6, DAY + 1)));
+        assertArrayEquals(new int[]{0, 1, 2, 0, 0, 0}, stats.getGuessDistribution());
+        assertEquals(4, stats.getWordlesSolved());
+    }
+}
@@ -0,0 +1,22 @@
+package model.general.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class GameModeTest {
+    @Test
+    void knownOrdinals() {
+        for (GameMode mode : GameMode.values()) {
+            assertSame(mode, GameMode.fromOrdinal(mode.ordinal()));
+        }
+    }
+
+    @Test
+    void unknownOrdinalsAreNull() {
+        assertNull(GameMode.fromOrdinal(-1));
+        assertNull(GameMode.fromOrdinal(GameMode.values().length));
+        assertNull(GameMode.fromOrdinal(Integer.MAX_VALUE));
+    }
+}
@@ -0,0 +1,220 @@
+package model.general.network;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Sends every message with a generated codec through a frame and back. The fields are filled
+ * by reflection, so new messages and fields are covered without changing this test.
+ */
+class MessageFramesTest {
+    @Test
+    void everyCodecIsRegisteredUnderItsId() {
+        final List<MessageCodec<?>> codecs = MessageCodecs.all();
+        assertFalse(codecs.isEmpty());
+        for (int id = 0; id < codecs.size(); id++) {
+            final MessageCodec<?> codec = codecs.get(id);
+            assertEquals(id, codec.getId());
+            assertSame(codec, MessageCodecs.forId(id));
+            assertSame(codec, MessageCodecs.forType(codec.getType()));
+        }
+        assertNull(MessageCodecs.forId(codecs.size()));
+        assertNull(MessageCodecs.forType(String.class));
+    }
+
+    @Test
+    void everyMessageSurvivesARoundTrip() throws Exception {
+        for (MessageCodec<?> codec : MessageCodecs.all()) {
+            assertRoundTrip(filled(codec.getType(), 1));
+            assertRoundTrip(filled(codec.getType(), 2));
+            assertRoundTrip(empty(codec.getType()));
+        }
+    }
+
+    @Test
+    void framesFollowEachOther() throws Exception {
+        final ByteBuffer buffer = ByteBuffer.allocate(MessageFrames.DEFAULT_BUFFER_SIZE);
+        final List<Object> messages = new ArrayList<>();
+        for (MessageCodec<?> codec : MessageCodecs.all()) {
+            final Object message = filled(codec.getType(), 3);
+            messages.add(message);
+            MessageFrames.encode(message, buffer);
+        }
+        buffer.flip();
+        for (Object message : messages) {
+            assertFields(message, MessageFrames.decode(buffer));
+        }
+        assertNull(MessageFrames.decode(buffer));
+    }
+
+    @Test
+    void truncatedFramesWaitForTheRest() throws Exception {
+        for (MessageCodec<?> codec : MessageCodecs.all()) {
+            final Object message = filled(codec.getType(), 4);
+            final ByteBuffer buffer = ByteBuffer.allocate(MessageFrames.DEFAULT_BUFFER_SIZE);
+            MessageFrames.encode(message, buffer);
+            final int length = buffer.position();
+            for (int received = 0; received < length; received++) {
+                buffer.position(0).limit(received);
+                assertNull(MessageFrames.decode(buffer), codec.getType().getSimpleName());
+                assertEquals(0, buffer.position());
+            }
+            buffer.position(0).limit(length);
+            assertFields(message, MessageFrames.decode(buffer));
+        }
+    }
+
+    @Test
+    void framesShorterThanTheirMessageAreMalformed() throws Exception {
+        for (MessageCodec<?> codec : MessageCodecs.all()) {
+            final ByteBuffer buffer = ByteBuffer.allocate(MessageFrames.DEFAULT_BUFFER_SIZE);
+            MessageFrames.encode(filled(codec.getType(), 5), buffer);
+            final int length = buffer.position() - MessageFrames.HEADER_BYTES;
+            if (length == 1) continue; // a message without fields can not be cut
+            buffer.putShort(0, (short) (length - 1)).flip();
+            assertThrows(IOException.class, () -> MessageFrames.decode(buffer), codec.getType().getSimpleName());
+            assertEquals(length + 1, buffer.position(), "the broken frame is skipped");
+        }
+    }
+
+    @Test
+    void framesLongerThanTheirMessageAreMalformed() throws Exception {
+        final MessageCodec<?> codec = MessageCodecs.forId(0);
+        final ByteBuffer buffer = ByteBuffer.allocate(MessageFrames.DEFAULT_BUFFER_SIZE);
+        MessageFrames.encode(filled(codec.getType(), 6), buffer);
+        final int length = buffer.position() - MessageFrames.HEADER_BYTES;
+        buffer.put((byte) 0).putShort(0, (short) (length + 1)).flip();
+        assertThrows(IOException.class, () -> MessageFrames.decode(buffer));
+    }
+
+    @Test
+    void unknownIdsAreMalformed() {
+        final ByteBuffer buffer = ByteBuffer.allocate(16);
+        buffer.putShort((short) 1).put((byte) 0xFF).flip();
+        assertThrows(IOException.class, () -> MessageFrames.decode(buffer));
+        assertEquals(3, buffer.position());
+    }
+
+    @Test
+    void oversizedFramesAreRejected() throws Exception {
+        final ByteBuffer small = ByteBuffer.allocate(64);
+        small.putShort((short) 63).flip();
+        assertThrows(IOException.class, () -> MessageFrames.decode(small));
+
+        final String text = "x".repeat(30_000);
+        final Object message = with(String.class, text);
+        final ByteBuffer tooSmall = ByteBuffer.allocate(128);
+        tooSmall.position(10);
+        assertThrows(IOException.class, () -> MessageFrames.encode(message, tooSmall));
+        assertEquals(10, tooSmall.position(), "a failed encode leaves the buffer as it was");
+
+        final ByteBuffer large = ByteBuffer.allocate(4 * MessageFrames.MAX_FRAME_BYTES);
+        assertThrows(IOException.class, () -> MessageFrames.encode(with(String[].class, new String[]{text, text, text}), large));
+        assertEquals(0, large.position());
+        assertThrows(IOException.class, () -> MessageFrames.encode(with(String.class, text + text), large));
+        assertEquals(0, large.position());
+        MessageFrames.encode(message, large);
+
+        assertThrows(IOException.class, () -> MessageFrames.encode(new Object(), large));
+        assertThrows(IOException.class, () -> MessageFrames.encode(message, ByteBuffer.allocate(1)));
+    }
+
+    private static void assertRoundTrip(Object message) throws Exception {
+        final ByteBuffer buffer = ByteBuffer.allocate(MessageFrames.DEFAULT_BUFFER_SIZE);
+        MessageFrames.encode(message, buffer);
+        assertEquals(buffer.position() - MessageFrames.HEADER_BYTES, buffer.getShort(0) & 0xFFFF);
+        buffer.flip();
+        final Object decoded = MessageFrames.decode(buffer);
+        assertFalse(buffer.hasRemaining());
+        assertFields(message, decoded);
+    }
+
+    private static void assertFields(Object expected, Object actual) throws IllegalAccessException {
+        assertNotNull(actual);
+        assertSame(expected.getClass(), actual.getClass());
+        for (Field field : fields(expected.getClass())) {
+            assertTrue(Objects.deepEquals(field.get(expected), field.get(actual)),
+                    () -> expected.getClass().getSimpleName() + "." + field.getName());
+        }
+    }
+
+    /**
+     * Creates a message with every field set to a value depending on the seed
+     */
+    private static Object filled(Class<?> type, int seed) throws Exception {
+        final Object message = empty(type);
+        int index = seed;
+        for (Field field : fields(type)) {
+            field.set(message, value(field.getType(), index++));
+        }
+        return message;
+    }
+
+    /**
+     * Creates the first message with a field of the given type and sets that field to the value
+     */
+    private static Object with(Class<?> fieldType, Object value) throws Exception {
+        for (MessageCodec<?> codec : MessageCodecs.all()) {
+            for (Field field : fields(codec.getType())) {
+                if (field.getType() == fieldType) {
+                    final Object message = filled(codec.getType(), 7);
+                    field.set(message, value);
+                    return message;
+                }
+            }
+        }
+        throw new AssertionError("no message with a field of type " + fieldType);
+    }
+
+    private static Object empty(Class<?> type) throws Exception {
+        final Constructor<?> constructor = type.getDeclaredConstructor();
+        constructor.setAccessible(true);
+        return constructor.newInstance();
+    }
+
+    private static List<Field> fields(Class<?> type) {
+        final List<Field> fields = new ArrayList<>();
+        for (Field field : type.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers()) || Modifier.isTransient(field.getModifiers())) continue;
+            field.setAccessible(true);
+            fields.add(field);
+        }
+        return fields;
+    }
+
+    /**
+     * Returns a value of the given type, odd seeds give values near the edges of the type
+     */
+    private static Object value(Class<?> type, int seed) {
+        final boolean edge = seed % 2 == 1;
+        if (type == boolean.class) return edge;
+        if (type == byte.class) return (byte) (edge ? -128 : seed);
+        if (type == short.class) return (short) (edge ? Short.MIN_VALUE : seed * 300);
+        if (type == char.class) return edge ? 'ß' : (char) ('A' + seed % 26);
+        if (type == int.class) return edge ? -seed : seed * 100_003;
+        if (type == long.class) return edge ? Long.MIN_VALUE + seed : (long) seed << 40;
+        if (type == float.class) return edge ? Float.NaN : seed / 4f;
+        if (type == double.class) return edge ? Double.MAX_VALUE : seed / 8.0;
+        if (type == String.class) return edge ? "Grüße " + seed : "";
+        if (type == int[].class) return edge ? new int[]{seed, -1, Integer.MAX_VALUE} : new int[0];
+        if (type == long[].class) return edge ? new long[]{seed, -1L, 1L << 62} : new long[0];
+        if (type == String[].class) return edge ? new String[]{"Ä" + seed, null, ""} : new String[0];
+        throw new AssertionError("no test value for fields of type " + type);
+    }
+}
@@ -0,0 +1,95 @@
+package model.general.network;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WireFormatTest {
+    private final ByteBuffer buffer = ByteBuffer.allocate(1024);
+
+    @Test
+    void varLongsTakeSevenBitsPerByte() {
+        assertVarLong(0, 1);
+        assertVarLong(1, 1);
+        assertVarLong(0x7F, 1);
+        assertVarLong(0x80, 2);
+        assertVarLong(0x3FFF, 2);
+        assertVarLong(0x4000, 3);
+        assertVarLong(1L << 35, 6);
+        assertVarLong(Long.MAX_VALUE, 9);
+        assertVarLong(Long.MIN_VALUE, 10);
+        assertVarLong(-1, 10);
+    }
+
+    @Test
+    void varLongsAreLittleEndianGroups() {
+        WireFormat.putVarLong(buffer, 300);
+        assertEquals(2, buffer.position());
+        assertEquals((byte) 0xAC, buffer.get(0));
+        assertEquals((byte) 0x02, buffer.get(1));
+    }
+
+    @Test
+    void malformedVarLongs() {
+        for (int i = 0; i < 10; i++) {
+            buffer.put((byte) 0x80);
+        }
+        buffer.flip();
+        assertThrows(IllegalArgumentException.class, () -> WireFormat.getVarLong(buffer));
+
+        final ByteBuffer truncated = ByteBuffer.wrap(new byte[]{(byte) 0x80, (byte) 0x80});
+        assertThrows(BufferUnderflowException.class, () -> WireFormat.getVarLong(truncated));
+    }
+
+    @Test
+    void stringsAndArrays() {
+        WireFormat.putString(buffer, "Grüße 🎉");
+        WireFormat.putString(buffer, "");
+        WireFormat.putString(buffer, null);
+        WireFormat.putInts(buffer, new int[]{0, -1, Integer.MAX_VALUE});
+        WireFormat.putInts(buffer, null);
+        WireFormat.putLongs(buffer, new long[]{0, 1L << 62, -1});
+        WireFormat.putLongs(buffer, new long[0]);
+        WireFormat.putStrings(buffer, new String[]{"a", null, ""});
+        WireFormat.putStrings(buffer, null);
+        WireFormat.putBoolean(buffer, true);
+        WireFormat.putBoolean(buffer, false);
+        buffer.flip();
+
+        assertEquals("Grüße 🎉", WireFormat.getString(buffer));
+        assertEquals("", WireFormat.getString(buffer));
+        assertNull(WireFormat.getString(buffer));
+        assertArrayEquals(new int[]{0, -1, Integer.MAX_VALUE}, WireFormat.getInts(buffer));
+        assertNull(WireFormat.getInts(buffer));
+        assertArrayEquals(new long[]{0, 1L << 62, -1}, WireFormat.getLongs(buffer));
+        assertArrayEquals(new long[0], WireFormat.getLongs(buffer));
+        assertArrayEquals(new String[]{"a", null, ""}, WireFormat.getStrings(buffer));
+        assertNull(WireFormat.getStrings(buffer));
+        assertTrue(WireFormat.getBoolean(buffer));
+        assertFalse(WireFormat.getBoolean(buffer));
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    void tooManyElements() {
+        final ByteBuffer large = ByteBuffer.allocate(1 << 20);
+        assertThrows(IllegalArgumentException.class, () -> WireFormat.putLongs(large, new long[Short.MAX_VALUE + 1]));
+    }
+
+    private void assertVarLong(long value, int bytes) {
+        buffer.clear();
+        WireFormat.putVarLong(buffer, value);
+        assertEquals(bytes, buffer.position(), () -> "bytes of " + value);
+        buffer.flip();
+        assertEquals(value, WireFormat.getVarLong(buffer));
+        assertFalse(buffer.hasRemaining());
+    }
+}
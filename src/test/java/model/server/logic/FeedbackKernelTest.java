@@ -0,0 +1,96 @@
+package model.server.logic;
+
+import model.general.config.Alphabet;
+import model.general.config.WordCodec;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+/**
+ * Checks that the Vector API kernel rates every guess exactly like the scalar kernel.
+ * Runs with {@code --add-modules jdk.incubator.vector}, which the build adds to the tests.
+ */
+class FeedbackKernelTest {
+    private static final Path WORDS = Path.of("src/main/serverfiles");
+
+    private final FeedbackKernel vector = new VectorFeedbackKernel();
+    private final FeedbackKernel scalar = new ScalarFeedbackKernel();
+
+    @Test
+    void englishWordListAgainstAllAnswers() throws IOException {
+        final long[] guesses = read("wordlist.txt", Alphabet.ENGLISH);
+        final long[] answers = read("answers.txt", Alphabet.ENGLISH);
+        assertSameFeedback(guesses, answers, 5, Alphabet.ENGLISH);
+    }
+
+    @Test
+    void germanWordsWithUmlauts() {
+        final Random random = new Random(49);
+        assertSameFeedback(randomWords(random, 3000, 5, Alphabet.GERMAN), randomWords(random, 2000, 5, Alphabet.GERMAN), 5, Alphabet.GERMAN);
+    }
+
+    @Test
+    void otherWordLengths() {
+        final Random random = new Random(31);
+        for (int length = WordleEngine.MIN_WORD_LENGTH; length <= WordleEngine.MAX_WORD_LENGTH; length++) {
+            for (Alphabet alphabet : List.of(Alphabet.ENGLISH, Alphabet.GERMAN)) {
+                assertSameFeedback(randomWords(random, 500, length, alphabet), randomWords(random, 1000, length, alphabet), length, alphabet);
+            }
+        }
+    }
+
+    @Test
+    void rangeWithTail() {
+        final Random random = new Random(7);
+        final long[] answers = randomWords(random, 103, 5, Alphabet.ENGLISH);
+        for (long guess : randomWords(random, 200, 5, Alphabet.ENGLISH)) {
+            final int[] expected = new int[answers.length];
+            final int[] actual = new int[answers.length];
+            scalar.evaluate(guess, answers, 3, 101, 5, expected);
+            vector.evaluate(guess, answers, 3, 101, 5, actual);
+            assertArrayEquals(expected, actual, () -> WordCodec.decode(guess, 5, Alphabet.ENGLISH));
+        }
+    }
+
+    private void assertSameFeedback(long[] guesses, long[] answers, int length, Alphabet alphabet) {
+        final int[] expected = new int[answers.length];
+        final int[] actual = new int[answers.length];
+        for (long guess : guesses) {
+            scalar.evaluate(guess, answers, 0, answers.length, length, expected);
+            vector.evaluate(guess, answers, 0, answers.length, length, actual);
+            assertArrayEquals(expected, actual, () -> WordCodec.decode(guess, length, alphabet));
+        }
+    }
+
+    private static long[] read(String file, Alphabet alphabet) throws IOException {
+        return Files.readAllLines(WORDS.resolve(file), StandardCharsets.UTF_8).stream()
+                .map(alphabet::normalize)
+                .filter(word -> !word.isEmpty())
+                .mapToLong(word -> WordCodec.encode(word, alphabet))
+                .toArray();
+    }
+
+    /**
+     * Half of the words only use four letters, so repeated letters in guess and answer are common
+     */
+    private static long[] randomWords(Random random, int count, int length, Alphabet alphabet) {
+        final long[] words = new long[count];
+        final char[] word = new char[length];
+        for (int i = 0; i < count; i++) {
+            final int letters = i % 2 == 0 ? alphabet.size() : 4;
+            final int offset = random.nextInt(alphabet.size() - letters + 1);
+            for (int k = 0; k < length; k++) {
+                word[k] = alphabet.letterAt(offset + random.nextInt(letters));
+            }
+            words[i] = WordCodec.encode(new String(word), alphabet);
+        }
+        return words;
+    }
+}
@@ -0,0 +1,220 @@
+package model.server.logic;
+
+import model.general.config.Alphabet;
+import model.general.config.GameMode;
+import model.server.Player;
+import model.server.config.ServerGameConfig;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Stores games of every mode that can be continued and restores them into a new player,
+ * using the word lists of the server in {@code src/main}.
+ */
+class GameSnapshotTest {
+    private static final File DIR = new File("src/main");
+    private static final String[] PATHS = {"words.answers", "words.guesses", "words.all", "words.book", "words.daily-override"};
+
+    private static WordleEngine engine;
+
+    @BeforeAll
+    static void loadWords() throws IOException {
+        final Properties properties = new Properties();
+        try (FileReader reader = new FileReader(new File(DIR, "server_config.properties"))) {
+            properties.load(reader);
+        }
+        for (String key : PATHS) {
+            final String path = properties.getProperty(key);
+            if (path != null) properties.setProperty(key, new File(DIR, path).getPath());
+        }
+        properties.setProperty("words.hot-reload", "false");
+        final ServerGameConfig config = new ServerGameConfig();
+        config.readFrom(properties);
+        engine = new WordleEngine(config);
+    }
+
+    @Test
+    void classic() {
+        final Player player = start(GameMode.CLASSIC, 3);
+        final String snapshot = GameSnapshot.capture(player);
+        assertTrue(snapshot.length() < 40, snapshot);
+        assertRestored(player, snapshot);
+    }
+
+    @Test
+    void classicWithoutGuesses() {
+        assertRestored(start(GameMode.CLASSIC, 0), null);
+    }
+
+    @Test
+    void dailyClassic() {
+        final WordDictionary dictionary = engine.getDailyDictionary();
+        final Player player = new Player("daily", 1);
+        final CandidateSet candidates = dictionary.newCandidateSet();
+        player.startGame(GameMode.CLASSIC, new FixedAnswer(dictionary, engine.getCurrentWord()), GameMode.CLASSIC.getAllowedGuesses(), dictionary, candidates);
+        player.setDailyOrRandom(true, 10);
+        guess(player, 2);
+        final Player restored = assertRestored(player, null);
+        assertTrue(restored.isDailyWordle());
+    }
+
+    @Test
+    void absurdle() {
+        final Player player = start(GameMode.ABSURDLE, 4);
+        final Player restored = assertRestored(player, null);
+        assertEquals(player.getCandidates().count(), restored.getCandidates().count());
+    }
+
+    @Test
+    void quordle() {
+        assertRestored(start(GameMode.QUORDLE, 5), null);
+    }
+
+    @Test
+    void octordle() {
+        assertRestored(start(GameMode.OCTORDLE, 12), null);
+    }
+
+    @Test
+    void gamesThatCannotBeContinuedAreNotStored() {
+        assertNull(GameSnapshot.capture(new Player("idle", 1)));
+        final Player timeAttack = start(GameMode.TIME_ATTACK, 1);
+        assertNull(GameSnapshot.capture(timeAttack));
+        timeAttack.startTimer(System.nanoTime());
+        assertNull(GameSnapshot.capture(timeAttack));
+    }
+
+    @Test
+    void brokenSnapshotsAreDropped() {
+        final String snapshot = GameSnapshot.capture(start(GameMode.CLASSIC, 2));
+        final byte[] bytes = Base64.getDecoder().decode(snapshot);
+        for (String broken : List.of("", "not base64!", snapshot.substring(0, snapshot.length() / 2),
+                withByte(bytes, 0, 99), withByte(bytes, 1, 99), withByte(bytes, 1, GameMode.TIME_ATTACK.ordinal()))) {
+            final Player player = new Player("broken", 1);
+            assertFalse(GameSnapshot.restore(broken, player, engine), broken);
+            assertFalse(player.isGameActive());
+        }
+    }
+
+    @Test
+    void snapshotsOfOtherWordListsAreDropped() {
+        final Player player = start(GameMode.CLASSIC, 1);
+        final byte[] bytes = Base64.getDecoder().decode(GameSnapshot.capture(player));
+        // the word length and the amount of answers follow the version, mode and daily flag
+        bytes[4]++;
+        assertFalse(GameSnapshot.restore(Base64.getEncoder().withoutPadding().encodeToString(bytes), new Player("other", 1), engine));
+    }
+
+    @Test
+    void snapshotsOfReorderedWordListsAreDropped() {
+        final WordDictionary dictionary = engine.getDefaultDictionary();
+        final List<String> reversed = new ArrayList<>(dictionary.getAnswers());
+        Collections.reverse(reversed);
+        final WordDictionary other = new WordDictionary(dictionary.getWordLength(), Alphabet.ENGLISH, reversed, List.of());
+        final Player player = new Player("reordered", 1);
+        final CandidateSet candidates = other.newCandidateSet();
+        player.startGame(GameMode.CLASSIC, new FixedAnswer(other, reversed.get(0)), GameMode.CLASSIC.getAllowedGuesses(), other, candidates);
+        player.setDailyOrRandom(false, 1);
+        guess(player, 1);
+        // same word length and amount of answers, but every index points to another word
+        final String snapshot = GameSnapshot.capture(player);
+        assertNotNull(snapshot);
+        assertFalse(GameSnapshot.restore(snapshot, new Player("other", 1), engine));
+    }
+
+    /**
+     * Starts a game the way the server does and makes guesses that do not solve it
+     */
+    private static Player start(GameMode mode, int guesses) {
+        final WordDictionary dictionary = engine.getDefaultDictionary();
+        final CandidateSet candidates = dictionary.newCandidateSet();
+        final AnswerStrategy answer;
+        if (mode == GameMode.ABSURDLE)
+            answer = new AdversarialAnswer(dictionary, candidates);
+        else if (mode.getBoardCount() > 1)
+            answer = new MultiBoardAnswer(dictionary, dictionary.getRandomWords(mode.getBoardCount()));
+        else
+            answer = new FixedAnswer(dictionary, dictionary.getRandomWord());
+        final Player player = new Player(mode.name(), 1);
+        player.startGame(mode, answer, mode.getAllowedGuesses(), dictionary, candidates);
+        player.setDailyOrRandom(false, 1);
+        guess(player, guesses);
+        return player;
+    }
+
+    /**
+     * Guesses answers in list order, skipping the words a board is looking for
+     */
+    private static void guess(Player player, int count) {
+        final WordDictionary dictionary = player.getDictionary();
+        final AnswerStrategy answer = player.getAnswerStrategy();
+        int next = 0;
+        for (int made = 0; made < count; next++) {
+            final String word = dictionary.getAnswers().get(next);
+            if (isAnswer(player, answer, word)) continue;
+            final long guess = dictionary.encode(word);
+            final int[] patterns = player.submitGuess(guess);
+            if (answer.getBoardCount() == 1 && player.getGameMode() != GameMode.ABSURDLE)
+                dictionary.narrowCandidates(player.getCandidates(), guess, patterns[0]);
+            made++;
+        }
+        assertTrue(player.isGameActive());
+        assertFalse(player.isSolved());
+    }
+
+    private static boolean isAnswer(Player player, AnswerStrategy answer, String word) {
+        if (player.getGameMode() == GameMode.ABSURDLE) return false;
+        for (int board = 0; board < answer.getBoardCount(); board++) {
+            if (answer.getAnswer(board).equals(word)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Restores the game of the player into a new player and compares both games
+     */
+    private static Player assertRestored(Player player, String snapshot) {
+        if (snapshot == null) snapshot = GameSnapshot.capture(player);
+        assertNotNull(snapshot, player.getGameMode()::name);
+        final Player restored = new Player(player.getName(), 2);
+        assertTrue(GameSnapshot.restore(snapshot, restored, engine));
+
+        assertTrue(restored.isGameActive());
+        assertEquals(player.getGameMode(), restored.getGameMode());
+        assertEquals(player.getDictionary(), restored.getDictionary());
+        assertEquals(player.getMaxGuesses(), restored.getMaxGuesses());
+        assertEquals(player.getPointsToGain(), restored.getPointsToGain());
+        assertEquals(player.isDailyWordle(), restored.isDailyWordle());
+        assertArrayEquals(player.copyGuesses(), restored.copyGuesses());
+        assertArrayEquals(player.copyPatterns(), restored.copyPatterns());
+        assertEquals(player.getAnswerStrategy().getBoardCount(), restored.getAnswerStrategy().getBoardCount());
+        if (player.getGameMode() != GameMode.ABSURDLE) {
+            assertEquals(player.getCurrentAnswer(), restored.getCurrentAnswer());
+            assertEquals(player.getCandidates().count(), restored.getCandidates().count());
+        }
+        assertEquals(snapshot, GameSnapshot.capture(restored));
+        return restored;
+    }
+
+    private static String withByte(byte[] bytes, int index, int value) {
+        final byte[] copy = bytes.clone();
+        copy[index] = (byte) value;
+        return Base64.getEncoder().withoutPadding().encodeToString(copy);
+    }
+}
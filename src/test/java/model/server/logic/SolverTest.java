@@ -0,0 +1,42 @@
+package model.server.logic;
+
+import model.general.config.Alphabet;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SolverTest {
+    private static final List<String> ANSWERS = List.of("CRANE", "TRAIN", "SPEED", "ERASE", "BLOCK", "FUZZY");
+
+    private final WordDictionary dictionary = new WordDictionary(5, Alphabet.ENGLISH, ANSWERS, List.of());
+    private final Solver solver = new Solver(dictionary, ForkJoinPool.commonPool());
+
+    @Test
+    void unfinishedScansFallBackToTheLastCompleteRanking() {
+        final CandidateSet candidates = dictionary.newCandidateSet();
+        candidates.remove(5);
+        candidates.updateCount();
+        assertEquals(List.of(), cancelled(candidates));
+
+        final List<Solver.Hint> complete = solver.rankGuesses(candidates, 3, Long.MAX_VALUE, ForkJoinPool.commonPool(), () -> false);
+        assertEquals(3, complete.size());
+        assertEquals(complete, cancelled(candidates));
+        assertEquals(complete, cancelled(candidates.copy()));
+
+        // a ranking of other candidates is never handed out
+        candidates.remove(4);
+        candidates.updateCount();
+        assertTrue(cancelled(candidates).isEmpty());
+    }
+
+    /**
+     * Ranks the candidates with a scan that is cancelled before its first guess
+     */
+    private List<Solver.Hint> cancelled(CandidateSet candidates) {
+        return solver.rankGuesses(candidates, 3, Long.MAX_VALUE, ForkJoinPool.commonPool(), () -> true);
+    }
+}
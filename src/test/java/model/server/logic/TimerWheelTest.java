@@ -0,0 +1,174 @@
+package model.server.logic;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs a wheel of 8 slots of one millisecond each on a made up clock starting at 0
+ */
+class TimerWheelTest {
+    private static final long MILLIS = 1_000_000L;
+
+    private final TimerWheel wheel = new TimerWheel(8, MILLIS, 0);
+    private final List<String> fired = new ArrayList<>();
+
+    private class Recording extends TimerWheel.Timer {
+        private final String name;
+
+        Recording(String name) {
+            this.name = name;
+        }
+
+        @Override
+        protected void expire() {
+            fired.add(name);
+        }
+    }
+
+    @Test
+    void firesOnceDue() {
+        final Recording timer = new Recording("a");
+        wheel.schedule(timer, 5 * MILLIS, 0);
+        assertTrue(timer.isScheduled());
+        assertEquals(1, wheel.size());
+
+        wheel.advance(5 * MILLIS - 1);
+        assertEquals(List.of(), fired);
+        wheel.advance(5 * MILLIS);
+        assertEquals(List.of("a"), fired);
+        assertFalse(timer.isScheduled());
+        assertEquals(0, wheel.size());
+
+        wheel.advance(50 * MILLIS);
+        assertEquals(List.of("a"), fired);
+    }
+
+    @Test
+    void timersOfOneSlotFireInOneAdvance() {
+        wheel.schedule(new Recording("a"), 3 * MILLIS, 0);
+        wheel.schedule(new Recording("b"), 3 * MILLIS, 0);
+        wheel.schedule(new Recording("c"), 2 * MILLIS, 0);
+        wheel.advance(3 * MILLIS);
+        assertEquals(3, fired.size());
+        assertEquals("c", fired.get(0));
+        assertTrue(fired.containsAll(List.of("a", "b")));
+    }
+
+    @Test
+    void cancelledTimersNeverFire() {
+        final Recording first = new Recording("first");
+        final Recording second = new Recording("second");
+        final Recording third = new Recording("third");
+        wheel.schedule(first, 2 * MILLIS, 0);
+        wheel.schedule(second, 2 * MILLIS, 0);
+        wheel.schedule(third, 2 * MILLIS, 0);
+        wheel.cancel(second);
+        wheel.cancel(second);
+        assertFalse(second.isScheduled());
+        assertEquals(2, wheel.size());
+
+        wheel.advance(2 * MILLIS);
+        assertEquals(2, fired.size());
+        assertFalse(fired.contains("second"));
+    }
+
+    @Test
+    void rescheduleMovesTheTimer() {
+        final Recording timer = new Recording("a");
+        wheel.schedule(timer, 2 * MILLIS, 0);
+        wheel.schedule(timer, 6 * MILLIS, MILLIS);
+        assertEquals(1, wheel.size());
+        wheel.advance(6 * MILLIS);
+        assertEquals(List.of(), fired);
+        wheel.advance(7 * MILLIS);
+        assertEquals(List.of("a"), fired);
+    }
+
+    @Test
+    void timersBeyondOneTurnWaitForTheirTurn() {
+        wheel.schedule(new Recording("far"), 20 * MILLIS, 0);
+        wheel.schedule(new Recording("near"), 4 * MILLIS, 0);
+        for (long now = 1; now < 20; now++) {
+            wheel.advance(now * MILLIS);
+            assertEquals(now < 4 ? List.of() : List.of("near"), fired, "at " + now + " ms");
+        }
+        wheel.advance(20 * MILLIS);
+        assertEquals(List.of("near", "far"), fired);
+    }
+
+    @Test
+    void oneAdvanceCatchesUpOverManyTurns() {
+        wheel.schedule(new Recording("a"), 20 * MILLIS, 0);
+        wheel.schedule(new Recording("b"), 45 * MILLIS, 0);
+        wheel.advance(1_000 * MILLIS);
+        assertEquals(List.of("a", "b"), fired);
+    }
+
+    @Test
+    void timersScheduledAfterAnIdleWheelUseTheCurrentTime() {
+        wheel.advance(1_000 * MILLIS);
+        wheel.schedule(new Recording("a"), 3 * MILLIS, 1_000 * MILLIS);
+        wheel.advance(1_002 * MILLIS);
+        assertEquals(List.of(), fired);
+        wheel.advance(1_003 * MILLIS);
+        assertEquals(List.of("a"), fired);
+    }
+
+    @Test
+    void overdueTimersFireOnTheNextTick() {
+        wheel.advance(10 * MILLIS);
+        wheel.schedule(new Recording("a"), -5 * MILLIS, 10 * MILLIS);
+        wheel.advance(11 * MILLIS);
+        assertEquals(List.of("a"), fired);
+    }
+
+    @Test
+    void firingTimersMayCancelAndScheduleOthers() {
+        final Recording victim = new Recording("victim");
+        final Recording periodic = new Recording("periodic") {
+            @Override
+            protected void expire() {
+                super.expire();
+                wheel.cancel(victim);
+                if (fired.size() < 3) wheel.schedule(this, 2 * MILLIS, fired.size() * 2 * MILLIS);
+            }
+        };
+        // a slot fires its timers newest first
+        wheel.schedule(victim, 2 * MILLIS, 0);
+        wheel.schedule(periodic, 2 * MILLIS, 0);
+        wheel.advance(10 * MILLIS);
+        assertEquals(List.of("periodic", "periodic", "periodic"), fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void aFailingTimerDoesNotStopTheOthers() {
+        wheel.schedule(new TimerWheel.Timer() {
+            @Override
+            protected void expire() {
+                throw new IllegalStateException("broken timer");
+            }
+        }, MILLIS, 0);
+        wheel.schedule(new Recording("a"), MILLIS, 0);
+        wheel.schedule(new Recording("b"), 2 * MILLIS, 0);
+        wheel.advance(2 * MILLIS);
+        assertEquals(List.of("a", "b"), fired);
+    }
+
+    @Test
+    void slotCountIsRoundedUpToAPowerOfTwo() {
+        final TimerWheel odd = new TimerWheel(5, MILLIS, 0);
+        odd.schedule(new Recording("a"), 8 * MILLIS, 0);
+        odd.schedule(new Recording("b"), 9 * MILLIS, 0);
+        odd.advance(8 * MILLIS);
+        assertEquals(List.of("a"), fired);
+        odd.advance(9 * MILLIS);
+        assertEquals(List.of("a", "b"), fired);
+    }
+}
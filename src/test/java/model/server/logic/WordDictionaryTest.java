@@ -0,0 +1,33 @@
+package model.server.logic;
+
+import model.general.config.Alphabet;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WordDictionaryTest {
+    private static final List<String> ANSWERS = List.of("CRANE", "TRAIN", "SPEED", "ERASE");
+
+    private final WordDictionary dictionary = new WordDictionary(5, Alphabet.ENGLISH, ANSWERS, List.of());
+
+    @Test
+    void randomWordsAreDistinctAnswers() {
+        for (int count = 0; count <= ANSWERS.size(); count++) {
+            final String[] words = dictionary.getRandomWords(count);
+            assertEquals(count, words.length);
+            assertEquals(count, new HashSet<>(Arrays.asList(words)).size());
+            assertTrue(ANSWERS.containsAll(Arrays.asList(words)));
+        }
+    }
+
+    @Test
+    void moreRandomWordsThanAnswersAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> dictionary.getRandomWords(ANSWERS.size() + 1));
+    }
+}
@@ -0,0 +1,49 @@
+package model.server.logic;
+
+import model.server.config.ServerGameConfig;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Builds the dictionaries from the word lists of the server in {@code src/main}, which only have words of five letters.
+ */
+class WordleEngineTest {
+    private static final File DIR = new File("src/main");
+    private static final String[] PATHS = {"words.answers", "words.guesses", "words.all", "words.book", "words.daily-override"};
+
+    private static WordleEngine engine;
+
+    @BeforeAll
+    static void loadWords() throws IOException {
+        final Properties properties = new Properties();
+        try (FileReader reader = new FileReader(new File(DIR, "server_config.properties"))) {
+            properties.load(reader);
+        }
+        for (String key : PATHS) {
+            final String path = properties.getProperty(key);
+            if (path != null) properties.setProperty(key, new File(DIR, path).getPath());
+        }
+        properties.setProperty("words.hot-reload", "false");
+        final ServerGameConfig config = new ServerGameConfig();
+        config.readFrom(properties);
+        engine = new WordleEngine(config);
+    }
+
+    @Test
+    void dictionariesExistOnlyForTheLengthsOfTheWordLists() {
+        assertSame(engine.getDefaultDictionary(), engine.getDictionary(5));
+        assertEquals(5, engine.getDefaultDictionary().getWordLength());
+        for (int length = -1; length <= 20; length++) {
+            if (length != 5) assertNull(engine.getDictionary(length), "length " + length);
+        }
+    }
+}
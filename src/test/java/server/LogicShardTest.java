@@ -0,0 +1,95 @@
+package server;
+
+import model.general.message.client.PongMessage;
+import model.server.config.ServerGameConfig;
+import model.server.logic.ShardDirectory;
+import model.server.logic.WordleEngine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Connects and disconnects players on two shards using the word lists of the server in {@code src/main}.
+ * Shard 0 is ticked by the test like the main loop of the server, shard 1 runs on its own thread.
+ */
+class LogicShardTest {
+    private static final File DIR = new File("src/main");
+    private static final String[] PATHS = {"words.answers", "words.guesses", "words.all", "words.book", "words.daily-override"};
+
+    private final LogicShard[] shards = new LogicShard[2];
+
+    @BeforeEach
+    void startShards() throws IOException {
+        final Properties properties = new Properties();
+        try (FileReader reader = new FileReader(new File(DIR, "server_config.properties"))) {
+            properties.load(reader);
+        }
+        for (String key : PATHS) {
+            final String path = properties.getProperty(key);
+            if (path != null) properties.setProperty(key, new File(DIR, path).getPath());
+        }
+        properties.setProperty("words.hot-reload", "false");
+        final ServerGameConfig config = new ServerGameConfig();
+        config.readFrom(properties);
+        final WordleEngine engine = new WordleEngine(config);
+        final ShardDirectory directory = new ShardDirectory(shards.length, config);
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new LogicShard(i, (id, message) -> {}, config, engine, result -> {}, directory);
+        }
+        shards[1].start();
+    }
+
+    @AfterEach
+    void stopShards() {
+        shards[1].stop();
+    }
+
+    @Test
+    void disconnectingOnePlayerKeepsTheOthersRunning() throws Exception {
+        for (int id = 0; id < 4; id++) {
+            assertNotNull(shards[id % 2].addConnection(id));
+        }
+        shards[0].tick();
+        assertTrue(connected(0) && connected(1) && connected(2) && connected(3));
+
+        shards[0].removeConnection(2);
+        shards[0].tick();
+        assertFalse(connected(2));
+        // a message of another priority class can be drained after its player left
+        assertDoesNotThrow(() -> shards[0].getLogic().receive(new PongMessage(1), 2, System.nanoTime()));
+        assertTrue(connected(0) && connected(1) && connected(3));
+
+        shards[1].removeConnection(1);
+        assertFalse(connected(1));
+        assertTrue(connected(3));
+        shards[0].tick();
+        assertTrue(connected(0));
+
+        shards[0].removeConnection(42);
+        shards[0].tick();
+        assertTrue(connected(0) && connected(3));
+    }
+
+    /**
+     * Asks the shard owning a connection whether its player is still there
+     */
+    private boolean connected(int id) throws Exception {
+        final LogicShard shard = shards[id % 2];
+        if (shard.getIndex() == 0) return shard.getLogic().getPlayerById(id) != null;
+        final CompletableFuture<Boolean> found = new CompletableFuture<>();
+        shard.execute(() -> found.complete(shard.getLogic().getPlayerById(id) != null));
+        return found.get(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,171 @@
+package server.network;
+
+import model.general.message.client.ClientMessage;
+import model.general.message.client.PongMessage;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MessageRingTest {
+    private static final com.sun.management.ThreadMXBean THREADS = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final List<ClientMessage> drained = new ArrayList<>();
+    private final List<Integer> senders = new ArrayList<>();
+
+    private void record(ClientMessage message, int from, long receivedAt) {
+        drained.add(message);
+        senders.add(from);
+    }
+
+    @Test
+    void capacityIsRoundedUpToAPowerOfTwo() {
+        assertEquals(4, new MessageRing(3, WaitStrategy.PARK).capacity());
+        assertEquals(8, new MessageRing(8, WaitStrategy.PARK).capacity());
+        assertEquals(16, new MessageRing(9, WaitStrategy.PARK).capacity());
+    }
+
+    @Test
+    void offerUntilFullThenDrainInOrder() {
+        final MessageRing ring = new MessageRing(4, WaitStrategy.PARK);
+        final ClientMessage[] messages = pongs(5);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ring.offer(messages[i], i));
+        }
+        assertFalse(ring.offer(messages[4], 4));
+        assertEquals(4, ring.size());
+
+        assertEquals(3, ring.drain(this::record, 3));
+        assertEquals(List.of(messages[0], messages[1], messages[2]), drained);
+        assertEquals(List.of(0, 1, 2), senders);
+        assertTrue(ring.offer(messages[4], 4));
+        assertEquals(2, ring.drain(this::record, 10));
+        assertSame(messages[4], drained.get(4));
+        assertEquals(0, ring.size());
+        assertEquals(0, ring.drain(this::record, 10));
+        assertEquals(5, ring.getConsumed());
+        assertEquals(4, ring.getMaxDepth());
+    }
+
+    @Test
+    void positionsWrapAround() {
+        final MessageRing ring = new MessageRing(4, WaitStrategy.PARK);
+        final ClientMessage[] messages = pongs(3);
+        for (int round = 0; round < 1000; round++) {
+            for (int i = 0; i < 3; i++) {
+                assertTrue(ring.offer(messages[i], round));
+            }
+            assertEquals(3, ring.drain(this::record, 10));
+        }
+        assertEquals(3000, drained.size());
+        assertSame(messages[2], drained.get(2999));
+        assertEquals(999, senders.get(2999));
+    }
+
+    @Test
+    void awaitTimesOutOnAnEmptyRing() {
+        final MessageRing ring = new MessageRing(4, WaitStrategy.PARK);
+        assertFalse(ring.await(1_000_000));
+        ring.offer(pongs(1)[0], 1);
+        assertTrue(ring.await(1_000_000));
+    }
+
+    /**
+     * Four producers put 50k messages each through a small ring while the consumer drains them,
+     * far more than 50k messages per second. Every message arrives once and in the order of its
+     * producer, and neither side allocates once warmed up.
+     */
+    @Test
+    void producersAndConsumerAllocateNothing() throws InterruptedException {
+        for (WaitStrategy strategy : WaitStrategy.values()) {
+            final int producers = 4;
+            final int perProducer = 50_000;
+            final MessageRing ring = new MessageRing(256, strategy);
+            final ClientMessage[] messages = pongs(perProducer);
+            final AtomicLongArray producerBytes = new AtomicLongArray(producers);
+            final Thread[] threads = new Thread[producers];
+            for (int p = 0; p < producers; p++) {
+                final int producer = p;
+                threads[p] = new Thread(() -> {
+                    final long threadId = Thread.currentThread().getId();
+                    for (int i = 0; i < perProducer / 2; i++) {
+                        ring.put(messages[i], producer);
+                    }
+                    producerBytes.set(producer, allocatedBytes(threadId, () -> {
+                        for (int i = perProducer / 2; i < perProducer; i++) {
+                            ring.put(messages[i], producer);
+                        }
+                    }));
+                });
+                threads[p].start();
+            }
+
+            final Counter counter = new Counter(producers, messages);
+            final long threadId = Thread.currentThread().getId();
+            final int total = producers * perProducer;
+            while (counter.count < total / 2) {
+                if (ring.await(1_000_000)) ring.drain(counter, 64);
+            }
+            final long consumerBytes = allocatedBytes(threadId, () -> {
+                while (counter.count < total) {
+                    if (ring.await(1_000_000)) ring.drain(counter, 64);
+                }
+            });
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            assertEquals(0, counter.outOfOrder, strategy::name);
+            assertEquals(0, consumerBytes, () -> strategy + " consumer allocated");
+            for (int p = 0; p < producers; p++) {
+                assertEquals(0, producerBytes.get(p), strategy + " producer allocated");
+            }
+        }
+    }
+
+    /**
+     * Returns the bytes the current thread allocated while running the work, minus what asking for them allocates
+     */
+    private static long allocatedBytes(long threadId, Runnable work) {
+        final long calibration = THREADS.getThreadAllocatedBytes(threadId);
+        final long before = THREADS.getThreadAllocatedBytes(threadId);
+        work.run();
+        return THREADS.getThreadAllocatedBytes(threadId) - before - (before - calibration);
+    }
+
+    private static ClientMessage[] pongs(int count) {
+        final ClientMessage[] messages = new ClientMessage[count];
+        for (int i = 0; i < count; i++) {
+            messages[i] = new PongMessage(i);
+        }
+        return messages;
+    }
+
+    /**
+     * Checks that every producer's messages arrive in order without allocating
+     */
+    private static class Counter implements MessageRing.Handler {
+        private final int[] next;
+        private final ClientMessage[] messages;
+        int count;
+        int outOfOrder;
+
+        Counter(int producers, ClientMessage[] messages) {
+            this.next = new int[producers];
+            this.messages = messages;
+        }
+
+        @Override
+        public void handle(ClientMessage message, int from, long receivedAt) {
+            if (messages[next[from]++] != message) outOfOrder++;
+            count++;
+        }
+    }
+}
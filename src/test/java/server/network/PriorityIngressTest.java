@@ -0,0 +1,147 @@
+package server.network;
+
+import model.general.config.RejectReason;
+import model.general.message.client.ClientMessage;
+import model.general.message.client.LoginMessage;
+import model.general.message.client.PongMessage;
+import model.general.message.client.SpectateMessage;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PriorityIngressTest {
+    private static final int[] UNLIMITED = {1_000, 1_000, 1_000};
+
+    private final List<ClientMessage> drained = new ArrayList<>();
+
+    private void record(ClientMessage message, int from, long receivedAt) {
+        drained.add(message);
+    }
+
+    @Test
+    void drainsHigherClassesFirst() {
+        final PriorityIngress ingress = new PriorityIngress(8, WaitStrategy.PARK, UNLIMITED, UNLIMITED);
+        final TokenBucket[] limits = ingress.newConnectionLimits();
+        final ClientMessage login = new LoginMessage("name", "password");
+        final ClientMessage spectate = new SpectateMessage("name");
+        final ClientMessage pong = new PongMessage(1);
+        assertNull(ingress.offer(login, 1, limits));
+        assertNull(ingress.offer(spectate, 1, limits));
+        assertNull(ingress.offer(pong, 1, limits));
+        assertEquals(3, ingress.size());
+
+        assertEquals(3, ingress.drain(this::record, 10));
+        assertEquals(List.of(pong, spectate, login), drained);
+        assertEquals(0, ingress.size());
+    }
+
+    @Test
+    void drainStopsAtTheBatchSize() {
+        final PriorityIngress ingress = new PriorityIngress(8, WaitStrategy.PARK, UNLIMITED, UNLIMITED);
+        final TokenBucket[] limits = ingress.newConnectionLimits();
+        final ClientMessage login = new LoginMessage("name", "password");
+        assertNull(ingress.offer(login, 1, limits));
+        for (int i = 0; i < 3; i++) {
+            assertNull(ingress.offer(new PongMessage(i), 1, limits));
+        }
+        assertEquals(3, ingress.drain(this::record, 3));
+        assertEquals(1, ingress.size());
+        assertEquals(1, ingress.drain(this::record, 3));
+        assertEquals(login, drained.get(3));
+    }
+
+    /**
+     * With a capacity of 16, games may queue 8 messages, stats and logins 4 each
+     */
+    @Test
+    void overloadShedsEveryClassInItsOwnShare() {
+        final PriorityIngress ingress = new PriorityIngress(16, WaitStrategy.PARK, UNLIMITED, UNLIMITED);
+        final TokenBucket[] limits = ingress.newConnectionLimits();
+        assertEquals(16, ingress.capacity());
+        for (int i = 0; i < 4; i++) {
+            assertNull(ingress.offer(new LoginMessage("name", "password"), i, limits));
+        }
+        assertEquals(RejectReason.OVERLOADED, ingress.offer(new LoginMessage("name", "password"), 4, limits));
+        for (int i = 0; i < 4; i++) {
+            assertNull(ingress.offer(new SpectateMessage("name"), 1, limits));
+        }
+        assertEquals(RejectReason.OVERLOADED, ingress.offer(new SpectateMessage("name"), 1, limits));
+        for (int i = 0; i < 8; i++) {
+            assertNull(ingress.offer(new PongMessage(i), 1, limits));
+        }
+        assertEquals(RejectReason.OVERLOADED, ingress.offer(new PongMessage(8), 1, limits));
+        assertEquals(16, ingress.size());
+
+        assertEquals(1, ingress.getDropped(RejectReason.OVERLOADED, MessagePriority.LOGIN));
+        assertEquals(1, ingress.getDropped(RejectReason.OVERLOADED, MessagePriority.STATS));
+        assertEquals(1, ingress.getDropped(RejectReason.OVERLOADED, MessagePriority.GAME));
+        assertEquals(0, ingress.getDropped(RejectReason.RATE_LIMITED, MessagePriority.GAME));
+
+        // the games are drained first, the logins stay shed until their own ring has room
+        ingress.drain(this::record, 8);
+        assertEquals(RejectReason.OVERLOADED, ingress.offer(new LoginMessage("name", "password"), 4, limits));
+        assertNull(ingress.offer(new PongMessage(9), 1, limits));
+        ingress.drain(this::record, 16);
+        assertNull(ingress.offer(new LoginMessage("name", "password"), 4, limits));
+    }
+
+    /**
+     * Producers racing for the last slots never queue more than the ring of their class holds
+     */
+    @Test
+    void concurrentProducersFillExactlyTheirShare() throws InterruptedException {
+        final PriorityIngress ingress = new PriorityIngress(64, WaitStrategy.PARK, UNLIMITED, UNLIMITED);
+        final Thread[] producers = new Thread[4];
+        final AtomicInteger admitted = new AtomicInteger();
+        for (int p = 0; p < producers.length; p++) {
+            final int from = p;
+            producers[p] = new Thread(() -> {
+                final TokenBucket[] limits = ingress.newConnectionLimits();
+                for (int i = 0; i < 200; i++) {
+                    if (ingress.offer(new PongMessage(i), from, limits) == null) admitted.incrementAndGet();
+                }
+            });
+            producers[p].start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        assertEquals(32, admitted.get());
+        assertEquals(32, ingress.size());
+        assertEquals(800 - 32, ingress.getDropped(RejectReason.OVERLOADED, MessagePriority.GAME));
+    }
+
+    @Test
+    void rateLimitIsPerConnectionAndClass() {
+        final PriorityIngress ingress = new PriorityIngress(64, WaitStrategy.PARK, new int[]{1, 1, 1}, new int[]{3, 2, 1});
+        final TokenBucket[] first = ingress.newConnectionLimits();
+        final TokenBucket[] second = ingress.newConnectionLimits();
+        assertNull(ingress.offer(new LoginMessage("name", "password"), 1, first));
+        assertEquals(RejectReason.RATE_LIMITED, ingress.offer(new LoginMessage("name", "password"), 1, first));
+        assertNull(ingress.offer(new LoginMessage("name", "password"), 2, second));
+        for (int i = 0; i < 3; i++) {
+            assertNull(ingress.offer(new PongMessage(i), 1, first));
+        }
+        assertEquals(RejectReason.RATE_LIMITED, ingress.offer(new PongMessage(3), 1, first));
+        assertEquals(5, ingress.size());
+
+        assertEquals(1, ingress.getDropped(RejectReason.RATE_LIMITED, MessagePriority.LOGIN));
+        assertEquals(1, ingress.getDropped(RejectReason.RATE_LIMITED, MessagePriority.GAME));
+        assertEquals(0, ingress.getDropped(RejectReason.OVERLOADED, MessagePriority.GAME));
+    }
+
+    @Test
+    void wakeUpEndsTheWait() {
+        final PriorityIngress ingress = new PriorityIngress(8, WaitStrategy.PARK, UNLIMITED, UNLIMITED);
+        ingress.wakeUp();
+        assertTrue(ingress.await(10_000_000_000L));
+        assertFalse(ingress.await(1_000_000));
+    }
+}
@@ -0,0 +1,56 @@
+package server.network;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTest {
+    private static final long MILLIS = 1_000_000L;
+
+    @Test
+    void burstThenRefillAtTheRate() {
+        final TokenBucket bucket = new TokenBucket(10, 3);
+        final long start = System.nanoTime();
+        assertTrue(bucket.tryAcquire(start));
+        assertTrue(bucket.tryAcquire(start));
+        assertTrue(bucket.tryAcquire(start));
+        assertFalse(bucket.tryAcquire(start));
+        assertFalse(bucket.tryAcquire(start + 99 * MILLIS));
+        assertTrue(bucket.tryAcquire(start + 100 * MILLIS));
+        assertFalse(bucket.tryAcquire(start + 100 * MILLIS));
+    }
+
+    @Test
+    void refillStopsAtTheBurst() {
+        final TokenBucket bucket = new TokenBucket(10, 2);
+        final long start = System.nanoTime() + 10_000 * MILLIS;
+        assertTrue(bucket.tryAcquire(start));
+        assertTrue(bucket.tryAcquire(start));
+        assertFalse(bucket.tryAcquire(start));
+    }
+
+    @Test
+    void rejectIsReportedOncePerEmptyPeriod() {
+        final TokenBucket bucket = new TokenBucket(1, 1);
+        final long start = System.nanoTime();
+        assertTrue(bucket.tryAcquire(start));
+        assertFalse(bucket.tryAcquire(start));
+        assertTrue(bucket.reportReject());
+        assertFalse(bucket.tryAcquire(start));
+        assertFalse(bucket.reportReject());
+
+        assertTrue(bucket.tryAcquire(start + 1_000 * MILLIS));
+        assertFalse(bucket.tryAcquire(start + 1_000 * MILLIS));
+        assertTrue(bucket.reportReject());
+    }
+
+    @Test
+    void rateAndBurstAreAtLeastOne() {
+        final TokenBucket bucket = new TokenBucket(0, 0);
+        final long start = System.nanoTime();
+        assertTrue(bucket.tryAcquire(start));
+        assertFalse(bucket.tryAcquire(start));
+        assertTrue(bucket.tryAcquire(start + 1_000 * MILLIS));
+    }
+}